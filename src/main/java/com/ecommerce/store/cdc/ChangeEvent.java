@@ -0,0 +1,84 @@
+package com.ecommerce.store.cdc;
+
+/**
+ * A single change captured from a repository mutation.
+ *
+ * Immutable. The payload is a point-in-time copy of the entity after the
+ * change (null for deletes), so consumers never see later in-place edits.
+ */
+public final class ChangeEvent {
+
+    /**
+     * Kind of entity that changed.
+     */
+    public enum Entity {
+        ITEM,
+        CART,
+        ORDER,
+        COUPON,
+        PROMOTION
+    }
+
+    /**
+     * Kind of change.
+     */
+    public enum Operation {
+        UPSERT,
+        DELETE
+    }
+
+    private final long sequence;
+    private final Entity entity;
+    private final Operation operation;
+    private final Object key;
+    private final Object payload;
+    private final long timestampMillis;
+
+    public ChangeEvent(long sequence, Entity entity, Operation operation, Object key, Object payload,
+                       long timestampMillis) {
+        this.sequence = sequence;
+        this.entity = entity;
+        this.operation = operation;
+        this.key = key;
+        this.payload = payload;
+        this.timestampMillis = timestampMillis;
+    }
+
+    /**
+     * Position of this event in the bus (monotonically increasing, gap-free).
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Entity key: itemId / orderId (UUID), userId, coupon code or promotion code (String).
+     */
+    public Object getKey() {
+        return key;
+    }
+
+    /**
+     * Copy of the entity after the change, or null for deletes.
+     */
+    public Object getPayload() {
+        return payload;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeEvent(" + sequence + ", " + entity + " " + operation + " " + key + ")";
+    }
+}
@@ -0,0 +1,151 @@
+package com.ecommerce.store.cdc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * In-process change-data-capture (CDC) bus fed by the repositories.
+ *
+ * Bounded multi-producer / multi-consumer ring buffer:
+ * - Publishing claims a sequence with one atomic increment and writes one slot,
+ *   so request threads never block or wait for consumers
+ * - Each subscriber reads with its own cursor, in batches
+ * - A subscriber that falls more than one ring behind loses the overwritten events;
+ *   they are counted as drops and the subscriber skips ahead to the oldest retained event
+ *
+ * Ordering: the events of one key are in the order of its writes, so consumers can
+ * apply "last event wins". Repositories publish inside the write's per-key critical
+ * section: ConcurrentHashMap.compute on the entry for items and carts, the repository
+ * monitor for the active coupon. Orders are written once. Promotion redemption counts
+ * only grow and are applied with max(), so a late event never lowers them.
+ *
+ * Events are only built (payload copied) while at least one subscriber exists.
+ * Items loaded by DataStore.seedData() or CatalogLoader bypass the repositories,
+ * so subscribers needing initial state should read DataStore once after subscribing.
+ */
+public class ChangeEventBus {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final AtomicReferenceArray<ChangeEvent> ring;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final List<ChangeSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    public ChangeEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity ring size, rounded up to a power of two
+     */
+    public ChangeEventBus(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.capacity = size;
+        this.mask = size - 1;
+    }
+
+    /**
+     * Publish a change. Never blocks.
+     *
+     * @param payload supplies a copy of the entity after the change (null for deletes);
+     *                only invoked when someone is subscribed
+     */
+    public void publish(ChangeEvent.Entity entity, ChangeEvent.Operation operation, Object key,
+                        Supplier<?> payload) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        Object copy = payload == null ? null : payload.get();
+        long sequence = nextSequence.getAndIncrement();
+        ring.set((int) (sequence & mask), new ChangeEvent(
+                sequence, entity, operation, key, copy, System.currentTimeMillis()));
+    }
+
+    /**
+     * Register a pull-based subscriber starting at the current head.
+     * The caller drains it with ChangeSubscription.poll().
+     */
+    public ChangeSubscription subscribe(String name, int batchSize) {
+        ChangeSubscription subscription = new ChangeSubscription(this, name, batchSize, nextSequence.get());
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Register a push-based subscriber: a daemon thread delivers batches to the handler.
+     * Handler exceptions are counted and do not stop delivery.
+     */
+    public ChangeSubscription subscribe(String name, int batchSize, Consumer<List<ChangeEvent>> handler) {
+        ChangeSubscription subscription = subscribe(name, batchSize);
+        subscription.startDispatcher(handler);
+        return subscription;
+    }
+
+    /**
+     * Remove a subscriber (stops its dispatcher thread, if any).
+     */
+    public void unsubscribe(ChangeSubscription subscription) {
+        subscription.stopDispatcher();
+        subscriptions.remove(subscription);
+    }
+
+    /**
+     * Current subscribers (for metrics).
+     */
+    public List<ChangeSubscription> getSubscriptions() {
+        return new ArrayList<>(subscriptions);
+    }
+
+    /**
+     * Sequence that the next published event will get.
+     */
+    public long getHeadSequence() {
+        return nextSequence.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Read up to max events starting at cursor into batch.
+     *
+     * @return the new cursor; dropped[0] is increased by events lost to overwrites
+     */
+    long read(long cursor, int max, List<ChangeEvent> batch, long[] dropped) {
+        while (batch.size() < max) {
+            long head = nextSequence.get();
+            if (cursor >= head) {
+                break;
+            }
+            long oldest = head - capacity;
+            if (cursor < oldest) {
+                dropped[0] += oldest - cursor;
+                cursor = oldest;
+            }
+            ChangeEvent event = ring.get((int) (cursor & mask));
+            if (event == null || event.getSequence() < cursor) {
+                // Sequence claimed but slot not written yet - try again on the next poll
+                break;
+            }
+            if (event.getSequence() > cursor) {
+                // Overwritten while we were reading - skip to what is still retained
+                long retained = Math.max(cursor + 1, nextSequence.get() - capacity);
+                dropped[0] += retained - cursor;
+                cursor = retained;
+                continue;
+            }
+            batch.add(event);
+            cursor++;
+        }
+        return cursor;
+    }
+}
@@ -0,0 +1,109 @@
+package com.ecommerce.store.cdc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * One subscriber's view of the ChangeEventBus: its own cursor plus metrics.
+ *
+ * Metrics:
+ * - lag       = events published but not yet consumed by this subscriber
+ * - dropped   = events overwritten before this subscriber read them
+ * - delivered = events handed to this subscriber
+ * - errors    = handler invocations that threw (push mode)
+ */
+public class ChangeSubscription {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ChangeEventBus bus;
+    private final String name;
+    private final int batchSize;
+
+    private volatile long cursor;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    ChangeSubscription(ChangeEventBus bus, String name, int batchSize, long startSequence) {
+        this.bus = bus;
+        this.name = name;
+        this.batchSize = Math.max(1, batchSize);
+        this.cursor = startSequence;
+    }
+
+    /**
+     * Take the next batch (up to batchSize events, possibly empty). Never blocks.
+     */
+    public synchronized List<ChangeEvent> poll() {
+        List<ChangeEvent> batch = new ArrayList<>(Math.min(batchSize, 64));
+        long[] lost = new long[1];
+        cursor = bus.read(cursor, batchSize, batch, lost);
+        if (lost[0] > 0) {
+            dropped.addAndGet(lost[0]);
+        }
+        delivered.addAndGet(batch.size());
+        return batch;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sequence of the next event this subscriber will read.
+     */
+    public long getCursor() {
+        return cursor;
+    }
+
+    public long getLag() {
+        return Math.max(0, bus.getHeadSequence() - cursor);
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getDelivered() {
+        return delivered.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    void startDispatcher(Consumer<List<ChangeEvent>> handler) {
+        running = true;
+        dispatcher = new Thread(() -> {
+            while (running) {
+                List<ChangeEvent> batch = poll();
+                if (batch.isEmpty()) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                try {
+                    handler.accept(batch);
+                } catch (RuntimeException e) {
+                    errors.incrementAndGet();
+                }
+            }
+        }, "cdc-" + name);
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    void stopDispatcher() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.ecommerce.store.codec;
+
+import com.ecommerce.store.model.Canonical;
+import com.ecommerce.store.model.Cart;
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Item;
+import com.ecommerce.store.model.Order;
+import com.ecommerce.store.model.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Decoder for the ModelCodec wire format.
+ *
+ * Validates the header on construction and rejects schema versions newer
+ * than ModelCodec.SCHEMA_VERSION. Records are returned in write order.
+ *
+ * Not thread-safe: use one reader per buffer.
+ */
+public final class BinaryReader {
+
+    // Smallest encoded cart line: null item ID, name and price (one byte each) and a quantity
+    private static final int MIN_LINE_BYTES = 4;
+
+    private final byte[] buffer;
+    private int position;
+    private final int schemaVersion;
+    private final List<String> dictionary = new ArrayList<>();
+
+    public BinaryReader(byte[] buffer) {
+        this.buffer = buffer;
+        if (buffer.length < 3 || buffer[0] != ModelCodec.MAGIC_0 || buffer[1] != ModelCodec.MAGIC_1) {
+            throw new IllegalArgumentException("Not a ModelCodec buffer (bad magic)");
+        }
+        this.position = 2;
+        this.schemaVersion = readVarInt();
+        if (schemaVersion < 1 || schemaVersion > ModelCodec.SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Unsupported schema version: " + schemaVersion);
+        }
+    }
+
+    /**
+     * Schema version found in the buffer header.
+     */
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    /**
+     * Check if more records remain.
+     */
+    public boolean hasNext() {
+        return position < buffer.length;
+    }
+
+    /**
+     * Read the next record (Item, Cart or Order).
+     */
+    public Object next() {
+        if (!hasNext()) {
+            throw new IllegalStateException("No more records in buffer");
+        }
+        int tag = readVarInt();
+        return switch (tag) {
+            case ModelCodec.TAG_ITEM -> readItemBody();
+            case ModelCodec.TAG_CART -> readCartBody();
+            case ModelCodec.TAG_ORDER -> readOrderBody();
+            default -> throw new IllegalArgumentException("Unknown record tag: " + tag);
+        };
+    }
+
+    private Item readItemBody() {
+        Item item = new Item();
+        item.setItemId(readUuid());
+        item.setName(readString());
+        item.setPrice(readDecimal());
+        item.setStock(readSignedVarInt());
+        return item;
+    }
+
+    private Cart readCartBody() {
+        Cart cart = new Cart();
+        cart.setUserId(readString());
+        cart.setItems(readCartItems());
+        cart.setTotal(readDecimal());
+        return cart;
+    }
+
+    private Order readOrderBody() {
+        Order order = new Order();
+        order.setOrderId(readUuid());
+        order.setUserId(readString());
+        order.setItems(List.copyOf(readCartItems()));   // immutable, like checked-out orders
+        order.setTotalAmount(readDecimal());
+        order.setDiscountAmount(readDecimal());
+        order.setCouponCode(readString());
+        order.setCreatedAt(readInstant());
+        order.setPaymentStatus(readPaymentStatus());
+        return order;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Field Decoders
+    // ═══════════════════════════════════════════════════════════
+
+    private List<CartItem> readCartItems() {
+        int count = readVarInt();
+        // Each line takes at least MIN_LINE_BYTES: a corrupt count must not size the list
+        if (count < 0 || count > (buffer.length - position) / MIN_LINE_BYTES) {
+            throw new IllegalArgumentException("Invalid line count " + count + " at offset " + position);
+        }
+        List<CartItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID itemId = Canonical.uuid(readUuid());
+            String itemName = Canonical.string(readString());
+            BigDecimal price = Canonical.decimal(readDecimal());
+            items.add(new CartItem(itemId, itemName, price, readSignedVarInt()));
+        }
+        return items;
+    }
+
+    private PaymentStatus readPaymentStatus() {
+        int status = readVarInt();
+        if (status == 0) {
+            return null;
+        }
+        PaymentStatus[] statuses = PaymentStatus.values();
+        if (status < 0 || status > statuses.length) {
+            throw new IllegalArgumentException("Unknown payment status: " + status);
+        }
+        return statuses[status - 1];
+    }
+
+    private UUID readUuid() {
+        if (readByte() == 0) {
+            return null;
+        }
+        return new UUID(readLong(), readLong());
+    }
+
+    private String readString() {
+        int ref = readVarInt();
+        if (ref == 0) {
+            return null;
+        }
+        if (ref >= 2) {
+            int index = ref - 2;
+            if (index >= dictionary.size()) {
+                throw new IllegalArgumentException("Dangling string reference: " + index);
+            }
+            return dictionary.get(index);
+        }
+        int length = readVarInt();
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        dictionary.add(value);
+        return value;
+    }
+
+    private BigDecimal readDecimal() {
+        int mode = readVarInt();
+        if (mode == 0) {
+            return null;
+        }
+        int scale = readSignedVarInt();
+        if (mode == 1) {
+            return BigDecimal.valueOf(readSignedVarLong(), scale);
+        }
+        int length = readVarInt();
+        require(length);
+        byte[] bytes = new byte[length];
+        System.arraycopy(buffer, position, bytes, 0, length);
+        position += length;
+        return new BigDecimal(new BigInteger(bytes), scale);
+    }
+
+    private Instant readInstant() {
+        if (readByte() == 0) {
+            return null;
+        }
+        long seconds = readSignedVarLong();
+        return Instant.ofEpochSecond(seconds, readVarInt());
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Primitive Decoders
+    // ═══════════════════════════════════════════════════════════
+
+    private int readSignedVarInt() {
+        int raw = readVarInt();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    private long readSignedVarLong() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    private int readVarInt() {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at offset " + position);
+    }
+
+    private long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varlong at offset " + position);
+    }
+
+    private long readLong() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private byte readByte() {
+        require(1);
+        return buffer[position++];
+    }
+
+    private void require(int bytes) {
+        if (bytes < 0 || bytes > buffer.length - position) {
+            throw new IllegalArgumentException("Truncated buffer at offset " + position);
+        }
+    }
+}
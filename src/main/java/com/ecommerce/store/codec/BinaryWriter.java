@@ -0,0 +1,237 @@
+package com.ecommerce.store.codec;
+
+import com.ecommerce.store.model.Cart;
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Item;
+import com.ecommerce.store.model.Order;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Streaming encoder for the ModelCodec wire format.
+ *
+ * Writes the header on construction, then one record per write call.
+ * All records written through one instance share a string dictionary.
+ *
+ * Not thread-safe: use one writer per encoding task.
+ */
+public final class BinaryWriter {
+
+    private byte[] buffer;
+    private int position;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    public BinaryWriter() {
+        this(256);
+    }
+
+    public BinaryWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+        writeByte(ModelCodec.MAGIC_0);
+        writeByte(ModelCodec.MAGIC_1);
+        writeVarInt(ModelCodec.SCHEMA_VERSION);
+    }
+
+    /**
+     * Write any supported model (Item, Cart or Order) with its record tag.
+     */
+    public BinaryWriter write(Object model) {
+        int tag = ModelCodec.tagOf(model);
+        switch (tag) {
+            case ModelCodec.TAG_ITEM -> writeItem((Item) model);
+            case ModelCodec.TAG_CART -> writeCart((Cart) model);
+            default -> writeOrder((Order) model);
+        }
+        return this;
+    }
+
+    public BinaryWriter writeItem(Item item) {
+        writeVarInt(ModelCodec.TAG_ITEM);
+        writeUuid(item.getItemId());
+        writeString(item.getName());
+        writeDecimal(item.getPrice());
+        writeSignedVarInt(item.getStock());
+        return this;
+    }
+
+    public BinaryWriter writeCart(Cart cart) {
+        writeVarInt(ModelCodec.TAG_CART);
+        writeString(cart.getUserId());
+        writeCartItems(cart.getItems());
+        writeDecimal(cart.getTotal());
+        return this;
+    }
+
+    public BinaryWriter writeOrder(Order order) {
+        writeVarInt(ModelCodec.TAG_ORDER);
+        writeUuid(order.getOrderId());
+        writeString(order.getUserId());
+        writeCartItems(order.getItems());
+        writeDecimal(order.getTotalAmount());
+        writeDecimal(order.getDiscountAmount());
+        writeString(order.getCouponCode());
+        writeInstant(order.getCreatedAt());
+        // 0 = null, otherwise ordinal + 1
+        writeVarInt(order.getPaymentStatus() == null ? 0 : order.getPaymentStatus().ordinal() + 1);
+        return this;
+    }
+
+    /**
+     * Encoded bytes so far (header included).
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    /**
+     * Number of bytes written so far (header included).
+     */
+    public int size() {
+        return position;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Field Encoders
+    // ═══════════════════════════════════════════════════════════
+
+    private void writeCartItems(List<CartItem> items) {
+        if (items == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(items.size());
+        for (CartItem cartItem : items) {
+            writeUuid(cartItem.getItemId());
+            writeString(cartItem.getItemName());
+            writeDecimal(cartItem.getPrice());
+            writeSignedVarInt(cartItem.getQuantity());
+        }
+    }
+
+    /**
+     * Presence byte, then the two halves of the UUID as raw big-endian longs.
+     */
+    private void writeUuid(UUID uuid) {
+        if (uuid == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        writeLong(uuid.getMostSignificantBits());
+        writeLong(uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Dictionary reference: 0 = null, 1 = new literal follows, n >= 2 = entry n - 2.
+     */
+    private void writeString(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        Integer index = dictionary.get(value);
+        if (index != null) {
+            writeVarInt(index + 2);
+            return;
+        }
+        dictionary.put(value, dictionary.size());
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(1);
+        writeVarInt(utf8.length);
+        writeBytes(utf8);
+    }
+
+    /**
+     * Mode (0 = null, 1 = compact, 2 = big), zigzag scale, then the unscaled value.
+     */
+    private void writeDecimal(BigDecimal value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        BigInteger unscaled = value.unscaledValue();
+        if (unscaled.bitLength() < 64) {
+            writeVarInt(1);
+            writeSignedVarInt(value.scale());
+            writeSignedVarLong(unscaled.longValue());
+        } else {
+            byte[] bytes = unscaled.toByteArray();
+            writeVarInt(2);
+            writeSignedVarInt(value.scale());
+            writeVarInt(bytes.length);
+            writeBytes(bytes);
+        }
+    }
+
+    private void writeInstant(Instant instant) {
+        if (instant == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        writeSignedVarLong(instant.getEpochSecond());
+        writeVarInt(instant.getNano());
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Primitive Encoders
+    // ═══════════════════════════════════════════════════════════
+
+    private void writeSignedVarInt(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    private void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    private void writeVarInt(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
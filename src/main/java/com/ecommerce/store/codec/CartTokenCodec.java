@@ -0,0 +1,191 @@
+package com.ecommerce.store.codec;
+
+import com.ecommerce.store.model.Cart;
+import com.ecommerce.store.model.CartItem;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Signed, client-held cart tokens for the stateless cart mode.
+ *
+ * A token carries only what the client chose - user ID, item IDs and quantities.
+ * Names and prices are not included: the server re-reads them from the catalog
+ * every time the token is used, so an old or replayed token can never fix a price.
+ *
+ * Token Format (version 1), base64url without padding:
+ * - Payload: version byte, issued-at (epoch seconds), user ID (length-prefixed UTF-8),
+ *   line count, then per line: item UUID (two longs) + quantity (int)
+ * - Tag: first 16 bytes of HMAC-SHA256(secret, payload)
+ *
+ * A 3-line cart is about 130 characters. The payload is mostly random UUIDs,
+ * which do not compress, so no compression is applied.
+ */
+public final class CartTokenCodec {
+
+    public static final int VERSION = 1;
+
+    /**
+     * Upper bound on lines per token (keeps the header well under common 8 KB limits).
+     */
+    public static final int MAX_LINES = 100;
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int TAG_LENGTH = 16;
+    private static final int MAX_USER_ID_BYTES = 256;
+
+    private final SecretKeySpec key;
+    private final Duration timeToLive;
+    private final Clock clock;
+
+    public CartTokenCodec(byte[] secret, Duration timeToLive) {
+        this(secret, timeToLive, Clock.systemUTC());
+    }
+
+    public CartTokenCodec(byte[] secret, Duration timeToLive, Clock clock) {
+        if (secret == null || secret.length < 16) {
+            throw new IllegalArgumentException("Cart token secret must be at least 16 bytes");
+        }
+        this.key = new SecretKeySpec(secret.clone(), ALGORITHM);
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    /**
+     * Encode the cart's user ID and line quantities into a signed token.
+     */
+    public String encode(Cart cart) {
+        if (cart.getItems().size() > MAX_LINES) {
+            throw new IllegalArgumentException("Cart cannot hold more than " + MAX_LINES + " different items");
+        }
+        byte[] userId = cart.getUserId().getBytes(StandardCharsets.UTF_8);
+        if (userId.length > MAX_USER_ID_BYTES) {
+            throw new IllegalArgumentException("User ID too long for a cart token");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 8 + 2 + userId.length + 2
+                + cart.getItems().size() * 20 + TAG_LENGTH);
+        buffer.put((byte) VERSION);
+        buffer.putLong(clock.instant().getEpochSecond());
+        buffer.putShort((short) userId.length);
+        buffer.put(userId);
+        buffer.putShort((short) cart.getItems().size());
+        for (CartItem line : cart.getItems()) {
+            buffer.putLong(line.getItemId().getMostSignificantBits());
+            buffer.putLong(line.getItemId().getLeastSignificantBits());
+            buffer.putInt(line.getQuantity());
+        }
+        int payloadLength = buffer.position();
+        buffer.put(tag(buffer.array(), payloadLength));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Verify and decode a token.
+     *
+     * @return the token contents, or null if the token has expired
+     * @throws IllegalArgumentException if the token is malformed or its signature does not match
+     */
+    public CartToken decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+        if (bytes.length <= TAG_LENGTH) {
+            throw invalid();
+        }
+        int payloadLength = bytes.length - TAG_LENGTH;
+        byte[] expected = tag(bytes, payloadLength);
+        byte[] actual = new byte[TAG_LENGTH];
+        System.arraycopy(bytes, payloadLength, actual, 0, TAG_LENGTH);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw invalid();
+        }
+
+        // Signature is valid, so the payload was written by encode() with this secret
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, payloadLength);
+            if (buffer.get() != VERSION) {
+                throw invalid();
+            }
+            Instant issuedAt = Instant.ofEpochSecond(buffer.getLong());
+            if (issuedAt.plus(timeToLive).isBefore(clock.instant())) {
+                return null;
+            }
+            byte[] userId = new byte[buffer.getShort()];
+            buffer.get(userId);
+            int lines = buffer.getShort();
+            Map<UUID, Integer> quantities = new LinkedHashMap<>();
+            for (int i = 0; i < lines; i++) {
+                quantities.put(new UUID(buffer.getLong(), buffer.getLong()), buffer.getInt());
+            }
+            return new CartToken(new String(userId, StandardCharsets.UTF_8), issuedAt, quantities);
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw invalid();
+        }
+    }
+
+    private byte[] tag(byte[] data, int length) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(data, 0, length);
+            byte[] full = mac.doFinal();
+            byte[] truncated = new byte[TAG_LENGTH];
+            System.arraycopy(full, 0, truncated, 0, TAG_LENGTH);
+            return truncated;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    private static IllegalArgumentException invalid() {
+        return new IllegalArgumentException("Invalid cart token");
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // Decoded token
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Verified contents of a cart token: quantities by item ID, in cart order.
+     */
+    public static final class CartToken {
+
+        private final String userId;
+        private final Instant issuedAt;
+        private final Map<UUID, Integer> quantities;
+
+        CartToken(String userId, Instant issuedAt, Map<UUID, Integer> quantities) {
+            this.userId = userId;
+            this.issuedAt = issuedAt;
+            this.quantities = Collections.unmodifiableMap(quantities);
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public Instant getIssuedAt() {
+            return issuedAt;
+        }
+
+        public Map<UUID, Integer> getQuantities() {
+            return quantities;
+        }
+    }
+}
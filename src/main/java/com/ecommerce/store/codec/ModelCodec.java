@@ -0,0 +1,109 @@
+package com.ecommerce.store.codec;
+
+import com.ecommerce.store.model.Cart;
+import com.ecommerce.store.model.Item;
+import com.ecommerce.store.model.Order;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compact binary codec for the core models (Item, Cart, CartItem, Order).
+ *
+ * Used wherever models are persisted, replicated or spilled, instead of Jackson JSON.
+ *
+ * Wire Format (schema version 1):
+ * - Header: magic bytes 'E' 'S' + schema version (varint)
+ * - Records: record tag (varint) followed by the record fields
+ * - Quantities, stock and counts: zigzag varints
+ * - Amounts: scale + unscaled value as zigzag varint (falls back to raw bytes for huge values)
+ * - UUIDs: presence byte + two raw longs (most / least significant bits)
+ * - Strings: shared dictionary - the first occurrence of a string is written inline,
+ *   later occurrences (item names, coupon codes, user IDs) are written as a small index
+ *
+ * Design Note: The dictionary is scoped to one encoded buffer, so a batch of orders
+ * pays for each item name once. Readers reject schema versions newer than they know,
+ * and keep decoding older versions after the format evolves.
+ */
+public final class ModelCodec {
+
+    /**
+     * Current schema version written by BinaryWriter.
+     * Bump when the record layout changes and keep BinaryReader able to read older versions.
+     */
+    public static final int SCHEMA_VERSION = 1;
+
+    static final byte MAGIC_0 = 'E';
+    static final byte MAGIC_1 = 'S';
+
+    // Record tags
+    static final int TAG_ITEM = 1;
+    static final int TAG_CART = 2;
+    static final int TAG_ORDER = 3;
+
+    private ModelCodec() {
+    }
+
+    /**
+     * Encode a single Item, Cart or Order.
+     */
+    public static byte[] encode(Object model) {
+        BinaryWriter writer = new BinaryWriter();
+        writer.write(model);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Encode a batch of models into one buffer sharing a single string dictionary.
+     */
+    public static byte[] encodeAll(Collection<?> models) {
+        BinaryWriter writer = new BinaryWriter();
+        for (Object model : models) {
+            writer.write(model);
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decode a buffer holding exactly one record of the given type.
+     */
+    public static <T> T decode(byte[] bytes, Class<T> type) {
+        BinaryReader reader = new BinaryReader(bytes);
+        Object model = reader.next();
+        if (!type.isInstance(model)) {
+            throw new IllegalArgumentException("Expected " + type.getSimpleName()
+                + " record but found " + model.getClass().getSimpleName());
+        }
+        return type.cast(model);
+    }
+
+    /**
+     * Decode every record in a buffer (in write order).
+     */
+    public static List<Object> decodeAll(byte[] bytes) {
+        BinaryReader reader = new BinaryReader(bytes);
+        List<Object> models = new ArrayList<>();
+        while (reader.hasNext()) {
+            models.add(reader.next());
+        }
+        return models;
+    }
+
+    /**
+     * Resolve the record tag for a model instance.
+     */
+    static int tagOf(Object model) {
+        if (model instanceof Item) {
+            return TAG_ITEM;
+        }
+        if (model instanceof Cart) {
+            return TAG_CART;
+        }
+        if (model instanceof Order) {
+            return TAG_ORDER;
+        }
+        throw new IllegalArgumentException("Unsupported model type: "
+            + (model == null ? "null" : model.getClass().getName()));
+    }
+}
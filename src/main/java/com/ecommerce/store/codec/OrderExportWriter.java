@@ -0,0 +1,251 @@
+package com.ecommerce.store.codec;
+
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Order;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Streaming encoder for order exports: NDJSON (one JSON object per line) or CSV.
+ *
+ * Each order is encoded into a reused line buffer and then into a fixed-size
+ * output buffer, so memory use does not depend on the number of orders. When the buffer is full it is written
+ * to the underlying stream; a slow reader therefore blocks the writer instead of
+ * letting output pile up in memory.
+ *
+ * CSV has one row per order with its line and quantity counts; NDJSON carries
+ * the full order including its lines.
+ *
+ * Not thread-safe: use one writer per export.
+ */
+public final class OrderExportWriter {
+
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    static final String CSV_HEADER = "orderId,userId,createdAt,paymentStatus,couponCode,"
+            + "lineCount,quantity,discountAmount,totalAmount";
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv; charset=UTF-8", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * @throws IllegalArgumentException for anything but "ndjson" or "csv" (any case)
+         */
+        public static Format parse(String format) {
+            if (format != null) {
+                for (Format candidate : values()) {
+                    if (candidate.extension.equalsIgnoreCase(format)) {
+                        return candidate;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("Export format must be 'ndjson' or 'csv'");
+        }
+    }
+
+    private final Writer out;
+    private final Format format;
+    private final StringBuilder line = new StringBuilder(512);   // one encoded order, reused
+    private long written;
+
+    /**
+     * Starts the export; for CSV the header row is written first.
+     */
+    public OrderExportWriter(OutputStream stream, Format format) throws IOException {
+        this.out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.format = format;
+        if (format == Format.CSV) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+        }
+    }
+
+    public void write(Order order) throws IOException {
+        line.setLength(0);
+        if (format == Format.NDJSON) {
+            writeJson(order);
+        } else {
+            writeCsv(order);
+        }
+        out.append(line);
+        if (line.capacity() > BUFFER_SIZE) {
+            // Do not hold on to the buffer of one exceptionally large order
+            line.setLength(0);
+            line.trimToSize();
+        }
+        written++;
+    }
+
+    /**
+     * Push buffered output to the underlying stream (does not close it).
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Number of orders written so far.
+     */
+    public long getWritten() {
+        return written;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // NDJSON
+    // ═══════════════════════════════════════════════════════════
+
+    private void writeJson(Order order) {
+        line.append("{\"orderId\":");
+        jsonString(order.getOrderId() != null ? order.getOrderId().toString() : null);
+        line.append(",\"userId\":");
+        jsonString(order.getUserId());
+        line.append(",\"createdAt\":");
+        jsonString(order.getCreatedAt() != null ? order.getCreatedAt().toString() : null);
+        line.append(",\"paymentStatus\":");
+        jsonString(order.getPaymentStatus() != null ? order.getPaymentStatus().name() : null);
+        line.append(",\"couponCode\":");
+        jsonString(order.getCouponCode());
+        line.append(",\"discountAmount\":");
+        jsonNumber(order.getDiscountAmount());
+        line.append(",\"totalAmount\":");
+        jsonNumber(order.getTotalAmount());
+        line.append(",\"items\":[");
+        if (order.getItems() != null) {
+            boolean first = true;
+            for (CartItem item : order.getItems()) {
+                line.append(first ? "{\"itemId\":" : ",{\"itemId\":");
+                first = false;
+                jsonString(item.getItemId() != null ? item.getItemId().toString() : null);
+                line.append(",\"itemName\":");
+                jsonString(item.getItemName());
+                line.append(",\"price\":");
+                jsonNumber(item.getPrice());
+                line.append(",\"quantity\":");
+                line.append(item.getQuantity());
+                line.append('}');
+            }
+        }
+        line.append("]}\n");
+    }
+
+    private void jsonString(String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    private void jsonNumber(BigDecimal value) {
+        line.append(value != null ? value.toPlainString() : "null");
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // CSV (RFC 4180)
+    // ═══════════════════════════════════════════════════════════
+
+    private void writeCsv(Order order) {
+        int lines = 0;
+        long quantity = 0;
+        if (order.getItems() != null) {
+            for (CartItem item : order.getItems()) {
+                lines++;
+                quantity += item.getQuantity();
+            }
+        }
+        line.append(order.getOrderId() != null ? order.getOrderId().toString() : "");
+        line.append(',');
+        csvText(order.getUserId());
+        line.append(',');
+        line.append(order.getCreatedAt() != null ? order.getCreatedAt().toString() : "");
+        line.append(',');
+        line.append(order.getPaymentStatus() != null ? order.getPaymentStatus().name() : "");
+        line.append(',');
+        csvText(order.getCouponCode());
+        line.append(',');
+        line.append(lines);
+        line.append(',');
+        line.append(quantity);
+        line.append(',');
+        line.append(order.getDiscountAmount() != null ? order.getDiscountAmount().toPlainString() : "");
+        line.append(',');
+        line.append(order.getTotalAmount() != null ? order.getTotalAmount().toPlainString() : "");
+        line.append('\n');
+    }
+
+    /**
+     * Free text (user IDs, codes): quoted when needed, and prefixed with ' when it
+     * would otherwise start a spreadsheet formula.
+     */
+    private void csvText(String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        boolean formula = first == '=' || first == '+' || first == '-' || first == '@'
+                || first == '\t' || first == '\r';
+        boolean quote = formula;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        if (formula) {
+            line.append('\'');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.store.config;
+
+import com.ecommerce.store.cdc.ChangeEventBus;
+import com.ecommerce.store.repository.DataStore;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exposes the DataStore's change-data-capture bus as a bean,
+ * so caches, indexes and metrics can subscribe to repository changes.
+ */
+@Configuration
+public class ChangeStreamConfig {
+
+    @Bean
+    public ChangeEventBus changeEventBus(DataStore dataStore) {
+        return dataStore.changes;
+    }
+}
@@ -23,8 +23,10 @@ public class CorsConfig implements WebMvcConfigurer {
                     "Accept",
                     "Origin",
                     "Access-Control-Request-Method",
-                    "Access-Control-Request-Headers"
+                    "Access-Control-Request-Headers",
+                    "X-Cart-Token"
                 )
+                .exposedHeaders("X-Cart-Token", "X-Next-Cursor", "X-Catalog-Version")
                 .allowCredentials(true)
                 .maxAge(3600); // Cache preflight for 1 hour
     }
@@ -0,0 +1,68 @@
+package com.ecommerce.store.config;
+
+import com.ecommerce.store.exception.ReadOnlyReplicaException;
+import com.ecommerce.store.exception.ReplicaSyncingException;
+import com.ecommerce.store.replication.ReplicationManager;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Set;
+
+/**
+ * Makes the API read-only on a replication follower.
+ * 
+ * Reads (e.g. GET /api/items, GET /api/orders/{userId}) are served from the
+ * replicated DataStore; any other method is rejected with 503 READ_ONLY_REPLICA.
+ * While the follower loads a full snapshot its DataStore is incomplete, so reads are
+ * rejected with 503 REPLICA_SYNCING (except the replication status itself).
+ */
+@Configuration
+public class ReadOnlyReplicaConfig implements WebMvcConfigurer {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    @Value("${app.replication.role:none}")
+    private String role;
+
+    private final ObjectProvider<ReplicationManager> replicationManager;
+
+    public ReadOnlyReplicaConfig(ObjectProvider<ReplicationManager> replicationManager) {
+        this.replicationManager = replicationManager;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!ReplicationManager.ROLE_FOLLOWER.equalsIgnoreCase(role)) {
+            return;
+        }
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (!READ_METHODS.contains(request.getMethod())) {
+                    throw new ReadOnlyReplicaException("This node is a read-only replica. Send writes to the primary.");
+                }
+                return true;
+            }
+        }).addPathPatterns("/api/**")
+                // POST, but only computes: followers can merge quantiles, too
+                .excludePathPatterns("/api/admin/stats/quantiles/merge");
+
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                ReplicationManager manager = replicationManager.getIfAvailable();
+                if (manager != null && manager.isSyncing()) {
+                    throw new ReplicaSyncingException("This replica is loading a snapshot from the primary. Retry shortly.");
+                }
+                return true;
+            }
+        }).addPathPatterns("/api/**")
+                .excludePathPatterns("/api/admin/replication");
+    }
+}
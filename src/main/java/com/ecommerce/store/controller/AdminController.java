@@ -1,21 +1,63 @@
 package com.ecommerce.store.controller;
 
 import com.ecommerce.store.dto.AdminStatsResponse;
+import com.ecommerce.store.dto.ChangeSubscriberResponse;
+import com.ecommerce.store.dto.CouponHistoryResponse;
 import com.ecommerce.store.dto.CouponListResponse;
+import com.ecommerce.store.dto.CouponRedemptionResponse;
 import com.ecommerce.store.dto.CouponResponse;
+import com.ecommerce.store.dto.CouponStatsResponse;
+import com.ecommerce.store.dto.CreatePromotionRequest;
+import com.ecommerce.store.dto.DistinctUsersResponse;
+import com.ecommerce.store.dto.LowStockAlertsResponse;
+import com.ecommerce.store.dto.LowStockResponse;
+import com.ecommerce.store.dto.OrderPageResponse;
+import com.ecommerce.store.dto.OrderQuantilesResponse;
+import com.ecommerce.store.dto.PersistenceStatsResponse;
+import com.ecommerce.store.dto.PromotionResponse;
+import com.ecommerce.store.dto.ReplicationStatusResponse;
+import com.ecommerce.store.dto.TimeSeriesResponse;
+import com.ecommerce.store.dto.TopItemsResponse;
 import com.ecommerce.store.service.AdminService;
+import com.ecommerce.store.service.OrderExport;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * REST API for Admin operations.
  * 
  * API Contract (Admin Endpoints):
  * - POST /api/admin/coupons/generate - Manually generate coupon (if needed)
- * - GET  /api/admin/coupons          - List all generated coupons
+ * - GET  /api/admin/coupons          - List generated coupons (paginated, optionally since a time)
+ * - GET  /api/admin/coupons/history  - Coupon history with use time and redeeming order (paginated)
  * - GET  /api/admin/coupons/active   - Get currently active coupon
- * - GET  /api/admin/stats            - Get store statistics
+ * - POST /api/admin/promotions       - Create a promotion code (quota, per-user limit, expiry)
+ * - GET  /api/admin/promotions/{code} - Get a promotion code and its redemptions so far
+ * - GET  /api/admin/stats            - Get store statistics (all time, or for a from/to time range)
+ * - GET  /api/admin/stats/top-items  - Best-selling items by units or revenue (estimated or exact)
+ * - GET  /api/admin/stats/timeseries - Recent orders, revenue, discount and coupon use per second/minute/hour
+ * - GET  /api/admin/stats/quantiles  - p50/p90/p99 order value and items per order (all time, per hour or day)
+ * - POST /api/admin/stats/quantiles/merge - Merge quantile histograms from several nodes
+ * - GET  /api/admin/stats/distinct-users - Approximate distinct buyers, coupon redeemers and cart creators
+ * - GET  /api/admin/stats/coupons    - Coupon attempts by outcome, time-to-redeem and race-loser delays
+ * - GET  /api/admin/items/low-stock  - Items at or below a stock threshold, lowest stock first
+ * - GET  /api/admin/items/low-stock/alerts - Feed of low-stock alerts (waits for the next one)
+ * - GET  /api/admin/items/{itemId}/orders - Orders that contained an item (paginated)
+ * - GET  /api/admin/coupons/{code}/orders - Orders that redeemed a coupon code (paginated)
+ * - GET  /api/admin/coupons/{code}/redemption - When and by whom a coupon was redeemed, and the race for it
+ * - GET  /api/admin/orders/export    - Stream all orders as NDJSON or CSV (optionally gzipped)
+ * - GET  /api/admin/cdc/subscribers  - Change-stream subscriber lag/drop metrics
+ * - GET  /api/admin/persistence      - Write-behind persistence metrics
+ * - GET  /api/admin/replication      - Replication role, acknowledgements and lag
  */
 @RestController
 @RequestMapping("/api/admin")
@@ -40,34 +82,423 @@ public class AdminController {
      *   "activeCoupon": "SAVE10-045"
      * }
      * 
+     * GET /api/admin/stats?from=2025-12-01T00:00:00Z&to=2025-12-28T00:00:00Z
+     * 
+     * Returns the order figures for that range instead (O(log n), no order scan),
+     * plus "from" / "to": the range actually covered, widened to whole minutes.
+     * 
      * Assignment requirement: "Lists count of items purchased, total purchase 
      * amount, list of discount codes and total discount amount."
      */
     @GetMapping("/stats")
-    public ResponseEntity<AdminStatsResponse> getStatistics() {
+    public ResponseEntity<AdminStatsResponse> getStatistics(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        
+        AdminStatsResponse stats = from == null && to == null
+                ? adminService.getStatistics()
+                : adminService.getStatistics(from, to);
+        return ResponseEntity.ok(stats);
+    }
+    
+    /**
+     * Get the best-selling items.
+     * 
+     * GET /api/admin/stats/top-items?by=revenue&n=3&exact=false
+     * 
+     * Response:
+     * {
+     *   "by": "revenue",
+     *   "exact": false,
+     *   "total": 48210.55,
+     *   "maxError": 0.00,
+     *   "items": [
+     *     { "itemId": "uuid", "name": "Laptop", "value": 19999.80, "error": 0.00, "guaranteed": true },
+     *     { "itemId": "uuid", "name": "Smartphone", "value": 9099.87, "error": 0.00, "guaranteed": true },
+     *     { "itemId": "uuid", "name": "Smart Watch", "value": 5399.82, "error": 0.00, "guaranteed": true }
+     *   ]
+     * }
+     * 
+     * Note: Estimates come from a fixed-size sketch updated on every order, so the
+     * cost does not grow with the number of orders. exact=true scans every order
+     * in parallel instead, to verify the estimates.
+     */
+    @GetMapping("/stats/top-items")
+    public ResponseEntity<TopItemsResponse> getTopItems(
+            @RequestParam(defaultValue = "units") String by,
+            @RequestParam(defaultValue = "10") int n,
+            @RequestParam(defaultValue = "false") boolean exact) {
+        
+        TopItemsResponse topItems = adminService.getTopItems(by, n, exact);
+        return ResponseEntity.ok(topItems);
+    }
+    
+    /**
+     * Get recent order activity per time bucket (ops dashboard).
+     * 
+     * GET /api/admin/stats/timeseries?resolution=minute&window=3
+     * 
+     * Response:
+     * {
+     *   "resolution": "minute",
+     *   "from": "2025-12-28T09:58:00Z",
+     *   "to": "2025-12-28T10:01:00Z",
+     *   "orders": 7,
+     *   "revenue": 2489.93,
+     *   "discount": 99.99,
+     *   "couponOrders": 1,
+     *   "buckets": [
+     *     { "start": "2025-12-28T09:58:00Z", "orders": 4, "revenue": 1289.96, "discount": 99.99, "couponOrders": 1 },
+     *     { "start": "2025-12-28T09:59:00Z", "orders": 0, "revenue": 0.00, "discount": 0.00, "couponOrders": 0 },
+     *     { "start": "2025-12-28T10:00:00Z", "orders": 3, "revenue": 1199.97, "discount": 0.00, "couponOrders": 0 }
+     *   ]
+     * }
+     * 
+     * Note: Served from fixed-size ring buffers (last hour per second, last day
+     * per minute, last 30 days per hour); the newest bucket is still filling.
+     */
+    @GetMapping("/stats/timeseries")
+    public ResponseEntity<TimeSeriesResponse> getTimeSeries(
+            @RequestParam(defaultValue = "minute") String resolution,
+            @RequestParam(defaultValue = "60") int window) {
+        
+        TimeSeriesResponse timeSeries = adminService.getTimeSeries(resolution, window);
+        return ResponseEntity.ok(timeSeries);
+    }
+    
+    /**
+     * Get order value and items-per-order percentiles.
+     * 
+     * GET /api/admin/stats/quantiles?resolution=hour&window=6&histogram=false
+     * 
+     * Response:
+     * {
+     *   "resolution": "hour",
+     *   "from": "2025-12-28T05:00:00Z",
+     *   "to": "2025-12-28T11:00:00Z",
+     *   "relativeAccuracy": 0.01,
+     *   "orderValue":    { "count": 412, "min": 9.99, "max": 2599.97, "p50": 89.91, "p90": 719.31, "p99": 1999.07, "histogram": null },
+     *   "itemsPerOrder": { "count": 412, "min": 1, "max": 14, "p50": 2, "p90": 5, "p99": 11, "histogram": null }
+     * }
+     * 
+     * Note: resolution=all (default) covers every order. Percentiles come from
+     * fixed-size histograms updated on every checkout; no orders are sorted.
+     */
+    @GetMapping("/stats/quantiles")
+    public ResponseEntity<OrderQuantilesResponse> getOrderQuantiles(
+            @RequestParam(defaultValue = "all") String resolution,
+            @RequestParam(defaultValue = "1") int window,
+            @RequestParam(defaultValue = "false") boolean histogram) {
+        
+        OrderQuantilesResponse quantiles = adminService.getOrderQuantiles(resolution, window, histogram);
+        return ResponseEntity.ok(quantiles);
+    }
+    
+    /**
+     * Merge percentiles across nodes or partitions.
+     * 
+     * POST /api/admin/stats/quantiles/merge
+     * 
+     * Request Body: [ responses of GET /stats/quantiles?histogram=true from each node ]
+     * 
+     * Response: OrderQuantilesResponse over all their orders ("resolution": "merged"),
+     * with the merged histograms, so merges can be merged again.
+     */
+    @PostMapping("/stats/quantiles/merge")
+    public ResponseEntity<OrderQuantilesResponse> mergeOrderQuantiles(
+            @RequestBody List<OrderQuantilesResponse> parts) {
+        
+        OrderQuantilesResponse quantiles = adminService.mergeOrderQuantiles(parts);
+        return ResponseEntity.ok(quantiles);
+    }
+    
+    /**
+     * Get the approximate number of distinct users who ordered, redeemed a coupon or created a cart.
+     * 
+     * GET /api/admin/stats/distinct-users?days=7
+     * 
+     * Response:
+     * {
+     *   "from": "2025-12-22T00:00:00Z",
+     *   "to": "2025-12-29T00:00:00Z",
+     *   "relativeStandardError": 0.01625,
+     *   "buyers":          { "estimate": 1204, "lowerBound": 1165, "upperBound": 1243 },
+     *   "couponRedeemers": { "estimate": 131, "lowerBound": 127, "upperBound": 135 },
+     *   "cartCreators":    { "estimate": 2950, "lowerBound": 2854, "upperBound": 3046 }
+     * }
+     * 
+     * Note: Without days, counts cover all time. Estimates come from fixed-size
+     * HyperLogLog sketches updated on every checkout and cart creation.
+     */
+    @GetMapping("/stats/distinct-users")
+    public ResponseEntity<DistinctUsersResponse> getDistinctUsers(
+            @RequestParam(required = false) Integer days) {
+        
+        DistinctUsersResponse distinctUsers = adminService.getDistinctUsers(days);
+        return ResponseEntity.ok(distinctUsers);
+    }
+    
+    /**
+     * Get coupon redemption analytics over all coupons.
+     * 
+     * GET /api/admin/stats/coupons
+     * 
+     * Response:
+     * {
+     *   "relativeAccuracy": 0.01,
+     *   "couponsGenerated": 24,
+     *   "couponsRedeemed": 21,
+     *   "validAttempts": 21,
+     *   "invalidCodeAttempts": 58,
+     *   "alreadyUsedAttempts": 412,
+     *   "noActiveCouponAttempts": 7,
+     *   "expiredAttempts": 3,
+     *   "quotaExhaustedAttempts": 96,
+     *   "userLimitAttempts": 11,
+     *   "timeToRedeemMillis": { "count": 21, "min": 180, "max": 96000, "p50": 2350, "p90": 15800, "p99": 96000 },
+     *   "lostByMillis":       { "count": 412, "min": 0, "max": 4100, "p50": 35, "p90": 640, "p99": 2900 }
+     * }
+     * 
+     * Note: Time-to-redeem runs from generation to use. Lost-by is how long after the coupon
+     * was used each ALREADY_USED checkout arrived. Attempt counts are for this node and
+     * include promotion codes; the distributions cover Nth-order coupons only.
+     */
+    @GetMapping("/stats/coupons")
+    public ResponseEntity<CouponStatsResponse> getCouponStats() {
         
-        AdminStatsResponse stats = adminService.getStatistics();
+        CouponStatsResponse stats = adminService.getCouponStats();
         return ResponseEntity.ok(stats);
     }
     
     /**
-     * List all generated coupon codes.
+     * Get the items that are running out of stock.
+     * 
+     * GET /api/admin/items/low-stock?threshold=2&limit=100
+     * 
+     * Response:
+     * {
+     *   "threshold": 2,
+     *   "count": 2,
+     *   "items": [
+     *     { "itemId": "uuid-1", "name": "Laptop", "price": 999.99, "stock": 0 },
+     *     { "itemId": "uuid-2", "name": "Blender", "price": 129.99, "stock": 2 }
+     *   ]
+     * }
+     * 
+     * Note: Without threshold, the configured alert threshold is used. Served from an
+     * index ordered by stock, so the cost does not depend on the catalog size.
+     */
+    @GetMapping("/items/low-stock")
+    public ResponseEntity<LowStockResponse> getLowStockItems(
+            @RequestParam(required = false) Integer threshold,
+            @RequestParam(defaultValue = "100") int limit) {
+        
+        LowStockResponse lowStock = adminService.getLowStockItems(threshold, limit);
+        return ResponseEntity.ok(lowStock);
+    }
+    
+    /**
+     * Follow low-stock alerts: each item raises one when its stock drops to the alert threshold.
+     * 
+     * GET /api/admin/items/low-stock/alerts?after=41&limit=100&waitSeconds=25
+     * 
+     * Response:
+     * {
+     *   "cursor": 42,
+     *   "missed": false,
+     *   "alerts": [
+     *     { "sequence": 42, "itemId": "uuid-2", "name": "Blender", "stock": 2, "threshold": 3, "raisedAt": "2025-12-28T10:00:00Z" }
+     *   ]
+     * }
+     * 
+     * Note: If there is no alert after the cursor yet, the request waits up to waitSeconds
+     * and returns as soon as one is raised. Pass the returned cursor as "after" next time.
+     * The wait is asynchronous (DeferredResult): no servlet thread is held meanwhile.
+     */
+    @GetMapping("/items/low-stock/alerts")
+    public DeferredResult<ResponseEntity<LowStockAlertsResponse>> getLowStockAlerts(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "0") int waitSeconds) {
+        
+        // Validated here, before the request goes async, so bad parameters still get a 400;
+        // the service completes the result itself after waitSeconds, well before this timeout
+        DeferredResult<ResponseEntity<LowStockAlertsResponse>> result =
+                new DeferredResult<>((waitSeconds + 10) * 1000L);
+        adminService.getLowStockAlerts(after, limit, waitSeconds).whenComplete((alerts, error) -> {
+            if (error != null) {
+                result.setErrorResult(error);
+            } else {
+                result.setResult(ResponseEntity.ok(alerts));
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Get the orders that contained an item.
+     * 
+     * GET /api/admin/items/{itemId}/orders?after=0&limit=50
+     * 
+     * Response:
+     * {
+     *   "total": 120,
+     *   "nextCursor": 50,
+     *   "orders": [ { "orderId": "uuid", "userId": "user123", "items": [...], "totalAmount": 999.99, ... } ]
+     * }
+     * 
+     * Note: Served from a reverse index (item -> order IDs); the cost depends only on
+     * the page size, not on the number of orders.
+     */
+    @GetMapping("/items/{itemId}/orders")
+    public ResponseEntity<OrderPageResponse> getOrdersByItem(
+            @PathVariable UUID itemId,
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(defaultValue = "50") int limit) {
+        
+        OrderPageResponse orders = adminService.getOrdersByItem(itemId, after, limit);
+        return ResponseEntity.ok(orders);
+    }
+    
+    /**
+     * Get the orders that redeemed a coupon code.
+     * 
+     * GET /api/admin/coupons/SAVE10-045/orders
+     * 
+     * Response: same shape as GET /api/admin/items/{itemId}/orders
+     */
+    @GetMapping("/coupons/{code}/orders")
+    public ResponseEntity<OrderPageResponse> getOrdersByCoupon(
+            @PathVariable String code,
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(defaultValue = "50") int limit) {
+        
+        OrderPageResponse orders = adminService.getOrdersByCoupon(code, after, limit);
+        return ResponseEntity.ok(orders);
+    }
+    
+    /**
+     * Get how one coupon was redeemed: when, by whom, and the race for it.
+     * 
+     * GET /api/admin/coupons/SAVE10-045/redemption
+     * 
+     * Response:
+     * {
+     *   "code": "SAVE10-045",
+     *   "generatedAtOrderNumber": 45,
+     *   "createdAt": "2025-01-15T10:30:00Z",
+     *   "usedAt": "2025-01-15T10:30:02.350Z",
+     *   "timeToRedeemMillis": 2350,
+     *   "redeemingUserId": "user123",
+     *   "redeemingOrderId": "uuid",
+     *   "raceLosses": 37,
+     *   "wrongCodeAttempts": 4,
+     *   "attemptMillis": { "count": 38, "min": 2350, "max": 6100, "p50": 2390, "p90": 3300, "p99": 6100 }
+     * }
+     * 
+     * Or 404 if the code was never generated.
+     * attemptMillis (every attempt on the code by time since generation) is only kept
+     * for the latest coupons; it is null for older ones.
+     */
+    @GetMapping("/coupons/{code}/redemption")
+    public ResponseEntity<CouponRedemptionResponse> getCouponRedemption(@PathVariable String code) {
+        
+        CouponRedemptionResponse redemption = adminService.getCouponRedemption(code);
+        if (redemption == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(redemption);
+    }
+    
+    /**
+     * Export all orders for finance, streamed straight to the response.
      * 
-     * GET /api/admin/coupons
+     * GET /api/admin/orders/export?format=csv&from=2025-01-01T00:00:00Z&to=2025-02-01T00:00:00Z&gzip=true
+     * 
+     * Response: attachment "orders-{version}.csv.gz"
+     * NDJSON: one order per line, same fields as OrderResponse plus line items
+     * CSV:    orderId,userId,createdAt,paymentStatus,couponCode,lineCount,quantity,discountAmount,totalAmount
+     * 
+     * Note: Memory use is constant (one 64 KB buffer), whatever the number of orders.
+     * The export is pinned to the store version at the time of the request.
+     * Orders evicted by compaction can no longer be exported: a range reaching before the
+     * compaction boundary is rejected (400) unless partial=true. X-Export-Complete tells whether
+     * the file holds every order in the range; X-Compacted-Before carries the boundary, if any.
+     */
+    @GetMapping("/orders/export")
+    public void exportOrders(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(defaultValue = "false") boolean partial,
+            HttpServletResponse response) throws IOException {
+        
+        // Validated before the response is committed, so bad parameters still get a 400
+        OrderExport export = adminService.prepareOrderExport(format, from, to, gzip, partial);
+        response.setContentType(export.getContentType());
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + export.getFilename() + "\"");
+        response.setHeader("X-Store-Version", Long.toString(export.getVersion()));
+        response.setHeader("X-Export-Complete", Boolean.toString(export.isComplete()));
+        if (export.getCompactedBefore() != null) {
+            response.setHeader("X-Compacted-Before", export.getCompactedBefore().toString());
+        }
+        export.writeTo(response.getOutputStream());
+    }
+    
+    /**
+     * List generated coupon codes, oldest first, one page at a time.
+     * 
+     * GET /api/admin/coupons?after=0&limit=100&since=2025-01-01T00:00:00Z
      * 
      * Response:
      * {
      *   "coupons": ["SAVE10-005", "SAVE10-010", "SAVE10-015"],
-     *   "totalGenerated": 3
+     *   "totalGenerated": 3,
+     *   "nextCursor": null
      * }
      */
     @GetMapping("/coupons")
-    public ResponseEntity<CouponListResponse> getAllCoupons() {
+    public ResponseEntity<CouponListResponse> getAllCoupons(
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(required = false) Instant since,
+            @RequestParam(defaultValue = "100") int limit) {
         
-        CouponListResponse coupons = adminService.getAllCoupons();
+        CouponListResponse coupons = adminService.getAllCoupons(after, since, limit);
         return ResponseEntity.ok(coupons);
     }
     
+    /**
+     * Get the coupon history: when each coupon was generated and used, and by which order.
+     * 
+     * GET /api/admin/coupons/history?after=0&limit=100&since=2025-01-01T00:00:00Z
+     * 
+     * Response:
+     * {
+     *   "totalGenerated": 2,
+     *   "nextCursor": null,
+     *   "coupons": [
+     *     { "position": 1, "code": "SAVE10-005", "generatedAtOrderNumber": 5,
+     *       "createdAt": "2025-01-15T10:30:00Z", "usedAt": "2025-01-15T10:42:10Z",
+     *       "redeemingUserId": "user123", "redeemingOrderId": "uuid" },
+     *     { "position": 2, "code": "SAVE10-010", "generatedAtOrderNumber": 10,
+     *       "createdAt": "2025-01-15T11:05:00Z", "usedAt": null,
+     *       "redeemingUserId": null, "redeemingOrderId": null }
+     *   ]
+     * }
+     * 
+     * Note: Positions are stable; pass nextCursor as "after" for the next page.
+     */
+    @GetMapping("/coupons/history")
+    public ResponseEntity<CouponHistoryResponse> getCouponHistory(
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(required = false) Instant since,
+            @RequestParam(defaultValue = "100") int limit) {
+        
+        CouponHistoryResponse history = adminService.getCouponHistory(after, since, limit);
+        return ResponseEntity.ok(history);
+    }
+    
     /**
      * Get currently active coupon.
      * 
@@ -109,4 +540,143 @@ public class AdminController {
         CouponResponse coupon = adminService.generateCoupon();
         return ResponseEntity.ok(coupon);
     }
+    
+    /**
+     * Create a promotion code. Shoppers redeem it at checkout like the Nth-order coupon
+     * (same discount), alongside any number of other live codes.
+     * 
+     * POST /api/admin/promotions
+     * 
+     * Request:
+     * {
+     *   "code": "SPRING25",
+     *   "campaign": "spring-sale",
+     *   "quota": 1000,
+     *   "perUserLimit": 1,
+     *   "expiresAt": "2025-04-01T00:00:00Z"
+     * }
+     * 
+     * Response: PromotionResponse (see GET /api/admin/promotions/{code})
+     * 
+     * 400 if the code is not 1-64 letters, digits, '-' or '_', starts with the
+     * Nth-order prefix SAVE10-, already exists, or expires in the past.
+     * quota / perUserLimit 0 = unlimited; no expiresAt = never expires.
+     */
+    @PostMapping("/promotions")
+    public ResponseEntity<PromotionResponse> createPromotion(@Valid @RequestBody CreatePromotionRequest request) {
+        
+        PromotionResponse promotion = adminService.createPromotion(request);
+        return ResponseEntity.ok(promotion);
+    }
+    
+    /**
+     * Get a promotion code and its redemptions so far.
+     * 
+     * GET /api/admin/promotions/SPRING25
+     * 
+     * Response:
+     * {
+     *   "code": "SPRING25",
+     *   "campaign": "spring-sale",
+     *   "quota": 1000,
+     *   "perUserLimit": 1,
+     *   "expiresAt": "2025-04-01T00:00:00Z",
+     *   "createdAt": "2025-03-01T09:00:00Z",
+     *   "redeemed": 412,
+     *   "remaining": 588,
+     *   "expired": false
+     * }
+     * 
+     * Or 404 if the code does not exist. remaining is null for codes without a quota.
+     */
+    @GetMapping("/promotions/{code}")
+    public ResponseEntity<PromotionResponse> getPromotion(@PathVariable String code) {
+        
+        PromotionResponse promotion = adminService.getPromotion(code);
+        if (promotion == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(promotion);
+    }
+    
+    /**
+     * Get change-stream (CDC) subscriber metrics.
+     * 
+     * GET /api/admin/cdc/subscribers
+     * 
+     * Response:
+     * [
+     *   {
+     *     "name": "search-index",
+     *     "cursor": 1042,
+     *     "lag": 3,
+     *     "dropped": 0,
+     *     "delivered": 1042,
+     *     "errors": 0
+     *   }
+     * ]
+     */
+    @GetMapping("/cdc/subscribers")
+    public ResponseEntity<List<ChangeSubscriberResponse>> getChangeSubscribers() {
+        
+        List<ChangeSubscriberResponse> subscribers = adminService.getChangeSubscribers();
+        return ResponseEntity.ok(subscribers);
+    }
+    
+    /**
+     * Get write-behind persistence metrics.
+     * 
+     * GET /api/admin/persistence
+     * 
+     * Response:
+     * {
+     *   "enabled": true,
+     *   "queueDepth": 12,
+     *   "enqueued": 5310,
+     *   "coalesced": 2874,
+     *   "flushedRows": 2424,
+     *   "flushes": 96,
+     *   "failedFlushes": 0,
+     *   "lastBatchSize": 31,
+     *   "maxBatchSize": 500,
+     *   "avgBatchSize": 25.25,
+     *   "lastFlushMillis": 1.8,
+     *   "maxFlushMillis": 42.7,
+     *   "avgFlushMillis": 2.3
+     * }
+     */
+    @GetMapping("/persistence")
+    public ResponseEntity<PersistenceStatsResponse> getPersistenceStats() {
+        
+        PersistenceStatsResponse stats = adminService.getPersistenceStats();
+        return ResponseEntity.ok(stats);
+    }
+    
+    /**
+     * Get replication status.
+     * 
+     * GET /api/admin/replication
+     * 
+     * Response (primary):
+     * {
+     *   "role": "primary",
+     *   "headSequence": 52110,
+     *   "followers": [
+     *     {
+     *       "name": "standby-1",
+     *       "address": "/127.0.0.1:53412",
+     *       "ackedSequence": 52108,
+     *       "lag": 2,
+     *       "millisSinceAck": 4,
+     *       "fullSyncs": 1
+     *     }
+     *   ]
+     * }
+     */
+    @GetMapping("/replication")
+    public ResponseEntity<ReplicationStatusResponse> getReplicationStatus() {
+        
+        ReplicationStatusResponse status = adminService.getReplicationStatus();
+        return ResponseEntity.ok(status);
+    }
 }
@@ -1,6 +1,8 @@
 package com.ecommerce.store.controller;
 
 import com.ecommerce.store.dto.AddToCartRequest;
+import com.ecommerce.store.dto.BulkCartRequest;
+import com.ecommerce.store.dto.BulkCartResponse;
 import com.ecommerce.store.dto.CartResponse;
 import com.ecommerce.store.dto.UpdateQuantityRequest;
 import com.ecommerce.store.service.CartService;
@@ -18,8 +20,13 @@ import java.util.UUID;
  * - POST   /api/cart/{userId}/items          - Add item to cart
  * - DELETE /api/cart/{userId}/items/{itemId} - Remove item from cart
  * - PUT    /api/cart/{userId}/items/{itemId} - Update item quantity
+ * - POST   /api/cart/{userId}/bulk           - Apply several cart operations at once
  * - GET    /api/cart/{userId}                - Get user's cart
  * - DELETE /api/cart/{userId}                - Clear cart
+ * 
+ * Stateless mode (app.cart.stateless.enabled=true): the cart is not stored on the server.
+ * Every response carries the cart as a signed X-Cart-Token header; the client sends the
+ * latest token back with its next cart or checkout request.
  */
 @RestController
 @RequestMapping("/api/cart")
@@ -96,6 +103,37 @@ public class CartController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Apply several cart operations at once (restore a saved cart, import an order list).
+     * 
+     * POST /api/cart/{userId}/bulk
+     * 
+     * Request Body:
+     * {
+     *   "operations": [
+     *     { "type": "ADD",    "itemId": "uuid", "quantity": 2 },
+     *     { "type": "UPDATE", "itemId": "uuid", "quantity": 5 },
+     *     { "type": "REMOVE", "itemId": "uuid" }
+     *   ],
+     *   "strict": false
+     * }
+     * 
+     * Response: BulkCartResponse (cart after the batch, applied count, per-operation errors)
+     * With "strict": true, any failing operation rejects the whole batch with 400.
+     */
+    @PostMapping("/{userId}/bulk")
+    public ResponseEntity<BulkCartResponse> applyOperations(
+            @PathVariable String userId,
+            @Valid @RequestBody BulkCartRequest request) {
+        
+        BulkCartResponse response = cartService.applyOperations(
+                userId,
+                request.getOperations(),
+                request.isStrict()
+        );
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Get user's cart.
      * 
@@ -7,13 +7,16 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Instant;
+
 /**
  * REST API for public Coupon operations.
  *
  * API Contract:
- * - GET /api/coupons - List all generated coupon codes
+ * - GET /api/coupons - List generated coupon codes (paginated, optionally since a time)
  * - GET /api/coupons/active - Get currently active coupon (for users to see available discount)
  */
 @RestController
@@ -52,23 +55,31 @@ public class CouponController {
     }
 
     /**
-     * List all generated coupon codes.
+     * List generated coupon codes, oldest first, one page at a time.
      *
-     * GET /api/coupons
+     * GET /api/coupons?after=0&limit=100&since=2025-01-01T00:00:00Z
      *
      * Response:
      * {
      *   "coupons": ["SAVE10-005", "SAVE10-010", "SAVE10-015"],
-     *   "totalGenerated": 3
+     *   "totalGenerated": 3,
+     *   "nextCursor": null
      * }
      *
      * This endpoint allows users to see all available coupon codes
      * that have been generated (though only one can be active at a time).
+     * Pass nextCursor as "after" for the next page; "since" skips coupons created earlier.
+     *
+     * Note: Served from an append-only log; the cost depends only on the page size,
+     * and polling never holds up coupon generation.
      */
     @GetMapping
-    public ResponseEntity<CouponListResponse> getAllCoupons() {
+    public ResponseEntity<CouponListResponse> getAllCoupons(
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(required = false) Instant since,
+            @RequestParam(defaultValue = "100") int limit) {
 
-        CouponListResponse coupons = adminService.getAllCoupons();
+        CouponListResponse coupons = adminService.getAllCoupons(after, since, limit);
         return ResponseEntity.ok(coupons);
     }
 }
\ No newline at end of file
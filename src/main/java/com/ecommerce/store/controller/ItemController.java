@@ -1,11 +1,20 @@
 package com.ecommerce.store.controller;
 
+import com.ecommerce.store.dto.ItemBatchRequest;
+import com.ecommerce.store.dto.ItemBrowseRequest;
+import com.ecommerce.store.dto.ItemChangesResponse;
+import com.ecommerce.store.dto.ItemLookupResponse;
+import com.ecommerce.store.dto.ItemPageResponse;
 import com.ecommerce.store.dto.ItemResponse;
+import com.ecommerce.store.dto.ItemSearchResponse;
+import com.ecommerce.store.dto.SuggestionResponse;
 import com.ecommerce.store.service.ItemService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,14 +22,30 @@ import java.util.UUID;
  * REST API for Item (product catalog) operations.
  * 
  * API Contract:
- * - GET /api/items     - List all items (product catalog)
- * - GET /api/items/{id} - Get item details
+ * - GET  /api/items            - List all items (product catalog)
+ * - GET  /api/items?sort=price&minPrice=&maxPrice=&inStock=&limit=&after= - Filtered, sorted page
+ * - GET  /api/items/changes?since= - Items changed since a catalog version (delta sync)
+ * - GET  /api/items?ids=a,b,c   - Get several items by ID
+ * - POST /api/items/batch       - Get several items by ID (long ID lists)
+ * - GET  /api/items/search?q=   - Search items by name (ranked, paginated)
+ * - GET  /api/items/suggest?prefix= - Autocomplete suggestions
+ * - GET  /api/items/{id}        - Get item details
  */
 @RestController
 @RequestMapping("/api/items")
 @RequiredArgsConstructor
 public class ItemController {
     
+    /**
+     * Response header carrying the cursor of the next catalog page.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    /**
+     * Response header carrying the catalog version of a full catalog listing.
+     */
+    public static final String CATALOG_VERSION_HEADER = "X-Catalog-Version";
+    
     private final ItemService itemService;
     
     /**
@@ -39,14 +64,154 @@ public class ItemController {
      * ]
      * 
      * Note: Users need to see available products before adding to cart.
+     * 
+     * Response header X-Catalog-Version: pass as "since" to GET /api/items/changes
+     * to receive only what changed afterwards.
+     * 
+     * Browsing (any of these parameters; all optional):
+     * GET /api/items?sort=price&order=asc&minPrice=10&maxPrice=100&inStock=true&limit=20&after=cursor
+     * 
+     * - sort: "name" (default) or "price"; order: "asc" (default) or "desc"
+     * - limit: page size (1-1000); without it all matching items are returned
+     * - Response body: the page as List<ItemResponse>
+     * - Response header X-Next-Cursor: pass as "after" for the next page (absent on the last page)
      */
     @GetMapping
-    public ResponseEntity<List<ItemResponse>> getAllItems() {
+    public ResponseEntity<List<ItemResponse>> getAllItems(
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String order,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        
+        ItemBrowseRequest request = new ItemBrowseRequest(minPrice, maxPrice, inStock, sort, order, after, limit);
+        if (request.isEmpty()) {
+            // Version first: changes racing the listing are re-sent by the next delta sync
+            long version = itemService.getCatalogVersion();
+            List<ItemResponse> items = itemService.getAllItems();
+            return ResponseEntity.ok()
+                    .header(CATALOG_VERSION_HEADER, Long.toString(version))
+                    .body(items);
+        }
+        
+        ItemPageResponse page = itemService.browseItems(request);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+    
+    /**
+     * Delta sync: items created, changed or deleted since a catalog version.
+     * 
+     * GET /api/items/changes?since=1735380000000123&limit=1000
+     * 
+     * Response: ItemChangesResponse
+     * {
+     *   "version": 1735380000000125,
+     *   "resyncRequired": false,
+     *   "hasMore": false,
+     *   "items": [ { "itemId": "uuid", "name": "Laptop", "price": 949.99, "stock": 7 } ],
+     *   "deletedItemIds": [ "uuid" ]
+     * }
+     * 
+     * Note: "resyncRequired": true means the change log no longer reaches back to `since`;
+     * reload GET /api/items and continue from its X-Catalog-Version header.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ItemChangesResponse> getItemChanges(
+            @RequestParam long since,
+            @RequestParam(defaultValue = "1000") int limit) {
+        
+        ItemChangesResponse changes = itemService.getItemChanges(since, limit);
+        return ResponseEntity.ok(changes);
+    }
+    
+    /**
+     * Get several items by ID in one round-trip (product pages, carousels).
+     * 
+     * GET /api/items?ids=uuid1,uuid2,uuid3
+     * 
+     * Response: List<ItemLookupResponse>, one entry per requested ID in request order
+     * [
+     *   { "itemId": "uuid1", "found": true,  "item": { "itemId": "uuid1", "name": "Laptop", ... } },
+     *   { "itemId": "uuid2", "found": false, "item": null }
+     * ]
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<ItemLookupResponse>> getItemsByIds(@RequestParam("ids") List<UUID> ids) {
         
-        List<ItemResponse> items = itemService.getAllItems();
+        List<ItemLookupResponse> items = itemService.getItemsByIds(ids);
         return ResponseEntity.ok(items);
     }
     
+    /**
+     * Get several items by ID - POST variant for ID lists too long for a URL.
+     * 
+     * POST /api/items/batch
+     * 
+     * Request Body:
+     * {
+     *   "itemIds": ["uuid1", "uuid2"]
+     * }
+     * 
+     * Response: same as GET /api/items?ids=...
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<ItemLookupResponse>> getItemsByIdsBatch(@Valid @RequestBody ItemBatchRequest request) {
+        
+        List<ItemLookupResponse> items = itemService.getItemsByIds(request.getItemIds());
+        return ResponseEntity.ok(items);
+    }
+    
+    /**
+     * Search the catalog by item name.
+     * 
+     * GET /api/items/search?q=wireless+headphones&page=0&size=20
+     * 
+     * Response: ItemSearchResponse
+     * {
+     *   "query": "wireless headphones",
+     *   "page": 0,
+     *   "size": 20,
+     *   "total": 1,
+     *   "items": [ { "itemId": "uuid", "name": "Wireless Headphones", "price": 199.99, "stock": 10 } ]
+     * }
+     * 
+     * Note: Every word must match (case and accents ignored); best matches first.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ItemSearchResponse> searchItems(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        ItemSearchResponse results = itemService.searchItems(query, page, size);
+        return ResponseEntity.ok(results);
+    }
+    
+    /**
+     * Autocomplete the word being typed.
+     * 
+     * GET /api/items/suggest?prefix=wireless+he&limit=10
+     * 
+     * Response: List<SuggestionResponse>
+     * [
+     *   { "text": "wireless headphones", "count": 1 }
+     * ]
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        List<SuggestionResponse> suggestions = itemService.suggest(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+    
     /**
      * Get item by ID.
      * 
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 /**
  * Response DTO for admin statistics.
@@ -21,4 +22,7 @@ public class AdminStatsResponse {
     private Long ordersWithCoupons;
     private Integer totalCouponsGenerated;
     private String activeCoupon;  // null if no active coupon
+    private Long snapshotVersion; // store version the figures were read at
+    private Instant from;         // time range covered, widened to whole buckets (null = all time)
+    private Instant to;           // exclusive
 }
@@ -0,0 +1,30 @@
+package com.ecommerce.store.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request DTO for applying several cart operations at once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCartRequest {
+    
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 1000, message = "At most 1000 operations per request")
+    @Valid
+    private List<CartOperation> operations = new ArrayList<>();
+    
+    /**
+     * true = reject the whole batch if any operation fails (no changes applied).
+     */
+    private boolean strict;
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response DTO for a bulk cart request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCartResponse {
+    
+    private CartResponse cart;       // Cart after all successful operations
+    private int applied;             // Number of operations applied
+    private List<CartOperationError> errors = new ArrayList<>();
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.store.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One operation of a bulk cart request.
+ * 
+ * ADD adds quantity (or increases an existing line), UPDATE replaces the quantity,
+ * REMOVE deletes the line (quantity ignored).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartOperation {
+    
+    public enum Type {
+        ADD,
+        UPDATE,
+        REMOVE
+    }
+    
+    @NotNull(message = "Operation type is required")
+    private Type type;
+    
+    @NotNull(message = "Item ID is required")
+    private UUID itemId;
+    
+    private Integer quantity;
+}
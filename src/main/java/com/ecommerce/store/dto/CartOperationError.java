@@ -0,0 +1,21 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A bulk cart operation that was skipped, with the reason.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartOperationError {
+    
+    private int index;               // Position in the request's operations list
+    private CartOperation.Type type;
+    private UUID itemId;
+    private String message;
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a change-stream subscriber's metrics.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeSubscriberResponse {
+    
+    private String name;
+    private Long cursor;      // Next sequence this subscriber will read
+    private Long lag;         // Published but not yet consumed
+    private Long dropped;     // Overwritten before being consumed
+    private Long delivered;
+    private Long errors;
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Response DTO for one generated coupon and its redemption.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponHistoryEntryResponse {
+    
+    private int position;            // 1-based place in the history (stable cursor)
+    private String code;
+    private int generatedAtOrderNumber;
+    private Instant createdAt;
+    private Instant usedAt;          // Null if never used
+    private String redeemingUserId;  // Null if no order applied it (yet)
+    private UUID redeemingOrderId;   // Null if no order applied it (yet)
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response DTO for one page of the coupon history (admin).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponHistoryResponse {
+    
+    private int totalGenerated;      // All coupons ever generated, not just this page
+    private Integer nextCursor;      // Pass as "after" for the next page; null on the last page
+    private List<CouponHistoryEntryResponse> coupons = new ArrayList<>();   // Oldest first
+}
@@ -7,13 +7,14 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 /**
- * Response DTO for list of coupons.
+ * Response DTO for one page of generated coupon codes.
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class CouponListResponse {
     
-    private List<String> coupons;
-    private Integer totalGenerated;
+    private List<String> coupons;          // Oldest first
+    private Integer totalGenerated;        // All coupons ever generated, not just this page
+    private Integer nextCursor;            // Pass as "after" for the next page; null on the last page
 }
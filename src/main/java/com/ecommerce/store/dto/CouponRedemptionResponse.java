@@ -0,0 +1,28 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Response DTO for how one coupon was redeemed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponRedemptionResponse {
+    
+    private String code;
+    private int generatedAtOrderNumber;
+    private Instant createdAt;
+    private Instant usedAt;               // Null if never used
+    private Long timeToRedeemMillis;      // Null if never used
+    private String redeemingUserId;       // Null if no order applied it (yet)
+    private UUID redeemingOrderId;
+    private long raceLosses;              // ALREADY_USED attempts on this code (this node)
+    private long wrongCodeAttempts;       // INVALID_CODE attempts while it was active (this node)
+    private DistributionResponse attemptMillis;   // Attempts by time since generation; null for older coupons
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for coupon redemption analytics over all coupons.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponStatsResponse {
+    
+    private double relativeAccuracy;      // e.g. 0.01 = quantiles within 1%
+    private int couponsGenerated;
+    private long couponsRedeemed;         // Coupons with a redeeming order
+    private long validAttempts;           // Checkouts that consumed a coupon (this node)
+    private long invalidCodeAttempts;     // Rejected: not the active code (this node)
+    private long alreadyUsedAttempts;     // Rejected: lost the race (this node)
+    private long noActiveCouponAttempts;  // Rejected: no coupon active (this node)
+    private long expiredAttempts;         // Rejected: promotion code expired (this node)
+    private long quotaExhaustedAttempts;  // Rejected: promotion code quota used up (this node)
+    private long userLimitAttempts;       // Rejected: user reached the code's per-user limit (this node)
+    private DistributionResponse timeToRedeemMillis;   // Generation to use
+    private DistributionResponse lostByMillis;         // Use to each ALREADY_USED attempt
+}
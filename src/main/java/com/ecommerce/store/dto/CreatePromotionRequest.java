@@ -0,0 +1,31 @@
+package com.ecommerce.store.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Request DTO for creating a promotion code.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreatePromotionRequest {
+    
+    @NotBlank(message = "Code is required")
+    private String code;
+    
+    private String campaign;          // For reporting (optional)
+    
+    @PositiveOrZero(message = "Quota must be zero (unlimited) or positive")
+    private int quota;                // Redemptions over all users; 0 = unlimited
+    
+    @PositiveOrZero(message = "Per-user limit must be zero (unlimited) or positive")
+    private int perUserLimit;         // Redemptions per user; 0 = unlimited
+    
+    private Instant expiresAt;        // null = never expires
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for one approximate distinct count.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistinctCountResponse {
+    
+    private long estimate;
+    private long lowerBound;         // estimate - 2 standard errors (about 95% confidence)
+    private long upperBound;         // estimate + 2 standard errors
+}
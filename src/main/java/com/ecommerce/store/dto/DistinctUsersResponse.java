@@ -0,0 +1,23 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Response DTO for distinct buyers, coupon redeemers and cart creators.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistinctUsersResponse {
+    
+    private Instant from;                       // Start of the oldest day (null = all time)
+    private Instant to;                         // End of the newest day, exclusive (null = all time)
+    private double relativeStandardError;       // e.g. 0.016 = estimates typically within 1.6%
+    private DistinctCountResponse buyers;             // Users with at least one order
+    private DistinctCountResponse couponRedeemers;    // Users with at least one discounted order
+    private DistinctCountResponse cartCreators;       // Users who created a cart (server-side carts only)
+}
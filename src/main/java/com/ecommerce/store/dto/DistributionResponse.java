@@ -0,0 +1,24 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Response DTO for the quantiles of one order metric.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistributionResponse {
+    
+    private long count;
+    private BigDecimal min;          // Exact
+    private BigDecimal max;          // Exact
+    private BigDecimal p50;          // Quantiles: within relativeAccuracy of the true value
+    private BigDecimal p90;
+    private BigDecimal p99;
+    private HistogramResponse histogram;   // Only when requested (for merging)
+}
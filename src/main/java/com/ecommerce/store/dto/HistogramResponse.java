@@ -0,0 +1,24 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Response DTO for a mergeable histogram (see QuantileHistogram).
+ * 
+ * Sent back as-is to POST /api/admin/stats/quantiles/merge to combine nodes or partitions.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistogramResponse {
+    
+    private double relativeAccuracy;     // Histograms only merge with the same accuracy
+    private long zeroCount;
+    private long min;
+    private long max;
+    private Map<Integer, Long> buckets;  // Non-empty logarithmic buckets: index -> count
+}
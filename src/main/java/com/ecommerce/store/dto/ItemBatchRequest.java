@@ -0,0 +1,24 @@
+package com.ecommerce.store.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request DTO for fetching several items by ID (POST variant for long ID lists).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemBatchRequest {
+    
+    @NotEmpty(message = "At least one item ID is required")
+    @Size(max = 1000, message = "At most 1000 item IDs per request")
+    private List<UUID> itemIds = new ArrayList<>();
+}
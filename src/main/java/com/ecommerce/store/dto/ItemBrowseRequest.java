@@ -0,0 +1,33 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Filters, sort order and keyset cursor for one page of the catalog.
+ * All fields are optional.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemBrowseRequest {
+    
+    private BigDecimal minPrice;     // Inclusive
+    private BigDecimal maxPrice;     // Inclusive
+    private Boolean inStock;         // true = only items with stock > 0
+    private String sort;             // "price" or "name" (default)
+    private String order;            // "asc" (default) or "desc"
+    private String after;            // Cursor of the previous page
+    private Integer limit;           // Page size; null = all matching items
+    
+    /**
+     * True when no parameter was given (plain catalog listing).
+     */
+    public boolean isEmpty() {
+        return minPrice == null && maxPrice == null && inStock == null
+                && sort == null && order == null && after == null && limit == null;
+    }
+}
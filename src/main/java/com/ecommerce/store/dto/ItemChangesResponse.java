@@ -0,0 +1,24 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for catalog delta sync: items changed since a catalog version.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemChangesResponse {
+    
+    private long version;            // Pass as "since" on the next poll
+    private boolean resyncRequired;  // Changes were dropped: reload GET /api/items instead
+    private boolean hasMore;         // More changes are waiting; poll again right away
+    private List<ItemResponse> items = new ArrayList<>();          // Created or changed (current state)
+    private List<UUID> deletedItemIds = new ArrayList<>();
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One entry of a batch item lookup: the requested ID and the item, if found.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemLookupResponse {
+    
+    private UUID itemId;
+    private boolean found;
+    private ItemResponse item;       // null when not found
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response DTO for one page of the sorted, filtered catalog.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemPageResponse {
+    
+    private List<ItemResponse> items = new ArrayList<>();
+    private String nextCursor;       // Pass as "after" for the next page; null on the last page
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response DTO for one page of catalog search results.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemSearchResponse {
+    
+    private String query;
+    private int page;
+    private int size;
+    private long total;              // Total matching items (all pages)
+    private List<ItemResponse> items = new ArrayList<>();
+}
@@ -0,0 +1,24 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Response DTO for one low-stock alert.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockAlertResponse {
+    
+    private long sequence;
+    private UUID itemId;
+    private String name;
+    private int stock;               // Stock when the alert was raised
+    private int threshold;           // Alert threshold at that time
+    private Instant raisedAt;
+}
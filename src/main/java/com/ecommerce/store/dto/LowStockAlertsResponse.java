@@ -0,0 +1,21 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response DTO for the low-stock alert feed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockAlertsResponse {
+    
+    private long cursor;             // Pass as "after" on the next request
+    private boolean missed;          // Alerts were dropped: reload GET /api/admin/items/low-stock
+    private List<LowStockAlertResponse> alerts = new ArrayList<>();   // Oldest first
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response DTO for items at or below a stock threshold.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockResponse {
+    
+    private int threshold;
+    private int count;                // All items at or below the threshold (items holds at most limit)
+    private List<ItemResponse> items = new ArrayList<>();   // Lowest stock first
+}
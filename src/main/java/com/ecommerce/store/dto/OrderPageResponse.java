@@ -0,0 +1,21 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response DTO for one page of the orders containing an item or coupon.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageResponse {
+    
+    private int total;               // All matching orders (including ones evicted by compaction)
+    private Integer nextCursor;      // Pass as "after" for the next page; null on the last page
+    private List<OrderResponse> orders = new ArrayList<>();   // Oldest first
+}
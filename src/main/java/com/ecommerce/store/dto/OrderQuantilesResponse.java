@@ -0,0 +1,23 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Response DTO for order value and items-per-order percentiles.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderQuantilesResponse {
+    
+    private String resolution;            // all, hour, day or merged
+    private Instant from;                 // Start of the oldest window (null = all time)
+    private Instant to;                   // End of the newest window, exclusive (null = all time)
+    private double relativeAccuracy;      // e.g. 0.01 = quantiles within 1%
+    private DistributionResponse orderValue;      // Order totals (after discounts)
+    private DistributionResponse itemsPerOrder;
+}
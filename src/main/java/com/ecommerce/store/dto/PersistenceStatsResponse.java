@@ -0,0 +1,28 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for write-behind persistence metrics.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersistenceStatsResponse {
+    
+    private Boolean enabled;
+    private Integer queueDepth;        // Rows waiting to be flushed
+    private Long enqueued;             // Mutations handed to the write-behind queue
+    private Long coalesced;            // Mutations merged into an already pending row
+    private Long flushedRows;
+    private Long flushes;
+    private Long failedFlushes;
+    private Integer lastBatchSize;
+    private Integer maxBatchSize;
+    private Double avgBatchSize;
+    private Double lastFlushMillis;
+    private Double maxFlushMillis;
+    private Double avgFlushMillis;
+}
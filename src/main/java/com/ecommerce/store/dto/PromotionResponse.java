@@ -0,0 +1,26 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Response DTO for a promotion code and its redemptions so far.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PromotionResponse {
+    
+    private String code;
+    private String campaign;
+    private int quota;               // 0 = unlimited
+    private int perUserLimit;        // 0 = unlimited
+    private Instant expiresAt;       // null = never expires
+    private Instant createdAt;
+    private int redeemed;
+    private Integer remaining;       // Redemptions left, null if unlimited
+    private boolean expired;
+}
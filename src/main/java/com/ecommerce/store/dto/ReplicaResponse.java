@@ -0,0 +1,21 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for one connected replication follower (as seen by the primary).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicaResponse {
+    
+    private String name;
+    private String address;
+    private Long ackedSequence;      // Next log sequence the follower will apply (-1 = awaiting snapshot)
+    private Long lag;                // Log entries not yet acknowledged
+    private Long millisSinceAck;     // null until the first ack
+    private Long fullSyncs;          // Snapshots sent on this connection
+}
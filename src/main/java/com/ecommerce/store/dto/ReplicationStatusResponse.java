@@ -0,0 +1,28 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for replication status.
+ * 
+ * Primary: log head and per-follower acknowledgements.
+ * Follower: connection state, applied position and lag behind the primary.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicationStatusResponse {
+    
+    private String role;                   // none, primary or follower
+    private Long headSequence;             // Primary log head (as last seen, on a follower)
+    private Long appliedSequence;          // Follower only: next sequence to apply
+    private Long lag;                      // Follower only: entries behind the primary
+    private Boolean connected;             // Follower only
+    private Long fullSyncs;                // Follower only: snapshots applied
+    private Long reconnects;               // Follower only
+    private List<ReplicaResponse> followers; // Primary only
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Response DTO for one time bucket of order activity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeBucketResponse {
+    
+    private Instant start;
+    private long orders;
+    private BigDecimal revenue;
+    private BigDecimal discount;
+    private long couponOrders;     // Orders that used a coupon
+}
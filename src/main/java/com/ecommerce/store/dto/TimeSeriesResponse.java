@@ -0,0 +1,27 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Response DTO for recent order activity per time bucket.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeSeriesResponse {
+    
+    private String resolution;        // second, minute or hour
+    private Instant from;             // Start of the oldest bucket (inclusive)
+    private Instant to;               // End of the newest bucket (exclusive)
+    private long orders;              // Totals over the whole window
+    private BigDecimal revenue;
+    private BigDecimal discount;
+    private long couponOrders;
+    private List<TimeBucketResponse> buckets;   // Oldest first
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Response DTO for one best-selling item.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopItemResponse {
+    
+    private UUID itemId;
+    private String name;           // null if the item was deleted since
+    private BigDecimal value;      // Units sold or line revenue (upper bound when estimated)
+    private BigDecimal error;      // value - error <= true value <= value
+    private boolean guaranteed;    // Certainly among the top N despite the error
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Response DTO for best-selling items (by units or by revenue).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopItemsResponse {
+    
+    private String by;                 // units or revenue
+    private boolean exact;             // true = full scan, false = streaming estimate
+    private BigDecimal total;          // Units sold / line revenue over all items
+    private BigDecimal maxError;       // Largest possible overcount of any estimate (0 when exact)
+    private List<TopItemResponse> items;
+}
@@ -75,6 +75,34 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
     
+    /**
+     * Handle writes sent to a read-only replication follower.
+     */
+    @ExceptionHandler(ReadOnlyReplicaException.class)
+    public ResponseEntity<ErrorResponse> handleReadOnlyReplicaException(ReadOnlyReplicaException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                ex.getMessage(),
+                "READ_ONLY_REPLICA",
+                Instant.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+    
+    /**
+     * Handle requests sent to a follower while it loads a full snapshot.
+     */
+    @ExceptionHandler(ReplicaSyncingException.class)
+    public ResponseEntity<ErrorResponse> handleReplicaSyncingException(ReplicaSyncingException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                ex.getMessage(),
+                "REPLICA_SYNCING",
+                Instant.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+    
     /**
      * Handle RuntimeException and other unexpected errors.
      */
@@ -0,0 +1,11 @@
+package com.ecommerce.store.exception;
+
+/**
+ * Exception thrown when a write request reaches a read-only replication follower.
+ */
+public class ReadOnlyReplicaException extends RuntimeException {
+
+    public ReadOnlyReplicaException(String message) {
+        super(message);
+    }
+}
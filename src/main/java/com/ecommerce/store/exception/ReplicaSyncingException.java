@@ -0,0 +1,11 @@
+package com.ecommerce.store.exception;
+
+/**
+ * Exception thrown when a request reaches a replication follower while it loads a full snapshot.
+ */
+public class ReplicaSyncingException extends RuntimeException {
+
+    public ReplicaSyncingException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,128 @@
+package com.ecommerce.store.model;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical (deduplicated) instances of catalog values repeated on every line.
+ *
+ * With millions of orders, the same item IDs, names and prices would otherwise
+ * be stored once per cart line / order. Values passed through here share a
+ * single instance, so each distinct value is stored only once.
+ *
+ * Design Notes:
+ * - Only for low-cardinality values (one per catalog item / price point): item IDs,
+ *   item names and line prices. Per-user or per-order values (user IDs, order IDs,
+ *   amounts) are not pooled: they would grow the pool with every new user
+ * - Weak: the pool holds its values through weak references, so a value stays
+ *   pooled only while some item, cart or order still uses it. Values of deleted
+ *   items or a cleared DataStore are dropped at the next GC; there is no size cap
+ *   that could fill up with stale values
+ * - BigDecimal is pooled by equals(), so scale is preserved (10.0 != 10.00)
+ *
+ * Thread-Safety: lock-free lookups (ConcurrentHashMap); collected entries are
+ * removed by the thread that next adds a value.
+ */
+public final class Canonical {
+
+    private static final WeakPool<String> STRINGS = new WeakPool<>();
+    private static final WeakPool<BigDecimal> DECIMALS = new WeakPool<>();
+    private static final WeakPool<UUID> UUIDS = new WeakPool<>();
+
+    private Canonical() {
+    }
+
+    /**
+     * Canonical instance of a catalog string, e.g. an item name (null-safe).
+     */
+    public static String string(String value) {
+        return STRINGS.intern(value);
+    }
+
+    /**
+     * Canonical instance of a catalog price (null-safe).
+     */
+    public static BigDecimal decimal(BigDecimal value) {
+        return DECIMALS.intern(value);
+    }
+
+    /**
+     * Canonical instance of an item ID (null-safe).
+     */
+    public static UUID uuid(UUID value) {
+        return UUIDS.intern(value);
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Internals
+    // ═══════════════════════════════════════════════════════════
+
+    private static final class WeakPool<T> {
+
+        private final ConcurrentHashMap<Entry<T>, Entry<T>> entries = new ConcurrentHashMap<>();
+        private final ReferenceQueue<T> collected = new ReferenceQueue<>();
+
+        T intern(T value) {
+            if (value == null) {
+                return null;
+            }
+            Entry<T> candidate = new Entry<>(value, collected);
+            while (true) {
+                Entry<T> existing = entries.get(candidate);
+                if (existing == null) {
+                    expunge();
+                    existing = entries.putIfAbsent(candidate, candidate);
+                    if (existing == null) {
+                        return value;
+                    }
+                }
+                T canonical = existing.get();
+                if (canonical != null) {
+                    return canonical;
+                }
+                entries.remove(existing, existing);   // collected but not yet expunged
+            }
+        }
+
+        private void expunge() {
+            Object entry;
+            while ((entry = collected.poll()) != null) {
+                entries.remove(entry, entry);
+            }
+        }
+    }
+
+    /**
+     * Weak reference to a pooled value, equal to entries holding an equal value.
+     * A collected entry is only equal to itself (so it can still be removed).
+     */
+    private static final class Entry<T> extends WeakReference<T> {
+
+        private final int hash;
+
+        Entry(T value, ReferenceQueue<T> queue) {
+            super(value, queue);
+            this.hash = value.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Entry<?> entry) || entry.hash != hash) {
+                return false;
+            }
+            Object value = get();
+            return value != null && value.equals(entry.get());
+        }
+    }
+}
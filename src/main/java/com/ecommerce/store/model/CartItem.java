@@ -1,8 +1,6 @@
 package com.ecommerce.store.model;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -15,37 +13,59 @@ import java.util.UUID;
  * This prevents inconsistencies if the original Item's price changes later.
  * Standard practice in e-commerce systems.
  * 
+ * Lines are immutable (no setters): quantity changes replace the line (see withQuantity),
+ * so the order created at checkout can share the cart's line instances instead of
+ * deep-copying them, and no cart edit can rewrite an order's lines. Name and price are
+ * canonical instances shared by every line of the same item, and so is the item ID.
+ * 
  * No need for separate CartItem ID - items are identified by itemId within the cart.
  * No need for cartId - CartItem belongs to Cart's items list.
  */
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
+@Value
 public class CartItem {
     
     /**
      * Reference to the original item ID.
      * Links this cart entry to the Item it represents.
      */
-    private UUID itemId;
+    UUID itemId;
     
     /**
      * Snapshot of item name at time of adding to cart.
      * Stored for display convenience without Item lookup.
      */
-    private String itemName;
+    String itemName;
     
     /**
      * Snapshot of item price at time of adding to cart.
      * Ensures cart price doesn't change if Item's price is updated.
      */
-    private BigDecimal price;
+    BigDecimal price;
     
     /**
      * Quantity of this item in the cart.
      * Must be positive (> 0).
      */
-    private int quantity;
+    int quantity;
+    
+    /**
+     * Create an immutable line snapshot of an item at its current name and price.
+     */
+    public static CartItem snapshot(Item item, int quantity) {
+        return new CartItem(
+                Canonical.uuid(item.getItemId()),
+                Canonical.string(item.getName()),
+                Canonical.decimal(item.getPrice()),
+                quantity
+        );
+    }
+    
+    /**
+     * Copy of this line with a different quantity (same shared name and price).
+     */
+    public CartItem withQuantity(int newQuantity) {
+        return new CartItem(itemId, itemName, price, newQuantity);
+    }
     
     /**
      * Calculates the subtotal for this cart item.
@@ -7,5 +7,8 @@ public enum CouponValidationResult {
     VALID,
     NO_ACTIVE_COUPON,
     INVALID_CODE,
-    ALREADY_USED
-}
\ No newline at end of file
+    ALREADY_USED,
+    EXPIRED,              // promotion code past its expiry
+    QUOTA_EXHAUSTED,      // promotion code redeemed as many times as its quota allows
+    USER_LIMIT_REACHED    // promotion code redeemed as many times as one user may
+}
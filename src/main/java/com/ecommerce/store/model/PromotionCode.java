@@ -0,0 +1,59 @@
+package com.ecommerce.store.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A coupon code of a marketing campaign (promotion).
+ *
+ * Campaign types:
+ * - NTH-ORDER: the built-in campaign (see Coupon). One live code at a time, usable once,
+ *   replaced when the next Nth order generates its successor
+ * - PROMOTION: codes created by an admin. Any number can be live at once, each with its own
+ *   redemption quota, per-user limit and expiry
+ *
+ * Promotion codes give the same discount as the Nth-order coupon (app.coupon.discount-percentage).
+ *
+ * This is a point-in-time copy: the live redemption counter is kept by the code table
+ * (see PromotionCodes) so that checkouts never lock.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PromotionCode {
+
+    /**
+     * Code shoppers enter at checkout (exact match).
+     */
+    private String code;
+
+    /**
+     * Campaign the code belongs to, for reporting.
+     */
+    private String campaign;
+
+    /**
+     * Maximum redemptions over all users; 0 = unlimited.
+     */
+    private int quota;
+
+    /**
+     * Maximum redemptions per user; 0 = unlimited.
+     */
+    private int perUserLimit;
+
+    /**
+     * The code is rejected from this time on; null = never expires.
+     */
+    private Instant expiresAt;
+
+    private Instant createdAt;
+
+    /**
+     * Redemptions so far.
+     */
+    private int redeemed;
+}
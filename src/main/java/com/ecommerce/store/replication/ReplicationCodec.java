@@ -0,0 +1,393 @@
+package com.ecommerce.store.replication;
+
+import com.ecommerce.store.cdc.ChangeEvent;
+import com.ecommerce.store.codec.ModelCodec;
+import com.ecommerce.store.model.Cart;
+import com.ecommerce.store.model.Coupon;
+import com.ecommerce.store.model.Item;
+import com.ecommerce.store.model.Order;
+import com.ecommerce.store.model.PromotionCode;
+import com.ecommerce.store.repository.CouponHistory;
+import com.ecommerce.store.repository.DataStore;
+import com.ecommerce.store.repository.OrderRollup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Wire encoding of replicated mutations and full snapshots, and their application to a DataStore.
+ *
+ * Entry: entity (byte), operation (byte), key, then for upserts the new state
+ * (items, carts and orders as ModelCodec records, coupons and promotion codes field by field).
+ *
+ * Applying is idempotent, so entries that overlap a snapshot can be replayed safely:
+ * - Items and carts: last state wins
+ * - Orders: applied once (by order ID), then recorded for reporting
+ * - Coupons: generated once (by code), later upserts update the active coupon;
+ *   redemptions reach the coupon history through the orders that applied them
+ * - Promotion codes: created once (by code), later upserts raise the redemption count;
+ *   per-user counts are taken from the orders that applied them
+ */
+final class ReplicationCodec {
+
+    private ReplicationCodec() {
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Entries
+    // ═══════════════════════════════════════════════════════════
+
+    static byte[] encodeEntry(ChangeEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(event.getEntity().ordinal());
+            out.writeByte(event.getOperation().ordinal());
+            switch (event.getEntity()) {
+                case ITEM, ORDER -> writeUuid(out, (UUID) event.getKey());
+                case CART, COUPON, PROMOTION -> out.writeUTF((String) event.getKey());
+            }
+            if (event.getOperation() == ChangeEvent.Operation.UPSERT) {
+                if (event.getEntity() == ChangeEvent.Entity.COUPON) {
+                    writeCoupon(out, (Coupon) event.getPayload());
+                } else if (event.getEntity() == ChangeEvent.Entity.PROMOTION) {
+                    writePromotion(out, (PromotionCode) event.getPayload());
+                } else {
+                    byte[] record = ModelCodec.encode(event.getPayload());
+                    out.writeInt(record.length);
+                    out.write(record);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static void applyEntry(byte[] entry, DataStore dataStore) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry));
+        ChangeEvent.Entity entity = ChangeEvent.Entity.values()[in.readByte()];
+        boolean upsert = ChangeEvent.Operation.values()[in.readByte()] == ChangeEvent.Operation.UPSERT;
+
+        switch (entity) {
+            case ITEM -> {
+                UUID itemId = readUuid(in);
+                if (upsert) {
+                    Item item = ModelCodec.decode(readRecord(in), Item.class);
+                    dataStore.items.put(itemId, item);
+                    dataStore.indexItem(item);
+                } else {
+                    dataStore.items.remove(itemId);
+                    dataStore.unindexItem(itemId);
+                }
+            }
+            case CART -> {
+                String userId = in.readUTF();
+                if (upsert) {
+                    dataStore.carts.put(userId, ModelCodec.decode(readRecord(in), Cart.class));
+                } else {
+                    dataStore.carts.remove(userId);
+                }
+            }
+            case ORDER -> {
+                readUuid(in);
+                applyOrder(ModelCodec.decode(readRecord(in), Order.class), dataStore);
+            }
+            case COUPON -> {
+                String code = in.readUTF();
+                applyCoupon(readCoupon(in, code), dataStore);
+            }
+            case PROMOTION -> {
+                String code = in.readUTF();
+                dataStore.promotions.apply(readPromotion(in, code));
+            }
+        }
+    }
+
+    private static void applyOrder(Order order, DataStore dataStore) {
+        if (dataStore.orders.putIfAbsent(order.getOrderId(), order) == null) {
+            dataStore.recordOrder(order);
+            if (order.getCouponCode() != null) {
+                dataStore.promotions.recordUse(order.getCouponCode(), order.getUserId());
+            }
+        }
+    }
+
+    private static void applyCoupon(Coupon coupon, DataStore dataStore) {
+        boolean generated = dataStore.couponHistory.append(coupon.getCode(), coupon.getGeneratedAtOrderNumber(),
+                coupon.getCreatedAt());
+        if (generated) {
+            dataStore.snapshots.recordCouponGenerated(coupon.getCode());
+        }
+        Coupon active = dataStore.activeCoupon;
+        if (generated || active == null || active.getCode().equals(coupon.getCode())) {
+            dataStore.activeCoupon = coupon;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Snapshots (full sync)
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Write the whole replicated state of a DataStore.
+     * Each cart is copied under its monitor (like CartServiceImpl edits it), so its lines
+     * and total are encoded as of one edit.
+     */
+    static void writeSnapshot(DataOutputStream out, DataStore dataStore) throws IOException {
+        List<Object> models = new ArrayList<>(dataStore.items.values());
+        for (Cart cart : dataStore.carts.values()) {
+            synchronized (cart) {
+                models.add(new Cart(cart.getUserId(), new ArrayList<>(cart.getItems()), cart.getTotal()));
+            }
+        }
+        dataStore.orders.values().stream()
+                .sorted(Comparator.comparing(Order::getCreatedAt))
+                .forEach(models::add);
+        // Read after the orders: an order evicted meanwhile is covered by this rollup
+        OrderRollup rollup = dataStore.snapshots.pin().getRollup();
+        int orderCounter = dataStore.orderCounter.get();
+
+        byte[] records = ModelCodec.encodeAll(models);
+        out.writeInt(records.length);
+        out.write(records);
+        writeRollup(out, rollup);
+        out.writeInt(orderCounter);
+
+        List<CouponHistory.Entry> coupons = dataStore.couponHistory.entries();
+        out.writeInt(coupons.size());
+        for (CouponHistory.Entry coupon : coupons) {
+            writeHistoryEntry(out, coupon);
+        }
+        Coupon active = dataStore.activeCoupon;
+        out.writeBoolean(active != null);
+        if (active != null) {
+            out.writeUTF(active.getCode());
+            writeCoupon(out, active);
+        }
+
+        List<PromotionCode> promotions = dataStore.promotions.all();
+        out.writeInt(promotions.size());
+        for (PromotionCode promotion : promotions) {
+            out.writeUTF(promotion.getCode());
+            writePromotion(out, promotion);
+            Map<String, Integer> byUser = dataStore.promotions.redeemedByUser(promotion.getCode());
+            out.writeInt(byUser.size());
+            for (Map.Entry<String, Integer> user : byUser.entrySet()) {
+                out.writeUTF(user.getKey());
+                out.writeInt(user.getValue());
+            }
+        }
+    }
+
+    /**
+     * Replace the DataStore contents with a snapshot written by writeSnapshot.
+     */
+    static void readSnapshot(DataInputStream in, DataStore dataStore) throws IOException {
+        byte[] records = new byte[in.readInt()];
+        in.readFully(records);
+        OrderRollup rollup = readRollup(in);
+        int orderCounter = in.readInt();
+        List<Object> models = ModelCodec.decodeAll(records);
+
+        dataStore.clearAll();
+        // Orders the primary compacted and evicted count through its rollup
+        dataStore.snapshots.restore(rollup, models.stream()
+                .filter(Order.class::isInstance)
+                .map(Order.class::cast)
+                .toList());
+        dataStore.orderCounter.set(orderCounter);
+        for (Object model : models) {
+            if (model instanceof Item item) {
+                dataStore.items.put(item.getItemId(), item);
+            } else if (model instanceof Cart cart) {
+                dataStore.carts.put(cart.getUserId(), cart);
+            } else if (model instanceof Order order) {
+                applyOrder(order, dataStore);
+            }
+        }
+
+        dataStore.reindexItems();
+
+        int coupons = in.readInt();
+        for (int i = 0; i < coupons; i++) {
+            CouponHistory.Entry coupon = readHistoryEntry(in);
+            dataStore.couponHistory.append(coupon);
+            dataStore.snapshots.recordCouponGenerated(coupon.getCode());
+            if (coupon.getRedeemingOrderId() != null) {
+                dataStore.couponStats.recordRedemption(coupon);
+            }
+        }
+        if (in.readBoolean()) {
+            String code = in.readUTF();
+            dataStore.activeCoupon = readCoupon(in, code);
+        }
+
+        int promotions = in.readInt();
+        for (int i = 0; i < promotions; i++) {
+            String code = in.readUTF();
+            PromotionCode promotion = readPromotion(in, code);
+            int users = in.readInt();
+            Map<String, Integer> byUser = new HashMap<>(users * 2);
+            for (int u = 0; u < users; u++) {
+                byUser.put(in.readUTF(), in.readInt());
+            }
+            dataStore.promotions.restore(promotion, byUser);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Field Encoding
+    // ═══════════════════════════════════════════════════════════
+
+    private static void writeCoupon(DataOutputStream out, Coupon coupon) throws IOException {
+        out.writeBoolean(coupon.isUsed());
+        out.writeInt(coupon.getGeneratedAtOrderNumber());
+        out.writeLong(coupon.getCreatedAt() == null ? Long.MIN_VALUE : coupon.getCreatedAt().toEpochMilli());
+    }
+
+    private static Coupon readCoupon(DataInputStream in, String code) throws IOException {
+        boolean used = in.readBoolean();
+        int generatedAt = in.readInt();
+        long createdAt = in.readLong();
+        return new Coupon(code, used, generatedAt,
+                createdAt == Long.MIN_VALUE ? null : Instant.ofEpochMilli(createdAt));
+    }
+
+    private static void writePromotion(DataOutputStream out, PromotionCode promotion) throws IOException {
+        String campaign = promotion.getCampaign();
+        out.writeBoolean(campaign != null);
+        if (campaign != null) {
+            out.writeUTF(campaign);
+        }
+        out.writeInt(promotion.getQuota());
+        out.writeInt(promotion.getPerUserLimit());
+        writeInstant(out, promotion.getExpiresAt());
+        writeInstant(out, promotion.getCreatedAt());
+        out.writeInt(promotion.getRedeemed());
+    }
+
+    private static PromotionCode readPromotion(DataInputStream in, String code) throws IOException {
+        String campaign = in.readBoolean() ? in.readUTF() : null;
+        int quota = in.readInt();
+        int perUserLimit = in.readInt();
+        Instant expiresAt = readInstant(in);
+        Instant createdAt = readInstant(in);
+        return new PromotionCode(code, campaign, quota, perUserLimit, expiresAt, createdAt, in.readInt());
+    }
+
+    private static void writeHistoryEntry(DataOutputStream out, CouponHistory.Entry coupon) throws IOException {
+        out.writeUTF(coupon.getCode());
+        out.writeInt(coupon.getGeneratedAtOrderNumber());
+        writeInstant(out, coupon.getCreatedAt());
+        writeInstant(out, coupon.getUsedAt());
+        String redeemingUserId = coupon.getRedeemingUserId();
+        out.writeBoolean(redeemingUserId != null);
+        if (redeemingUserId != null) {
+            out.writeUTF(redeemingUserId);
+        }
+        UUID redeemingOrderId = coupon.getRedeemingOrderId();
+        out.writeBoolean(redeemingOrderId != null);
+        if (redeemingOrderId != null) {
+            writeUuid(out, redeemingOrderId);
+        }
+    }
+
+    private static CouponHistory.Entry readHistoryEntry(DataInputStream in) throws IOException {
+        String code = in.readUTF();
+        int generatedAt = in.readInt();
+        Instant createdAt = readInstant(in);
+        Instant usedAt = readInstant(in);
+        String redeemingUserId = in.readBoolean() ? in.readUTF() : null;
+        UUID redeemingOrderId = in.readBoolean() ? readUuid(in) : null;
+        return new CouponHistory.Entry(code, generatedAt, createdAt, usedAt, redeemingUserId, redeemingOrderId);
+    }
+
+    private static void writeRollup(DataOutputStream out, OrderRollup rollup) throws IOException {
+        // Exact to the nanosecond: covers() compares order timestamps against it
+        out.writeLong(rollup.getCompactedBefore().getEpochSecond());
+        out.writeInt(rollup.getCompactedBefore().getNano());
+        out.writeInt(rollup.getDays().size());
+        for (OrderRollup.DailyBucket day : rollup.getDays().values()) {
+            out.writeLong(day.getDate().toEpochDay());
+            out.writeLong(day.getOrders());
+            out.writeInt(day.getItemsPurchased());
+            writeDecimal(out, day.getRevenue());
+            writeDecimal(out, day.getDiscount());
+            out.writeLong(day.getCouponOrders());
+        }
+        out.writeInt(rollup.getItems().size());
+        for (OrderRollup.ItemBucket item : rollup.getItems().values()) {
+            writeUuid(out, item.getItemId());
+            out.writeLong(item.getQuantity());
+            writeDecimal(out, item.getRevenue());
+        }
+    }
+
+    private static OrderRollup readRollup(DataInputStream in) throws IOException {
+        Instant compactedBefore = Instant.ofEpochSecond(in.readLong(), in.readInt());
+        int dayCount = in.readInt();
+        List<OrderRollup.DailyBucket> days = new ArrayList<>();
+        for (int i = 0; i < dayCount; i++) {
+            days.add(new OrderRollup.DailyBucket(LocalDate.ofEpochDay(in.readLong()), in.readLong(), in.readInt(),
+                    readDecimal(in), readDecimal(in), in.readLong()));
+        }
+        int itemCount = in.readInt();
+        List<OrderRollup.ItemBucket> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderRollup.ItemBucket(readUuid(in), in.readLong(), readDecimal(in)));
+        }
+        return OrderRollup.of(compactedBefore, days, items);
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeInt(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readInt()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+        out.writeLong(instant == null ? Long.MIN_VALUE : instant.toEpochMilli());
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        long millis = in.readLong();
+        return millis == Long.MIN_VALUE ? null : Instant.ofEpochMilli(millis);
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static byte[] readRecord(DataInputStream in) throws IOException {
+        byte[] record = new byte[in.readInt()];
+        in.readFully(record);
+        return record;
+    }
+}
@@ -0,0 +1,209 @@
+package com.ecommerce.store.replication;
+
+import com.ecommerce.store.repository.DataStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Follower side of hot-standby replication.
+ *
+ * Connects to the primary, applies its frames to the local DataStore on a single
+ * thread and acknowledges every applied frame. On disconnect it reconnects with
+ * exponential backoff and resumes from its last applied position (catch-up);
+ * the primary falls back to a full snapshot if that position is no longer retained.
+ *
+ * The local DataStore is only written by this class; the web layer is read-only
+ * on a follower, and rejects reads while a full snapshot is loaded (see ReadOnlyReplicaConfig).
+ */
+public class ReplicationFollower {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationFollower.class);
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+
+    private final DataStore dataStore;
+    private final String host;
+    private final int port;
+    private final String nodeName;
+    private final long heartbeatMillis;
+
+    private volatile long nextSequence = -1;
+    private volatile long primaryHead;
+    private volatile boolean connected;
+    private volatile boolean syncing;
+    private volatile long lastFrameMillis;
+    private final AtomicLong fullSyncs = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile Socket socket;
+    private Thread worker;
+
+    public ReplicationFollower(DataStore dataStore, String host, int port, String nodeName, long heartbeatMillis) {
+        this.dataStore = dataStore;
+        this.host = host;
+        this.port = port;
+        this.nodeName = nodeName;
+        this.heartbeatMillis = heartbeatMillis;
+    }
+
+    public synchronized void start() {
+        running = true;
+        worker = new Thread(this::connectLoop, "replication-follower");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stop replicating. The applied position is kept, so start() resumes from it.
+     */
+    public synchronized void stop() {
+        running = false;
+        disconnect();
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Drop the current connection (it is re-established automatically).
+     */
+    public void disconnect() {
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+
+    private void connectLoop() {
+        long backoff = 100;
+        while (running) {
+            try (Socket s = new Socket()) {
+                socket = s;
+                s.connect(new InetSocketAddress(host, port), (int) Math.max(1_000, heartbeatMillis));
+                s.setSoTimeout((int) (heartbeatMillis * 3));
+                s.setTcpNoDelay(true);
+                connected = true;
+                backoff = 100;
+                stream(s);
+            } catch (IOException e) {
+                if (running) {
+                    log.info("Replication connection to {}:{} lost: {}", host, port, e.getMessage());
+                }
+            } finally {
+                connected = false;
+                socket = null;
+            }
+            if (!running) {
+                return;
+            }
+            reconnects.incrementAndGet();
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                return;
+            }
+            backoff = Math.min(MAX_BACKOFF_MILLIS, backoff * 2);
+        }
+    }
+
+    private void stream(Socket s) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+        out.writeUTF(nodeName);
+        out.writeLong(nextSequence);
+        out.flush();
+
+        while (running) {
+            byte type = in.readByte();
+            long head = in.readLong();
+            int orderCounter = in.readInt();
+            long sequence = in.readLong();
+
+            if (type == ReplicationFrames.SNAPSHOT) {
+                // The store is cleared and refilled in place: reads are rejected until it is complete
+                syncing = true;
+                try {
+                    ReplicationCodec.readSnapshot(in, dataStore);   // restores the order counter, too
+                } finally {
+                    syncing = false;
+                }
+                nextSequence = sequence;
+                fullSyncs.incrementAndGet();
+            } else {
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    byte[] entry = new byte[in.readInt()];
+                    in.readFully(entry);
+                    ReplicationCodec.applyEntry(entry, dataStore);
+                }
+                dataStore.orderCounter.accumulateAndGet(orderCounter, Math::max);
+                nextSequence = sequence + count;
+            }
+            primaryHead = head;
+            lastFrameMillis = System.currentTimeMillis();
+
+            out.writeLong(nextSequence);
+            out.flush();
+        }
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * True while a full snapshot is being loaded (the local DataStore is incomplete).
+     */
+    public boolean isSyncing() {
+        return syncing;
+    }
+
+    /**
+     * Next log sequence this follower will apply (-1 before the first snapshot).
+     */
+    public long getNextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * Primary log head as of the last received frame.
+     */
+    public long getPrimaryHead() {
+        return primaryHead;
+    }
+
+    public long getLag() {
+        return nextSequence < 0 ? primaryHead : Math.max(0, primaryHead - nextSequence);
+    }
+
+    public long getLastFrameMillis() {
+        return lastFrameMillis;
+    }
+
+    public long getFullSyncs() {
+        return fullSyncs.get();
+    }
+
+    public long getReconnects() {
+        return reconnects.get();
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.store.replication;
+
+import com.ecommerce.store.repository.DataStore;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Framing of the replication stream (primary to follower).
+ *
+ * Every frame: type (byte), primary log head (long), primary order counter (int),
+ * sequence (long), then:
+ * - ENTRIES:  entry count (int), each entry as length (int) + bytes; sequence = first entry.
+ *             An empty ENTRIES frame is a heartbeat.
+ * - SNAPSHOT: full state (ReplicationCodec.writeSnapshot, incl. the order rollup and the order
+ *             counter as of the snapshot); sequence = next log entry to apply after it.
+ *
+ * Follower to primary: HELLO = node name (UTF) + next expected sequence (long, -1 = none),
+ * then one ACK (long, next expected sequence) per applied frame.
+ */
+final class ReplicationFrames {
+
+    static final byte ENTRIES = 1;
+    static final byte SNAPSHOT = 2;
+
+    private ReplicationFrames() {
+    }
+
+    static void writeEntries(DataOutputStream out, long head, int orderCounter, long firstSequence,
+                             List<byte[]> entries) throws IOException {
+        out.writeByte(ENTRIES);
+        out.writeLong(head);
+        out.writeInt(orderCounter);
+        out.writeLong(firstSequence);
+        out.writeInt(entries.size());
+        for (byte[] entry : entries) {
+            out.writeInt(entry.length);
+            out.write(entry);
+        }
+        out.flush();
+    }
+
+    static void writeSnapshot(DataOutputStream out, long baseSequence, DataStore dataStore) throws IOException {
+        out.writeByte(SNAPSHOT);
+        out.writeLong(baseSequence);
+        out.writeInt(dataStore.orderCounter.get());
+        out.writeLong(baseSequence);
+        ReplicationCodec.writeSnapshot(out, dataStore);
+        out.flush();
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.store.replication;
+
+import java.util.List;
+
+/**
+ * Primary-side retained log of encoded mutations, addressed by replication sequence.
+ *
+ * Bounded ring: the newest capacity entries are kept so that a follower that
+ * reconnects can catch up from its last acknowledged sequence. A follower that
+ * is further behind (or behind a gap) gets a full snapshot instead.
+ *
+ * A gap is recorded when mutations were lost before reaching the log (change
+ * stream overrun); entries before the gap can no longer produce a consistent replica.
+ */
+class ReplicationLog {
+
+    private final byte[][] ring;
+    private long headSequence;      // sequence the next entry will get
+    private long validFromSequence; // oldest sequence usable for catch-up (after the latest gap)
+
+    ReplicationLog(int capacity) {
+        this.ring = new byte[Math.max(1, capacity)][];
+    }
+
+    synchronized void append(byte[] entry) {
+        ring[(int) (headSequence % ring.length)] = entry;
+        headSequence++;
+        notifyAll();
+    }
+
+    /**
+     * Invalidate everything appended so far: followers must take a new snapshot.
+     */
+    synchronized void markGap() {
+        validFromSequence = headSequence;
+        notifyAll();
+    }
+
+    synchronized long getHeadSequence() {
+        return headSequence;
+    }
+
+    synchronized long getOldestSequence() {
+        return Math.max(validFromSequence, headSequence - ring.length);
+    }
+
+    /**
+     * True if every entry from sequence onward is still retained (catch-up possible).
+     */
+    synchronized boolean canReadFrom(long sequence) {
+        return sequence >= getOldestSequence() && sequence <= headSequence;
+    }
+
+    /**
+     * Copy up to max entries starting at sequence, waiting up to timeoutMillis for the first one.
+     *
+     * @return false if sequence is no longer readable (follower must resync)
+     */
+    synchronized boolean read(long sequence, int max, List<byte[]> out, long timeoutMillis)
+            throws InterruptedException {
+        if (sequence >= headSequence && timeoutMillis > 0) {
+            wait(timeoutMillis);
+        }
+        if (!canReadFrom(sequence)) {
+            return false;
+        }
+        for (long s = sequence; s < headSequence && out.size() < max; s++) {
+            out.add(ring[(int) (s % ring.length)]);
+        }
+        return true;
+    }
+}
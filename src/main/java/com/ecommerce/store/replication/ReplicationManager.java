@@ -0,0 +1,113 @@
+package com.ecommerce.store.replication;
+
+import com.ecommerce.store.dto.ReplicationStatusResponse;
+import com.ecommerce.store.repository.DataStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Starts this node's replication role from configuration.
+ * 
+ * Roles (app.replication.role):
+ * - none     = standalone (default)
+ * - primary  = streams the mutation log to followers on app.replication.port
+ * - follower = applies the primary's log to the local DataStore; the API is read-only
+ */
+@Component
+public class ReplicationManager {
+    
+    public static final String ROLE_NONE = "none";
+    public static final String ROLE_PRIMARY = "primary";
+    public static final String ROLE_FOLLOWER = "follower";
+    
+    private final DataStore dataStore;
+    
+    @Value("${app.replication.role:none}")
+    private String role = ROLE_NONE;
+    
+    @Value("${app.replication.port:7070}")
+    private int port = 7070;
+    
+    @Value("${app.replication.primary-host:localhost}")
+    private String primaryHost = "localhost";
+    
+    @Value("${app.replication.primary-port:7070}")
+    private int primaryPort = 7070;
+    
+    @Value("${app.replication.node-name:follower}")
+    private String nodeName = "follower";
+    
+    @Value("${app.replication.batch-size:256}")
+    private int batchSize = 256;
+    
+    @Value("${app.replication.log-capacity:65536}")
+    private int logCapacity = 65536;
+    
+    @Value("${app.replication.heartbeat-ms:1000}")
+    private long heartbeatMillis = 1000;
+    
+    private ReplicationPrimary primary;
+    private ReplicationFollower follower;
+    
+    public ReplicationManager(DataStore dataStore) {
+        this.dataStore = dataStore;
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (ROLE_PRIMARY.equalsIgnoreCase(role)) {
+            primary = new ReplicationPrimary(dataStore, logCapacity, batchSize, heartbeatMillis);
+            try {
+                primary.start(port);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to start replication primary on port " + port, e);
+            }
+        } else if (ROLE_FOLLOWER.equalsIgnoreCase(role)) {
+            follower = new ReplicationFollower(dataStore, primaryHost, primaryPort, nodeName, heartbeatMillis);
+            follower.start();
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (primary != null) {
+            primary.stop();
+        }
+        if (follower != null) {
+            follower.stop();
+        }
+    }
+    
+    /**
+     * True on a follower: all writes must come from the replication stream.
+     */
+    public boolean isReadOnly() {
+        return ROLE_FOLLOWER.equalsIgnoreCase(role);
+    }
+    
+    /**
+     * True on a follower while it loads a full snapshot: its DataStore is incomplete.
+     */
+    public boolean isSyncing() {
+        return follower != null && follower.isSyncing();
+    }
+    
+    public ReplicationStatusResponse getStatus() {
+        if (primary != null) {
+            return new ReplicationStatusResponse(ROLE_PRIMARY, primary.getHeadSequence(),
+                    null, null, null, null, null, primary.getFollowers());
+        }
+        if (follower != null) {
+            return new ReplicationStatusResponse(ROLE_FOLLOWER, follower.getPrimaryHead(),
+                    follower.getNextSequence(), follower.getLag(), follower.isConnected(),
+                    follower.getFullSyncs(), follower.getReconnects(), List.of());
+        }
+        return new ReplicationStatusResponse(ROLE_NONE, null, null, null, null, null, null, List.of());
+    }
+}
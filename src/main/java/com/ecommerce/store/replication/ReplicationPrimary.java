@@ -0,0 +1,245 @@
+package com.ecommerce.store.replication;
+
+import com.ecommerce.store.cdc.ChangeEvent;
+import com.ecommerce.store.cdc.ChangeSubscription;
+import com.ecommerce.store.dto.ReplicaResponse;
+import com.ecommerce.store.repository.DataStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Primary side of hot-standby replication.
+ *
+ * - Subscribes to the DataStore change stream and appends every mutation to the ReplicationLog
+ * - Accepts follower connections on a TCP port; each follower gets a session thread
+ *   that streams batched frames from the follower's position
+ * - Followers acknowledge applied positions; lag = log head - acknowledged position
+ *
+ * A follower starts (or restarts after falling behind the retained log) with a full
+ * snapshot frame and then continues with log frames from the snapshot's base sequence.
+ * Idle sessions send empty frames as heartbeats.
+ */
+public class ReplicationPrimary {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationPrimary.class);
+
+    private final DataStore dataStore;
+    private final ReplicationLog replicationLog;
+    private final int batchSize;
+    private final long heartbeatMillis;
+    private final List<FollowerSession> sessions = new CopyOnWriteArrayList<>();
+
+    private ChangeSubscription subscription;
+    private long expectedChangeSequence = -1;
+    private ServerSocket serverSocket;
+    private volatile boolean running;
+
+    public ReplicationPrimary(DataStore dataStore, int logCapacity, int batchSize, long heartbeatMillis) {
+        this.dataStore = dataStore;
+        this.replicationLog = new ReplicationLog(logCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.heartbeatMillis = heartbeatMillis;
+    }
+
+    /**
+     * Start capturing mutations and listening for followers (port 0 = any free port).
+     */
+    public synchronized void start(int port) throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(port));
+        running = true;
+        subscription = dataStore.changes.subscribe("replication", batchSize, this::append);
+
+        Thread acceptor = new Thread(this::acceptLoop, "replication-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("Replication primary listening on port {}", getPort());
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (subscription != null) {
+            dataStore.changes.unsubscribe(subscription);
+        }
+        closeQuietly(serverSocket);
+        sessions.forEach(FollowerSession::close);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long getHeadSequence() {
+        return replicationLog.getHeadSequence();
+    }
+
+    /**
+     * Connected followers with their acknowledged position and lag.
+     */
+    public List<ReplicaResponse> getFollowers() {
+        long head = replicationLog.getHeadSequence();
+        List<ReplicaResponse> followers = new ArrayList<>();
+        for (FollowerSession session : sessions) {
+            long acked = session.ackedSequence;
+            followers.add(new ReplicaResponse(
+                    session.name,
+                    session.address,
+                    acked,
+                    acked < 0 ? head : head - acked,
+                    session.lastAckMillis == 0 ? null : System.currentTimeMillis() - session.lastAckMillis,
+                    session.fullSyncs
+            ));
+        }
+        return followers;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Mutation capture
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Called on the change stream's dispatcher thread, in sequence order.
+     */
+    private void append(List<ChangeEvent> batch) {
+        for (ChangeEvent event : batch) {
+            if (expectedChangeSequence >= 0 && event.getSequence() != expectedChangeSequence) {
+                // Change stream overran us: the log no longer describes every mutation
+                log.warn("Replication lost {} mutations; followers will resync",
+                        event.getSequence() - expectedChangeSequence);
+                replicationLog.markGap();
+            }
+            expectedChangeSequence = event.getSequence() + 1;
+            replicationLog.append(ReplicationCodec.encodeEntry(event));
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Follower sessions
+    // ═══════════════════════════════════════════════════════════
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                FollowerSession session = new FollowerSession(socket);
+                sessions.add(session);
+                session.start();
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Replication accept failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * One connected follower: a sender thread streaming frames and a reader thread for acks.
+     */
+    private class FollowerSession {
+
+        private final Socket socket;
+        private final String address;
+        private volatile String name = "";
+        private volatile long ackedSequence = -1;
+        private volatile long lastAckMillis;
+        private volatile long fullSyncs;
+
+        FollowerSession(Socket socket) {
+            this.socket = socket;
+            this.address = socket.getRemoteSocketAddress().toString();
+        }
+
+        void start() {
+            Thread sender = new Thread(this::run, "replication-session-" + address);
+            sender.setDaemon(true);
+            sender.start();
+        }
+
+        private void run() {
+            try {
+                socket.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+                name = in.readUTF();
+                long next = in.readLong();
+                ackedSequence = next;
+                startAckReader(in);
+
+                List<byte[]> batch = new ArrayList<>(batchSize);
+                while (running && !socket.isClosed()) {
+                    if (next < 0 || !replicationLog.canReadFrom(next)) {
+                        next = sendSnapshot(out);
+                        continue;
+                    }
+                    batch.clear();
+                    if (!replicationLog.read(next, batchSize, batch, heartbeatMillis)) {
+                        next = -1;
+                        continue;
+                    }
+                    ReplicationFrames.writeEntries(out, replicationLog.getHeadSequence(),
+                            dataStore.orderCounter.get(), next, batch);
+                    next += batch.size();
+                }
+            } catch (IOException e) {
+                log.info("Replication follower {} ({}) disconnected: {}", name, address, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        private long sendSnapshot(DataOutputStream out) throws IOException {
+            long base = replicationLog.getHeadSequence();
+            ReplicationFrames.writeSnapshot(out, base, dataStore);
+            fullSyncs++;
+            log.info("Sent full snapshot to follower {} at sequence {}", name, base);
+            return base;
+        }
+
+        private void startAckReader(DataInputStream in) {
+            Thread reader = new Thread(() -> {
+                try {
+                    while (running) {
+                        ackedSequence = in.readLong();
+                        lastAckMillis = System.currentTimeMillis();
+                    }
+                } catch (IOException e) {
+                    close();
+                }
+            }, "replication-acks-" + address);
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        void close() {
+            sessions.remove(this);
+            closeQuietly(socket);
+        }
+    }
+
+    private static void closeQuietly(java.io.Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.ecommerce.store.repository;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Set membership in fixed memory with no false negatives (Bloom filter).
+ *
+ * Sized for `expected` values at FALSE_POSITIVE_RATE: about 9.6 bits and 7 hashes per value.
+ * Values cannot be removed; rebuild from the remaining values instead.
+ *
+ * Thread-Safe: add() and mightContain() are lock-free.
+ */
+public final class BloomFilter {
+
+    public static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    public BloomFilter(int expected) {
+        if (expected < 1) {
+            throw new IllegalArgumentException("A Bloom filter must expect at least one value");
+        }
+        double ln2 = Math.log(2);
+        long wanted = (long) Math.ceil(-expected * Math.log(FALSE_POSITIVE_RATE) / (ln2 * ln2));
+        this.words = new AtomicLongArray((int) ((Math.max(64, wanted) + 63) / 64));
+        this.bits = words.length() * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expected * ln2));
+    }
+
+    public void add(String value) {
+        long hash = HyperLogLog.hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bits);
+            long mask = 1L << bit;
+            int index = (int) (bit >>> 6);
+            long word = words.get(index);
+            while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+                word = words.get(index);
+            }
+        }
+    }
+
+    /**
+     * False if the value was certainly never added.
+     */
+    public boolean mightContain(String value) {
+        long hash = HyperLogLog.hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void reset() {
+        for (int i = 0; i < words.length(); i++) {
+            words.set(i, 0);
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.ecommerce.store.repository;
 
+import com.ecommerce.store.cdc.ChangeEvent;
 import com.ecommerce.store.model.Cart;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Optional;
 
@@ -43,6 +45,8 @@ public class CartRepository implements ICartRepository {
             Cart cart = new Cart();
             cart.setUserId(id);
             cart.setItems(new ArrayList<>());
+            publishUpsert(cart);
+            dataStore.distinctUsers.recordCart(cart.getUserId(), Instant.now());
             return cart;
         });
     }
@@ -53,6 +57,11 @@ public class CartRepository implements ICartRepository {
     @Override
     public Cart save(Cart cart) {
         dataStore.carts.put(cart.getUserId(), cart);
+        // Published from the entry's current cart inside compute(): one writer per user at a time
+        dataStore.carts.computeIfPresent(cart.getUserId(), (userId, current) -> {
+            publishUpsert(current);
+            return current;
+        });
         return cart;
     }
     
@@ -62,7 +71,10 @@ public class CartRepository implements ICartRepository {
      */
     @Override
     public void delete(String userId) {
-        dataStore.carts.remove(userId);
+        dataStore.carts.computeIfPresent(userId, (id, cart) -> {
+            dataStore.changes.publish(ChangeEvent.Entity.CART, ChangeEvent.Operation.DELETE, id, null);
+            return null;
+        });
     }
     
     /**
@@ -80,4 +92,13 @@ public class CartRepository implements ICartRepository {
     public int count() {
         return dataStore.carts.size();
     }
+    
+    /**
+     * Publish a copy of the cart to the change stream.
+     * Lines are immutable snapshots, so only the list is copied.
+     */
+    private void publishUpsert(Cart cart) {
+        dataStore.changes.publish(ChangeEvent.Entity.CART, ChangeEvent.Operation.UPSERT, cart.getUserId(),
+                () -> new Cart(cart.getUserId(), new ArrayList<>(cart.getItems()), cart.getTotal()));
+    }
 }
@@ -0,0 +1,149 @@
+package com.ecommerce.store.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalog versions and a bounded log of the latest version of each changed item,
+ * for delta sync (GET /api/items/changes?since=).
+ *
+ * Clients older than the oldest entry kept are told to resync from GET /api/items.
+ * Versions start at the startup time in microseconds, so older runs' versions never look current.
+ *
+ * Thread-Safe: Lock-free; versions are published in order through a Sequencer.
+ */
+public class CatalogChangeLog {
+
+    public static final int DEFAULT_CAPACITY = 100_000;
+
+    private final int capacity;
+    private final ConcurrentSkipListMap<Long, UUID> changes = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<UUID, Long> versionOf = new ConcurrentHashMap<>();
+
+    private final Sequencer versions;
+    private final AtomicLong truncatedThrough;   // changes at or before this version may be missing
+
+    public CatalogChangeLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CatalogChangeLog(int capacity) {
+        this.capacity = capacity;
+        long start = System.currentTimeMillis() * 1000;
+        this.versions = new Sequencer(start);
+        this.truncatedThrough = new AtomicLong(start);
+    }
+
+    /**
+     * Record that an item was created, changed or deleted.
+     *
+     * @return the new catalog version
+     */
+    public long record(UUID itemId) {
+        long version = versions.next();
+        versionOf.compute(itemId, (id, previous) -> {
+            if (previous != null && previous > version) {
+                return previous;   // a later change of the item got in first
+            }
+            if (previous != null) {
+                changes.remove(previous);
+            }
+            changes.put(version, id);
+            return version;
+        });
+        while (versionOf.mappingCount() > capacity) {
+            Map.Entry<Long, UUID> oldest = changes.pollFirstEntry();
+            if (oldest == null) {
+                break;
+            }
+            versionOf.remove(oldest.getValue(), oldest.getKey());
+            truncatedThrough.accumulateAndGet(oldest.getKey(), Math::max);
+        }
+        versions.publish(version);
+        return version;
+    }
+
+    /**
+     * Start over after the whole catalog was replaced (bulk load, snapshot restore):
+     * every client has to resync.
+     */
+    public void reset() {
+        long version = versions.next();
+        changes.clear();
+        versionOf.clear();
+        truncatedThrough.accumulateAndGet(version, Math::max);
+        versions.publish(version);
+    }
+
+    public long getVersion() {
+        return versions.published();
+    }
+
+    /**
+     * Items changed after `since`, oldest change first.
+     *
+     * @param limit maximum item IDs to return; the rest follow from the returned version
+     */
+    public Delta since(long since, int limit) {
+        long head = versions.published();
+        if (since < truncatedThrough.get() || since > head) {
+            return new Delta(head, true, List.of(), false);
+        }
+        List<UUID> itemIds = new ArrayList<>(Math.min(limit, 1024));
+        long reached = head;
+        boolean more = false;
+        for (Map.Entry<Long, UUID> entry : changes.subMap(since, false, head, true).entrySet()) {
+            if (itemIds.size() == limit) {
+                more = true;
+                break;
+            }
+            itemIds.add(entry.getValue());
+            reached = entry.getKey();
+        }
+        // A concurrent record() may have moved an entry past `head`; it is
+        // returned by the next call. Truncation may have raced the walk, too.
+        if (since < truncatedThrough.get()) {
+            return new Delta(head, true, List.of(), false);
+        }
+        return new Delta(more ? reached : head, false, itemIds, more);
+    }
+
+    /**
+     * Result of since(): the item IDs to refresh and the version to ask from next.
+     */
+    public static final class Delta {
+
+        private final long version;
+        private final boolean resyncRequired;
+        private final List<UUID> itemIds;
+        private final boolean more;
+
+        public Delta(long version, boolean resyncRequired, List<UUID> itemIds, boolean more) {
+            this.version = version;
+            this.resyncRequired = resyncRequired;
+            this.itemIds = itemIds;
+            this.more = more;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public boolean isResyncRequired() {
+            return resyncRequired;
+        }
+
+        public List<UUID> getItemIds() {
+            return itemIds;
+        }
+
+        public boolean isMore() {
+            return more;
+        }
+    }
+}
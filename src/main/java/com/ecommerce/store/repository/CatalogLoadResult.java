@@ -0,0 +1,27 @@
+package com.ecommerce.store.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk catalog load (for startup logging and tests).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogLoadResult {
+
+    private long itemsLoaded;
+    private long linesSkipped;   // malformed or blank records
+    private long bytesRead;
+    private int chunks;
+    private long elapsedMillis;
+
+    /**
+     * Load throughput in items per second.
+     */
+    public long getItemsPerSecond() {
+        return elapsedMillis == 0 ? itemsLoaded * 1000 : itemsLoaded * 1000 / elapsedMillis;
+    }
+}
@@ -0,0 +1,502 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Item;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk catalog loader for multi-million SKU catalogs.
+ *
+ * Replaces DataStore's built-in seed items when app.catalog.source=file.
+ *
+ * How it works:
+ * 1. Memory-map the catalog file (no copy into the Java heap)
+ * 2. Split it into chunks that end on record (line) boundaries
+ * 3. Parse chunks in parallel on the fork-join pool, straight from the mapped bytes
+ * 4. Put items into DataStore.items, keeping the item IDs from the file
+ *
+ * Supported formats (one record per line):
+ * - CSV:    itemId,name,price,stock  (optional header line, quoted names allowed)
+ * - NDJSON: {"itemId":"...","name":"...","price":12.50,"stock":10}
+ *
+ * Records without an itemId get a random one; malformed records are skipped and counted.
+ */
+@Component
+public class CatalogLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogLoader.class);
+
+    static final int DEFAULT_CHUNK_SIZE = 64 * 1024 * 1024;
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private final DataStore dataStore;
+
+    @Value("${app.catalog.source:seed}")
+    private String catalogSource;
+
+    @Value("${app.catalog.file:catalog.csv}")
+    private String catalogFile;
+
+    @Value("${app.catalog.format:csv}")
+    private String catalogFormat;
+
+    public CatalogLoader(DataStore dataStore) {
+        this.dataStore = dataStore;
+    }
+
+    /**
+     * Load the configured catalog file on startup (only when app.catalog.source=file).
+     */
+    @PostConstruct
+    public void loadOnStartup() {
+        if (!"file".equalsIgnoreCase(catalogSource)) {
+            return;
+        }
+        CatalogLoadResult result = load(Path.of(catalogFile), Format.valueOf(catalogFormat.toUpperCase()));
+        log.info("Loaded {} catalog items from {} ({} MB, {} chunks) in {} ms - {} items/s, {} records skipped",
+                result.getItemsLoaded(), catalogFile, result.getBytesRead() / (1024 * 1024), result.getChunks(),
+                result.getElapsedMillis(), result.getItemsPerSecond(), result.getLinesSkipped());
+    }
+
+    /**
+     * Load a catalog file into the item store.
+     */
+    public CatalogLoadResult load(Path file, Format format) {
+        return load(file, format, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Load a catalog file into the item store using the given target chunk size (bytes).
+     */
+    public CatalogLoadResult load(Path file, Format format, int chunkSize) {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<long[]> ranges = split(channel, size, chunkSize);
+            AtomicLong skipped = new AtomicLong();
+
+            // Parallel streams run on the common fork-join pool
+            long loaded = ranges.parallelStream()
+                    .mapToLong(range -> parseChunk(map(channel, range), format, skipped))
+                    .sum();
+
+            // Index once after the parallel load instead of contending per item
+            dataStore.reindexItems();
+
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            return new CatalogLoadResult(loaded, skipped.get(), size, ranges.size(), elapsedMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load catalog file: " + file, e);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Chunking
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Split [0, size) into ranges of roughly chunkSize bytes, each ending just after a newline.
+     */
+    private List<long[]> split(FileChannel channel, long size, int chunkSize) throws IOException {
+        List<long[]> ranges = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(size, start + chunkSize);
+            if (end < size) {
+                end = nextLineStart(channel, end, size);
+            }
+            ranges.add(new long[]{start, end});
+            start = end;
+        }
+        return ranges;
+    }
+
+    private long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(4096);
+        while (position < size) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private MappedByteBuffer map(FileChannel channel, long[] range) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, range[0], range[1] - range[0]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Parsing
+    // ═══════════════════════════════════════════════════════════
+
+    private long parseChunk(ByteBuffer chunk, Format format, AtomicLong skipped) {
+        long loaded = 0;
+        int limit = chunk.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && chunk.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && chunk.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (lineEnd > lineStart && !isCsvHeader(chunk, lineStart, lineEnd, format)) {
+                Item item = format == Format.CSV
+                        ? parseCsv(chunk, lineStart, lineEnd)
+                        : parseNdjson(chunk, lineStart, lineEnd);
+                if (item != null) {
+                    dataStore.items.put(item.getItemId(), item);
+                    loaded++;
+                } else {
+                    skipped.incrementAndGet();
+                }
+            }
+            lineStart = next;
+        }
+        return loaded;
+    }
+
+    private boolean isCsvHeader(ByteBuffer buf, int start, int end, Format format) {
+        return format == Format.CSV && end - start >= 6
+                && buf.get(start) == 'i' && buf.get(start + 1) == 't' && buf.get(start + 2) == 'e'
+                && buf.get(start + 3) == 'm' && buf.get(start + 4) == 'I' && buf.get(start + 5) == 'd';
+    }
+
+    /**
+     * Parse "itemId,name,price,stock". The name may be quoted ("" escapes a quote).
+     */
+    private Item parseCsv(ByteBuffer buf, int start, int end) {
+        try {
+            int[] field = new int[2];
+            int pos = nextCsvField(buf, start, end, field);
+            UUID itemId = parseUuid(buf, field[0], field[1]);
+
+            String name;
+            if (pos < end && buf.get(pos) == '"') {
+                StringBuilder quoted = new StringBuilder();
+                int i = pos + 1;
+                int segment = i;
+                while (true) {
+                    if (i >= end) {
+                        return null;
+                    }
+                    if (buf.get(i) == '"') {
+                        quoted.append(decode(buf, segment, i));
+                        if (i + 1 < end && buf.get(i + 1) == '"') {
+                            quoted.append('"');
+                            i += 2;
+                            segment = i;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                name = quoted.toString();
+                pos = i + 1;
+                if (pos < end && buf.get(pos) == ',') {
+                    pos++;
+                }
+            } else {
+                pos = nextCsvField(buf, pos, end, field);
+                name = decode(buf, field[0], field[1]);
+            }
+
+            pos = nextCsvField(buf, pos, end, field);
+            BigDecimal price = parseDecimal(buf, field[0], field[1]);
+            nextCsvField(buf, pos, end, field);
+            int stock = field[1] > field[0] ? parseInt(buf, field[0], field[1]) : 0;
+
+            return newItem(itemId, name, price, stock);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Locate the next unquoted field; returns the position after its delimiter.
+     */
+    private int nextCsvField(ByteBuffer buf, int pos, int end, int[] field) {
+        int fieldEnd = pos;
+        while (fieldEnd < end && buf.get(fieldEnd) != ',') {
+            fieldEnd++;
+        }
+        field[0] = pos;
+        field[1] = fieldEnd;
+        return fieldEnd < end ? fieldEnd + 1 : end;
+    }
+
+    /**
+     * Parse a flat JSON object with itemId, name, price and stock keys (any order).
+     */
+    private Item parseNdjson(ByteBuffer buf, int start, int end) {
+        try {
+            UUID itemId = null;
+            String name = null;
+            BigDecimal price = null;
+            int stock = 0;
+
+            int pos = skipWhitespace(buf, start, end);
+            if (pos >= end || buf.get(pos) != '{') {
+                return null;
+            }
+            pos++;
+            while (true) {
+                pos = skipWhitespace(buf, pos, end);
+                if (pos < end && buf.get(pos) == ',') {
+                    pos = skipWhitespace(buf, pos + 1, end);
+                }
+                if (pos >= end) {
+                    return null;
+                }
+                if (buf.get(pos) == '}') {
+                    break;
+                }
+                if (buf.get(pos) != '"') {
+                    return null;
+                }
+                int keyStart = pos + 1;
+                int keyEnd = closingQuote(buf, keyStart, end);
+                pos = skipWhitespace(buf, keyEnd + 1, end);
+                if (pos >= end || buf.get(pos) != ':') {
+                    return null;
+                }
+                pos = skipWhitespace(buf, pos + 1, end);
+                if (pos >= end) {
+                    return null;
+                }
+
+                int valueStart;
+                int valueEnd;
+                boolean quoted = buf.get(pos) == '"';
+                if (quoted) {
+                    valueStart = pos + 1;
+                    valueEnd = closingQuote(buf, valueStart, end);
+                    pos = valueEnd + 1;
+                } else {
+                    valueStart = pos;
+                    valueEnd = pos;
+                    while (valueEnd < end && buf.get(valueEnd) != ',' && buf.get(valueEnd) != '}'
+                            && buf.get(valueEnd) != ' ') {
+                        valueEnd++;
+                    }
+                    pos = valueEnd;
+                }
+
+                if (keyEquals(buf, keyStart, keyEnd, "itemId")) {
+                    itemId = parseUuid(buf, valueStart, valueEnd);
+                } else if (keyEquals(buf, keyStart, keyEnd, "name")) {
+                    name = quoted ? unescapeJson(buf, valueStart, valueEnd) : null;
+                } else if (keyEquals(buf, keyStart, keyEnd, "price")) {
+                    price = parseDecimal(buf, valueStart, valueEnd);
+                } else if (keyEquals(buf, keyStart, keyEnd, "stock")) {
+                    stock = parseInt(buf, valueStart, valueEnd);
+                }
+            }
+            return newItem(itemId, name, price, stock);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private Item newItem(UUID itemId, String name, BigDecimal price, int stock) {
+        if (name == null || name.isEmpty() || price == null) {
+            return null;
+        }
+        Item item = new Item();
+        item.setItemId(itemId != null ? itemId : UUID.randomUUID());
+        item.setName(name);
+        item.setPrice(price);
+        item.setStock(stock);
+        return item;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Primitive Parsers (work directly on the mapped bytes)
+    // ═══════════════════════════════════════════════════════════
+
+    /**
+     * Parse a canonical 36-character UUID without creating a String. Empty = no ID.
+     */
+    private UUID parseUuid(ByteBuffer buf, int start, int end) {
+        if (end == start) {
+            return null;
+        }
+        if (end - start != 36) {
+            return UUID.fromString(decode(buf, start, end));
+        }
+        long msb = 0;
+        long lsb = 0;
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buf.get(i);
+            if (b == '-') {
+                continue;
+            }
+            int nibble = Character.digit(b, 16);
+            if (nibble < 0) {
+                throw new IllegalArgumentException("Invalid UUID");
+            }
+            if (digits < 16) {
+                msb = (msb << 4) | nibble;
+            } else {
+                lsb = (lsb << 4) | nibble;
+            }
+            digits++;
+        }
+        if (digits != 32) {
+            throw new IllegalArgumentException("Invalid UUID");
+        }
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Parse a plain decimal (e.g. 999.99) as unscaled long + scale.
+     * Falls back to BigDecimal parsing for exponents or more than 18 digits.
+     */
+    private BigDecimal parseDecimal(ByteBuffer buf, int start, int end) {
+        long unscaled = 0;
+        int scale = -1;
+        int digits = 0;
+        boolean negative = false;
+        for (int i = start; i < end; i++) {
+            byte b = buf.get(i);
+            if (i == start && b == '-') {
+                negative = true;
+            } else if (b == '.' && scale < 0) {
+                scale = 0;
+            } else if (b >= '0' && b <= '9' && digits < 18) {
+                unscaled = unscaled * 10 + (b - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else {
+                return new BigDecimal(decode(buf, start, end));
+            }
+        }
+        if (digits == 0) {
+            throw new IllegalArgumentException("Invalid price");
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    private int parseInt(ByteBuffer buf, int start, int end) {
+        int value = 0;
+        boolean negative = false;
+        for (int i = start; i < end; i++) {
+            byte b = buf.get(i);
+            if (i == start && b == '-') {
+                negative = true;
+            } else if (b >= '0' && b <= '9') {
+                value = Math.addExact(Math.multiplyExact(value, 10), b - '0');
+            } else {
+                throw new IllegalArgumentException("Invalid integer");
+            }
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Index of the closing quote of a JSON string starting at pos (escapes skipped).
+     */
+    private int closingQuote(ByteBuffer buf, int pos, int end) {
+        while (pos < end) {
+            byte b = buf.get(pos);
+            if (b == '"') {
+                return pos;
+            }
+            pos += b == '\\' ? 2 : 1;
+        }
+        throw new IllegalArgumentException("Unterminated JSON string");
+    }
+
+    private boolean keyEquals(ByteBuffer buf, int start, int end, String key) {
+        if (end - start != key.length()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (buf.get(start + i) != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int skipWhitespace(ByteBuffer buf, int pos, int end) {
+        while (pos < end && (buf.get(pos) == ' ' || buf.get(pos) == '\t')) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private String unescapeJson(ByteBuffer buf, int start, int end) {
+        String raw = decode(buf, start, end);
+        if (raw.indexOf('\\') < 0) {
+            return raw;
+        }
+        StringBuilder sb = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c != '\\' || i + 1 >= raw.length()) {
+                sb.append(c);
+                continue;
+            }
+            char esc = raw.charAt(++i);
+            switch (esc) {
+                case 'n' -> sb.append('\n');
+                case 't' -> sb.append('\t');
+                case 'r' -> sb.append('\r');
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'u' -> {
+                    sb.append((char) Integer.parseInt(raw.substring(i + 1, i + 5), 16));
+                    i += 4;
+                }
+                default -> sb.append(esc);
+            }
+        }
+        return sb.toString();
+    }
+
+    private String decode(ByteBuffer buf, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buf.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,316 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Order;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Every coupon ever generated, in generation order, with its redemption and
+ * the checkouts that lost the race for it.
+ *
+ * The log is append-only, in fixed-size chunks, so a position is a stable cursor.
+ * A `since` query binary-searches the creation times.
+ *
+ * Thread-Safe: Appends take the log's monitor; readers never lock.
+ */
+public class CouponHistory {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;   // 1024 coupons per chunk
+
+    private final Map<String, Entry> byCode = new ConcurrentHashMap<>();
+    private volatile Entry[][] chunks = new Entry[4][];
+    private volatile int size;
+
+    /**
+     * Append a newly generated coupon.
+     *
+     * @return false if the code is already in the history (replicated or restored twice)
+     */
+    public boolean append(String code, int generatedAtOrderNumber, Instant createdAt) {
+        return append(new Entry(code, generatedAtOrderNumber, createdAt));
+    }
+
+    /**
+     * Append an entry as it was recorded elsewhere (snapshot restore), redemption included.
+     */
+    public synchronized boolean append(Entry entry) {
+        if (byCode.putIfAbsent(entry.getCode(), entry) != null) {
+            return false;
+        }
+        int position = size;
+        int chunk = position >>> CHUNK_BITS;
+        Entry[][] directory = chunks;
+        if (chunk == directory.length) {
+            directory = Arrays.copyOf(directory, directory.length * 2);
+        }
+        if (directory[chunk] == null) {
+            directory[chunk] = new Entry[CHUNK_SIZE];
+        }
+        directory[chunk][position & (CHUNK_SIZE - 1)] = entry;
+        chunks = directory;
+        size = position + 1;   // publish after the slot is written
+        return true;
+    }
+
+    /**
+     * Note that a coupon was consumed at checkout (no-op if unknown or already used).
+     */
+    public void markUsed(String code, Instant usedAt) {
+        Entry entry = byCode.get(code);
+        if (entry != null && entry.usedAt == null) {
+            entry.usedAt = usedAt;
+        }
+    }
+
+    /**
+     * Note the order (and user) that redeemed a coupon (call for every newly recorded order).
+     *
+     * @return the coupon's entry if this order redeemed it, or null
+     */
+    public Entry recordRedemption(Order order) {
+        if (!order.hasCouponApplied()) {
+            return null;
+        }
+        Entry entry = byCode.get(order.getCouponCode());
+        if (entry == null || entry.redeemingOrderId != null) {
+            return null;
+        }
+        if (entry.usedAt == null) {
+            entry.usedAt = order.getCreatedAt();   // replicated or hydrated order
+        }
+        entry.redeemingUserId = order.getUserId();
+        entry.redeemingOrderId = order.getOrderId();
+        return entry;
+    }
+
+    public synchronized void clear() {
+        byCode.clear();
+        chunks = new Entry[4][];
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(String code) {
+        return byCode.containsKey(code);
+    }
+
+    /**
+     * The entry of a coupon code, or null if it was never generated.
+     */
+    public Entry find(String code) {
+        return byCode.get(code);
+    }
+
+    /**
+     * Coupons after position `after`, oldest first.
+     *
+     * @param after position from the previous page (0 = first page)
+     * @param since if not null, skip coupons created before this time
+     * @param limit page size
+     */
+    public Page page(int after, Instant since, int limit) {
+        int total = size;                // read before chunks: chunks covers at least total
+        Entry[][] directory = chunks;
+        int from = Math.max(0, Math.min(after, total));
+        if (since != null) {
+            from = Math.max(from, firstAtOrAfter(directory, total, since));
+        }
+        int to = (int) Math.min((long) from + limit, total);
+        List<Entry> entries = new ArrayList<>(to - from);
+        for (int position = from; position < to; position++) {
+            entries.add(get(directory, position));
+        }
+        return new Page(entries, from, total, to < total ? to : null);
+    }
+
+    /**
+     * All codes, oldest first. O(n): for snapshots, not for request paths.
+     */
+    public List<String> codes() {
+        int total = size;
+        Entry[][] directory = chunks;
+        List<String> codes = new ArrayList<>(total);
+        for (int position = 0; position < total; position++) {
+            codes.add(get(directory, position).getCode());
+        }
+        return codes;
+    }
+
+    /**
+     * All entries, oldest first. O(n): for snapshots, not for request paths.
+     */
+    public List<Entry> entries() {
+        return page(0, null, Integer.MAX_VALUE).getEntries();
+    }
+
+    /**
+     * Position of the first coupon created at or after `since` (coupons without a creation time count as oldest).
+     */
+    private static int firstAtOrAfter(Entry[][] directory, int total, Instant since) {
+        int low = 0;
+        int high = total;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            Instant createdAt = get(directory, middle).getCreatedAt();
+            if (createdAt == null || createdAt.isBefore(since)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static Entry get(Entry[][] directory, int position) {
+        return directory[position >>> CHUNK_BITS][position & (CHUNK_SIZE - 1)];
+    }
+
+    /**
+     * One generated coupon.
+     */
+    public static final class Entry {
+
+        private final String code;
+        private final int generatedAtOrderNumber;
+        private final Instant createdAt;
+        private volatile Instant usedAt;
+        private volatile String redeemingUserId;
+        private volatile UUID redeemingOrderId;
+        private final LongAdder raceLosses = new LongAdder();         // node-local, not replicated
+        private final LongAdder wrongCodeAttempts = new LongAdder();  // node-local, not replicated
+
+        public Entry(String code, int generatedAtOrderNumber, Instant createdAt) {
+            this(code, generatedAtOrderNumber, createdAt, null, null, null);
+        }
+
+        public Entry(String code, int generatedAtOrderNumber, Instant createdAt, Instant usedAt,
+                     String redeemingUserId, UUID redeemingOrderId) {
+            this.code = code;
+            this.generatedAtOrderNumber = generatedAtOrderNumber;
+            this.createdAt = createdAt;
+            this.usedAt = usedAt;
+            this.redeemingUserId = redeemingUserId;
+            this.redeemingOrderId = redeemingOrderId;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public int getGeneratedAtOrderNumber() {
+            return generatedAtOrderNumber;
+        }
+
+        public Instant getCreatedAt() {
+            return createdAt;
+        }
+
+        /**
+         * When the coupon was consumed at checkout, or null if it never was.
+         */
+        public Instant getUsedAt() {
+            return usedAt;
+        }
+
+        /**
+         * Time from generation to use in milliseconds, or null if never used.
+         */
+        public Long getTimeToRedeemMillis() {
+            Instant used = usedAt;
+            if (used == null || createdAt == null) {
+                return null;
+            }
+            return Math.max(0, used.toEpochMilli() - createdAt.toEpochMilli());
+        }
+
+        /**
+         * The user whose order applied the coupon, or null if none (yet).
+         */
+        public String getRedeemingUserId() {
+            return redeemingUserId;
+        }
+
+        /**
+         * The order that applied the coupon, or null if none (yet).
+         */
+        public UUID getRedeemingOrderId() {
+            return redeemingOrderId;
+        }
+
+        /**
+         * Checkouts that named this coupon after it was used (ALREADY_USED).
+         */
+        public long getRaceLosses() {
+            return raceLosses.sum();
+        }
+
+        /**
+         * Checkouts that gave a wrong code while this coupon was active (INVALID_CODE).
+         */
+        public long getWrongCodeAttempts() {
+            return wrongCodeAttempts.sum();
+        }
+
+        void recordRaceLoss() {
+            raceLosses.increment();
+        }
+
+        void recordWrongCode() {
+            wrongCodeAttempts.increment();
+        }
+    }
+
+    /**
+     * One page of the history.
+     */
+    public static final class Page {
+
+        private final List<Entry> entries;
+        private final int first;
+        private final int total;
+        private final Integer next;
+
+        public Page(List<Entry> entries, int first, int total, Integer next) {
+            this.entries = entries;
+            this.first = first;
+            this.total = total;
+            this.next = next;
+        }
+
+        public List<Entry> getEntries() {
+            return entries;
+        }
+
+        /**
+         * Position of the first entry on the page, minus one (entry i is at first + i + 1).
+         */
+        public int getFirst() {
+            return first;
+        }
+
+        /**
+         * Number of coupons generated in all.
+         */
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * Position to pass as `after` for the next page, or null on the last page.
+         */
+        public Integer getNext() {
+            return next;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.CouponValidationResult;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * How coupons get redeemed: checkout attempts by outcome, time from generation to use,
+ * and how late the checkouts that lost the race arrived.
+ *
+ * Redemptions are recorded from orders, so replicated orders count too.
+ * Attempts are only seen by the node that runs checkout.
+ *
+ * Thread-Safe: Lock-free (LongAdders and QuantileHistograms).
+ */
+public class CouponRedemptionStats {
+
+    public static final int RECENT_COUPONS = 16;
+
+    private final LongAdder[] attempts = new LongAdder[CouponValidationResult.values().length];
+    private final QuantileHistogram timeToRedeem = new QuantileHistogram();
+    private final QuantileHistogram lostBy = new QuantileHistogram();
+    private final AtomicReferenceArray<Race> races = new AtomicReferenceArray<>(RECENT_COUPONS);
+
+    public CouponRedemptionStats() {
+        for (int i = 0; i < attempts.length; i++) {
+            attempts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Start tracking the race for a newly generated coupon (replaces the oldest tracked one).
+     *
+     * @param position the coupon's position in CouponHistory
+     */
+    public void open(String code, int position) {
+        races.set(Math.floorMod(position, RECENT_COUPONS), new Race(code));
+    }
+
+    /**
+     * Count one checkout's coupon validation.
+     *
+     * @param active the entry of the coupon that was active at the time (null if none)
+     * @param at     when the checkout validated the coupon
+     */
+    public void recordAttempt(CouponValidationResult result, CouponHistory.Entry active, Instant at) {
+        attempts[result.ordinal()].increment();
+        if (active == null) {
+            return;
+        }
+        switch (result) {
+            case INVALID_CODE -> active.recordWrongCode();
+            case ALREADY_USED -> {
+                active.recordRaceLoss();
+                Instant usedAt = active.getUsedAt();
+                if (usedAt != null) {
+                    lostBy.record(millisBetween(usedAt, at));
+                }
+                recordRace(active, at);
+            }
+            case VALID -> recordRace(active, at);
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Count a coupon's time to redeem (call once per coupon, when its redeeming order is recorded).
+     */
+    public void recordRedemption(CouponHistory.Entry redeemed) {
+        Long millis = redeemed.getTimeToRedeemMillis();
+        if (millis != null) {
+            timeToRedeem.record(millis);
+        }
+    }
+
+    public void clear() {
+        for (LongAdder counter : attempts) {
+            counter.reset();
+        }
+        timeToRedeem.reset();
+        lostBy.reset();
+        for (int slot = 0; slot < RECENT_COUPONS; slot++) {
+            races.set(slot, null);
+        }
+    }
+
+    private void recordRace(CouponHistory.Entry coupon, Instant at) {
+        QuantileHistogram race = race(coupon.getCode());
+        if (race != null && coupon.getCreatedAt() != null) {
+            race.record(millisBetween(coupon.getCreatedAt(), at));
+        }
+    }
+
+    private static long millisBetween(Instant from, Instant to) {
+        return Math.max(0, to.toEpochMilli() - from.toEpochMilli());
+    }
+
+    /**
+     * Checkouts with this validation outcome, on this node.
+     */
+    public long getAttempts(CouponValidationResult result) {
+        return attempts[result.ordinal()].sum();
+    }
+
+    /**
+     * Generation-to-use time of every redeemed coupon, in milliseconds (a copy).
+     */
+    public QuantileHistogram getTimeToRedeem() {
+        return copy(timeToRedeem);
+    }
+
+    /**
+     * Time from a coupon's use to each checkout that then found it used, in milliseconds (a copy).
+     */
+    public QuantileHistogram getLostBy() {
+        return copy(lostBy);
+    }
+
+    /**
+     * Every attempt on a coupon by time since its generation, in milliseconds (a copy),
+     * or null if the coupon is no longer among the RECENT_COUPONS latest.
+     */
+    public QuantileHistogram getRace(String code) {
+        QuantileHistogram race = race(code);
+        return race == null ? null : copy(race);
+    }
+
+    private QuantileHistogram race(String code) {
+        for (int slot = 0; slot < RECENT_COUPONS; slot++) {
+            Race race = races.get(slot);
+            if (race != null && race.code.equals(code)) {
+                return race.attempts;
+            }
+        }
+        return null;
+    }
+
+    private static QuantileHistogram copy(QuantileHistogram histogram) {
+        QuantileHistogram copy = new QuantileHistogram();
+        copy.merge(histogram);
+        return copy;
+    }
+
+    private static final class Race {
+
+        private final String code;
+        private final QuantileHistogram attempts = new QuantileHistogram();
+
+        Race(String code) {
+            this.code = code;
+        }
+    }
+}
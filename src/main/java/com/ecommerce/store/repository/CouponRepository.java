@@ -1,28 +1,40 @@
 package com.ecommerce.store.repository;
 
+import com.ecommerce.store.cdc.ChangeEvent;
 import com.ecommerce.store.model.Coupon;
 import com.ecommerce.store.model.CouponValidationResult;
+import com.ecommerce.store.model.PromotionCode;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 /**
  * Repository for Coupon operations.
  * 
  * Responsibilities:
- * - Manage single active coupon (system-wide)
+ * - Manage single active coupon (system-wide, the Nth-order campaign)
  * - Generate new coupons
+ * - Manage promotion codes (any number live at once, see PromotionCodes)
  * - Validate and apply coupons
- * - Track coupon history for admin reporting
+ * - Track coupon history (generation, use, redeeming order) for reporting
  * 
- * Thread-Safe: Synchronized methods prevent concurrent coupon application.
+ * Thread-Safe: Synchronized methods prevent concurrent use of the Nth-order coupon
+ * (one code, usable once). Promotion codes are redeemed without the monitor: each code
+ * has its own atomic quota counter, and unknown codes are rejected by a Bloom filter.
  */
 @Repository
 public class CouponRepository implements ICouponRepository {
     
+    /**
+     * Prefix of Nth-order coupon codes (reserved: promotion codes cannot use it).
+     */
+    public static final String NTH_ORDER_PREFIX = "SAVE10-";
+    
+    private static final Pattern PROMOTION_CODE = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    
     private final DataStore dataStore;
     
     public CouponRepository(DataStore dataStore) {
@@ -56,43 +68,93 @@ public class CouponRepository implements ICouponRepository {
         dataStore.activeCoupon = newCoupon;
         
         // Track for admin reporting
-        dataStore.generatedCoupons.add(newCoupon.getCode());
+        if (dataStore.couponHistory.append(newCoupon.getCode(), orderNumber, newCoupon.getCreatedAt())) {
+            dataStore.couponStats.open(newCoupon.getCode(), dataStore.couponHistory.size());
+        }
+        dataStore.snapshots.recordCouponGenerated(newCoupon.getCode());
+        publishUpsert(newCoupon);
         
         return newCoupon;
     }
     
     /**
-     * Validate and mark coupon as used.
+     * Validate and mark coupon as used, without a user: promotion codes with a per-user
+     * limit are rejected as USER_LIMIT_REACHED.
+     */
+    @Override
+    public CouponValidationResult validateAndUse(String couponCode) {
+        return validateAndUse(couponCode, null);
+    }
+    
+    /**
+     * Validate and redeem the Nth-order coupon or a promotion code.
+     * Every attempt is counted by outcome (see CouponRedemptionStats).
      * 
      * @param couponCode The code to validate
-     * @return VALID if successfully validated and marked used, otherwise the failure reason
+     * @param userId     The user checking out (for per-user limits)
+     * @return VALID if successfully validated and redeemed, otherwise the failure reason
      * 
-     * Thread-safe: Prevents double-use by concurrent checkouts.
+     * Thread-safe: Prevents double-use of the Nth-order coupon, and redeeming a promotion
+     * code beyond its quota or per-user limit, by concurrent checkouts.
      */
     @Override
-    public synchronized CouponValidationResult validateAndUse(String couponCode) {
-        if (dataStore.activeCoupon == null) {
-            return CouponValidationResult.NO_ACTIVE_COUPON;
+    public CouponValidationResult validateAndUse(String couponCode, String userId) {
+        Coupon active = dataStore.activeCoupon;
+        if (active != null && active.getCode().equals(couponCode)) {
+            return useNthOrder(couponCode);
         }
         
-        if (!dataStore.activeCoupon.getCode().equals(couponCode)) {
-            return CouponValidationResult.INVALID_CODE;
+        Instant now = Instant.now();
+        CouponValidationResult result;
+        if (couponCode != null && dataStore.promotions.mightContain(couponCode)) {
+            result = dataStore.promotions.redeem(couponCode, userId, now);
+            if (result == CouponValidationResult.VALID) {
+                publishPromotion(couponCode);
+            }
+        } else {
+            // Certainly not a promotion code: rejected without touching the table
+            result = active == null && dataStore.promotions.isEmpty()
+                    ? CouponValidationResult.NO_ACTIVE_COUPON
+                    : CouponValidationResult.INVALID_CODE;
         }
-        
-        if (dataStore.activeCoupon.isUsed()) {
-            return CouponValidationResult.ALREADY_USED;
+        dataStore.couponStats.recordAttempt(result,
+                result == CouponValidationResult.INVALID_CODE && active != null
+                        ? dataStore.couponHistory.find(active.getCode()) : null, now);
+        return result;
+    }
+    
+    /**
+     * Use the Nth-order coupon (re-checked under the monitor: it may have been used or replaced).
+     */
+    private synchronized CouponValidationResult useNthOrder(String couponCode) {
+        Instant now = Instant.now();
+        Coupon active = dataStore.activeCoupon;
+        CouponValidationResult result = validate(active, couponCode);
+        if (result == CouponValidationResult.VALID) {
+            // Mark as used (consume the coupon)
+            active.setUsed(true);
+            dataStore.couponHistory.markUsed(couponCode, now);
+            publishUpsert(active);
         }
-        
-        // Mark as used (consume the coupon)
-        dataStore.activeCoupon.setUsed(true);
-        return CouponValidationResult.VALID;
+        dataStore.couponStats.recordAttempt(result,
+                active == null ? null : dataStore.couponHistory.find(active.getCode()), now);
+        return result;
     }
     
     /**
-     * Check if a coupon code is valid (exists and not used).
+     * Check if a coupon code is valid (the unused Nth-order coupon, or a promotion code
+     * that has not expired and has quota left).
      */
     @Override
-    public synchronized boolean isValid(String couponCode) {
+    public boolean isValid(String couponCode) {
+        Coupon active = dataStore.activeCoupon;
+        if (active != null && active.getCode().equals(couponCode)) {
+            return isNthOrderUnused(couponCode);
+        }
+        return couponCode != null && dataStore.promotions.isRedeemable(couponCode, Instant.now());
+    }
+    
+    private synchronized boolean isNthOrderUnused(String couponCode) {
         return dataStore.activeCoupon != null
                 && dataStore.activeCoupon.getCode().equals(couponCode)
                 && !dataStore.activeCoupon.isUsed();
@@ -100,10 +162,11 @@ public class CouponRepository implements ICouponRepository {
     
     /**
      * Get all generated coupon codes (for admin reporting).
+     * O(n): prefer getHistory() on request paths.
      */
     @Override
     public List<String> getAllGenerated() {
-        return new ArrayList<>(dataStore.generatedCoupons);
+        return dataStore.couponHistory.codes();
     }
     
     /**
@@ -111,7 +174,104 @@ public class CouponRepository implements ICouponRepository {
      */
     @Override
     public int getGeneratedCount() {
-        return dataStore.generatedCoupons.size();
+        return dataStore.couponHistory.size();
+    }
+    
+    /**
+     * Get one page of the coupon history, oldest first. Never blocks generate().
+     */
+    @Override
+    public CouponHistory.Page getHistory(int after, Instant since, int limit) {
+        return dataStore.couponHistory.page(after, since, limit);
+    }
+    
+    /**
+     * Find a coupon's history entry (generation, use, redeeming user and order, race losses).
+     */
+    @Override
+    public Optional<CouponHistory.Entry> findHistory(String couponCode) {
+        return Optional.ofNullable(dataStore.couponHistory.find(couponCode));
+    }
+    
+    /**
+     * Checkout attempts by outcome, time-to-redeem and race-loser distributions.
+     */
+    @Override
+    public CouponRedemptionStats redemptionStats() {
+        return dataStore.couponStats;
+    }
+    
+    /**
+     * Create a promotion code. Its redemption count starts at zero.
+     * 
+     * @throws IllegalArgumentException if the code is malformed, uses the Nth-order prefix,
+     *         or already exists, or if the quota, per-user limit or expiry is invalid
+     */
+    @Override
+    public PromotionCode createPromotion(PromotionCode promotion) {
+        String code = promotion.getCode();
+        if (code == null || !PROMOTION_CODE.matcher(code).matches()) {
+            throw new IllegalArgumentException(
+                    "Promotion code must be 1-64 letters, digits, '-' or '_': " + code);
+        }
+        if (code.startsWith(NTH_ORDER_PREFIX)) {
+            throw new IllegalArgumentException("Promotion codes cannot start with " + NTH_ORDER_PREFIX);
+        }
+        if (promotion.getQuota() < 0 || promotion.getPerUserLimit() < 0) {
+            throw new IllegalArgumentException("Quota and per-user limit must be >= 0 (0 = unlimited)");
+        }
+        Instant now = Instant.now();
+        if (promotion.getExpiresAt() != null && !promotion.getExpiresAt().isAfter(now)) {
+            throw new IllegalArgumentException("Promotion expiry must be in the future");
+        }
+        
+        PromotionCode created = new PromotionCode(code, promotion.getCampaign(), promotion.getQuota(),
+                promotion.getPerUserLimit(), promotion.getExpiresAt(), now, 0);
+        if (!dataStore.promotions.add(created)) {
+            throw new IllegalArgumentException("Promotion code already exists: " + code);
+        }
+        publishPromotion(code);
+        return created;
+    }
+    
+    /**
+     * Find a promotion code with its current redemption count.
+     */
+    @Override
+    public Optional<PromotionCode> findPromotion(String code) {
+        return Optional.ofNullable(dataStore.promotions.find(code));
+    }
+    
+    private static CouponValidationResult validate(Coupon active, String couponCode) {
+        if (active == null) {
+            return CouponValidationResult.NO_ACTIVE_COUPON;
+        }
+        
+        if (!active.getCode().equals(couponCode)) {
+            return CouponValidationResult.INVALID_CODE;
+        }
+        
+        if (active.isUsed()) {
+            return CouponValidationResult.ALREADY_USED;
+        }
+        return CouponValidationResult.VALID;
+    }
+    
+    /**
+     * Publish a copy of the coupon to the change stream.
+     */
+    private void publishUpsert(Coupon coupon) {
+        dataStore.changes.publish(ChangeEvent.Entity.COUPON, ChangeEvent.Operation.UPSERT, coupon.getCode(),
+                () -> new Coupon(coupon.getCode(), coupon.isUsed(), coupon.getGeneratedAtOrderNumber(),
+                        coupon.getCreatedAt()));
+    }
+    
+    /**
+     * Publish a promotion code's current state (with its redemption count) to the change stream.
+     */
+    private void publishPromotion(String code) {
+        dataStore.changes.publish(ChangeEvent.Entity.PROMOTION, ChangeEvent.Operation.UPSERT, code,
+                () -> dataStore.promotions.find(code));
     }
     
     /**
@@ -119,6 +279,6 @@ public class CouponRepository implements ICouponRepository {
      * XXX is zero-padded order number.
      */
     private String generateCode(int orderNumber) {
-        return String.format("SAVE10-%03d", orderNumber);
+        return String.format(NTH_ORDER_PREFIX + "%03d", orderNumber);
     }
 }
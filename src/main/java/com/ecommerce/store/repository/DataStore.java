@@ -1,6 +1,8 @@
 package com.ecommerce.store.repository;
 
+import com.ecommerce.store.cdc.ChangeEventBus;
 import com.ecommerce.store.model.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import jakarta.annotation.PostConstruct;
 
@@ -30,17 +32,99 @@ public class DataStore {
     
     // Coupon Management
     public volatile Coupon activeCoupon = null;
-    public final List<String> generatedCoupons = Collections.synchronizedList(new ArrayList<>());
+    public final CouponHistory couponHistory = new CouponHistory();
+    
+    // Promotion codes with per-code quotas, behind a Bloom filter (lock-free redemption)
+    public final PromotionCodes promotions = new PromotionCodes();
+    
+    // Checkout coupon attempts by outcome, time-to-redeem and race losers (lock-free counters)
+    public final CouponRedemptionStats couponStats = new CouponRedemptionStats();
     
     // Order Counter (for Nth order logic)
     public final AtomicInteger orderCounter = new AtomicInteger(0);
     
+    // Versioned read snapshots (for consistent reporting queries)
+    public final SnapshotManager snapshots = new SnapshotManager();
+    
+    // Change-data-capture stream fed by every repository mutation
+    public final ChangeEventBus changes = new ChangeEventBus();
+    
+    // Full-text index over item names (search and autocomplete)
+    public final ItemSearchIndex search = new ItemSearchIndex();
+    
+    // Price / name ordered indexes (filtered, sorted catalog pages)
+    public final ItemBrowseIndex browse = new ItemBrowseIndex();
+    
+    // Catalog versions and recently changed items (delta sync for polling clients)
+    public final CatalogChangeLog catalogChanges = new CatalogChangeLog();
+    
+    // Items ordered by stock, plus the low-stock alert feed
+    public final LowStockIndex lowStock = new LowStockIndex();
+    
+    // Best sellers by units and revenue (streaming estimate, updated on every order)
+    public final TopItemsSketch topItems = new TopItemsSketch();
+    
+    // Recent per-second / per-minute / per-hour order activity (ring buffers, no background thread)
+    public final OrderTimeSeries timeSeries = new OrderTimeSeries();
+    
+    // Order totals per time bucket in a Fenwick tree (totals for any time range in O(log n))
+    public final OrderRangeIndex rangeIndex = new OrderRangeIndex(snapshots);
+    
+    // Order value / items-per-order histograms, all time and per hour / day (mergeable quantiles)
+    public final OrderDistribution distribution = new OrderDistribution();
+    
+    // Distinct buyers / coupon redeemers / cart creators, all time and per day (HyperLogLog)
+    public final DistinctUsers distinctUsers = new DistinctUsers();
+    
+    // Item -> orders and coupon code -> orders posting lists (admin drill-down)
+    public final OrderLookupIndex orderLookup = new OrderLookupIndex();
+    
+    // Catalog source: "seed" = built-in demo items, "file" = bulk load via CatalogLoader
+    @Value("${app.catalog.source:seed}")
+    private String catalogSource = "seed";
+    
+    /**
+     * Counters per best-seller metric; estimates overcount by at most total / capacity.
+     * Injected before any repository can record an order.
+     */
+    @Value("${app.stats.top-items.capacity:1000}")
+    public void setTopItemsCapacity(int capacity) {
+        topItems.configure(capacity);
+    }
+    
+    /**
+     * Bucket width of the time-range index; range queries are widened to whole buckets.
+     */
+    @Value("${app.stats.range.bucket-seconds:60}")
+    public void setRangeBucketSeconds(long bucketSeconds) {
+        rangeIndex.configure(bucketSeconds);
+    }
+    
+    /**
+     * Stock level at or below which an item raises a low-stock alert.
+     */
+    @Value("${app.inventory.low-stock.alert-threshold:3}")
+    public void setLowStockAlertThreshold(int alertThreshold) {
+        lowStock.configure(alertThreshold);
+    }
+    
+    /**
+     * Number of promotion codes the Bloom filter is sized for (1% false positives up to there).
+     */
+    @Value("${app.coupon.promotions.expected-codes:100000}")
+    public void setExpectedPromotionCodes(int expectedCodes) {
+        promotions.configure(expectedCodes);
+    }
+    
     /**
      * Initialize seed data on startup.
+     * Skipped when the catalog is bulk-loaded from a file (see CatalogLoader).
      */
     @PostConstruct
     public void seedData() {
-        seedItems();
+        if ("seed".equalsIgnoreCase(catalogSource)) {
+            seedItems();
+        }
     }
     
     /**
@@ -67,6 +151,68 @@ public class DataStore {
         item.setPrice(price);
         item.setStock(10); // Give each item initial stock of 10
         items.put(itemId, item);
+        indexItem(item);
+    }
+    
+    // ═══════════════════════════════════════════════════════════
+    // Secondary item indexes
+    // ═══════════════════════════════════════════════════════════
+    
+    /**
+     * Bring every item index up to date with an item just put into (or changed in) items,
+     * and give the change a new catalog version.
+     */
+    public void indexItem(Item item) {
+        search.index(item);
+        browse.index(item);
+        lowStock.index(item);
+        catalogChanges.record(item.getItemId());
+    }
+    
+    /**
+     * Drop an item just removed from items from every item index.
+     */
+    public void unindexItem(UUID itemId) {
+        search.remove(itemId);
+        browse.remove(itemId);
+        lowStock.remove(itemId);
+        catalogChanges.record(itemId);
+    }
+    
+    /**
+     * Rebuild every item index from items (after bulk loads and snapshot restores).
+     * Delta-sync clients have to resync.
+     */
+    public void reindexItems() {
+        search.rebuild(items.values());
+        browse.rebuild(items.values());
+        lowStock.rebuild(items.values());
+        catalogChanges.reset();
+    }
+    
+    // ═══════════════════════════════════════════════════════════
+    // Order aggregates
+    // ═══════════════════════════════════════════════════════════
+    
+    /**
+     * Bring every order aggregate up to date with an order just put into orders:
+     * the snapshot log (new store version), the best-seller sketch, the time series,
+     * the time-range index, the value distribution, the distinct-user sketches,
+     * the item / coupon lookup index, and the redeemed coupon's history entry
+     * and time-to-redeem.
+     */
+    public void recordOrder(Order order) {
+        snapshots.recordOrder(order);
+        topItems.record(order);
+        timeSeries.record(order);
+        rangeIndex.update();
+        distribution.record(order);
+        distinctUsers.recordOrder(order);
+        orderLookup.record(order);
+        CouponHistory.Entry redeemed = couponHistory.recordRedemption(order);
+        if (redeemed != null) {
+            couponStats.recordRedemption(redeemed);
+        }
     }
     
     /**
@@ -78,6 +224,19 @@ public class DataStore {
         orders.clear();
         orderCounter.set(0);
         activeCoupon = null;
-        generatedCoupons.clear();
+        couponHistory.clear();
+        couponStats.clear();
+        promotions.clear();
+        snapshots.clear();
+        search.clear();
+        browse.clear();
+        lowStock.clear();
+        catalogChanges.reset();
+        topItems.clear();
+        timeSeries.clear();
+        rangeIndex.clear();
+        distribution.clear();
+        distinctUsers.clear();
+        orderLookup.clear();
     }
 }
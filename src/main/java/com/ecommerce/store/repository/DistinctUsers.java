@@ -0,0 +1,165 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Order;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Distinct buyers, coupon redeemers and cart creators as HyperLogLog sketches:
+ * over all time, plus one set per UTC day for the last DAYS days.
+ *
+ * Days roll forward lazily, like OrderDistribution. Several days are merged,
+ * so a user active on many of them counts once.
+ *
+ * Thread-Safe: Recording is lock-free; resetting a slot takes the ring's monitor.
+ */
+public class DistinctUsers {
+
+    public static final int DAYS = 30;
+    public static final long DAY_SECONDS = 86400;
+
+    private final Sketches allTime = new Sketches();
+    private final Sketches[] days = new Sketches[DAYS];   // allocated on first use
+    private final AtomicLongArray periods;                // day held by each slot, -1 = never used
+
+    public DistinctUsers() {
+        long[] empty = new long[DAYS];
+        Arrays.fill(empty, -1);
+        periods = new AtomicLongArray(empty);
+    }
+
+    /**
+     * Count the buyer (and coupon redeemer) of a newly recorded order.
+     */
+    public void recordOrder(Order order) {
+        if (order.getUserId() == null) {
+            return;
+        }
+        boolean coupon = order.hasCouponApplied();
+        allTime.recordOrder(order.getUserId(), coupon);
+        Sketches day = order.getCreatedAt() == null ? null : day(order.getCreatedAt());
+        if (day != null) {
+            day.recordOrder(order.getUserId(), coupon);
+        }
+    }
+
+    /**
+     * Count the owner of a newly created cart.
+     */
+    public void recordCart(String userId, Instant createdAt) {
+        if (userId == null) {
+            return;
+        }
+        allTime.cartCreators.add(userId);
+        Sketches day = day(createdAt);
+        if (day != null) {
+            day.cartCreators.add(userId);
+        }
+    }
+
+    public synchronized void clear() {
+        allTime.reset();
+        for (int slot = 0; slot < DAYS; slot++) {
+            periods.set(slot, -1);
+        }
+    }
+
+    /**
+     * Merged sketches over all time.
+     */
+    public Sketches allTime() {
+        Sketches merged = new Sketches();
+        merged.merge(allTime);
+        return merged;
+    }
+
+    /**
+     * Merged sketches of the last `count` days up to and including the one containing `end`.
+     */
+    public Sketches days(int count, Instant end) {
+        long last = Math.floorDiv(end.getEpochSecond(), DAY_SECONDS);
+        Sketches merged = new Sketches();
+        for (long period = last - count + 1; period <= last; period++) {
+            int slot = Math.floorMod(period, DAYS);
+            if (periods.get(slot) == period) {
+                merged.merge(days[slot]);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Sketches of the day containing `at`, rolled forward if needed; null if older than the ring.
+     */
+    private Sketches day(Instant at) {
+        long period = Math.floorDiv(at.getEpochSecond(), DAY_SECONDS);
+        int slot = Math.floorMod(period, DAYS);
+        long held = periods.get(slot);
+        if (held != period && (held > period || !roll(slot, period))) {
+            return null;
+        }
+        return days[slot];
+    }
+
+    /**
+     * Reset a slot for a newer day (first user of that day).
+     *
+     * @return false if the slot has meanwhile moved past the day
+     */
+    private synchronized boolean roll(int slot, long period) {
+        long held = periods.get(slot);
+        if (held < period) {
+            if (days[slot] == null) {
+                days[slot] = new Sketches();
+            } else {
+                days[slot].reset();
+            }
+            periods.set(slot, period);   // publish last: recorders wait for the cleared slot
+            return true;
+        }
+        return held == period;
+    }
+
+    /**
+     * Distinct buyers, coupon redeemers and cart creators over the same period.
+     */
+    public static final class Sketches {
+
+        private final HyperLogLog buyers = new HyperLogLog();
+        private final HyperLogLog couponRedeemers = new HyperLogLog();
+        private final HyperLogLog cartCreators = new HyperLogLog();
+
+        public HyperLogLog getBuyers() {
+            return buyers;
+        }
+
+        public HyperLogLog getCouponRedeemers() {
+            return couponRedeemers;
+        }
+
+        public HyperLogLog getCartCreators() {
+            return cartCreators;
+        }
+
+        public void merge(Sketches other) {
+            buyers.merge(other.buyers);
+            couponRedeemers.merge(other.couponRedeemers);
+            cartCreators.merge(other.cartCreators);
+        }
+
+        void recordOrder(String userId, boolean coupon) {
+            buyers.add(userId);
+            if (coupon) {
+                couponRedeemers.add(userId);
+            }
+        }
+
+        void reset() {
+            buyers.reset();
+            couponRedeemers.reset();
+            cartCreators.reset();
+        }
+    }
+}
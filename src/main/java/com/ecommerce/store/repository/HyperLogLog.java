@@ -0,0 +1,111 @@
+package com.ecommerce.store.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Approximate count of distinct strings (HyperLogLog) in 4 KB, with a relative
+ * standard error of STANDARD_ERROR. Small counts fall back to linear counting.
+ *
+ * Sketches merge by taking the larger register, so merged sketches count each value once.
+ *
+ * Thread-Safe: add() and merge() are lock-free.
+ */
+public final class HyperLogLog {
+
+    public static final int PRECISION = 12;
+    public static final int REGISTERS = 1 << PRECISION;
+    public static final double STANDARD_ERROR = 1.04 / Math.sqrt(REGISTERS);   // about 1.6%
+
+    private static final int PER_WORD = 8;   // one byte per register
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final AtomicLongArray words = new AtomicLongArray(REGISTERS / PER_WORD);
+
+    public void add(String value) {
+        long hash = hash(value);
+        int register = (int) (hash >>> (64 - PRECISION));
+        // Leading zeros after the register bits, + 1; the guard bit caps it at 64 - PRECISION + 1
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        raise(register, rank);
+    }
+
+    /**
+     * Add all values of another sketch.
+     */
+    public void merge(HyperLogLog other) {
+        for (int register = 0; register < REGISTERS; register++) {
+            int rank = other.get(register);
+            if (rank != 0) {
+                raise(register, rank);
+            }
+        }
+    }
+
+    void reset() {
+        for (int i = 0; i < words.length(); i++) {
+            words.set(i, 0);
+        }
+    }
+
+    /**
+     * Estimated number of distinct values added.
+     */
+    public long estimate() {
+        double sum = 0;
+        int empty = 0;
+        for (int register = 0; register < REGISTERS; register++) {
+            int rank = get(register);
+            sum += 1.0 / (1L << rank);
+            if (rank == 0) {
+                empty++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && empty > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / empty);
+        }
+        return Math.round(estimate);
+    }
+
+    private int get(int register) {
+        return (int) (words.get(register / PER_WORD) >>> shift(register)) & 0xFF;
+    }
+
+    private void raise(int register, int rank) {
+        int index = register / PER_WORD;
+        int shift = shift(register);
+        while (true) {
+            long word = words.get(index);
+            if (((word >>> shift) & 0xFF) >= rank) {
+                return;
+            }
+            long raised = (word & ~(0xFFL << shift)) | ((long) rank << shift);
+            if (words.compareAndSet(index, word, raised)) {
+                return;
+            }
+        }
+    }
+
+    private static int shift(int register) {
+        return (register % PER_WORD) * 8;
+    }
+
+    /**
+     * 64-bit hash: FNV-1a over the UTF-8 bytes, then the MurmurHash3 finalizer so every
+     * bit depends on every input bit (user ids are short and alike).
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -2,7 +2,9 @@ package com.ecommerce.store.repository;
 
 import com.ecommerce.store.model.Coupon;
 import com.ecommerce.store.model.CouponValidationResult;
+import com.ecommerce.store.model.PromotionCode;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,7 +28,7 @@ public interface ICouponRepository {
     Coupon generate(int orderNumber);
     
     /**
-     * Validate and mark coupon as used.
+     * Validate and mark coupon as used, without a user (per-user limits reject it).
      * 
      * @param couponCode The code to validate
      * @return VALID if successfully validated and marked used, otherwise the failure reason
@@ -34,7 +36,17 @@ public interface ICouponRepository {
     CouponValidationResult validateAndUse(String couponCode);
     
     /**
-     * Check if a coupon code is valid (exists and not used).
+     * Validate and redeem the Nth-order coupon or a promotion code for a user.
+     * 
+     * @param couponCode The code to validate
+     * @param userId     The user checking out (for per-user limits)
+     * @return VALID if successfully validated and redeemed, otherwise the failure reason
+     */
+    CouponValidationResult validateAndUse(String couponCode, String userId);
+    
+    /**
+     * Check if a coupon code is valid (the unused Nth-order coupon, or a promotion code
+     * that has not expired and has quota left).
      */
     boolean isValid(String couponCode);
     
@@ -47,4 +59,35 @@ public interface ICouponRepository {
      * Get count of all generated coupons.
      */
     int getGeneratedCount();
+    
+    /**
+     * Get one page of the coupon history, oldest first.
+     * 
+     * @param after position from the previous page (0 = first page)
+     * @param since if not null, skip coupons created before this time
+     * @param limit page size
+     */
+    CouponHistory.Page getHistory(int after, Instant since, int limit);
+    
+    /**
+     * Find a coupon's history entry (generation, use, redeeming user and order, race losses).
+     */
+    Optional<CouponHistory.Entry> findHistory(String couponCode);
+    
+    /**
+     * Checkout attempts by outcome, time-to-redeem and race-loser distributions.
+     */
+    CouponRedemptionStats redemptionStats();
+    
+    /**
+     * Create a promotion code.
+     * 
+     * @throws IllegalArgumentException if the code already exists
+     */
+    PromotionCode createPromotion(PromotionCode promotion);
+    
+    /**
+     * Find a promotion code with its current redemption count.
+     */
+    Optional<PromotionCode> findPromotion(String code);
 }
@@ -2,6 +2,7 @@ package com.ecommerce.store.repository;
 
 import com.ecommerce.store.model.Item;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,11 +17,86 @@ public interface IItemRepository {
      */
     Optional<Item> findById(UUID itemId);
     
+    /**
+     * Find several items in one pass.
+     * 
+     * @return one entry per requested ID, in request order; null where the item does not exist
+     */
+    List<Item> findAllById(List<UUID> itemIds);
+    
     /**
      * Get all items.
      */
     List<Item> findAll();
     
+    /**
+     * One page of the catalog in price or name order (see ItemBrowseIndex).
+     * 
+     * @param minPrice inclusive lower price bound, or null
+     * @param maxPrice inclusive upper price bound, or null
+     * @param after cursor returned with the previous page, or null for the first page
+     * @param limit page size
+     */
+    ItemBrowseIndex.Page browse(ItemBrowseIndex.Sort sort, boolean descending, boolean inStockOnly,
+                                BigDecimal minPrice, BigDecimal maxPrice, String after, int limit);
+    
+    /**
+     * Full-text search over item names: items containing every query term, best first.
+     * 
+     * @param offset ranked hits to skip
+     * @param limit page size
+     */
+    ItemSearchIndex.SearchHits search(String query, int offset, int limit);
+    
+    /**
+     * Autocomplete the last word of the input from indexed item-name terms.
+     */
+    List<ItemSearchIndex.Suggestion> suggest(String prefix, int limit);
+    
+    /**
+     * Current catalog version (advances on every item mutation).
+     */
+    long getCatalogVersion();
+    
+    /**
+     * IDs of items created, changed or deleted after a catalog version (see CatalogChangeLog).
+     * 
+     * @param limit maximum item IDs to return
+     */
+    CatalogChangeLog.Delta changesSince(long version, int limit);
+    
+    /**
+     * Items with stock at or below a threshold, lowest stock first (see LowStockIndex).
+     * 
+     * @param limit maximum items to return
+     */
+    List<Item> findLowStock(int threshold, int limit);
+    
+    /**
+     * Number of items with stock at or below a threshold.
+     */
+    int countLowStock(int threshold);
+    
+    /**
+     * Stock level at or below which items raise a low-stock alert.
+     */
+    int getLowStockAlertThreshold();
+    
+    /**
+     * Low-stock alerts after a cursor (never waits).
+     * 
+     * @param after last alert sequence seen (0 = oldest retained alert)
+     * @param limit maximum alerts to return
+     */
+    LowStockIndex.Alerts lowStockAlerts(long after, int limit);
+    
+    /**
+     * Run a listener once there is a low-stock alert after the cursor (see LowStockIndex.whenAlertAfter).
+     * 
+     * @return cancels the listener if it has not run yet
+     */
+    Runnable whenLowStockAlertAfter(long after, Runnable listener);
+    
     /**
      * Save or update an item.
      */
@@ -47,6 +123,7 @@ public interface IItemRepository {
      * Used when item is added to cart.
      * @deprecated Use decreaseStock(UUID itemId, int quantity) instead
      */
+    @Deprecated
     void decreaseStock(UUID itemId);
     
     /**
@@ -3,6 +3,7 @@ package com.ecommerce.store.repository;
 import com.ecommerce.store.model.Order;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,6 +29,22 @@ public interface IOrderRepository {
      */
     List<Order> findByUserId(String userId);
     
+    /**
+     * IDs of the orders containing an item, oldest first (see OrderLookupIndex).
+     * 
+     * @param after position from the previous page (0 = first page)
+     * @param limit page size
+     */
+    OrderLookupIndex.Page findIdsByItem(UUID itemId, int after, int limit);
+    
+    /**
+     * IDs of the orders that applied a coupon code, oldest first.
+     * 
+     * @param after position from the previous page (0 = first page)
+     * @param limit page size
+     */
+    OrderLookupIndex.Page findIdsByCoupon(String couponCode, int after, int limit);
+    
     /**
      * Save order and increment global order counter.
      * Returns the order number (Nth order in system).
@@ -39,6 +56,12 @@ public interface IOrderRepository {
      */
     int getOrderCount();
     
+    /**
+     * Pin a consistent, versioned read snapshot of orders and coupon statistics.
+     * Used by reporting queries (stats, exports, reconciliation).
+     */
+    StoreSnapshot snapshot();
+    
     /**
      * Get total number of items purchased across all orders.
      */
@@ -58,4 +81,59 @@ public interface IOrderRepository {
      * Count how many orders used coupons.
      */
     long countOrdersWithCoupons();
+    
+    /**
+     * Estimated best-selling items from the streaming sketch (see TopItemsSketch).
+     * 
+     * @param n number of items to return
+     */
+    TopItemsSketch.Ranking topItems(TopItemsSketch.Metric metric, int n);
+    
+    /**
+     * Exact best-selling items: a parallel scan of every order (for verifying the estimates).
+     * 
+     * @param n number of items to return
+     */
+    TopItemsSketch.Ranking topItemsExact(TopItemsSketch.Metric metric, int n);
+    
+    /**
+     * Recent order activity per time bucket (see OrderTimeSeries), oldest bucket first.
+     * 
+     * @param count number of buckets, ending with the one that contains `end`
+     */
+    List<OrderTimeSeries.Bucket> timeSeries(OrderTimeSeries.Resolution resolution, int count, Instant end);
+    
+    /**
+     * Totals of the orders of a pinned snapshot created in [from, to),
+     * widened to whole index buckets (see OrderRangeIndex).
+     * 
+     * @param from inclusive lower bound, or null
+     * @param to exclusive upper bound, or null
+     * @param snapshot the version to answer for, from snapshot()
+     */
+    OrderRangeIndex.Totals rangeTotals(Instant from, Instant to, StoreSnapshot snapshot);
+    
+    /**
+     * Order value and items-per-order histograms over all orders (see OrderDistribution).
+     */
+    OrderDistribution.Histograms distribution();
+    
+    /**
+     * Order value and items-per-order histograms merged over recent windows.
+     * 
+     * @param count number of windows, ending with the one that contains `end`
+     */
+    OrderDistribution.Histograms distribution(OrderDistribution.Window window, int count, Instant end);
+    
+    /**
+     * Distinct buyers, coupon redeemers and cart creators over all time (see DistinctUsers).
+     */
+    DistinctUsers.Sketches distinctUsers();
+    
+    /**
+     * Distinct buyers, coupon redeemers and cart creators over recent days.
+     * 
+     * @param days number of days, ending with the one that contains `end`
+     */
+    DistinctUsers.Sketches distinctUsers(int days, Instant end);
 }
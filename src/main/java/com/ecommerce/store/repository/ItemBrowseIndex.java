@@ -0,0 +1,280 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Item;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Ordered secondary indexes over the catalog, for filtered and sorted browsing.
+ *
+ * Responsibilities:
+ * - Keep items sorted by price and by name, over all items and over in-stock items only
+ * - Serve keyset-paginated pages in O(log n + page size), stable while the catalog changes
+ *
+ * Thread-Safe: Updates of one item go through ConcurrentHashMap.compute; pages are weakly consistent.
+ */
+public class ItemBrowseIndex {
+
+    public enum Sort { PRICE, NAME }
+
+    private static final UUID FIRST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID LAST_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Key, Item> byPrice = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Key, Item> byName = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Key, Item> inStockByPrice = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Key, Item> inStockByName = new ConcurrentSkipListMap<>();
+
+    /**
+     * Add or refresh an item (call after any change to its price, name or stock).
+     */
+    public void index(Item item) {
+        entries.compute(item.getItemId(), (itemId, previous) -> {
+            Entry current = new Entry(new Key(priceOf(item), itemId), new Key(nameOf(item), itemId),
+                    item.getStock() > 0);
+            if (previous != null) {
+                unlink(previous, current);
+            }
+            byPrice.put(current.price, item);
+            byName.put(current.name, item);
+            if (current.inStock) {
+                inStockByPrice.put(current.price, item);
+                inStockByName.put(current.name, item);
+            }
+            return current;
+        });
+    }
+
+    /**
+     * Remove an item (no-op if absent).
+     */
+    public void remove(UUID itemId) {
+        entries.computeIfPresent(itemId, (id, previous) -> {
+            unlink(previous, null);
+            return null;
+        });
+    }
+
+    /**
+     * Replace the whole index (bulk loads, replication snapshots, hydration).
+     */
+    public void rebuild(Collection<Item> items) {
+        clear();
+        for (Item item : items) {
+            index(item);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        byPrice.clear();
+        byName.clear();
+        inStockByPrice.clear();
+        inStockByName.clear();
+    }
+
+    /**
+     * One page of items in sort order.
+     *
+     * @param minPrice    inclusive lower price bound, or null
+     * @param maxPrice    inclusive upper price bound, or null
+     * @param after       cursor from the previous page, or null for the first page
+     * @param limit       page size
+     * @throws IllegalArgumentException if the cursor is malformed or from another sort order
+     */
+    public Page page(Sort sort, boolean descending, boolean inStockOnly,
+                     BigDecimal minPrice, BigDecimal maxPrice, String after, int limit) {
+        NavigableMap<Key, Item> view = sort == Sort.PRICE
+                ? (inStockOnly ? inStockByPrice : byPrice)
+                : (inStockOnly ? inStockByName : byName);
+
+        if (sort == Sort.PRICE && (minPrice != null || maxPrice != null)) {
+            Key from = minPrice == null ? null : new Key(minPrice, FIRST_ID);
+            Key to = maxPrice == null ? null : new Key(maxPrice, LAST_ID);
+            view = from == null ? view.headMap(to, true)
+                    : to == null ? view.tailMap(from, true)
+                    : view.subMap(from, true, to, true);
+        }
+        if (descending) {
+            view = view.descendingMap();
+        }
+        if (after != null) {
+            Key cursor = decodeCursor(after, sort);
+            if (sort == Sort.PRICE && !inRange((BigDecimal) cursor.value, minPrice, maxPrice)) {
+                throw new IllegalArgumentException("Cursor is outside the requested price range");
+            }
+            view = view.tailMap(cursor, false);
+        }
+        boolean filterPrice = sort == Sort.NAME && (minPrice != null || maxPrice != null);
+
+        List<Item> items = new ArrayList<>(Math.min(limit, 1024));
+        Key last = null;
+        boolean more = false;
+        for (Map.Entry<Key, Item> entry : view.entrySet()) {
+            Item item = entry.getValue();
+            if (filterPrice && !inRange(priceOf(item), minPrice, maxPrice)) {
+                continue;
+            }
+            if (items.size() == limit) {
+                more = true;
+                break;
+            }
+            items.add(item);
+            last = entry.getKey();
+        }
+        return new Page(items, more ? encodeCursor(last, sort) : null);
+    }
+
+    /**
+     * Number of indexed items.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drop the entries of `previous` that `current` (null on delete) does not reuse.
+     */
+    private void unlink(Entry previous, Entry current) {
+        if (current == null || !previous.price.equals(current.price)) {
+            byPrice.remove(previous.price);
+            inStockByPrice.remove(previous.price);
+        }
+        if (current == null || !previous.name.equals(current.name)) {
+            byName.remove(previous.name);
+            inStockByName.remove(previous.name);
+        }
+        if (current != null && previous.inStock && !current.inStock) {
+            inStockByPrice.remove(previous.price);
+            inStockByName.remove(previous.name);
+        }
+    }
+
+    private static BigDecimal priceOf(Item item) {
+        return item.getPrice() != null ? item.getPrice() : BigDecimal.ZERO;
+    }
+
+    private static String nameOf(Item item) {
+        return item.getName() != null ? item.getName().toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static boolean inRange(BigDecimal price, BigDecimal minPrice, BigDecimal maxPrice) {
+        return (minPrice == null || price.compareTo(minPrice) >= 0)
+                && (maxPrice == null || price.compareTo(maxPrice) <= 0);
+    }
+
+    /**
+     * Cursor = base64url("P" or "N", itemId, sort value); the ID has a fixed length,
+     * so the sort value (a name may contain anything) needs no escaping.
+     */
+    private static String encodeCursor(Key key, Sort sort) {
+        String value = sort == Sort.PRICE ? ((BigDecimal) key.value).toPlainString() : (String) key.value;
+        String raw = (sort == Sort.PRICE ? "P" : "N") + key.itemId + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Key decodeCursor(String cursor, Sort sort) {
+        String raw;
+        UUID itemId;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            itemId = UUID.fromString(raw.substring(1, 37));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (raw.charAt(0) != (sort == Sort.PRICE ? 'P' : 'N')) {
+            throw new IllegalArgumentException("Cursor belongs to another sort order");
+        }
+        if (sort == Sort.NAME) {
+            return new Key(raw.substring(37), itemId);
+        }
+        try {
+            return new Key(new BigDecimal(raw.substring(37)), itemId);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Sort key: a price or lower-cased name, then the itemId as tie-breaker.
+     * Prices compare numerically, so 10.0 and 10.00 sort together.
+     */
+    private static final class Key implements Comparable<Key> {
+
+        final Object value;              // BigDecimal or String; one type per map
+        final UUID itemId;
+
+        Key(Object value, UUID itemId) {
+            this.value = value;
+            this.itemId = itemId;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public int compareTo(Key other) {
+            int byValue = ((Comparable<Object>) value).compareTo(other.value);
+            return byValue != 0 ? byValue : itemId.compareTo(other.itemId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && compareTo(other) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(itemId);
+        }
+    }
+
+    /**
+     * The keys an item is currently indexed under.
+     */
+    private static final class Entry {
+
+        final Key price;
+        final Key name;
+        final boolean inStock;
+
+        Entry(Key price, Key name, boolean inStock) {
+            this.price = price;
+            this.name = name;
+            this.inStock = inStock;
+        }
+    }
+
+    /**
+     * One page of items plus the cursor of the next page (null on the last page).
+     */
+    public static final class Page {
+
+        private final List<Item> items;
+        private final String nextCursor;
+
+        public Page(List<Item> items, String nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<Item> getItems() {
+            return items;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.ecommerce.store.repository;
 
+import com.ecommerce.store.cdc.ChangeEvent;
 import com.ecommerce.store.model.Item;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -34,6 +36,18 @@ public class ItemRepository implements IItemRepository {
         return Optional.ofNullable(dataStore.items.get(itemId));
     }
     
+    /**
+     * Find several items in one pass, in request order (null where not found).
+     */
+    @Override
+    public List<Item> findAllById(List<UUID> itemIds) {
+        List<Item> items = new ArrayList<>(itemIds.size());
+        for (UUID itemId : itemIds) {
+            items.add(itemId == null ? null : dataStore.items.get(itemId));
+        }
+        return items;
+    }
+    
     /**
      * Get all items.
      */
@@ -42,8 +56,82 @@ public class ItemRepository implements IItemRepository {
         return new ArrayList<>(dataStore.items.values());
     }
     
+    /**
+     * Sorted, filtered catalog page (see ItemBrowseIndex).
+     */
+    @Override
+    public ItemBrowseIndex.Page browse(ItemBrowseIndex.Sort sort, boolean descending, boolean inStockOnly,
+                                       BigDecimal minPrice, BigDecimal maxPrice, String after, int limit) {
+        return dataStore.browse.page(sort, descending, inStockOnly, minPrice, maxPrice, after, limit);
+    }
+    
+    /**
+     * Full-text search over item names (see ItemSearchIndex).
+     */
+    @Override
+    public ItemSearchIndex.SearchHits search(String query, int offset, int limit) {
+        return dataStore.search.search(query, offset, limit);
+    }
+    
+    /**
+     * Autocomplete suggestions from indexed item-name terms.
+     */
+    @Override
+    public List<ItemSearchIndex.Suggestion> suggest(String prefix, int limit) {
+        return dataStore.search.suggest(prefix, limit);
+    }
+    
+    /**
+     * Current catalog version.
+     */
+    @Override
+    public long getCatalogVersion() {
+        return dataStore.catalogChanges.getVersion();
+    }
+    
+    /**
+     * Items changed since a catalog version, each once (see CatalogChangeLog).
+     */
+    @Override
+    public CatalogChangeLog.Delta changesSince(long version, int limit) {
+        return dataStore.catalogChanges.since(version, limit);
+    }
+    
+    /**
+     * Head view of the stock-ordered index: O(log n + k), never scans the catalog.
+     */
+    @Override
+    public List<Item> findLowStock(int threshold, int limit) {
+        return dataStore.lowStock.atOrBelow(threshold, limit);
+    }
+    
+    @Override
+    public int countLowStock(int threshold) {
+        return dataStore.lowStock.countAtOrBelow(threshold);
+    }
+    
+    @Override
+    public int getLowStockAlertThreshold() {
+        return dataStore.lowStock.getAlertThreshold();
+    }
+    
+    /**
+     * Low-stock alert feed (see LowStockIndex).
+     */
+    @Override
+    public LowStockIndex.Alerts lowStockAlerts(long after, int limit) {
+        return dataStore.lowStock.alertsAfter(after, limit);
+    }
+    
+    @Override
+    public Runnable whenLowStockAlertAfter(long after, Runnable listener) {
+        return dataStore.lowStock.whenAlertAfter(after, listener);
+    }
+    
     /**
      * Save or update an item.
+     * Indexed and published inside compute(), from whatever the item's entry holds then:
+     * writers of one item reach the change stream in the order of their writes.
      */
     @Override
     public Item save(Item item) {
@@ -51,6 +139,11 @@ public class ItemRepository implements IItemRepository {
             item.setItemId(UUID.randomUUID());
         }
         dataStore.items.put(item.getItemId(), item);
+        dataStore.items.computeIfPresent(item.getItemId(), (itemId, current) -> {
+            dataStore.indexItem(current);
+            publishUpsert(current);
+            return current;
+        });
         return item;
     }
     
@@ -59,7 +152,11 @@ public class ItemRepository implements IItemRepository {
      */
     @Override
     public void delete(UUID itemId) {
-        dataStore.items.remove(itemId);
+        dataStore.items.computeIfPresent(itemId, (id, item) -> {
+            dataStore.unindexItem(id);
+            dataStore.changes.publish(ChangeEvent.Entity.ITEM, ChangeEvent.Operation.DELETE, id, null);
+            return null;
+        });
     }
     
     /**
@@ -72,14 +169,23 @@ public class ItemRepository implements IItemRepository {
     
     /**
      * Decrease stock for an item by specified quantity.
-     * Thread-safe operation using ConcurrentHashMap.
+     * Thread-safe: the check, the update and its change event happen inside
+     * ConcurrentHashMap.computeIfPresent, one writer per item at a time.
      */
     @Override
     public void decreaseStock(UUID itemId, int quantity) {
-        Item item = dataStore.items.get(itemId);
-        if (item != null && item.getStock() >= quantity) {
-            item.setStock(item.getStock() - quantity);
-        }
+        dataStore.items.computeIfPresent(itemId, (id, item) -> {
+            if (item.getStock() >= quantity) {
+                item.setStock(item.getStock() - quantity);
+                if (item.getStock() == 0) {
+                    dataStore.browse.index(item);
+                }
+                dataStore.lowStock.index(item);
+                dataStore.catalogChanges.record(id);
+                publishUpsert(item);
+            }
+            return item;
+        });
     }
     
     /**
@@ -88,6 +194,7 @@ public class ItemRepository implements IItemRepository {
      * @deprecated Use decreaseStock(UUID itemId, int quantity) instead
      */
     @Override
+    @Deprecated
     public void decreaseStock(UUID itemId) {
         decreaseStock(itemId, 1);
     }
@@ -99,4 +206,13 @@ public class ItemRepository implements IItemRepository {
     public int count() {
         return dataStore.items.size();
     }
+    
+    /**
+     * Publish a point-in-time copy of the item to the change stream.
+     * Only called inside a compute() on the item's entry (see ChangeEventBus).
+     */
+    private void publishUpsert(Item item) {
+        dataStore.changes.publish(ChangeEvent.Entity.ITEM, ChangeEvent.Operation.UPSERT, item.getItemId(),
+                () -> new Item(item.getItemId(), item.getName(), item.getPrice(), item.getStock()));
+    }
 }
@@ -0,0 +1,458 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Item;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory full-text index over item names, for catalog search and autocomplete.
+ *
+ * Responsibilities:
+ * - Sorted term dictionary with posting lists, so a prefix is one range (autocomplete)
+ * - Incremental updates: a renamed item is tombstoned and appended again
+ * - AND queries intersected with galloping search, ranked by BM25
+ *
+ * Thread-Safe: Uses a read-write lock; queries share the read lock.
+ */
+public class ItemSearchIndex {
+
+    /**
+     * Deepest result the index will rank (offset + limit).
+     */
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 1024;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<UUID, Integer> documentOf = new HashMap<>();
+    private Item[] documents = new Item[1024];       // null = retired
+    private String[][] documentTerms = new String[1024][];
+    private int[] lengths = new int[1024];           // 0 = retired (or nothing to match)
+    private int nextDocument;
+    private int liveDocuments;
+    private long totalTerms;
+
+    /**
+     * Add or refresh an item. Cheap when the name is unchanged.
+     */
+    public void index(Item item) {
+        String[] tokens = tokenize(item.getName());
+        lock.writeLock().lock();
+        try {
+            Integer existing = documentOf.get(item.getItemId());
+            if (existing != null) {
+                if (Arrays.equals(documentTerms[existing], tokens)) {
+                    documents[existing] = item;
+                    return;
+                }
+                retire(existing);
+            }
+            add(item, tokens);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove an item from the index (no-op if absent).
+     */
+    public void remove(UUID itemId) {
+        lock.writeLock().lock();
+        try {
+            Integer document = documentOf.remove(itemId);
+            if (document != null) {
+                retire(document);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole index (bulk loads, replication snapshots, hydration).
+     */
+    public void rebuild(Collection<Item> items) {
+        lock.writeLock().lock();
+        try {
+            reset();
+            for (Item item : items) {
+                add(item, tokenize(item.getName()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            reset();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Items whose name contains every query term, best first.
+     *
+     * @param offset number of ranked hits to skip
+     * @param limit  page size; offset + limit is capped at MAX_RESULT_WINDOW
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        String[] queryTerms = distinct(tokenize(query));
+        if (queryTerms.length > MAX_QUERY_TERMS) {
+            queryTerms = Arrays.copyOf(queryTerms, MAX_QUERY_TERMS);
+        }
+        if (queryTerms.length == 0 || limit <= 0) {
+            return new SearchHits(0, List.of());
+        }
+        int window = Math.min(offset + limit, MAX_RESULT_WINDOW);
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[queryTerms.length];
+            for (int i = 0; i < queryTerms.length; i++) {
+                lists[i] = terms.get(queryTerms[i]);
+                if (lists[i] == null) {
+                    return new SearchHits(0, List.of());
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(p -> p.live));
+
+            double[] idf = new double[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                idf[i] = Math.log(1 + (liveDocuments - lists[i].live + 0.5) / (lists[i].live + 0.5));
+            }
+            double averageLength = (double) totalTerms / liveDocuments;
+
+            // Min-heap of the best `window` hits seen so far (worst on top)
+            PriorityQueue<Hit> best = new PriorityQueue<>(Math.min(window, 1024), Hit.RANKING.reversed());
+            long total = 0;
+            int[] cursors = new int[lists.length];
+            Postings driver = lists[0];
+            for (int i = 0; i < driver.size; i++) {
+                int document = driver.documents[i];
+                if (lengths[document] == 0 || !containedInAll(lists, cursors, document)) {
+                    continue;
+                }
+                total++;
+                double norm = K1 * (1 - B + B * lengths[document] / averageLength);
+                double score = idf[0] * termScore(driver.frequencies[i], norm);
+                for (int t = 1; t < lists.length; t++) {
+                    score += idf[t] * termScore(lists[t].frequencies[cursors[t]], norm);
+                }
+                if (best.size() < window) {
+                    best.add(new Hit(document, score));
+                } else if (score > best.peek().score) {
+                    best.poll();
+                    best.add(new Hit(document, score));
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(best);
+            ranked.sort(Hit.RANKING);
+            List<Item> page = new ArrayList<>(Math.max(0, Math.min(limit, ranked.size() - offset)));
+            for (int i = offset; i < ranked.size(); i++) {
+                page.add(documents[ranked.get(i).document]);
+            }
+            return new SearchHits(total, page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Complete the last word of the input with indexed terms, most common first.
+     * Earlier words are kept (normalized) in front of the completion.
+     */
+    public List<Suggestion> suggest(String input, int limit) {
+        String[] tokens = tokenize(input);
+        if (tokens.length == 0 || limit <= 0 || SEPARATORS.matcher(input.substring(input.length() - 1)).matches()) {
+            return List.of();
+        }
+        String prefix = tokens[tokens.length - 1];
+        String lead = tokens.length == 1 ? "" : String.join(" ", Arrays.copyOf(tokens, tokens.length - 1)) + " ";
+
+        lock.readLock().lock();
+        try {
+            Comparator<Postings> popularity = Comparator.<Postings>comparingInt(p -> p.live).reversed()
+                    .thenComparing(p -> p.term);
+            PriorityQueue<Postings> best = new PriorityQueue<>(limit, popularity.reversed());
+            for (Postings postings : terms.tailMap(prefix, true).values()) {
+                if (!postings.term.startsWith(prefix)) {
+                    break;
+                }
+                if (best.size() < limit) {
+                    best.add(postings);
+                } else if (popularity.compare(postings, best.peek()) < 0) {
+                    best.poll();
+                    best.add(postings);
+                }
+            }
+            List<Postings> ranked = new ArrayList<>(best);
+            ranked.sort(popularity);
+            List<Suggestion> suggestions = new ArrayList<>(ranked.size());
+            for (Postings postings : ranked) {
+                suggestions.add(new Suggestion(lead + postings.term, postings.live));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of live (searchable) items.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocuments;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-case, accent-fold and split a name or query into terms.
+     */
+    static String[] tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return new String[0];
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < normalized.length(); i++) {
+            if (normalized.charAt(i) > 0x7f) {
+                normalized = MARKS.matcher(Normalizer.normalize(normalized, Normalizer.Form.NFD)).replaceAll("");
+                break;
+            }
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    private void add(Item item, String[] tokens) {
+        int document = nextDocument++;
+        if (document == documents.length) {
+            documents = Arrays.copyOf(documents, document * 2);
+            documentTerms = Arrays.copyOf(documentTerms, document * 2);
+            lengths = Arrays.copyOf(lengths, document * 2);
+        }
+        for (int i = 0; i < tokens.length; i++) {
+            Postings postings = terms.get(tokens[i]);
+            if (postings == null) {
+                postings = new Postings(tokens[i]);
+                terms.put(postings.term, postings);
+            }
+            // Share the term's string instead of keeping a copy per item
+            tokens[i] = postings.term;
+            if (postings.size > 0 && postings.documents[postings.size - 1] == document) {
+                postings.repeat();
+            } else {
+                postings.append(document);
+            }
+        }
+        documents[document] = item;
+        documentTerms[document] = tokens;
+        lengths[document] = tokens.length;
+        documentOf.put(item.getItemId(), document);
+        liveDocuments++;
+        totalTerms += tokens.length;
+    }
+
+    private void retire(int document) {
+        String[] tokens = documentTerms[document];
+        for (String term : distinct(tokens)) {
+            Postings postings = terms.get(term);
+            if (--postings.live == 0) {
+                terms.remove(term);
+            }
+        }
+        documents[document] = null;
+        documentTerms[document] = null;
+        lengths[document] = 0;
+        liveDocuments--;
+        totalTerms -= tokens.length;
+    }
+
+    private void compactIfNeeded() {
+        int tombstones = nextDocument - liveDocuments;
+        if (tombstones >= MIN_TOMBSTONES_TO_COMPACT && tombstones > liveDocuments) {
+            List<Item> live = new ArrayList<>(liveDocuments);
+            for (int i = 0; i < nextDocument; i++) {
+                if (documents[i] != null) {
+                    live.add(documents[i]);
+                }
+            }
+            reset();
+            for (Item item : live) {
+                add(item, tokenize(item.getName()));
+            }
+        }
+    }
+
+    private void reset() {
+        terms.clear();
+        documentOf.clear();
+        documents = new Item[1024];
+        documentTerms = new String[1024][];
+        lengths = new int[1024];
+        nextDocument = 0;
+        liveDocuments = 0;
+        totalTerms = 0;
+    }
+
+    /**
+     * Probe the other lists for a driver document. Driver documents ascend, so each
+     * cursor only moves forward: gallop to bracket the document, then binary search.
+     */
+    private static boolean containedInAll(Postings[] lists, int[] cursors, int document) {
+        for (int i = 1; i < lists.length; i++) {
+            int[] postings = lists[i].documents;
+            int size = lists[i].size;
+            int low = cursors[i];
+            int step = 1;
+            while (low + step < size && postings[low + step] < document) {
+                low += step;
+                step <<= 1;
+            }
+            int found = Arrays.binarySearch(postings, low, Math.min(low + step + 1, size), document);
+            cursors[i] = found >= 0 ? found : -found - 1;
+            if (found < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double termScore(int frequency, double norm) {
+        return frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    private static String[] distinct(String[] tokens) {
+        Set<String> unique = new LinkedHashSet<>(Arrays.asList(tokens));
+        return unique.toArray(new String[0]);
+    }
+
+    /**
+     * Append-only posting list: document numbers in ascending order with the term's
+     * frequency in each (saturating at 127), plus a live count.
+     */
+    private static final class Postings {
+
+        final String term;
+        int[] documents = new int[4];
+        byte[] frequencies = new byte[4];
+        int size;
+        int live;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void append(int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            documents[size] = document;
+            frequencies[size++] = 1;
+            live++;
+        }
+
+        void repeat() {
+            if (frequencies[size - 1] < Byte.MAX_VALUE) {
+                frequencies[size - 1]++;
+            }
+        }
+    }
+
+    private static final class Hit {
+
+        // Equal scores keep index order (earliest indexed first), so ranking never
+        // has to dereference the Item and pages stay stable between requests
+        static final Comparator<Hit> RANKING = Comparator.<Hit>comparingDouble(h -> -h.score)
+                .thenComparingInt(h -> h.document);
+
+        final int document;
+        final double score;
+
+        Hit(int document, double score) {
+            this.document = document;
+            this.score = score;
+        }
+    }
+
+    /**
+     * One page of ranked hits plus the total number of matches.
+     */
+    public static final class SearchHits {
+
+        private final long total;
+        private final List<Item> items;
+
+        public SearchHits(long total, List<Item> items) {
+            this.total = total;
+            this.items = items;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public List<Item> getItems() {
+            return items;
+        }
+    }
+
+    /**
+     * An autocomplete suggestion and the number of items containing its last term.
+     */
+    public static final class Suggestion {
+
+        private final String text;
+        private final int count;
+
+        public Suggestion(String text, int count) {
+            this.text = text;
+            this.count = count;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Item;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Items ordered by remaining stock, plus a bounded feed of restock alerts.
+ *
+ * Responsibilities:
+ * - Items at or below a threshold, as a head view of a skip list: O(log n + k)
+ * - One alert when an item's stock drops to the alert threshold, not on every sale below it
+ * - Cursor reads, and one-shot listeners (whenAlertAfter) for readers that are caught up
+ *
+ * Thread-Safe: Updates of one item go through ConcurrentHashMap.compute; the alert log is lock-free.
+ */
+public class LowStockIndex {
+
+    public static final int DEFAULT_ALERT_THRESHOLD = 3;
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    private static final UUID LAST_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final Map<UUID, Key> keys = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Key, Item> byStock = new ConcurrentSkipListMap<>();
+
+    private final int capacity;
+    private final ConcurrentSkipListMap<Long, Alert> alerts = new ConcurrentSkipListMap<>();
+    private final AtomicInteger alertCount = new AtomicInteger();
+    private final Sequencer sequences = new Sequencer(0);
+    private final ConcurrentLinkedQueue<Listener> listeners = new ConcurrentLinkedQueue<>();
+    private volatile int alertThreshold = DEFAULT_ALERT_THRESHOLD;
+
+    public LowStockIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LowStockIndex(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Set the stock level at or below which items raise an alert.
+     */
+    public void configure(int alertThreshold) {
+        if (alertThreshold < 0) {
+            throw new IllegalArgumentException("Low-stock alert threshold must not be negative");
+        }
+        this.alertThreshold = alertThreshold;
+    }
+
+    /**
+     * Add or refresh an item (call after any change to its stock), raising an alert
+     * if its stock just dropped to the alert threshold or below.
+     */
+    public void index(Item item) {
+        index(item, true);
+    }
+
+    /**
+     * Remove an item (no-op if absent).
+     */
+    public void remove(UUID itemId) {
+        keys.computeIfPresent(itemId, (id, previous) -> {
+            byStock.remove(previous);
+            return null;
+        });
+    }
+
+    /**
+     * Replace the whole index (bulk loads, replication snapshots, hydration) without alerts.
+     */
+    public void rebuild(Collection<Item> items) {
+        keys.clear();
+        byStock.clear();
+        for (Item item : items) {
+            index(item, false);
+        }
+    }
+
+    /**
+     * Drop all items and alerts. Alert sequences keep counting up, so cursors stay valid.
+     */
+    public void clear() {
+        keys.clear();
+        byStock.clear();
+        alerts.clear();
+        alertCount.set(0);
+    }
+
+    private void index(Item item, boolean alert) {
+        keys.compute(item.getItemId(), (itemId, previous) -> {
+            Key current = new Key(item.getStock(), itemId);
+            if (previous != null) {
+                if (previous.stock == current.stock) {
+                    byStock.put(previous, item);
+                    return previous;
+                }
+                byStock.remove(previous);
+            }
+            byStock.put(current, item);
+            int threshold = alertThreshold;
+            if (alert && current.stock <= threshold && (previous == null || previous.stock > threshold)) {
+                publish(item, current.stock, threshold);
+            }
+            return current;
+        });
+    }
+
+    private void publish(Item item, int stock, int threshold) {
+        long sequence = sequences.next();
+        alerts.put(sequence, new Alert(sequence, item.getItemId(), item.getName(), stock, threshold,
+                Instant.now()));
+        if (alertCount.incrementAndGet() > capacity && alerts.pollFirstEntry() != null) {
+            alertCount.decrementAndGet();
+        }
+        sequences.publish(sequence);
+        Listener listener;
+        while ((listener = listeners.poll()) != null) {
+            listener.fire();
+        }
+    }
+
+    public int getAlertThreshold() {
+        return alertThreshold;
+    }
+
+    /**
+     * Items with stock at or below `threshold`, lowest stock first.
+     *
+     * @param limit maximum items to return
+     */
+    public List<Item> atOrBelow(int threshold, int limit) {
+        List<Item> items = new ArrayList<>(Math.min(limit, 1024));
+        for (Item item : byStock.headMap(new Key(threshold, LAST_ID), true).values()) {
+            if (items.size() == limit) {
+                break;
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    /**
+     * Number of items with stock at or below `threshold`: O(k).
+     */
+    public int countAtOrBelow(int threshold) {
+        return byStock.headMap(new Key(threshold, LAST_ID), true).size();
+    }
+
+    /**
+     * Alerts after sequence `after`, oldest first. Never waits.
+     *
+     * @param after last sequence the caller has seen (0 = from the oldest retained alert)
+     * @param limit maximum alerts to return; the rest follow from the returned cursor
+     */
+    public Alerts alertsAfter(long after, int limit) {
+        long last = sequences.published();
+        // A cursor from before a restart is ahead of this log: start over from the oldest alert
+        boolean stale = after > last;
+        long from = stale ? 0 : after;
+        Map.Entry<Long, Alert> first = alerts.firstEntry();
+        long oldest = first == null ? last + 1 : Math.min(first.getKey(), last + 1);
+        boolean missed = stale || (from > 0 && from + 1 < oldest);
+        List<Alert> batch = new ArrayList<>(Math.min(limit, 1024));
+        long cursor = Math.max(from, oldest - 1);
+        for (Alert alert : alerts.subMap(from, false, last, true).values()) {
+            if (batch.size() == limit) {
+                break;
+            }
+            batch.add(alert);
+            cursor = alert.getSequence();
+        }
+        // Sequences have no gaps, so one here means the oldest alerts were dropped during the walk
+        if (from > 0 && !batch.isEmpty() && batch.get(0).getSequence() > from + 1) {
+            missed = true;
+        }
+        return new Alerts(batch, cursor, missed);
+    }
+
+    /**
+     * Run `listener` once, as soon as the last published sequence is no longer `after`:
+     * at once if it already is not, otherwise on the thread that publishes the next alert.
+     * It runs inside an item update, so it must only hand the work off (e.g. complete a future).
+     *
+     * @return cancels the listener if it has not run yet (e.g. when the caller stops waiting)
+     */
+    public Runnable whenAlertAfter(long after, Runnable listener) {
+        Listener waiting = new Listener(listener);
+        listeners.add(waiting);
+        // Queued before this check, so an alert published after it drains the queue and runs us
+        if (sequences.published() != after) {
+            listeners.remove(waiting);
+            waiting.fire();
+        }
+        return () -> {
+            if (waiting.fired.compareAndSet(false, true)) {
+                listeners.remove(waiting);
+            }
+        };
+    }
+
+    /**
+     * An item whose stock dropped to the alert threshold or below.
+     */
+    public static final class Alert {
+
+        private final long sequence;
+        private final UUID itemId;
+        private final String name;
+        private final int stock;
+        private final int threshold;
+        private final Instant raisedAt;
+
+        public Alert(long sequence, UUID itemId, String name, int stock, int threshold, Instant raisedAt) {
+            this.sequence = sequence;
+            this.itemId = itemId;
+            this.name = name;
+            this.stock = stock;
+            this.threshold = threshold;
+            this.raisedAt = raisedAt;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public UUID getItemId() {
+            return itemId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Stock when the alert was raised.
+         */
+        public int getStock() {
+            return stock;
+        }
+
+        public int getThreshold() {
+            return threshold;
+        }
+
+        public Instant getRaisedAt() {
+            return raisedAt;
+        }
+    }
+
+    /**
+     * Result of alertsAfter(): the alerts and the cursor to ask from next.
+     */
+    public static final class Alerts {
+
+        private final List<Alert> alerts;
+        private final long cursor;
+        private final boolean missed;
+
+        public Alerts(List<Alert> alerts, long cursor, boolean missed) {
+            this.alerts = alerts;
+            this.cursor = cursor;
+            this.missed = missed;
+        }
+
+        public List<Alert> getAlerts() {
+            return alerts;
+        }
+
+        public long getCursor() {
+            return cursor;
+        }
+
+        /**
+         * True if alerts after the caller's cursor may be lost: it fell too far behind,
+         * or the cursor is from before a restart. The caller should re-read the low-stock list.
+         */
+        public boolean isMissed() {
+            return missed;
+        }
+    }
+
+    private static final class Listener {
+
+        private final Runnable action;
+        private final AtomicBoolean fired = new AtomicBoolean();
+
+        Listener(Runnable action) {
+            this.action = action;
+        }
+
+        void fire() {
+            if (fired.compareAndSet(false, true)) {
+                action.run();
+            }
+        }
+    }
+
+    private static final class Key implements Comparable<Key> {
+
+        private final int stock;
+        private final UUID itemId;
+
+        Key(int stock, UUID itemId) {
+            this.stock = stock;
+            this.itemId = itemId;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byStock = Integer.compare(stock, other.stock);
+            return byStock != 0 ? byStock : itemId.compareTo(other.itemId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && compareTo((Key) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * stock + itemId.hashCode();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Order;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Orders waiting to be counted into an aggregate that only one thread may update at a time.
+ *
+ * A checkout queues its order, and whichever thread finds the aggregate free counts the
+ * whole queue, so the others never wait. Queries count the queue first.
+ *
+ * Thread-Safe: The aggregate is only touched under the buffer's lock.
+ */
+final class OrderBuffer {
+
+    private final ConcurrentLinkedQueue<Order> pending = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Consumer<Order> counter;
+
+    OrderBuffer(Consumer<Order> counter) {
+        this.counter = counter;
+    }
+
+    /**
+     * Queue an order, and count the queue if no other thread is counting it.
+     */
+    void add(Order order) {
+        pending.add(order);
+        // Re-check after unlocking: an order queued while the lock was held would otherwise wait
+        // for the next checkout or query
+        while (!pending.isEmpty() && lock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Run a query on the aggregate once every order queued so far is counted.
+     */
+    <T> T read(Supplier<T> query) {
+        lock.lock();
+        try {
+            drain();
+            return query.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replace the aggregate, dropping the orders not counted yet.
+     */
+    void reset(Runnable reset) {
+        lock.lock();
+        try {
+            pending.clear();
+            reset.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drain() {
+        Order order;
+        while ((order = pending.poll()) != null) {
+            counter.accept(order);
+        }
+    }
+}
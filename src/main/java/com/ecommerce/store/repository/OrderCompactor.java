@@ -0,0 +1,115 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Order;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background compaction of aged orders into pre-aggregated rollups.
+ *
+ * Every run folds orders older than the retention period into the OrderRollup
+ * (per-day and per-item totals) and publishes it through SnapshotManager.
+ * With eviction enabled, the full order bodies are then dropped from
+ * DataStore.orders and from the snapshot log, so they no longer cost heap.
+ *
+ * Totals stay exact: aggregates are always rollup + orders the rollup does not cover.
+ * The rollup is published before bodies are evicted, so no reader sees an order in neither.
+ *
+ * Note: Evicted orders are no longer returned by findById / findAll / findByUserId.
+ * With write-behind persistence they remain in the database and are re-compacted after a restart.
+ */
+@Component
+public class OrderCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderCompactor.class);
+
+    private final DataStore dataStore;
+    private final boolean enabled;
+    private final Duration retention;
+    private final long intervalMinutes;
+    private final boolean evict;
+
+    private ScheduledExecutorService scheduler;
+
+    public OrderCompactor(
+            DataStore dataStore,
+            @Value("${app.orders.compaction.enabled:false}") boolean enabled,
+            @Value("${app.orders.compaction.retention-days:30}") long retentionDays,
+            @Value("${app.orders.compaction.interval-minutes:60}") long intervalMinutes,
+            @Value("${app.orders.compaction.evict:true}") boolean evict) {
+        this.dataStore = dataStore;
+        this.enabled = enabled;
+        this.retention = Duration.ofDays(retentionDays);
+        this.intervalMinutes = Math.max(1, intervalMinutes);
+        this.evict = evict;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::compactAged, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Compact every order older than the retention period.
+     */
+    public int compactAged() {
+        try {
+            return compact(Instant.now().minus(retention));
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; the next run retries the same orders
+            log.error("Order compaction failed", e);
+            return 0;
+        }
+    }
+
+    /**
+     * Fold all orders created before cutoff into the rollup.
+     *
+     * @return number of orders compacted by this run
+     */
+    public synchronized int compact(Instant cutoff) {
+        OrderRollup rollup = dataStore.snapshots.pin().getRollup();
+        if (!cutoff.isAfter(rollup.getCompactedBefore())) {
+            return 0;
+        }
+
+        List<Order> aged = dataStore.orders.values().stream()
+                .filter(order -> order.getCreatedAt() != null && order.getCreatedAt().isBefore(cutoff))
+                .filter(order -> !rollup.covers(order))
+                .toList();
+
+        dataStore.snapshots.recordCompaction(rollup.fold(aged, cutoff), evict);
+        if (evict) {
+            aged.forEach(order -> dataStore.orders.remove(order.getOrderId()));
+        }
+
+        log.info("Compacted {} orders created before {} (evict={})", aged.size(), cutoff, evict);
+        return aged.size();
+    }
+}
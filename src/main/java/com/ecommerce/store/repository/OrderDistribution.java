@@ -0,0 +1,226 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Order;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Order value (in cents) and items per order as QuantileHistograms: over all time,
+ * per hour for the last 24 hours, and per day for the last 30 days.
+ *
+ * Window rings roll forward lazily, like OrderTimeSeries. A range of windows is read
+ * by merging their histograms.
+ *
+ * Thread-Safe: Recording is lock-free; resetting a slot takes the ring's monitor.
+ */
+public class OrderDistribution {
+
+    public enum Window {
+        HOUR(3600, 24),
+        DAY(86400, 30);
+
+        private final long seconds;
+        private final int windows;
+
+        Window(long seconds, int windows) {
+            this.seconds = seconds;
+            this.windows = windows;
+        }
+
+        public long getSeconds() {
+            return seconds;
+        }
+
+        /**
+         * Number of windows kept, i.e. the most that can be merged in one read.
+         */
+        public int getWindows() {
+            return windows;
+        }
+
+        /**
+         * @throws IllegalArgumentException for anything but "hour" or "day" (any case)
+         */
+        public static Window parse(String window) {
+            if (window != null) {
+                for (Window candidate : values()) {
+                    if (candidate.name().equalsIgnoreCase(window)) {
+                        return candidate;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("Window resolution must be 'hour' or 'day'");
+        }
+    }
+
+    private final Histograms allTime = new Histograms();
+    private final Ring[] rings;
+
+    public OrderDistribution() {
+        Window[] windows = Window.values();
+        rings = new Ring[windows.length];
+        for (Window window : windows) {
+            rings[window.ordinal()] = new Ring(window.seconds, window.windows);
+        }
+    }
+
+    /**
+     * Count a newly recorded order.
+     */
+    public void record(Order order) {
+        long value = cents(order.getTotalAmount());
+        long items = 0;
+        for (CartItem line : order.getItems()) {
+            items += line.getQuantity();
+        }
+        allTime.record(value, items);
+        if (order.getCreatedAt() != null) {
+            long second = order.getCreatedAt().getEpochSecond();
+            for (Ring ring : rings) {
+                ring.record(second, value, items);
+            }
+        }
+    }
+
+    /**
+     * Merged histograms of all orders.
+     */
+    public Histograms allTime() {
+        Histograms merged = new Histograms();
+        merged.merge(allTime);
+        return merged;
+    }
+
+    /**
+     * Merged histograms of the last `count` windows up to and including the one containing `end`.
+     */
+    public Histograms window(Window window, int count, Instant end) {
+        return rings[window.ordinal()].read(Math.floorDiv(end.getEpochSecond(), window.seconds), count);
+    }
+
+    public void clear() {
+        allTime.reset();
+        for (Ring ring : rings) {
+            ring.clear();
+        }
+    }
+
+    private static long cents(BigDecimal amount) {
+        if (amount == null || amount.signum() < 0) {
+            return 0;
+        }
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    /**
+     * Order value (cents) and items per order over the same orders.
+     */
+    public static final class Histograms {
+
+        private final QuantileHistogram orderValue;
+        private final QuantileHistogram itemsPerOrder;
+
+        public Histograms() {
+            this(new QuantileHistogram(), new QuantileHistogram());
+        }
+
+        public Histograms(QuantileHistogram orderValue, QuantileHistogram itemsPerOrder) {
+            this.orderValue = orderValue;
+            this.itemsPerOrder = itemsPerOrder;
+        }
+
+        /**
+         * Order totals in cents.
+         */
+        public QuantileHistogram getOrderValue() {
+            return orderValue;
+        }
+
+        public QuantileHistogram getItemsPerOrder() {
+            return itemsPerOrder;
+        }
+
+        public void merge(Histograms other) {
+            orderValue.merge(other.orderValue);
+            itemsPerOrder.merge(other.itemsPerOrder);
+        }
+
+        void record(long value, long items) {
+            orderValue.record(value);
+            itemsPerOrder.record(items);
+        }
+
+        void reset() {
+            orderValue.reset();
+            itemsPerOrder.reset();
+        }
+    }
+
+    private static final class Ring {
+
+        private final long unitSeconds;
+        private final Histograms[] slots;         // allocated on first use
+        private final AtomicLongArray periods;    // period held by each slot, -1 = never used
+
+        Ring(long unitSeconds, int size) {
+            this.unitSeconds = unitSeconds;
+            this.slots = new Histograms[size];
+            long[] empty = new long[size];
+            Arrays.fill(empty, -1);
+            this.periods = new AtomicLongArray(empty);
+        }
+
+        void record(long second, long value, long items) {
+            long period = Math.floorDiv(second, unitSeconds);
+            int slot = Math.floorMod(period, slots.length);
+            long held = periods.get(slot);
+            if (held != period) {
+                if (held > period || !roll(slot, period)) {
+                    return;   // older than this ring keeps
+                }
+            }
+            slots[slot].record(value, items);
+        }
+
+        /**
+         * Reset a slot for a newer period (first order of that period).
+         *
+         * @return false if the slot has meanwhile moved past the period
+         */
+        private synchronized boolean roll(int slot, long period) {
+            long held = periods.get(slot);
+            if (held < period) {
+                if (slots[slot] == null) {
+                    slots[slot] = new Histograms();
+                } else {
+                    slots[slot].reset();
+                }
+                periods.set(slot, period);   // publish last: recorders wait for the cleared slot
+                return true;
+            }
+            return held == period;
+        }
+
+        Histograms read(long lastPeriod, int count) {
+            Histograms merged = new Histograms();
+            for (long period = lastPeriod - count + 1; period <= lastPeriod; period++) {
+                int slot = Math.floorMod(period, slots.length);
+                if (periods.get(slot) == period) {
+                    merged.merge(slots[slot]);
+                }
+            }
+            return merged;
+        }
+
+        synchronized void clear() {
+            for (int slot = 0; slot < slots.length; slot++) {
+                periods.set(slot, -1);
+            }
+        }
+    }
+}
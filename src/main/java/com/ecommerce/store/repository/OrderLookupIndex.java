@@ -0,0 +1,127 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Order;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverse indexes from items and coupon codes to the IDs of the orders that contain them,
+ * for admin drill-down.
+ *
+ * Posting lists only grow, so a position is a stable cursor and a page is O(page size).
+ * Orders evicted by compaction stay listed and resolve to nothing.
+ *
+ * Thread-Safe: Appends synchronize on the list; readers never lock.
+ */
+public class OrderLookupIndex {
+
+    private final Map<UUID, Postings> byItem = new ConcurrentHashMap<>();
+    private final Map<String, Postings> byCoupon = new ConcurrentHashMap<>();
+
+    /**
+     * Index a newly recorded order under each of its items and its coupon.
+     */
+    public void record(Order order) {
+        UUID orderId = order.getOrderId();
+        Set<UUID> itemIds = new HashSet<>();
+        for (CartItem line : order.getItems()) {
+            if (itemIds.add(line.getItemId())) {   // once per order, even if the item is on two lines
+                byItem.computeIfAbsent(line.getItemId(), key -> new Postings()).add(orderId);
+            }
+        }
+        if (order.getCouponCode() != null && !order.getCouponCode().isEmpty()) {
+            byCoupon.computeIfAbsent(order.getCouponCode(), key -> new Postings()).add(orderId);
+        }
+    }
+
+    public void clear() {
+        byItem.clear();
+        byCoupon.clear();
+    }
+
+    /**
+     * Orders containing an item, oldest first.
+     *
+     * @param after position from the previous page (0 = first page)
+     * @param limit page size
+     */
+    public Page byItem(UUID itemId, int after, int limit) {
+        return page(byItem.get(itemId), after, limit);
+    }
+
+    /**
+     * Orders that applied a coupon code, oldest first.
+     *
+     * @param after position from the previous page (0 = first page)
+     * @param limit page size
+     */
+    public Page byCoupon(String couponCode, int after, int limit) {
+        return page(byCoupon.get(couponCode), after, limit);
+    }
+
+    private static Page page(Postings postings, int after, int limit) {
+        if (postings == null) {
+            return new Page(List.of(), 0, null);
+        }
+        int size = postings.size;          // read before ids: ids covers at least size
+        UUID[] ids = postings.ids;
+        int from = Math.min(after, size);
+        int to = (int) Math.min((long) from + limit, size);
+        return new Page(List.of(Arrays.copyOfRange(ids, from, to)), size, to < size ? to : null);
+    }
+
+    /**
+     * One page of a posting list.
+     */
+    public static final class Page {
+
+        private final List<UUID> orderIds;
+        private final int total;
+        private final Integer next;
+
+        public Page(List<UUID> orderIds, int total, Integer next) {
+            this.orderIds = orderIds;
+            this.total = total;
+            this.next = next;
+        }
+
+        public List<UUID> getOrderIds() {
+            return orderIds;
+        }
+
+        /**
+         * Length of the whole posting list.
+         */
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * Position to pass as `after` for the next page, or null on the last page.
+         */
+        public Integer getNext() {
+            return next;
+        }
+    }
+
+    private static final class Postings {
+
+        private volatile UUID[] ids = new UUID[4];
+        private volatile int size;
+
+        synchronized void add(UUID orderId) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size] = orderId;
+            size = size + 1;   // publish after the slot is written
+        }
+    }
+}
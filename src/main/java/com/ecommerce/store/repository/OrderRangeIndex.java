@@ -0,0 +1,345 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Order;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Order totals for arbitrary time ranges in O(log n): a Fenwick tree over
+ * fixed-width time buckets (one minute by default).
+ *
+ * Orders are counted from the snapshot log in commit order, so a query answers for exactly
+ * the orders of a pinned StoreSnapshot. Range bounds are widened to whole buckets.
+ *
+ * Thread-Safe: Whichever checkout finds the index free counts the others' orders too.
+ */
+public class OrderRangeIndex {
+
+    public static final long DEFAULT_BUCKET_SECONDS = 60;
+
+    private static final int ORDERS = 0;
+    private static final int ITEMS = 1;
+    private static final int REVENUE = 2;         // cents
+    private static final int DISCOUNT = 3;        // cents
+    private static final int COUPON_ORDERS = 4;
+    private static final int METRICS = 5;
+
+    private static final int INITIAL_CAPACITY = 1024;   // buckets; always a power of two
+    private static final int MAX_CAPACITY = 1 << 22;    // ~8 years of one-minute buckets
+
+    private final SnapshotManager snapshots;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile int counted;   // commit index of the next order to count; guarded by lock, like the fields below
+    private long bucketSeconds;
+    private long base;              // bucket number at tree position 1
+    private int capacity;
+    private long[] tree;            // 1-based Fenwick tree, METRICS values per position
+    private boolean empty;
+
+    public OrderRangeIndex(SnapshotManager snapshots) {
+        this(snapshots, DEFAULT_BUCKET_SECONDS);
+    }
+
+    public OrderRangeIndex(SnapshotManager snapshots, long bucketSeconds) {
+        this.snapshots = snapshots;
+        configure(bucketSeconds);
+    }
+
+    /**
+     * Set the bucket width. Recounts the retained orders only, so it is meant
+     * for startup, before the first order is recorded.
+     */
+    public void configure(long bucketSeconds) {
+        if (bucketSeconds < 1) {
+            throw new IllegalArgumentException("Range index bucket width must be at least 1 second");
+        }
+        lock.lock();
+        try {
+            this.bucketSeconds = bucketSeconds;
+            reset();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Count the orders published since the last update, unless another thread is counting them.
+     */
+    public void update() {
+        // Re-check after unlocking: an order published while the lock was held would otherwise wait
+        // for the next checkout or query
+        while (snapshots.pin().getOrderCount() > counted && lock.tryLock()) {
+            try {
+                countThrough(snapshots.pin());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            reset();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void countThrough(StoreSnapshot snapshot) {
+        // Orders evicted before they were counted are skipped: only a replica restored
+        // from a compacted snapshot has them, as a rollup
+        int next = Math.max(counted, snapshot.getFirstOrderIndex());
+        for (; next < snapshot.getOrderCount(); next++) {
+            count(snapshot.orderAt(next));
+        }
+        counted = Math.max(counted, next);
+    }
+
+    private void count(Order order) {
+        if (order.getCreatedAt() == null) {
+            return;
+        }
+        long bucket = bucketOf(order);
+        if (empty) {
+            // Leave room on both sides: replayed and concurrent orders arrive slightly out of order
+            base = bucket - capacity / 2;
+            empty = false;
+        }
+        if (!inTree(bucket) && !cover(bucket)) {
+            return;
+        }
+
+        long[] values = values(order);
+        for (int i = (int) (bucket - base) + 1; i <= capacity; i += i & -i) {
+            for (int m = 0; m < METRICS; m++) {
+                tree[i * METRICS + m] += values[m];
+            }
+        }
+    }
+
+    private void reset() {
+        capacity = INITIAL_CAPACITY;
+        tree = new long[(capacity + 1) * METRICS];
+        base = 0;
+        empty = true;
+        counted = 0;
+    }
+
+    /**
+     * Grow the tree (doubling) until it covers a bucket.
+     * O(capacity): raw bucket values are recovered in place, moved, and the tree rebuilt.
+     *
+     * @return false if covering the bucket would exceed MAX_CAPACITY (a bogus timestamp)
+     */
+    private boolean cover(long bucket) {
+        long newBase = Math.min(base, bucket);
+        long last = Math.max(base + capacity - 1, bucket);
+        if (last - newBase + 1 > MAX_CAPACITY) {
+            return false;
+        }
+        int newCapacity = capacity;
+        while (last - newBase + 1 > newCapacity) {
+            newCapacity *= 2;
+        }
+        if (bucket < base) {
+            // Spare room below as well, so a run of older orders does not rebuild every time
+            newBase = Math.max(last - newCapacity + 1, bucket - newCapacity / 4);
+        }
+
+        // Fenwick tree -> raw bucket values (inverse of the O(n) build)
+        for (int i = capacity; i >= 1; i--) {
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                for (int m = 0; m < METRICS; m++) {
+                    tree[parent * METRICS + m] -= tree[i * METRICS + m];
+                }
+            }
+        }
+        long[] grown = new long[(newCapacity + 1) * METRICS];
+        int shift = (int) (base - newBase);
+        System.arraycopy(tree, METRICS, grown, (1 + shift) * METRICS, capacity * METRICS);
+
+        // Raw bucket values -> Fenwick tree
+        for (int i = 1; i <= newCapacity; i++) {
+            int parent = i + (i & -i);
+            if (parent <= newCapacity) {
+                for (int m = 0; m < METRICS; m++) {
+                    grown[parent * METRICS + m] += grown[i * METRICS + m];
+                }
+            }
+        }
+        tree = grown;
+        capacity = newCapacity;
+        base = newBase;
+        return true;
+    }
+
+    /**
+     * Totals of the latest orders created in [from, to), widened to whole buckets.
+     *
+     * @param from inclusive lower bound, or null for the oldest order
+     * @param to exclusive upper bound, or null for the newest order
+     */
+    public Totals sum(Instant from, Instant to) {
+        return sum(from, to, snapshots.pin());
+    }
+
+    /**
+     * Totals of the orders of a pinned snapshot created in [from, to), widened to whole buckets.
+     * O(log n), plus O(k) for the k orders counted since the snapshot was pinned.
+     */
+    public Totals sum(Instant from, Instant to, StoreSnapshot snapshot) {
+        lock.lock();
+        try {
+            countThrough(snapshot);
+            return sumCounted(from, to, snapshot.getOrderCount());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getBucketSeconds() {
+        lock.lock();
+        try {
+            return bucketSeconds;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Totals sumCounted(Instant from, Instant to, int through) {
+        Long fromBucket = from == null ? null : Math.floorDiv(from.getEpochSecond(), bucketSeconds);
+        Long toBucket = to == null ? null : -Math.floorDiv(-ceilSeconds(to), bucketSeconds);
+
+        long[] upper = prefix(toBucket == null ? capacity : position(toBucket));
+        long[] lower = prefix(fromBucket == null ? 0 : position(fromBucket));
+        long[] range = new long[METRICS];
+        for (int m = 0; m < METRICS; m++) {
+            range[m] = upper[m] - lower[m];
+        }
+
+        // Take out the orders published after the snapshot: checkouts counted them since it was pinned
+        StoreSnapshot latest = snapshots.pin();
+        for (int i = Math.max(through, latest.getFirstOrderIndex()); i < counted; i++) {
+            Order order = latest.orderAt(i);
+            if (order.getCreatedAt() == null) {
+                continue;
+            }
+            long bucket = bucketOf(order);
+            if (inTree(bucket) && (fromBucket == null || bucket >= fromBucket)
+                    && (toBucket == null || bucket < toBucket)) {
+                long[] values = values(order);
+                for (int m = 0; m < METRICS; m++) {
+                    range[m] -= values[m];
+                }
+            }
+        }
+        return new Totals(
+                fromBucket == null ? null : Instant.ofEpochSecond(fromBucket * bucketSeconds),
+                toBucket == null ? null : Instant.ofEpochSecond(toBucket * bucketSeconds),
+                range);
+    }
+
+    /**
+     * Tree position whose prefix covers exactly the buckets before `bucket`.
+     */
+    private int position(long bucket) {
+        if (empty) {
+            return 0;
+        }
+        return (int) Math.max(0, Math.min(capacity, bucket - base));
+    }
+
+    private long bucketOf(Order order) {
+        return Math.floorDiv(order.getCreatedAt().getEpochSecond(), bucketSeconds);
+    }
+
+    private boolean inTree(long bucket) {
+        return !empty && bucket >= base && bucket - base < capacity;
+    }
+
+    private static long[] values(Order order) {
+        long[] values = new long[METRICS];
+        values[ORDERS] = 1;
+        for (CartItem line : order.getItems()) {
+            values[ITEMS] += line.getQuantity();
+        }
+        values[REVENUE] = cents(order.getTotalAmount());
+        values[DISCOUNT] = cents(order.getDiscountAmount());
+        values[COUPON_ORDERS] = order.hasCouponApplied() ? 1 : 0;
+        return values;
+    }
+
+    private long[] prefix(int position) {
+        long[] sum = new long[METRICS];
+        for (int i = position; i > 0; i -= i & -i) {
+            for (int m = 0; m < METRICS; m++) {
+                sum[m] += tree[i * METRICS + m];
+            }
+        }
+        return sum;
+    }
+
+    private static long ceilSeconds(Instant instant) {
+        return instant.getNano() == 0 ? instant.getEpochSecond() : instant.getEpochSecond() + 1;
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    /**
+     * Result of sum(): totals over the (bucket-aligned) range.
+     */
+    public static final class Totals {
+
+        private final Instant from;
+        private final Instant to;
+        private final long[] values;
+
+        Totals(Instant from, Instant to, long[] values) {
+            this.from = from;
+            this.to = to;
+            this.values = values;
+        }
+
+        /**
+         * Start of the range actually covered (null = unbounded).
+         */
+        public Instant getFrom() {
+            return from;
+        }
+
+        /**
+         * End of the range actually covered, exclusive (null = unbounded).
+         */
+        public Instant getTo() {
+            return to;
+        }
+
+        public long getOrders() {
+            return values[ORDERS];
+        }
+
+        public long getItemsPurchased() {
+            return values[ITEMS];
+        }
+
+        public BigDecimal getRevenue() {
+            return BigDecimal.valueOf(values[REVENUE], 2);
+        }
+
+        public BigDecimal getDiscount() {
+            return BigDecimal.valueOf(values[DISCOUNT], 2);
+        }
+
+        public long getCouponOrders() {
+            return values[COUPON_ORDERS];
+        }
+    }
+}
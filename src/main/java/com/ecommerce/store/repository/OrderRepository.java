@@ -1,5 +1,6 @@
 package com.ecommerce.store.repository;
 
+import com.ecommerce.store.cdc.ChangeEvent;
 import com.ecommerce.store.model.CartItem;
 import com.ecommerce.store.model.Order;
 import org.springframework.stereotype.Repository;
@@ -7,9 +8,12 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Repository for Order operations.
@@ -18,7 +22,7 @@ import java.util.UUID;
  * - CRUD operations for orders
  * - Manage global order counter (for Nth order logic)
  * - Query orders by user or ID
- * - Admin statistics
+ * - Admin statistics (exact across compaction, see OrderCompactor)
  * 
  * Thread-Safe: Uses ConcurrentHashMap and AtomicInteger from DataStore.
  */
@@ -59,6 +63,22 @@ public class OrderRepository implements IOrderRepository {
                 .toList();
     }
     
+    /**
+     * Page of the item's posting list: O(page size), never scans orders.
+     */
+    @Override
+    public OrderLookupIndex.Page findIdsByItem(UUID itemId, int after, int limit) {
+        return dataStore.orderLookup.byItem(itemId, after, limit);
+    }
+    
+    /**
+     * Page of the coupon's posting list: O(page size), never scans orders.
+     */
+    @Override
+    public OrderLookupIndex.Page findIdsByCoupon(String couponCode, int after, int limit) {
+        return dataStore.orderLookup.byCoupon(couponCode, after, limit);
+    }
+    
     /**
      * Save order and increment global order counter.
      * Returns the order number (Nth order in system).
@@ -74,8 +94,17 @@ public class OrderRepository implements IOrderRepository {
         
         dataStore.orders.put(order.getOrderId(), order);
         
-        // Increment and return order number (thread-safe)
-        return dataStore.orderCounter.incrementAndGet();
+        // Increment order number (thread-safe)
+        int orderNumber = dataStore.orderCounter.incrementAndGet();
+        
+        // Publish a new store version for reporting readers and update order aggregates
+        dataStore.recordOrder(order);
+        
+        // Orders are immutable after creation, so the change event can share the instance
+        dataStore.changes.publish(ChangeEvent.Entity.ORDER, ChangeEvent.Operation.UPSERT, order.getOrderId(),
+                () -> order);
+        
+        return orderNumber;
     }
     
     /**
@@ -86,8 +115,17 @@ public class OrderRepository implements IOrderRepository {
         return dataStore.orderCounter.get();
     }
     
+    /**
+     * Pin a consistent, versioned read snapshot.
+     * Lock-free: never blocks concurrent checkouts.
+     */
+    @Override
+    public StoreSnapshot snapshot() {
+        return dataStore.snapshots.pin();
+    }
+    
     // ═══════════════════════════════════════════════════════════
-    // Admin Statistics
+    // Admin Statistics (from the latest snapshot: compacted orders included)
     // ═══════════════════════════════════════════════════════════
     
     /**
@@ -95,11 +133,7 @@ public class OrderRepository implements IOrderRepository {
      */
     @Override
     public int getTotalItemsPurchased() {
-        return dataStore.orders.values().stream()
-                .mapToInt(order -> order.getItems().stream()
-                        .mapToInt(CartItem::getQuantity)
-                        .sum())
-                .sum();
+        return dataStore.snapshots.pin().getTotalItemsPurchased();
     }
     
     /**
@@ -107,9 +141,7 @@ public class OrderRepository implements IOrderRepository {
      */
     @Override
     public BigDecimal getTotalPurchaseAmount() {
-        return dataStore.orders.values().stream()
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return dataStore.snapshots.pin().getTotalPurchaseAmount();
     }
     
     /**
@@ -117,9 +149,7 @@ public class OrderRepository implements IOrderRepository {
      */
     @Override
     public BigDecimal getTotalDiscountAmount() {
-        return dataStore.orders.values().stream()
-                .map(Order::getDiscountAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return dataStore.snapshots.pin().getTotalDiscountAmount();
     }
     
     /**
@@ -127,8 +157,93 @@ public class OrderRepository implements IOrderRepository {
      */
     @Override
     public long countOrdersWithCoupons() {
-        return dataStore.orders.values().stream()
-                .filter(Order::hasCouponApplied)
-                .count();
+        return dataStore.snapshots.pin().getOrdersWithCoupons();
+    }
+    
+    // ═══════════════════════════════════════════════════════════
+    // Best Sellers
+    // ═══════════════════════════════════════════════════════════
+    
+    /**
+     * Estimated best sellers: O(capacity), whatever the number of orders.
+     */
+    @Override
+    public TopItemsSketch.Ranking topItems(TopItemsSketch.Metric metric, int n) {
+        return dataStore.topItems.top(metric, n);
+    }
+    
+    /**
+     * Exact best sellers from one pinned snapshot: per-item rollup totals of compacted
+     * orders plus a parallel scan of the live ones.
+     */
+    @Override
+    public TopItemsSketch.Ranking topItemsExact(TopItemsSketch.Metric metric, int n) {
+        StoreSnapshot snapshot = dataStore.snapshots.pin();
+        OrderRollup rollup = snapshot.getRollup();
+        Map<UUID, Long> totals = snapshot.orders()
+                .parallel()
+                .filter(order -> !rollup.covers(order))
+                .flatMap(order -> order.getItems().stream())
+                .filter(line -> line.getQuantity() > 0)
+                .collect(Collectors.toMap(CartItem::getItemId, metric::count, Long::sum, HashMap::new));
+        for (OrderRollup.ItemBucket bucket : rollup.getItems().values()) {
+            long compacted = metric == TopItemsSketch.Metric.UNITS
+                    ? bucket.getQuantity()
+                    : metric.toCounted(bucket.getRevenue());
+            totals.merge(bucket.getItemId(), compacted, Long::sum);
+        }
+        return TopItemsSketch.exact(totals, n);
+    }
+    
+    // ═══════════════════════════════════════════════════════════
+    // Time Series and Time Ranges
+    // ═══════════════════════════════════════════════════════════
+    
+    /**
+     * Recent activity from the ring buffers: O(count), never scans orders.
+     */
+    @Override
+    public List<OrderTimeSeries.Bucket> timeSeries(OrderTimeSeries.Resolution resolution, int count, Instant end) {
+        return dataStore.timeSeries.window(resolution, count, end);
+    }
+    
+    /**
+     * Range totals from the Fenwick tree: O(log n), never scans orders.
+     */
+    @Override
+    public OrderRangeIndex.Totals rangeTotals(Instant from, Instant to, StoreSnapshot snapshot) {
+        return dataStore.rangeIndex.sum(from, to, snapshot);
+    }
+    
+    /**
+     * All-time histograms (a private merged copy): O(buckets), never scans orders.
+     */
+    @Override
+    public OrderDistribution.Histograms distribution() {
+        return dataStore.distribution.allTime();
+    }
+    
+    /**
+     * Window histograms merged into a private copy: O(count * buckets), never scans orders.
+     */
+    @Override
+    public OrderDistribution.Histograms distribution(OrderDistribution.Window window, int count, Instant end) {
+        return dataStore.distribution.window(window, count, end);
+    }
+    
+    /**
+     * All-time sketches (a private merged copy): O(registers), never scans orders.
+     */
+    @Override
+    public DistinctUsers.Sketches distinctUsers() {
+        return dataStore.distinctUsers.allTime();
+    }
+    
+    /**
+     * Day sketches merged into a private copy: O(days * registers), never scans orders.
+     */
+    @Override
+    public DistinctUsers.Sketches distinctUsers(int days, Instant end) {
+        return dataStore.distinctUsers.days(days, end);
     }
 }
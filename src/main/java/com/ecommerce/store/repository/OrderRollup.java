@@ -0,0 +1,251 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Order;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Immutable pre-aggregated totals of compacted (aged) orders.
+ *
+ * Covers exactly the orders created before compactedBefore:
+ * - Grand totals (orders, items purchased, revenue, discount, coupon orders)
+ * - One DailyBucket per UTC day
+ * - One ItemBucket per purchased item
+ *
+ * Orders created at or after compactedBefore are "live" and are aggregated
+ * from their full bodies; rollup + live orders = exact totals.
+ * Produced by OrderCompactor, published through SnapshotManager.
+ */
+public final class OrderRollup {
+
+    public static final OrderRollup EMPTY = new OrderRollup(
+            Instant.EPOCH, Collections.emptySortedMap(), Collections.emptyMap(),
+            0, 0, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+
+    private final Instant compactedBefore;
+    private final SortedMap<LocalDate, DailyBucket> days;
+    private final Map<UUID, ItemBucket> items;
+    private final long orderCount;
+    private final int itemsPurchased;
+    private final BigDecimal revenue;
+    private final BigDecimal discount;
+    private final long couponOrders;
+
+    private OrderRollup(Instant compactedBefore, SortedMap<LocalDate, DailyBucket> days,
+                        Map<UUID, ItemBucket> items, long orderCount, int itemsPurchased,
+                        BigDecimal revenue, BigDecimal discount, long couponOrders) {
+        this.compactedBefore = compactedBefore;
+        this.days = days;
+        this.items = items;
+        this.orderCount = orderCount;
+        this.itemsPurchased = itemsPurchased;
+        this.revenue = revenue;
+        this.discount = discount;
+        this.couponOrders = couponOrders;
+    }
+
+    /**
+     * Rebuild a rollup from its buckets, e.g. one received in a replication snapshot.
+     * The grand totals are the sums of the daily buckets.
+     */
+    public static OrderRollup of(Instant compactedBefore, Collection<DailyBucket> days, Collection<ItemBucket> items) {
+        SortedMap<LocalDate, DailyBucket> byDay = new TreeMap<>();
+        long orderCount = 0;
+        int itemsPurchased = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        BigDecimal discount = BigDecimal.ZERO;
+        long couponOrders = 0;
+        for (DailyBucket day : days) {
+            byDay.put(day.getDate(), day);
+            orderCount += day.getOrders();
+            itemsPurchased += day.getItemsPurchased();
+            revenue = revenue.add(day.getRevenue());
+            discount = discount.add(day.getDiscount());
+            couponOrders += day.getCouponOrders();
+        }
+        Map<UUID, ItemBucket> byItem = new HashMap<>();
+        for (ItemBucket item : items) {
+            byItem.put(item.getItemId(), item);
+        }
+        return new OrderRollup(compactedBefore, Collections.unmodifiableSortedMap(byDay),
+                Collections.unmodifiableMap(byItem), orderCount, itemsPurchased, revenue, discount, couponOrders);
+    }
+
+    /**
+     * Fold more orders into a new rollup that covers everything created before the new cutoff.
+     *
+     * @param orders orders created in [compactedBefore, cutoff)
+     */
+    OrderRollup fold(Collection<Order> orders, Instant cutoff) {
+        SortedMap<LocalDate, DailyBucket> newDays = new TreeMap<>(days);
+        Map<UUID, ItemBucket> newItems = new HashMap<>(items);
+        int newItemsPurchased = itemsPurchased;
+        BigDecimal newRevenue = revenue;
+        BigDecimal newDiscount = discount;
+        long newCouponOrders = couponOrders;
+
+        for (Order order : orders) {
+            int quantity = 0;
+            for (CartItem line : order.getItems()) {
+                quantity += line.getQuantity();
+                newItems.merge(line.getItemId(),
+                        new ItemBucket(line.getItemId(), line.getQuantity(), line.getSubtotal()),
+                        ItemBucket::plus);
+            }
+            boolean coupon = order.hasCouponApplied();
+            LocalDate day = LocalDate.ofInstant(order.getCreatedAt(), ZoneOffset.UTC);
+            newDays.merge(day,
+                    new DailyBucket(day, 1, quantity, order.getTotalAmount(), order.getDiscountAmount(), coupon ? 1 : 0),
+                    DailyBucket::plus);
+
+            newItemsPurchased += quantity;
+            newRevenue = newRevenue.add(order.getTotalAmount());
+            newDiscount = newDiscount.add(order.getDiscountAmount());
+            newCouponOrders += coupon ? 1 : 0;
+        }
+
+        return new OrderRollup(cutoff, Collections.unmodifiableSortedMap(newDays),
+                Collections.unmodifiableMap(newItems), orderCount + orders.size(),
+                newItemsPurchased, newRevenue, newDiscount, newCouponOrders);
+    }
+
+    /**
+     * True if the order is covered by this rollup (and must not be aggregated again).
+     */
+    public boolean covers(Order order) {
+        return order.getCreatedAt() != null && order.getCreatedAt().isBefore(compactedBefore);
+    }
+
+    public Instant getCompactedBefore() {
+        return compactedBefore;
+    }
+
+    /**
+     * Per-day totals, oldest day first.
+     */
+    public SortedMap<LocalDate, DailyBucket> getDays() {
+        return days;
+    }
+
+    /**
+     * Per-item totals.
+     */
+    public Map<UUID, ItemBucket> getItems() {
+        return items;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public int getItemsPurchased() {
+        return itemsPurchased;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public BigDecimal getDiscount() {
+        return discount;
+    }
+
+    public long getCouponOrders() {
+        return couponOrders;
+    }
+
+    /**
+     * Totals for one UTC day.
+     */
+    public static final class DailyBucket {
+
+        private final LocalDate date;
+        private final long orders;
+        private final int itemsPurchased;
+        private final BigDecimal revenue;
+        private final BigDecimal discount;
+        private final long couponOrders;
+
+        public DailyBucket(LocalDate date, long orders, int itemsPurchased, BigDecimal revenue,
+                           BigDecimal discount, long couponOrders) {
+            this.date = date;
+            this.orders = orders;
+            this.itemsPurchased = itemsPurchased;
+            this.revenue = revenue;
+            this.discount = discount;
+            this.couponOrders = couponOrders;
+        }
+
+        DailyBucket plus(DailyBucket other) {
+            return new DailyBucket(date, orders + other.orders, itemsPurchased + other.itemsPurchased,
+                    revenue.add(other.revenue), discount.add(other.discount), couponOrders + other.couponOrders);
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public long getOrders() {
+            return orders;
+        }
+
+        public int getItemsPurchased() {
+            return itemsPurchased;
+        }
+
+        public BigDecimal getRevenue() {
+            return revenue;
+        }
+
+        public BigDecimal getDiscount() {
+            return discount;
+        }
+
+        public long getCouponOrders() {
+            return couponOrders;
+        }
+    }
+
+    /**
+     * Totals for one item: units sold and line revenue (before order-level discounts).
+     */
+    public static final class ItemBucket {
+
+        private final UUID itemId;
+        private final long quantity;
+        private final BigDecimal revenue;
+
+        public ItemBucket(UUID itemId, long quantity, BigDecimal revenue) {
+            this.itemId = itemId;
+            this.quantity = quantity;
+            this.revenue = revenue;
+        }
+
+        ItemBucket plus(ItemBucket other) {
+            return new ItemBucket(itemId, quantity + other.quantity, revenue.add(other.revenue));
+        }
+
+        public UUID getItemId() {
+            return itemId;
+        }
+
+        public long getQuantity() {
+            return quantity;
+        }
+
+        public BigDecimal getRevenue() {
+            return revenue;
+        }
+    }
+}
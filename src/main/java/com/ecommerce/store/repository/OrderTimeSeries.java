@@ -0,0 +1,225 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Order;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Recent order activity (orders, revenue, discount, coupon orders) in rings of
+ * per-second, per-minute and per-hour buckets.
+ *
+ * Rings roll forward lazily: the first order of a new period resets its bucket,
+ * and stale buckets read as zero. Reads are O(buckets) and never touch orders.
+ *
+ * Thread-Safe: Adds are lock-free; resetting a bucket takes the ring's monitor.
+ */
+public class OrderTimeSeries {
+
+    public enum Resolution {
+        SECOND(1, 3600),     // last hour
+        MINUTE(60, 1440),    // last day
+        HOUR(3600, 720);     // last 30 days
+
+        private final long seconds;
+        private final int buckets;
+
+        Resolution(long seconds, int buckets) {
+            this.seconds = seconds;
+            this.buckets = buckets;
+        }
+
+        public long getSeconds() {
+            return seconds;
+        }
+
+        /**
+         * Number of buckets kept, i.e. the longest window that can be read.
+         */
+        public int getBuckets() {
+            return buckets;
+        }
+
+        /**
+         * @throws IllegalArgumentException for anything but "second", "minute" or "hour" (any case)
+         */
+        public static Resolution parse(String resolution) {
+            if (resolution != null) {
+                for (Resolution candidate : values()) {
+                    if (candidate.name().equalsIgnoreCase(resolution)) {
+                        return candidate;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("Resolution must be 'second', 'minute' or 'hour'");
+        }
+    }
+
+    private final Ring[] rings;
+
+    public OrderTimeSeries() {
+        Resolution[] resolutions = Resolution.values();
+        rings = new Ring[resolutions.length];
+        for (Resolution resolution : resolutions) {
+            rings[resolution.ordinal()] = new Ring(resolution.seconds, resolution.buckets);
+        }
+    }
+
+    /**
+     * Count a newly recorded order in every ring.
+     */
+    public void record(Order order) {
+        if (order.getCreatedAt() == null) {
+            return;
+        }
+        long second = order.getCreatedAt().getEpochSecond();
+        long revenue = cents(order.getTotalAmount());
+        long discount = cents(order.getDiscountAmount());
+        boolean coupon = order.hasCouponApplied();
+        for (Ring ring : rings) {
+            ring.add(second, revenue, discount, coupon);
+        }
+    }
+
+    /**
+     * The last `count` buckets of a resolution up to and including the one containing `end`,
+     * oldest first.
+     */
+    public List<Bucket> window(Resolution resolution, int count, Instant end) {
+        return rings[resolution.ordinal()].read(Math.floorDiv(end.getEpochSecond(), resolution.seconds), count);
+    }
+
+    public void clear() {
+        for (Ring ring : rings) {
+            ring.clear();
+        }
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    /**
+     * Totals of one period.
+     */
+    public static final class Bucket {
+
+        private final Instant start;
+        private final long orders;
+        private final long revenueCents;
+        private final long discountCents;
+        private final long couponOrders;
+
+        Bucket(Instant start, long orders, long revenueCents, long discountCents, long couponOrders) {
+            this.start = start;
+            this.orders = orders;
+            this.revenueCents = revenueCents;
+            this.discountCents = discountCents;
+            this.couponOrders = couponOrders;
+        }
+
+        public Instant getStart() {
+            return start;
+        }
+
+        public long getOrders() {
+            return orders;
+        }
+
+        public BigDecimal getRevenue() {
+            return BigDecimal.valueOf(revenueCents, 2);
+        }
+
+        public BigDecimal getDiscount() {
+            return BigDecimal.valueOf(discountCents, 2);
+        }
+
+        public long getCouponOrders() {
+            return couponOrders;
+        }
+    }
+
+    private static final class Ring {
+
+        private final long unitSeconds;
+        private final int size;
+        private final AtomicLongArray periods;   // period number held by each slot, -1 = never used
+        private final AtomicLongArray orders;
+        private final AtomicLongArray revenue;   // cents
+        private final AtomicLongArray discount;  // cents
+        private final AtomicLongArray couponOrders;
+
+        Ring(long unitSeconds, int size) {
+            this.unitSeconds = unitSeconds;
+            this.size = size;
+            long[] empty = new long[size];
+            Arrays.fill(empty, -1);
+            this.periods = new AtomicLongArray(empty);
+            this.orders = new AtomicLongArray(size);
+            this.revenue = new AtomicLongArray(size);
+            this.discount = new AtomicLongArray(size);
+            this.couponOrders = new AtomicLongArray(size);
+        }
+
+        void add(long second, long revenueCents, long discountCents, boolean coupon) {
+            long period = Math.floorDiv(second, unitSeconds);
+            int slot = Math.floorMod(period, size);
+            long held = periods.get(slot);
+            if (held != period) {
+                if (held > period || !roll(slot, period)) {
+                    return;   // older than this ring keeps
+                }
+            }
+            orders.incrementAndGet(slot);
+            revenue.addAndGet(slot, revenueCents);
+            discount.addAndGet(slot, discountCents);
+            if (coupon) {
+                couponOrders.incrementAndGet(slot);
+            }
+        }
+
+        /**
+         * Reset a slot for a newer period (first order of that period).
+         *
+         * @return false if the slot has meanwhile moved past the period
+         */
+        private synchronized boolean roll(int slot, long period) {
+            long held = periods.get(slot);
+            if (held < period) {
+                orders.set(slot, 0);
+                revenue.set(slot, 0);
+                discount.set(slot, 0);
+                couponOrders.set(slot, 0);
+                periods.set(slot, period);   // publish last: adders wait for the zeroed slot
+                return true;
+            }
+            return held == period;
+        }
+
+        List<Bucket> read(long lastPeriod, int count) {
+            List<Bucket> buckets = new ArrayList<>(count);
+            for (long period = lastPeriod - count + 1; period <= lastPeriod; period++) {
+                int slot = Math.floorMod(period, size);
+                Instant start = Instant.ofEpochSecond(period * unitSeconds);
+                if (periods.get(slot) == period) {
+                    buckets.add(new Bucket(start, orders.get(slot), revenue.get(slot), discount.get(slot),
+                            couponOrders.get(slot)));
+                } else {
+                    buckets.add(new Bucket(start, 0, 0, 0, 0));
+                }
+            }
+            return buckets;
+        }
+
+        synchronized void clear() {
+            for (int slot = 0; slot < size; slot++) {
+                periods.set(slot, -1);
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.CouponValidationResult;
+import com.ecommerce.store.model.PromotionCode;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Table of promotion codes with their own redemption counters (per code, and per user
+ * for codes with a per-user limit), behind a Bloom filter that rejects unknown codes.
+ *
+ * Expired codes stay in the table and are rejected as EXPIRED.
+ *
+ * Thread-Safe: Redemption is lock-free (compare-and-set per code); creating codes takes the table's monitor.
+ */
+public class PromotionCodes {
+
+    public static final int DEFAULT_EXPECTED_CODES = 100_000;
+
+    private final Map<String, Entry> byCode = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter = new BloomFilter(DEFAULT_EXPECTED_CODES);
+
+    /**
+     * Size the Bloom filter for the number of codes expected to exist (1% false positives up to there).
+     */
+    public synchronized void configure(int expectedCodes) {
+        BloomFilter resized = new BloomFilter(expectedCodes);
+        byCode.keySet().forEach(resized::add);
+        filter = resized;
+    }
+
+    /**
+     * Create a code. Its redemption count starts from definition.getRedeemed().
+     *
+     * @return false if the code already exists
+     */
+    public synchronized boolean add(PromotionCode definition) {
+        if (byCode.containsKey(definition.getCode())) {
+            return false;
+        }
+        filter.add(definition.getCode());   // before the table: a code in the table is always in the filter
+        byCode.put(definition.getCode(), new Entry(definition));
+        return true;
+    }
+
+    /**
+     * Apply a replicated state: create the code, or raise its redemption count.
+     */
+    public void apply(PromotionCode state) {
+        Entry entry = byCode.get(state.getCode());
+        if (entry == null) {
+            add(state);
+        } else {
+            entry.redeemed.accumulateAndGet(state.getRedeemed(), Math::max);
+        }
+    }
+
+    /**
+     * Restore a code with the redemptions of each user (snapshot restore).
+     */
+    public void restore(PromotionCode state, Map<String, Integer> redeemedByUser) {
+        add(state);
+        Entry entry = byCode.get(state.getCode());
+        if (entry.byUser != null) {
+            redeemedByUser.forEach((userId, count) -> entry.byUser.put(userId, new AtomicInteger(count)));
+        }
+    }
+
+    /**
+     * Count a user's redemption on a replica (the primary counted it at checkout).
+     */
+    public void recordUse(String code, String userId) {
+        Entry entry = byCode.get(code);
+        if (entry != null && entry.byUser != null && userId != null) {
+            entry.byUser.computeIfAbsent(userId, key -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    /**
+     * Redeem a code for a user, if it exists, has not expired, and neither its quota nor
+     * the user's limit is used up. A code with a per-user limit needs a user: without one
+     * it is rejected as USER_LIMIT_REACHED.
+     *
+     * @return VALID (one redemption counted), or INVALID_CODE, EXPIRED, QUOTA_EXHAUSTED
+     *         or USER_LIMIT_REACHED (nothing counted)
+     */
+    public CouponValidationResult redeem(String code, String userId, Instant now) {
+        if (!filter.mightContain(code)) {
+            return CouponValidationResult.INVALID_CODE;
+        }
+        Entry entry = byCode.get(code);
+        if (entry == null) {
+            return CouponValidationResult.INVALID_CODE;   // a Bloom filter false positive
+        }
+        if (entry.isExpired(now)) {
+            return CouponValidationResult.EXPIRED;
+        }
+        AtomicInteger byUser = null;
+        if (entry.byUser != null) {
+            if (userId == null) {
+                return CouponValidationResult.USER_LIMIT_REACHED;
+            }
+            byUser = entry.byUser.computeIfAbsent(userId, key -> new AtomicInteger());
+            if (byUser.incrementAndGet() > entry.definition.getPerUserLimit()) {
+                byUser.decrementAndGet();
+                return CouponValidationResult.USER_LIMIT_REACHED;
+            }
+        }
+        if (!entry.take()) {
+            if (byUser != null) {
+                byUser.decrementAndGet();
+            }
+            return CouponValidationResult.QUOTA_EXHAUSTED;
+        }
+        return CouponValidationResult.VALID;
+    }
+
+    public synchronized void clear() {
+        byCode.clear();
+        filter.reset();
+    }
+
+    /**
+     * False if the code was certainly never created (no table lookup).
+     */
+    public boolean mightContain(String code) {
+        return filter.mightContain(code);
+    }
+
+    public boolean isEmpty() {
+        return byCode.isEmpty();
+    }
+
+    public int size() {
+        return byCode.size();
+    }
+
+    /**
+     * True if the code exists, has not expired and has quota left (per-user limits not checked).
+     */
+    public boolean isRedeemable(String code, Instant now) {
+        Entry entry = filter.mightContain(code) ? byCode.get(code) : null;
+        return entry != null && !entry.isExpired(now) && entry.hasQuotaLeft();
+    }
+
+    /**
+     * Current state of a code, or null if it does not exist.
+     */
+    public PromotionCode find(String code) {
+        Entry entry = byCode.get(code);
+        return entry == null ? null : entry.snapshot();
+    }
+
+    /**
+     * Current state of every code. O(n): for snapshots, not for request paths.
+     */
+    public List<PromotionCode> all() {
+        List<PromotionCode> codes = new ArrayList<>(byCode.size());
+        for (Entry entry : byCode.values()) {
+            codes.add(entry.snapshot());
+        }
+        return codes;
+    }
+
+    /**
+     * Redemptions per user of a code with a per-user limit (empty otherwise).
+     */
+    public Map<String, Integer> redeemedByUser(String code) {
+        Entry entry = byCode.get(code);
+        Map<String, Integer> counts = new HashMap<>();
+        if (entry != null && entry.byUser != null) {
+            entry.byUser.forEach((userId, count) -> {
+                if (count.get() > 0) {
+                    counts.put(userId, count.get());
+                }
+            });
+        }
+        return counts;
+    }
+
+    private static final class Entry {
+
+        private final PromotionCode definition;   // never modified (redeemed is kept below)
+        private final AtomicInteger redeemed;
+        private final Map<String, AtomicInteger> byUser;   // null without a per-user limit
+
+        Entry(PromotionCode definition) {
+            this.definition = new PromotionCode(definition.getCode(), definition.getCampaign(),
+                    definition.getQuota(), definition.getPerUserLimit(), definition.getExpiresAt(),
+                    definition.getCreatedAt(), 0);
+            this.redeemed = new AtomicInteger(definition.getRedeemed());
+            this.byUser = definition.getPerUserLimit() > 0 ? new ConcurrentHashMap<>() : null;
+        }
+
+        boolean isExpired(Instant now) {
+            return definition.getExpiresAt() != null && !now.isBefore(definition.getExpiresAt());
+        }
+
+        boolean hasQuotaLeft() {
+            return definition.getQuota() == 0 || redeemed.get() < definition.getQuota();
+        }
+
+        /**
+         * Count one redemption if the quota allows it.
+         */
+        boolean take() {
+            int quota = definition.getQuota();
+            if (quota == 0) {
+                redeemed.incrementAndGet();
+                return true;
+            }
+            while (true) {
+                int current = redeemed.get();
+                if (current >= quota) {
+                    return false;
+                }
+                if (redeemed.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        PromotionCode snapshot() {
+            return new PromotionCode(definition.getCode(), definition.getCampaign(), definition.getQuota(),
+                    definition.getPerUserLimit(), definition.getExpiresAt(), definition.getCreatedAt(),
+                    redeemed.get());
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.ecommerce.store.repository;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mergeable histogram of non-negative long values, with quantiles within a relative
+ * error of RELATIVE_ACCURACY (logarithmic buckets, fixed memory).
+ *
+ * Merging adds the counters, so histograms of several windows or nodes combine exactly.
+ *
+ * Thread-Safe: record() and merge() are lock-free; merge into a fresh histogram for a consistent read.
+ */
+public final class QuantileHistogram {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+    public static final int BUCKETS = 2048;   // up to gamma^2047, about 6 * 10^17
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong zeroCount = new AtomicLong();
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @throws IllegalArgumentException for a negative value
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Histogram values must not be negative");
+        }
+        if (value == 0) {
+            zeroCount.incrementAndGet();
+        } else {
+            counts.incrementAndGet(bucketOf(value));
+        }
+        count.incrementAndGet();
+        min.accumulateAndGet(value, Math::min);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Add all values of another histogram.
+     */
+    public void merge(QuantileHistogram other) {
+        // The count is what was actually added, so it matches the buckets even while other is written
+        long added = other.zeroCount.get();
+        zeroCount.addAndGet(added);
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucket = other.counts.get(i);
+            if (bucket != 0) {
+                counts.addAndGet(i, bucket);
+                added += bucket;
+            }
+        }
+        count.addAndGet(added);
+        min.accumulateAndGet(other.min.get(), Math::min);
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        zeroCount.set(0);
+        count.set(0);
+        min.set(Long.MAX_VALUE);
+        max.set(Long.MIN_VALUE);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Smallest recorded value (exact), or 0 if empty.
+     */
+    public long getMin() {
+        return count.get() == 0 ? 0 : min.get();
+    }
+
+    /**
+     * Largest recorded value (exact), or 0 if empty.
+     */
+    public long getMax() {
+        return count.get() == 0 ? 0 : max.get();
+    }
+
+    /**
+     * Value at quantile q (0.5 = median), within RELATIVE_ACCURACY; 0 if empty.
+     */
+    public long quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.floor(q * (total - 1));
+        long seen = zeroCount.get();
+        if (rank < seen) {
+            return 0;
+        }
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (rank < seen) {
+                long estimate = Math.round(2 * Math.pow(GAMMA, i) / (GAMMA + 1));
+                return Math.max(getMin(), Math.min(getMax(), estimate));
+            }
+        }
+        return getMax();
+    }
+
+    public long getZeroCount() {
+        return zeroCount.get();
+    }
+
+    /**
+     * Non-empty buckets: bucket index -> count.
+     */
+    public Map<Integer, Long> getBuckets() {
+        Map<Integer, Long> buckets = new TreeMap<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucket = counts.get(i);
+            if (bucket != 0) {
+                buckets.put(i, bucket);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Rebuild a histogram from its wire form.
+     *
+     * @throws IllegalArgumentException for bucket indexes out of range, negative counts or a bad min / max
+     */
+    public static QuantileHistogram fromBuckets(long zeroCount, Map<Integer, Long> buckets, long min, long max) {
+        QuantileHistogram histogram = new QuantileHistogram();
+        long total = zeroCount;
+        if (zeroCount < 0) {
+            throw new IllegalArgumentException("Histogram counts must not be negative");
+        }
+        if (buckets != null) {
+            for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+                Integer index = bucket.getKey();
+                Long value = bucket.getValue();
+                if (index == null || index < 0 || index >= BUCKETS || value == null || value < 0) {
+                    throw new IllegalArgumentException("Invalid histogram bucket: " + index + "=" + value);
+                }
+                histogram.counts.set(index, value);
+                total += value;
+            }
+        }
+        histogram.zeroCount.set(zeroCount);
+        histogram.count.set(total);
+        if (total > 0) {
+            if (min < 0 || min > max) {
+                throw new IllegalArgumentException("Invalid histogram min / max: " + min + " / " + max);
+            }
+            histogram.min.set(min);
+            histogram.max.set(max);
+        }
+        return histogram;
+    }
+
+    private static int bucketOf(long value) {
+        int index = (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+        return Math.min(index, BUCKETS - 1);
+    }
+}
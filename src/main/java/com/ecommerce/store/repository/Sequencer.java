@@ -0,0 +1,65 @@
+package com.ecommerce.store.repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sequence numbers handed out concurrently but published in order, without locks.
+ *
+ * A sequence becomes visible once it and every sequence before it are published, so a
+ * reader that reads published() first sees everything written up to there.
+ *
+ * Thread-Safe: Lock-free, unless more than DONE_SLOTS writers are in flight.
+ */
+final class Sequencer {
+
+    private static final int DONE_SLOTS = 1024;
+
+    private final AtomicLong next;
+    private final AtomicLong published;
+    private final AtomicLongArray done = new AtomicLongArray(DONE_SLOTS);
+
+    /**
+     * @param start the sequence published initially; the first next() returns start + 1
+     */
+    Sequencer(long start) {
+        this.next = new AtomicLong(start);
+        this.published = new AtomicLong(start);
+    }
+
+    /**
+     * Take the next sequence (to be published once written).
+     */
+    long next() {
+        return next.incrementAndGet();
+    }
+
+    /**
+     * Every sequence up to here is written.
+     */
+    long published() {
+        return published.get();
+    }
+
+    /**
+     * Mark a sequence written, then publish every written sequence that follows the published one.
+     */
+    void publish(long sequence) {
+        while (sequence - published.get() > DONE_SLOTS) {
+            Thread.onSpinWait();   // the slot is still taken by an unpublished sequence
+        }
+        done.set(slot(sequence), sequence);
+        while (true) {
+            long current = published.get();
+            long following = current + 1;
+            if (done.get(slot(following)) != following) {
+                return;   // not written yet: its writer publishes it
+            }
+            published.compareAndSet(current, following);
+        }
+    }
+
+    private static int slot(long sequence) {
+        return (int) (sequence & (DONE_SLOTS - 1));
+    }
+}
@@ -0,0 +1,235 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Order;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Multi-version store for consistent, non-blocking reporting reads.
+ *
+ * Writers (order save, coupon generation) publish a new immutable StoreSnapshot;
+ * readers call pin() and get the latest version without taking any lock.
+ * Orders sit in a chunk directory by commit index, shared between versions.
+ *
+ * Thread-Safe: Lock-free; only compactions serialize, among themselves.
+ */
+public class SnapshotManager {
+
+    static final int CHUNK_SIZE = 1024;
+
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Order[].class);
+
+    private final AtomicInteger claimed = new AtomicInteger();
+    private final AtomicReference<Order[][]> directory = new AtomicReference<>(new Order[16][]);
+    private final AtomicReference<StoreSnapshot> current = new AtomicReference<>(StoreSnapshot.EMPTY);
+
+    /**
+     * Pin the latest published version.
+     */
+    public StoreSnapshot pin() {
+        return current.get();
+    }
+
+    /**
+     * Append an order and publish a new version with updated aggregates.
+     */
+    public void recordOrder(Order order) {
+        int index = claimed.getAndIncrement();
+        SLOT.setVolatile(chunkOf(index), index % CHUNK_SIZE, order);
+        publishOrders();
+    }
+
+    /**
+     * Publish the written orders that follow the latest version, one version each.
+     * Returns at the first order that is not written yet: its writer publishes it.
+     */
+    private void publishOrders() {
+        while (true) {
+            Order[][] chunks = directory.get();   // before the snapshot: see recordCompaction()
+            StoreSnapshot prev = current.get();
+            int index = prev.getOrderCount();
+            int chunk = index / CHUNK_SIZE;
+            Order order = chunk < chunks.length && chunks[chunk] != null
+                    ? (Order) SLOT.getVolatile(chunks[chunk], index % CHUNK_SIZE)
+                    : null;
+            if (order == null) {
+                return;
+            }
+            int items = order.getItems().stream()
+                    .mapToInt(CartItem::getQuantity)
+                    .sum();
+            current.compareAndSet(prev, new StoreSnapshot(
+                    prev.getVersion() + 1,
+                    chunks,
+                    prev.getFirstOrderIndex(),
+                    index + 1,
+                    prev.getTotalItemsPurchased() + items,
+                    prev.getTotalPurchaseAmount().add(order.getTotalAmount()),
+                    prev.getTotalDiscountAmount().add(order.getDiscountAmount()),
+                    prev.getOrdersWithCoupons() + (order.hasCouponApplied() ? 1 : 0),
+                    prev.getCouponsGenerated(),
+                    prev.getActiveCouponCode(),
+                    prev.getRollup()
+            ));
+        }
+    }
+
+    /**
+     * The chunk holding a commit index, added to the directory if needed.
+     */
+    private Order[] chunkOf(int index) {
+        int chunk = index / CHUNK_SIZE;
+        while (true) {
+            Order[][] chunks = directory.get();
+            if (chunk < chunks.length && chunks[chunk] != null) {
+                return chunks[chunk];
+            }
+            // Copy only the directory; chunks are shared with older snapshots
+            int length = chunks.length;
+            while (chunk >= length) {
+                length *= 2;
+            }
+            Order[][] grown = Arrays.copyOf(chunks, length);
+            grown[chunk] = new Order[CHUNK_SIZE];
+            directory.compareAndSet(chunks, grown);
+        }
+    }
+
+    /**
+     * Publish a new version with a newly generated (now active) coupon.
+     */
+    public void recordCouponGenerated(String couponCode) {
+        StoreSnapshot prev;
+        do {
+            prev = current.get();
+        } while (!current.compareAndSet(prev, new StoreSnapshot(
+                prev.getVersion() + 1,
+                prev.chunks(),
+                prev.getFirstOrderIndex(),
+                prev.getOrderCount(),
+                prev.getTotalItemsPurchased(),
+                prev.getTotalPurchaseAmount(),
+                prev.getTotalDiscountAmount(),
+                prev.getOrdersWithCoupons(),
+                prev.getCouponsGenerated() + 1,
+                couponCode,
+                prev.getRollup()
+        )));
+    }
+
+    /**
+     * Publish a new version with a new order rollup.
+     *
+     * @param evict also release full chunks whose orders are all covered by the rollup
+     */
+    public synchronized void recordCompaction(OrderRollup rollup, boolean evict) {
+        StoreSnapshot prev;
+        int first;
+        do {
+            prev = current.get();
+            first = prev.getFirstOrderIndex();
+            // A restored store may start mid-chunk: release up to the end of the chunk holding first
+            int end = (first / CHUNK_SIZE + 1) * CHUNK_SIZE;
+            while (evict && end <= prev.getOrderCount()
+                    && coversChunk(prev.chunks()[first / CHUNK_SIZE], rollup)) {
+                first = end;
+                end += CHUNK_SIZE;
+            }
+        } while (!current.compareAndSet(prev, new StoreSnapshot(
+                prev.getVersion() + 1,
+                prev.chunks(),
+                first,
+                prev.getOrderCount(),
+                prev.getTotalItemsPurchased(),
+                prev.getTotalPurchaseAmount(),
+                prev.getTotalDiscountAmount(),
+                prev.getOrdersWithCoupons(),
+                prev.getCouponsGenerated(),
+                prev.getActiveCouponCode(),
+                rollup
+        )));
+
+        // Release the chunks only now: a writer that sees the new directory then reads
+        // a snapshot that no longer starts in them
+        int released = first / CHUNK_SIZE;
+        Order[][] chunks;
+        Order[][] trimmed;
+        do {
+            chunks = directory.get();
+            if (released == 0 || chunks[released - 1] == null) {
+                return;
+            }
+            // Copy the directory; older snapshots keep referencing the released chunks
+            trimmed = chunks.clone();
+            Arrays.fill(trimmed, 0, released, null);
+        } while (!directory.compareAndSet(chunks, trimmed));
+    }
+
+    private static boolean coversChunk(Order[] chunk, OrderRollup rollup) {
+        for (Order order : chunk) {
+            if (order != null && !rollup.covers(order)) {   // null: before a restored store's first order
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Start an empty store from a rollup received in a replication snapshot, before the
+     * snapshot's orders are recorded again. Orders the rollup covers that were evicted
+     * count through the rollup only, and commit indexes continue after them; covered
+     * orders that come with the snapshot count once, when they are recorded.
+     *
+     * @param retained the orders of the snapshot (recorded next)
+     */
+    public synchronized void restore(OrderRollup rollup, Collection<Order> retained) {
+        StoreSnapshot prev = current.get();
+        if (prev.getOrderCount() != 0) {
+            throw new IllegalStateException("Only an empty store can be restored");
+        }
+        int evicted = Math.toIntExact(rollup.getOrderCount());
+        int items = rollup.getItemsPurchased();
+        BigDecimal revenue = rollup.getRevenue();
+        BigDecimal discount = rollup.getDiscount();
+        long couponOrders = rollup.getCouponOrders();
+        for (Order order : retained) {
+            if (rollup.covers(order)) {
+                evicted--;
+                items -= order.getItems().stream().mapToInt(CartItem::getQuantity).sum();
+                revenue = revenue.subtract(order.getTotalAmount());
+                discount = discount.subtract(order.getDiscountAmount());
+                couponOrders -= order.hasCouponApplied() ? 1 : 0;
+            }
+        }
+        claimed.set(evicted);
+        current.set(new StoreSnapshot(
+                prev.getVersion() + 1,
+                directory.get(),
+                evicted,
+                evicted,
+                items,
+                revenue,
+                discount,
+                couponOrders,
+                prev.getCouponsGenerated(),
+                prev.getActiveCouponCode(),
+                rollup
+        ));
+    }
+
+    /**
+     * Reset to an empty store (for testing).
+     */
+    public synchronized void clear() {
+        directory.set(new Order[16][]);
+        claimed.set(0);
+        current.set(StoreSnapshot.EMPTY);
+    }
+}
@@ -0,0 +1,197 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.codec.CartTokenCodec;
+import com.ecommerce.store.model.Cart;
+import com.ecommerce.store.model.CartItem;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Stateless Cart repository: the cart lives on the client as a signed token.
+ *
+ * - The cart is read from the X-Cart-Token request header
+ * - Every save returns the updated cart in the X-Cart-Token response header
+ * - Delete (clear, checkout) returns an empty X-Cart-Token header
+ *
+ * Nothing is kept in DataStore.carts, so carts cost no server memory and any node
+ * holding the same secret can serve any user.
+ *
+ * Lines are rebuilt from the catalog on every request (current name and price),
+ * so checkout always charges current prices; stock is checked by checkout as usual.
+ * Items that have left the catalog are dropped from the cart.
+ *
+ * Tokens are bound to a user: presenting another user's token is rejected.
+ * Expired tokens read as an empty cart. Cart changes are not published to the change stream,
+ * but new carts are counted as cart creators (DistinctUsers), like stateful ones.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "app.cart.stateless.enabled", havingValue = "true")
+public class StatelessCartRepository implements ICartRepository {
+
+    public static final String HEADER = "X-Cart-Token";
+
+    private static final Logger log = LoggerFactory.getLogger(StatelessCartRepository.class);
+
+    /**
+     * Request attribute holding the cart as modified during the current request.
+     */
+    private static final String CURRENT_CART = StatelessCartRepository.class.getName() + ".CART";
+
+    private final IItemRepository itemRepository;
+    private final DataStore dataStore;
+    private final CartTokenCodec codec;
+
+    public StatelessCartRepository(
+            IItemRepository itemRepository,
+            DataStore dataStore,
+            @Value("${app.cart.stateless.secret:}") String secret,
+            @Value("${app.cart.stateless.ttl-hours:72}") long ttlHours) {
+        this(itemRepository, dataStore, new CartTokenCodec(keyOf(secret), Duration.ofHours(ttlHours)));
+    }
+
+    public StatelessCartRepository(IItemRepository itemRepository, DataStore dataStore, CartTokenCodec codec) {
+        this.itemRepository = itemRepository;
+        this.dataStore = dataStore;
+        this.codec = codec;
+    }
+
+    @Override
+    public Optional<Cart> findByUserId(String userId) {
+        Cart cart = currentCart();
+        if (cart == null) {
+            return Optional.empty();
+        }
+        if (!cart.getUserId().equals(userId)) {
+            throw new IllegalArgumentException("Cart token does not belong to user: " + userId);
+        }
+        return Optional.of(cart);
+    }
+
+    /**
+     * Cart from the token, or a new empty cart (only issued as a token once saved).
+     */
+    @Override
+    public Cart getOrCreate(String userId) {
+        return findByUserId(userId).orElseGet(() -> {
+            Cart cart = new Cart(userId);
+            currentRequest().setAttribute(CURRENT_CART, cart);
+            dataStore.distinctUsers.recordCart(userId, Instant.now());
+            return cart;
+        });
+    }
+
+    @Override
+    public Cart save(Cart cart) {
+        String token = codec.encode(cart);
+        currentRequest().setAttribute(CURRENT_CART, cart);
+        currentResponse().setHeader(HEADER, token);
+        return cart;
+    }
+
+    @Override
+    public void delete(String userId) {
+        currentRequest().setAttribute(CURRENT_CART, Optional.empty());
+        currentResponse().setHeader(HEADER, "");
+    }
+
+    @Override
+    public boolean exists(String userId) {
+        return findByUserId(userId).isPresent();
+    }
+
+    /**
+     * Carts are held by clients, so the server has none to count.
+     */
+    @Override
+    public int count() {
+        return 0;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // Token handling
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Cart for the current request: the one saved earlier in this request,
+     * otherwise the one decoded from the request header (null if none).
+     */
+    private Cart currentCart() {
+        HttpServletRequest request = currentRequest();
+        Object current = request.getAttribute(CURRENT_CART);
+        if (current instanceof Cart cart) {
+            return cart;
+        }
+        if (current != null) {
+            return null;
+        }
+        String token = request.getHeader(HEADER);
+        Cart cart = token == null || token.isBlank() ? null : rebuild(codec.decode(token.trim()));
+        request.setAttribute(CURRENT_CART, cart != null ? cart : Optional.empty());
+        return cart;
+    }
+
+    /**
+     * Rebuild a cart from verified token contents at current catalog prices.
+     */
+    private Cart rebuild(CartTokenCodec.CartToken token) {
+        if (token == null) {
+            return null;
+        }
+        Cart cart = new Cart(token.getUserId());
+        for (Map.Entry<UUID, Integer> line : token.getQuantities().entrySet()) {
+            itemRepository.findById(line.getKey())
+                    .map(item -> CartItem.snapshot(item, line.getValue()))
+                    .ifPresent(cart.getItems()::add);
+        }
+        cart.recalculateTotal();
+        return cart;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        return attributes().getRequest();
+    }
+
+    private static HttpServletResponse currentResponse() {
+        HttpServletResponse response = attributes().getResponse();
+        if (response == null) {
+            throw new IllegalStateException("Stateless carts need the current HTTP response");
+        }
+        return response;
+    }
+
+    private static ServletRequestAttributes attributes() {
+        return (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+    }
+
+    /**
+     * Configured secret, or a random per-process key when none is set.
+     */
+    private static byte[] keyOf(String secret) {
+        if (secret != null && !secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        log.warn("app.cart.stateless.secret is not set - using a random key; "
+                + "cart tokens will not survive a restart or work across nodes");
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+}
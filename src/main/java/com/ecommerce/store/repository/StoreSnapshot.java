@@ -0,0 +1,138 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Order;
+
+import java.math.BigDecimal;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Immutable, versioned read view of the store for reporting queries.
+ *
+ * A snapshot pins one store version: its aggregates and its order sequence
+ * always agree with each other, no matter how many checkouts commit while
+ * the report is being built. Obtained from SnapshotManager.pin().
+ *
+ * Design Note: Snapshots share the underlying order chunks with newer versions
+ * (structural sharing), so pinning is O(1) and never copies orders.
+ * A version is reclaimed by the GC as soon as no report holds its snapshot.
+ *
+ * Aggregates are cumulative and include compacted orders. After compaction with
+ * eviction, the bodies of the oldest orders are no longer retained: orders()
+ * starts at getFirstOrderIndex() and getRollup() holds their pre-aggregated totals.
+ */
+public final class StoreSnapshot {
+
+    static final StoreSnapshot EMPTY = new StoreSnapshot(
+            0L, new Order[0][], 0, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO, 0L, 0, null, OrderRollup.EMPTY);
+
+    private final long version;
+    private final Order[][] chunks;
+    private final int firstOrderIndex;
+    private final int orderCount;
+    private final int totalItemsPurchased;
+    private final BigDecimal totalPurchaseAmount;
+    private final BigDecimal totalDiscountAmount;
+    private final long ordersWithCoupons;
+    private final int couponsGenerated;
+    private final String activeCouponCode;
+    private final OrderRollup rollup;
+
+    StoreSnapshot(long version, Order[][] chunks, int firstOrderIndex, int orderCount, int totalItemsPurchased,
+                  BigDecimal totalPurchaseAmount, BigDecimal totalDiscountAmount,
+                  long ordersWithCoupons, int couponsGenerated, String activeCouponCode,
+                  OrderRollup rollup) {
+        this.version = version;
+        this.chunks = chunks;
+        this.firstOrderIndex = firstOrderIndex;
+        this.orderCount = orderCount;
+        this.totalItemsPurchased = totalItemsPurchased;
+        this.totalPurchaseAmount = totalPurchaseAmount;
+        this.totalDiscountAmount = totalDiscountAmount;
+        this.ordersWithCoupons = ordersWithCoupons;
+        this.couponsGenerated = couponsGenerated;
+        this.activeCouponCode = activeCouponCode;
+        this.rollup = rollup;
+    }
+
+    /**
+     * Store version this snapshot is pinned to (incremented on every recorded mutation).
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    public int getTotalItemsPurchased() {
+        return totalItemsPurchased;
+    }
+
+    public BigDecimal getTotalPurchaseAmount() {
+        return totalPurchaseAmount;
+    }
+
+    public BigDecimal getTotalDiscountAmount() {
+        return totalDiscountAmount;
+    }
+
+    public long getOrdersWithCoupons() {
+        return ordersWithCoupons;
+    }
+
+    public int getCouponsGenerated() {
+        return couponsGenerated;
+    }
+
+    /**
+     * Code of the active coupon at this version (null if none).
+     */
+    public String getActiveCouponCode() {
+        return activeCouponCode;
+    }
+
+    /**
+     * Pre-aggregated totals of compacted orders at this version.
+     */
+    public OrderRollup getRollup() {
+        return rollup;
+    }
+
+    /**
+     * Commit index of the oldest order body still retained (0 unless compaction evicted orders).
+     */
+    public int getFirstOrderIndex() {
+        return firstOrderIndex;
+    }
+
+    /**
+     * Retained orders visible at this version, in commit order.
+     * Lazy: suitable for exports and reconciliation without copying.
+     */
+    public Stream<Order> orders() {
+        return IntStream.range(firstOrderIndex, orderCount).mapToObj(this::orderAt);
+    }
+
+    /**
+     * Visit every retained order visible at this version, in commit order.
+     */
+    public void forEachOrder(Consumer<Order> action) {
+        for (int i = firstOrderIndex; i < orderCount; i++) {
+            action.accept(orderAt(i));
+        }
+    }
+
+    Order[][] chunks() {
+        return chunks;
+    }
+
+    /**
+     * The order at a commit index in [getFirstOrderIndex(), getOrderCount()).
+     */
+    Order orderAt(int index) {
+        return chunks[index / SnapshotManager.CHUNK_SIZE][index % SnapshotManager.CHUNK_SIZE];
+    }
+}
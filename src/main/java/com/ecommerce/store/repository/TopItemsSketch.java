@@ -0,0 +1,322 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Order;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Streaming best sellers by units and by revenue (Space-Saving heavy hitters).
+ *
+ * Each metric keeps at most `capacity` counters. An estimate overcounts by at most
+ * total / capacity, and every item above that share is tracked.
+ * Revenue is line subtotals in cents. Totals survive order compaction.
+ *
+ * Thread-Safe: Orders are counted through an OrderBuffer, so checkouts never wait.
+ */
+public class TopItemsSketch {
+
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    private static final Comparator<Estimate> BY_COUNT = Comparator.comparingLong(Estimate::getCount).reversed()
+            .thenComparing(Estimate::getItemId);
+
+    public enum Metric {
+        UNITS(0),
+        REVENUE(2);
+
+        private final int scale;
+
+        Metric(int scale) {
+            this.scale = scale;
+        }
+
+        /**
+         * Counted value of one order line (units, or revenue in cents).
+         */
+        long count(CartItem line) {
+            return this == UNITS ? line.getQuantity() : toCounted(line.getSubtotal());
+        }
+
+        long toCounted(BigDecimal amount) {
+            return amount.movePointRight(scale).setScale(0, RoundingMode.HALF_UP).longValue();
+        }
+
+        /**
+         * Counted value back as an amount (units, or revenue in currency).
+         */
+        public BigDecimal toAmount(long counted) {
+            return BigDecimal.valueOf(counted, scale);
+        }
+
+        /**
+         * @throws IllegalArgumentException for anything but "units" or "revenue" (any case)
+         */
+        public static Metric parse(String metric) {
+            if (metric != null) {
+                for (Metric candidate : values()) {
+                    if (candidate.name().equalsIgnoreCase(metric)) {
+                        return candidate;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("'by' must be 'units' or 'revenue'");
+        }
+    }
+
+    private final OrderBuffer buffer = new OrderBuffer(this::count);
+    private Summary units;     // guarded by buffer
+    private Summary revenue;   // guarded by buffer
+
+    public TopItemsSketch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TopItemsSketch(int capacity) {
+        configure(capacity);
+    }
+
+    /**
+     * Set the number of counters per metric. Drops everything counted so far,
+     * so it is meant for startup, before the first order is recorded.
+     */
+    public void configure(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Top-items capacity must be at least 1");
+        }
+        buffer.reset(() -> {
+            units = new Summary(capacity);
+            revenue = new Summary(capacity);
+        });
+    }
+
+    /**
+     * Count the lines of a newly recorded order.
+     */
+    public void record(Order order) {
+        buffer.add(order);
+    }
+
+    public void clear() {
+        buffer.reset(() -> {
+            units = new Summary(units.capacity);
+            revenue = new Summary(revenue.capacity);
+        });
+    }
+
+    private void count(Order order) {
+        for (CartItem line : order.getItems()) {
+            long quantity = Metric.UNITS.count(line);
+            if (quantity > 0) {
+                units.add(line.getItemId(), quantity);
+                revenue.add(line.getItemId(), Metric.REVENUE.count(line));
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return buffer.read(() -> units.capacity);
+    }
+
+    /**
+     * Estimated top `n` items for a metric, highest first.
+     */
+    public Ranking top(Metric metric, int n) {
+        return buffer.read(() -> (metric == Metric.UNITS ? units : revenue).top(n));
+    }
+
+    /**
+     * Exact ranking from complete per-item totals (used to verify the estimates).
+     */
+    public static Ranking exact(Map<UUID, Long> totals, int n) {
+        List<Estimate> entries = new ArrayList<>(totals.size());
+        long total = 0;
+        for (Map.Entry<UUID, Long> entry : totals.entrySet()) {
+            entries.add(new Estimate(entry.getKey(), entry.getValue(), 0, true));
+            total += entry.getValue();
+        }
+        entries.sort(BY_COUNT);
+        return new Ranking(total, 0, List.copyOf(entries.subList(0, Math.min(n, entries.size()))));
+    }
+
+    /**
+     * Result of top(): the leading items, plus the bounds that qualify them.
+     */
+    public static final class Ranking {
+
+        private final long total;
+        private final long maxError;
+        private final List<Estimate> entries;
+
+        public Ranking(long total, long maxError, List<Estimate> entries) {
+            this.total = total;
+            this.maxError = maxError;
+            this.entries = entries;
+        }
+
+        /**
+         * Sum over all items (exact).
+         */
+        public long getTotal() {
+            return total;
+        }
+
+        /**
+         * Largest possible overcount of any estimate, and the most any untracked item can have.
+         */
+        public long getMaxError() {
+            return maxError;
+        }
+
+        public List<Estimate> getEntries() {
+            return entries;
+        }
+    }
+
+    /**
+     * One item's estimated total and how much of it may be overcount.
+     */
+    public static final class Estimate {
+
+        private final UUID itemId;
+        private final long count;
+        private final long error;
+        private final boolean guaranteed;
+
+        public Estimate(UUID itemId, long count, long error, boolean guaranteed) {
+            this.itemId = itemId;
+            this.count = count;
+            this.error = error;
+            this.guaranteed = guaranteed;
+        }
+
+        public UUID getItemId() {
+            return itemId;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getError() {
+            return error;
+        }
+
+        /**
+         * True if the item certainly belongs in the top N: even its lowest possible
+         * total is at least the highest possible total of every item ranked below N.
+         */
+        public boolean isGuaranteed() {
+            return guaranteed;
+        }
+    }
+
+    private static final class Summary {
+
+        private final int capacity;
+        private final UUID[] keys;
+        private final long[] counts;
+        private final long[] errors;
+        private final Map<UUID, Integer> slots = new HashMap<>();   // key -> heap index
+        private int size;
+        private long total;
+
+        Summary(int capacity) {
+            this.capacity = capacity;
+            this.keys = new UUID[capacity];
+            this.counts = new long[capacity];
+            this.errors = new long[capacity];
+        }
+
+        void add(UUID key, long weight) {
+            total += weight;
+            Integer slot = slots.get(key);
+            if (slot != null) {
+                counts[slot] += weight;
+                siftDown(slot);
+            } else if (size < capacity) {
+                keys[size] = key;
+                counts[size] = weight;
+                errors[size] = 0;
+                slots.put(key, size);
+                siftUp(size++);
+            } else {
+                // Take over the smallest counter: the newcomer may have been counted under it
+                long min = counts[0];
+                slots.remove(keys[0]);
+                keys[0] = key;
+                counts[0] = min + weight;
+                errors[0] = min;
+                slots.put(key, 0);
+                siftDown(0);
+            }
+        }
+
+        Ranking top(int n) {
+            List<Estimate> sorted = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                sorted.add(new Estimate(keys[i], counts[i], errors[i], false));
+            }
+            sorted.sort(BY_COUNT);
+
+            // Highest possible total of anything outside the first n
+            long maxError = size == capacity ? counts[0] : 0;
+            long outside = n < size ? sorted.get(n).getCount() : maxError;
+            List<Estimate> entries = new ArrayList<>(Math.min(n, size));
+            for (Estimate estimate : sorted.subList(0, Math.min(n, size))) {
+                entries.add(new Estimate(estimate.getItemId(), estimate.getCount(), estimate.getError(),
+                        estimate.getCount() - estimate.getError() >= outside));
+            }
+            return new Ranking(total, maxError, entries);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (counts[parent] <= counts[index]) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    return;
+                }
+                if (child + 1 < size && counts[child + 1] < counts[child]) {
+                    child++;
+                }
+                if (counts[index] <= counts[child]) {
+                    return;
+                }
+                swap(index, child);
+                index = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            UUID key = keys[a];
+            keys[a] = keys[b];
+            keys[b] = key;
+            long count = counts[a];
+            counts[a] = counts[b];
+            counts[b] = count;
+            long error = errors[a];
+            errors[a] = errors[b];
+            errors[b] = error;
+            slots.put(keys[a], a);
+            slots.put(keys[b], b);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Cart;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Write-behind Cart repository.
+ * 
+ * Reads and writes go to the in-memory CartRepository; every mutation
+ * is additionally queued for asynchronous persistence by WriteBehindStore.
+ * Repeated edits of the same cart coalesce into a single row write.
+ * 
+ * Not used in stateless cart mode (carts are not held on the server).
+ */
+@Repository
+@Primary
+@ConditionalOnExpression("${app.persistence.write-behind.enabled:false} and !${app.cart.stateless.enabled:false}")
+public class WriteBehindCartRepository implements ICartRepository {
+    
+    private final CartRepository delegate;
+    private final WriteBehindStore store;
+    
+    public WriteBehindCartRepository(CartRepository delegate, WriteBehindStore store) {
+        this.delegate = delegate;
+        this.store = store;
+    }
+    
+    @Override
+    public Optional<Cart> findByUserId(String userId) {
+        return delegate.findByUserId(userId);
+    }
+    
+    @Override
+    public Cart getOrCreate(String userId) {
+        boolean existed = delegate.exists(userId);
+        Cart cart = delegate.getOrCreate(userId);
+        if (!existed) {
+            store.cartSaved(cart);
+        }
+        return cart;
+    }
+    
+    @Override
+    public Cart save(Cart cart) {
+        Cart saved = delegate.save(cart);
+        store.cartSaved(saved);
+        return saved;
+    }
+    
+    @Override
+    public void delete(String userId) {
+        delegate.delete(userId);
+        store.cartDeleted(userId);
+    }
+    
+    @Override
+    public boolean exists(String userId) {
+        return delegate.exists(userId);
+    }
+    
+    @Override
+    public int count() {
+        return delegate.count();
+    }
+}
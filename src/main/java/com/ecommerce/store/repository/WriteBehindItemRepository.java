@@ -0,0 +1,135 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Item;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Write-behind Item repository.
+ * 
+ * Reads and writes go to the in-memory ItemRepository; every mutation
+ * is additionally queued for asynchronous persistence by WriteBehindStore.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "app.persistence.write-behind.enabled", havingValue = "true")
+public class WriteBehindItemRepository implements IItemRepository {
+    
+    private final ItemRepository delegate;
+    private final WriteBehindStore store;
+    
+    public WriteBehindItemRepository(ItemRepository delegate, WriteBehindStore store) {
+        this.delegate = delegate;
+        this.store = store;
+    }
+    
+    @Override
+    public Optional<Item> findById(UUID itemId) {
+        return delegate.findById(itemId);
+    }
+    
+    @Override
+    public List<Item> findAllById(List<UUID> itemIds) {
+        return delegate.findAllById(itemIds);
+    }
+    
+    @Override
+    public List<Item> findAll() {
+        return delegate.findAll();
+    }
+    
+    @Override
+    public ItemBrowseIndex.Page browse(ItemBrowseIndex.Sort sort, boolean descending, boolean inStockOnly,
+                                       BigDecimal minPrice, BigDecimal maxPrice, String after, int limit) {
+        return delegate.browse(sort, descending, inStockOnly, minPrice, maxPrice, after, limit);
+    }
+    
+    @Override
+    public ItemSearchIndex.SearchHits search(String query, int offset, int limit) {
+        return delegate.search(query, offset, limit);
+    }
+    
+    @Override
+    public List<ItemSearchIndex.Suggestion> suggest(String prefix, int limit) {
+        return delegate.suggest(prefix, limit);
+    }
+    
+    @Override
+    public long getCatalogVersion() {
+        return delegate.getCatalogVersion();
+    }
+    
+    @Override
+    public CatalogChangeLog.Delta changesSince(long version, int limit) {
+        return delegate.changesSince(version, limit);
+    }
+    
+    @Override
+    public List<Item> findLowStock(int threshold, int limit) {
+        return delegate.findLowStock(threshold, limit);
+    }
+    
+    @Override
+    public int countLowStock(int threshold) {
+        return delegate.countLowStock(threshold);
+    }
+    
+    @Override
+    public int getLowStockAlertThreshold() {
+        return delegate.getLowStockAlertThreshold();
+    }
+    
+    @Override
+    public LowStockIndex.Alerts lowStockAlerts(long after, int limit) {
+        return delegate.lowStockAlerts(after, limit);
+    }
+    
+    @Override
+    public Runnable whenLowStockAlertAfter(long after, Runnable listener) {
+        return delegate.whenLowStockAlertAfter(after, listener);
+    }
+    
+    @Override
+    public Item save(Item item) {
+        Item saved = delegate.save(item);
+        store.itemSaved(saved);
+        return saved;
+    }
+    
+    @Override
+    public void delete(UUID itemId) {
+        delegate.delete(itemId);
+        store.itemDeleted(itemId);
+    }
+    
+    @Override
+    public boolean exists(UUID itemId) {
+        return delegate.exists(itemId);
+    }
+    
+    @Override
+    public void decreaseStock(UUID itemId, int quantity) {
+        delegate.decreaseStock(itemId, quantity);
+        delegate.findById(itemId).ifPresent(store::itemSaved);
+    }
+    
+    /**
+     * @deprecated Use decreaseStock(UUID itemId, int quantity) instead
+     */
+    @Override
+    @Deprecated
+    public void decreaseStock(UUID itemId) {
+        decreaseStock(itemId, 1);
+    }
+    
+    @Override
+    public int count() {
+        return delegate.count();
+    }
+}
@@ -0,0 +1,134 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Order;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Write-behind Order repository.
+ * 
+ * Reads and writes go to the in-memory OrderRepository; saved orders
+ * are additionally queued for asynchronous persistence by WriteBehindStore.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "app.persistence.write-behind.enabled", havingValue = "true")
+public class WriteBehindOrderRepository implements IOrderRepository {
+    
+    private final OrderRepository delegate;
+    private final WriteBehindStore store;
+    
+    public WriteBehindOrderRepository(OrderRepository delegate, WriteBehindStore store) {
+        this.delegate = delegate;
+        this.store = store;
+    }
+    
+    @Override
+    public Optional<Order> findById(UUID orderId) {
+        return delegate.findById(orderId);
+    }
+    
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+    
+    @Override
+    public List<Order> findByUserId(String userId) {
+        return delegate.findByUserId(userId);
+    }
+    
+    @Override
+    public OrderLookupIndex.Page findIdsByItem(UUID itemId, int after, int limit) {
+        return delegate.findIdsByItem(itemId, after, limit);
+    }
+    
+    @Override
+    public OrderLookupIndex.Page findIdsByCoupon(String couponCode, int after, int limit) {
+        return delegate.findIdsByCoupon(couponCode, after, limit);
+    }
+    
+    @Override
+    public int save(Order order) {
+        int orderNumber = delegate.save(order);
+        store.orderSaved(order);
+        return orderNumber;
+    }
+    
+    @Override
+    public int getOrderCount() {
+        return delegate.getOrderCount();
+    }
+    
+    @Override
+    public StoreSnapshot snapshot() {
+        return delegate.snapshot();
+    }
+    
+    @Override
+    public int getTotalItemsPurchased() {
+        return delegate.getTotalItemsPurchased();
+    }
+    
+    @Override
+    public BigDecimal getTotalPurchaseAmount() {
+        return delegate.getTotalPurchaseAmount();
+    }
+    
+    @Override
+    public BigDecimal getTotalDiscountAmount() {
+        return delegate.getTotalDiscountAmount();
+    }
+    
+    @Override
+    public long countOrdersWithCoupons() {
+        return delegate.countOrdersWithCoupons();
+    }
+    
+    @Override
+    public TopItemsSketch.Ranking topItems(TopItemsSketch.Metric metric, int n) {
+        return delegate.topItems(metric, n);
+    }
+    
+    @Override
+    public TopItemsSketch.Ranking topItemsExact(TopItemsSketch.Metric metric, int n) {
+        return delegate.topItemsExact(metric, n);
+    }
+    
+    @Override
+    public List<OrderTimeSeries.Bucket> timeSeries(OrderTimeSeries.Resolution resolution, int count, Instant end) {
+        return delegate.timeSeries(resolution, count, end);
+    }
+    
+    @Override
+    public OrderRangeIndex.Totals rangeTotals(Instant from, Instant to, StoreSnapshot snapshot) {
+        return delegate.rangeTotals(from, to, snapshot);
+    }
+    
+    @Override
+    public OrderDistribution.Histograms distribution() {
+        return delegate.distribution();
+    }
+    
+    @Override
+    public OrderDistribution.Histograms distribution(OrderDistribution.Window window, int count, Instant end) {
+        return delegate.distribution(window, count, end);
+    }
+    
+    @Override
+    public DistinctUsers.Sketches distinctUsers() {
+        return delegate.distinctUsers();
+    }
+    
+    @Override
+    public DistinctUsers.Sketches distinctUsers(int days, Instant end) {
+        return delegate.distinctUsers(days, end);
+    }
+}
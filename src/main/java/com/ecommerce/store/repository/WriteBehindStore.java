@@ -0,0 +1,402 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.codec.ModelCodec;
+import com.ecommerce.store.dto.PersistenceStatsResponse;
+import com.ecommerce.store.model.Cart;
+import com.ecommerce.store.model.Item;
+import com.ecommerce.store.model.Order;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind persistence of items, carts and orders to an embedded file database (H2).
+ *
+ * Reads never touch the database - they stay on the DataStore maps.
+ * Mutations are encoded (ModelCodec) on the calling thread and parked in a pending map;
+ * a background thread flushes them in batched upserts/deletes, off the checkout path.
+ *
+ * Design Notes:
+ * - Pending writes are keyed by entity ID, so repeated updates (typically cart edits)
+ *   coalesce into one row write; only the latest state is flushed
+ * - On startup the DataStore is hydrated from the database (items, carts, orders,
+ *   order counter and reporting snapshot); items that exist only in memory
+ *   (seed data or a bulk-loaded catalog) are queued for persistence
+ * - A failed flush puts its rows back unless a newer state was queued meanwhile
+ *
+ * Enabled with app.persistence.write-behind.enabled=true (the write-behind
+ * repositories are only registered then).
+ *
+ * Limitation: coupon state (the active Nth-order coupon, the coupon history and the
+ * promotion codes with their redemption counts) is not persisted. After a restart no
+ * coupon is active until the next Nth order generates one, so a coupon issued before
+ * the restart is rejected (NO_ACTIVE_COUPON, or INVALID_CODE once another coupon or
+ * promotion code exists), and promotion codes must be created again.
+ */
+@Component
+@DependsOn("catalogLoader")
+public class WriteBehindStore {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindStore.class);
+
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS items (item_id UUID PRIMARY KEY, payload VARBINARY NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS carts (user_id VARCHAR(255) PRIMARY KEY, payload VARBINARY NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS orders (order_id UUID PRIMARY KEY, payload VARBINARY NOT NULL)"
+    };
+
+    private final DataStore dataStore;
+    private final boolean enabled;
+    private final String url;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+
+    // Pending writes: encoded payload, or DELETE marker
+    private static final byte[] DELETE = new byte[0];
+    private final Map<UUID, byte[]> pendingItems = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> pendingCarts = new ConcurrentHashMap<>();
+    private final Map<UUID, byte[]> pendingOrders = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final AtomicLong flushedRows = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong flushNanosTotal = new AtomicLong();
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
+    private volatile int lastBatchSize;
+    private volatile int maxBatchSize;
+
+    private Connection connection;
+    private volatile boolean running;
+    private Thread flusher;
+
+    public WriteBehindStore(
+            DataStore dataStore,
+            @Value("${app.persistence.write-behind.enabled:false}") boolean enabled,
+            @Value("${app.persistence.write-behind.url:jdbc:h2:file:./data/ecommerce}") String url,
+            @Value("${app.persistence.write-behind.batch-size:500}") int batchSize,
+            @Value("${app.persistence.write-behind.flush-interval-ms:200}") long flushIntervalMillis) {
+        this.dataStore = dataStore;
+        this.enabled = enabled;
+        this.url = url;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    /**
+     * Open the database, hydrate the DataStore and start the flusher thread.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        try {
+            connection = DriverManager.getConnection(url);
+            try (Statement statement = connection.createStatement()) {
+                for (String ddl : SCHEMA) {
+                    statement.execute(ddl);
+                }
+            }
+            connection.setAutoCommit(false);
+            hydrate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to open write-behind database: " + url, e);
+        }
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "write-behind-flush");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Stop the flusher, write everything still pending and close the database.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.warn("Failed to close write-behind database", e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Enqueue (called on request threads, never blocks on I/O)
+    // ═══════════════════════════════════════════════════════════
+
+    public void itemSaved(Item item) {
+        enqueue(pendingItems, item.getItemId(), () -> ModelCodec.encode(item));
+    }
+
+    public void itemDeleted(UUID itemId) {
+        enqueue(pendingItems, itemId, () -> DELETE);
+    }
+
+    public void cartSaved(Cart cart) {
+        enqueue(pendingCarts, cart.getUserId(), () -> ModelCodec.encode(cart));
+    }
+
+    public void cartDeleted(String userId) {
+        enqueue(pendingCarts, userId, () -> DELETE);
+    }
+
+    public void orderSaved(Order order) {
+        enqueue(pendingOrders, order.getOrderId(), () -> ModelCodec.encode(order));
+    }
+
+    /**
+     * Encoding inside compute() serializes writers of the same key, so the last
+     * queued payload always reflects the latest in-memory state.
+     */
+    private <K> void enqueue(Map<K, byte[]> pending, K key, Supplier<byte[]> payload) {
+        if (!enabled) {
+            return;
+        }
+        enqueued.increment();
+        pending.compute(key, (k, previous) -> {
+            if (previous != null) {
+                coalesced.increment();
+            }
+            return payload.get();
+        });
+        if (running && getQueueDepth() >= batchSize) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Flush
+    // ═══════════════════════════════════════════════════════════
+
+    private void flushLoop() {
+        while (running) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis));
+            flush();
+        }
+    }
+
+    /**
+     * Write all pending mutations in batches of at most batchSize rows.
+     */
+    public synchronized void flush() {
+        if (connection == null) {
+            return;
+        }
+        while (getQueueDepth() > 0) {
+            int before = getQueueDepth();
+            flushBatch();
+            if (getQueueDepth() >= before) {
+                // Nothing could be written (database failure) - retry on the next cycle
+                return;
+            }
+        }
+    }
+
+    private void flushBatch() {
+        Map<UUID, byte[]> items = drain(pendingItems, batchSize);
+        Map<String, byte[]> carts = drain(pendingCarts, batchSize - items.size());
+        Map<UUID, byte[]> orders = drain(pendingOrders, batchSize - items.size() - carts.size());
+        int rows = items.size() + carts.size() + orders.size();
+        if (rows == 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            write("items", "item_id", items);
+            write("carts", "user_id", carts);
+            write("orders", "order_id", orders);
+            connection.commit();
+        } catch (SQLException e) {
+            failures.incrementAndGet();
+            log.error("Write-behind flush of {} rows failed, will retry", rows, e);
+            rollbackQuietly();
+            requeue(pendingItems, items);
+            requeue(pendingCarts, carts);
+            requeue(pendingOrders, orders);
+            return;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        flushes.incrementAndGet();
+        flushedRows.addAndGet(rows);
+        flushNanosTotal.addAndGet(elapsed);
+        lastFlushNanos = elapsed;
+        maxFlushNanos = Math.max(maxFlushNanos, elapsed);
+        lastBatchSize = rows;
+        maxBatchSize = Math.max(maxBatchSize, rows);
+    }
+
+    private <K> void write(String table, String keyColumn, Map<K, byte[]> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement upsert = connection.prepareStatement(
+                "MERGE INTO " + table + " (" + keyColumn + ", payload) KEY (" + keyColumn + ") VALUES (?, ?)");
+             PreparedStatement delete = connection.prepareStatement(
+                "DELETE FROM " + table + " WHERE " + keyColumn + " = ?")) {
+            boolean upserts = false;
+            boolean deletes = false;
+            for (Map.Entry<K, byte[]> row : rows.entrySet()) {
+                if (row.getValue() == DELETE) {
+                    delete.setObject(1, row.getKey());
+                    delete.addBatch();
+                    deletes = true;
+                } else {
+                    upsert.setObject(1, row.getKey());
+                    upsert.setBytes(2, row.getValue());
+                    upsert.addBatch();
+                    upserts = true;
+                }
+            }
+            if (upserts) {
+                upsert.executeBatch();
+            }
+            if (deletes) {
+                delete.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Remove up to max entries; an entry is only taken if it was not replaced concurrently.
+     */
+    private <K> Map<K, byte[]> drain(Map<K, byte[]> pending, int max) {
+        Map<K, byte[]> batch = new HashMap<>();
+        for (Map.Entry<K, byte[]> entry : pending.entrySet()) {
+            if (batch.size() >= max) {
+                break;
+            }
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return batch;
+    }
+
+    private <K> void requeue(Map<K, byte[]> pending, Map<K, byte[]> failed) {
+        // Newer states queued during the failed flush win
+        failed.forEach(pending::putIfAbsent);
+    }
+
+    private void rollbackQuietly() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            log.warn("Write-behind rollback failed", e);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Hydration
+    // ═══════════════════════════════════════════════════════════
+
+    private void hydrate() throws SQLException {
+        List<Item> items = readAll("items", Item.class);
+        List<Cart> carts = readAll("carts", Cart.class);
+        List<Order> orders = readAll("orders", Order.class);
+
+        if (!items.isEmpty()) {
+            // The database is the catalog of record once it has one
+            dataStore.items.clear();
+            items.forEach(item -> dataStore.items.put(item.getItemId(), item));
+            dataStore.reindexItems();
+        }
+        carts.forEach(cart -> dataStore.carts.put(cart.getUserId(), cart));
+
+        orders.sort(Comparator.comparing(Order::getCreatedAt));
+        for (Order order : orders) {
+            dataStore.orders.put(order.getOrderId(), order);
+            dataStore.recordOrder(order);
+        }
+        dataStore.orderCounter.set(orders.size());
+
+        if (items.isEmpty()) {
+            // First start: persist the seeded / bulk-loaded catalog
+            dataStore.items.values().forEach(this::itemSaved);
+        }
+        log.info("Hydrated {} items, {} carts and {} orders from {}", dataStore.items.size(), carts.size(),
+                orders.size(), url);
+    }
+
+    private <T> List<T> readAll(String table, Class<T> type) throws SQLException {
+        List<T> rows = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT payload FROM " + table)) {
+            while (resultSet.next()) {
+                rows.add(ModelCodec.decode(resultSet.getBytes(1), type));
+            }
+        }
+        return rows;
+    }
+
+    // ═══════════════════════════════════════════════════════════
+    // Metrics
+    // ═══════════════════════════════════════════════════════════
+
+    public int getQueueDepth() {
+        return pendingItems.size() + pendingCarts.size() + pendingOrders.size();
+    }
+
+    public PersistenceStatsResponse getStats() {
+        long flushCount = flushes.get();
+        return new PersistenceStatsResponse(
+                enabled,
+                getQueueDepth(),
+                enqueued.sum(),
+                coalesced.sum(),
+                flushedRows.get(),
+                flushCount,
+                failures.get(),
+                lastBatchSize,
+                maxBatchSize,
+                flushCount == 0 ? 0.0 : (double) flushedRows.get() / flushCount,
+                lastFlushNanos / 1_000_000.0,
+                maxFlushNanos / 1_000_000.0,
+                flushCount == 0 ? 0.0 : flushNanosTotal.get() / 1_000_000.0 / flushCount
+        );
+    }
+}
@@ -1,14 +1,59 @@
 package com.ecommerce.store.service;
 
 import com.ecommerce.store.dto.AdminStatsResponse;
+import com.ecommerce.store.dto.ChangeSubscriberResponse;
+import com.ecommerce.store.dto.CouponHistoryResponse;
 import com.ecommerce.store.dto.CouponListResponse;
+import com.ecommerce.store.dto.CouponRedemptionResponse;
 import com.ecommerce.store.dto.CouponResponse;
+import com.ecommerce.store.dto.CouponStatsResponse;
+import com.ecommerce.store.dto.CreatePromotionRequest;
+import com.ecommerce.store.dto.DistinctUsersResponse;
+import com.ecommerce.store.dto.LowStockAlertsResponse;
+import com.ecommerce.store.dto.LowStockResponse;
+import com.ecommerce.store.dto.OrderPageResponse;
+import com.ecommerce.store.dto.OrderQuantilesResponse;
+import com.ecommerce.store.dto.PersistenceStatsResponse;
+import com.ecommerce.store.dto.PromotionResponse;
+import com.ecommerce.store.dto.ReplicationStatusResponse;
+import com.ecommerce.store.dto.TimeSeriesResponse;
+import com.ecommerce.store.dto.TopItemsResponse;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service interface for Admin operations.
  */
 public interface AdminService {
     
+    /**
+     * Maximum number of best-selling items per request.
+     */
+    int MAX_TOP_ITEMS = 1000;
+    
+    /**
+     * Maximum number of low-stock items or alerts per request.
+     */
+    int MAX_LOW_STOCK_ITEMS = 1000;
+    
+    /**
+     * Longest a low-stock alert request waits for a new alert.
+     */
+    int MAX_ALERT_WAIT_SECONDS = 30;
+    
+    /**
+     * Maximum number of orders per drill-down page.
+     */
+    int MAX_ORDER_PAGE = 500;
+    
+    /**
+     * Maximum page size for coupon lists and coupon history.
+     */
+    int MAX_COUPON_PAGE = 1000;
+    
     /**
      * Get store statistics.
      * 
@@ -26,11 +71,158 @@ public interface AdminService {
     AdminStatsResponse getStatistics();
     
     /**
-     * List all generated coupon codes.
+     * Get order statistics for a time range, without scanning orders.
+     * 
+     * Includes items purchased, purchase amount, discount amount, orders and
+     * orders with coupons for orders created in [from, to), widened to whole
+     * buckets of the time-range index. The active coupon is the current one.
+     * 
+     * @param from Inclusive lower bound on createdAt, or null
+     * @param to Exclusive upper bound on createdAt, or null
+     * @return Statistics for the range, with the range actually covered
+     */
+    AdminStatsResponse getStatistics(Instant from, Instant to);
+    
+    /**
+     * Get the best-selling items by units or by revenue.
      * 
-     * @return List of all coupons and count
+     * @param by "units" or "revenue"
+     * @param n Number of items (1 to MAX_TOP_ITEMS)
+     * @param exact false = streaming estimate with error bounds, true = full parallel scan
+     * @return Best sellers, highest first
      */
-    CouponListResponse getAllCoupons();
+    TopItemsResponse getTopItems(String by, int n, boolean exact);
+    
+    /**
+     * Get recent order activity (orders, revenue, discount, coupon orders) per time bucket.
+     * 
+     * @param resolution "second", "minute" or "hour"
+     * @param window Number of buckets, ending with the current one (at most the resolution's ring size)
+     * @return Buckets oldest first, plus totals over the window
+     */
+    TimeSeriesResponse getTimeSeries(String resolution, int window);
+    
+    /**
+     * Get p50 / p90 / p99 of order value and items per order, from mergeable histograms.
+     * 
+     * @param resolution "all" (all orders), "hour" or "day"
+     * @param window Number of hours / days, ending with the current one (ignored for "all")
+     * @param histogram Whether to include the histograms, for merging with other nodes
+     * @return Percentiles, exact min / max and (optionally) the histograms
+     */
+    OrderQuantilesResponse getOrderQuantiles(String resolution, int window, boolean histogram);
+    
+    /**
+     * Merge quantile responses from several nodes or partitions (each with its histograms)
+     * into the quantiles of all their orders.
+     * 
+     * @param parts Responses of getOrderQuantiles(..., histogram = true), or of earlier merges
+     * @return Merged percentiles, with the merged histograms
+     */
+    OrderQuantilesResponse mergeOrderQuantiles(List<OrderQuantilesResponse> parts);
+    
+    /**
+     * Get the approximate number of distinct buyers, coupon redeemers and cart creators,
+     * from fixed-size HyperLogLog sketches.
+     * 
+     * @param days Number of UTC days, ending with the current one, or null for all time
+     * @return Estimates with error bounds
+     */
+    DistinctUsersResponse getDistinctUsers(Integer days);
+    
+    /**
+     * Get the items with stock at or below a threshold, from the stock-ordered index.
+     * 
+     * @param threshold Stock threshold, or null for the configured alert threshold
+     * @param limit Maximum items (1 to MAX_LOW_STOCK_ITEMS)
+     * @return Items, lowest stock first, and how many there are in total
+     */
+    LowStockResponse getLowStockItems(Integer threshold, int limit);
+    
+    /**
+     * Get low-stock alerts raised after a cursor. If there are none yet, the result completes
+     * when the next alert is raised or after waitSeconds (with no alerts), so callers hear of
+     * new alerts without polling. No thread is held while waiting.
+     * 
+     * @param after Last alert sequence seen (0 = oldest retained alert)
+     * @param limit Maximum alerts (1 to MAX_LOW_STOCK_ITEMS)
+     * @param waitSeconds How long to wait for a new alert (0 to MAX_ALERT_WAIT_SECONDS)
+     * @return Alerts oldest first, and the cursor for the next request
+     * @throws IllegalArgumentException for invalid parameters (thrown, not completed exceptionally)
+     */
+    CompletableFuture<LowStockAlertsResponse> getLowStockAlerts(long after, int limit, int waitSeconds);
+    
+    /**
+     * Get the orders that contained an item, from the item's posting list.
+     * 
+     * @param itemId Item identifier
+     * @param after Cursor from the previous page (0 = first page)
+     * @param limit Page size (1 to MAX_ORDER_PAGE)
+     * @return Orders oldest first, with the cursor for the next page
+     */
+    OrderPageResponse getOrdersByItem(UUID itemId, int after, int limit);
+    
+    /**
+     * Get the orders that redeemed a coupon code, from the coupon's posting list.
+     * 
+     * @param couponCode Coupon code (exact)
+     * @param after Cursor from the previous page (0 = first page)
+     * @param limit Page size (1 to MAX_ORDER_PAGE)
+     * @return Orders oldest first, with the cursor for the next page
+     */
+    OrderPageResponse getOrdersByCoupon(String couponCode, int after, int limit);
+    
+    /**
+     * List generated coupon codes, one page at a time.
+     * 
+     * @param after Cursor from the previous page (0 = first page)
+     * @param since If not null, only coupons created at or after this time
+     * @param limit Page size (1 to MAX_COUPON_PAGE)
+     * @return Codes oldest first, total count and the cursor for the next page
+     */
+    CouponListResponse getAllCoupons(int after, Instant since, int limit);
+    
+    /**
+     * Get one page of the coupon history: generation, use time and redeeming order of each coupon.
+     * 
+     * @param after Cursor from the previous page (0 = first page)
+     * @param since If not null, only coupons created at or after this time
+     * @param limit Page size (1 to MAX_COUPON_PAGE)
+     * @return Coupons oldest first, with the cursor for the next page
+     */
+    CouponHistoryResponse getCouponHistory(int after, Instant since, int limit);
+    
+    /**
+     * Get coupon redemption analytics: attempts by outcome, time-to-redeem and how late race losers were.
+     * 
+     * @return Counters and distributions over all coupons
+     */
+    CouponStatsResponse getCouponStats();
+    
+    /**
+     * Get how one coupon was redeemed: when, by whom, and the race for it.
+     * 
+     * @param couponCode Coupon code (exact)
+     * @return Redemption details, or null if the code was never generated
+     */
+    CouponRedemptionResponse getCouponRedemption(String couponCode);
+    
+    /**
+     * Create a promotion code (any number can be live alongside the Nth-order coupon).
+     * 
+     * @param request Code, campaign, quota, per-user limit and expiry
+     * @return The created code
+     * @throws IllegalArgumentException if the code is invalid or already exists
+     */
+    PromotionResponse createPromotion(CreatePromotionRequest request);
+    
+    /**
+     * Get a promotion code and its redemptions so far.
+     * 
+     * @param code Promotion code (exact)
+     * @return The code, or null if it does not exist
+     */
+    PromotionResponse getPromotion(String code);
     
     /**
      * Get currently active coupon.
@@ -46,4 +238,40 @@ public interface AdminService {
      * @return Newly generated coupon
      */
     CouponResponse generateCoupon();
+    
+    /**
+     * Validate and pin an export of all orders (retained bodies) created in [from, to).
+     * Nothing is written until OrderExport.writeTo() is called.
+     * 
+     * @param format "ndjson" or "csv"
+     * @param from Inclusive lower bound on createdAt, or null
+     * @param to Exclusive upper bound on createdAt, or null
+     * @param gzip Whether to gzip the output
+     * @param partial Whether to export only the retained orders when compaction evicted some in the range
+     * @return Export pinned to the current store version
+     * @throws IllegalArgumentException if the range reaches before the compaction boundary and partial is false
+     */
+    OrderExport prepareOrderExport(String format, Instant from, Instant to, boolean gzip, boolean partial);
+    
+    /**
+     * Get lag and drop metrics for every change-stream subscriber.
+     * 
+     * @return One entry per subscriber
+     */
+    List<ChangeSubscriberResponse> getChangeSubscribers();
+    
+    /**
+     * Get write-behind persistence metrics (queue depth, flush latency, batch size).
+     * 
+     * @return Metrics; all zero when write-behind persistence is disabled
+     */
+    PersistenceStatsResponse getPersistenceStats();
+    
+    /**
+     * Get replication status: follower acknowledgements and lag (primary),
+     * or connection state and lag behind the primary (follower).
+     * 
+     * @return Replication status for this node
+     */
+    ReplicationStatusResponse getReplicationStatus();
 }
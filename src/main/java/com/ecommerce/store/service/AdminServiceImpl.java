@@ -1,16 +1,69 @@
 package com.ecommerce.store.service;
 
+import com.ecommerce.store.cdc.ChangeEventBus;
+import com.ecommerce.store.codec.OrderExportWriter;
 import com.ecommerce.store.dto.AdminStatsResponse;
+import com.ecommerce.store.dto.CartItemResponse;
+import com.ecommerce.store.dto.ChangeSubscriberResponse;
+import com.ecommerce.store.dto.CouponHistoryEntryResponse;
+import com.ecommerce.store.dto.CouponHistoryResponse;
 import com.ecommerce.store.dto.CouponListResponse;
+import com.ecommerce.store.dto.CouponRedemptionResponse;
 import com.ecommerce.store.dto.CouponResponse;
+import com.ecommerce.store.dto.CouponStatsResponse;
+import com.ecommerce.store.dto.CreatePromotionRequest;
+import com.ecommerce.store.dto.DistinctCountResponse;
+import com.ecommerce.store.dto.DistinctUsersResponse;
+import com.ecommerce.store.dto.DistributionResponse;
+import com.ecommerce.store.dto.HistogramResponse;
+import com.ecommerce.store.dto.ItemResponse;
+import com.ecommerce.store.dto.LowStockAlertResponse;
+import com.ecommerce.store.dto.LowStockAlertsResponse;
+import com.ecommerce.store.dto.LowStockResponse;
+import com.ecommerce.store.dto.OrderPageResponse;
+import com.ecommerce.store.dto.OrderQuantilesResponse;
+import com.ecommerce.store.dto.OrderResponse;
+import com.ecommerce.store.dto.PersistenceStatsResponse;
+import com.ecommerce.store.dto.PromotionResponse;
+import com.ecommerce.store.dto.ReplicationStatusResponse;
+import com.ecommerce.store.dto.TimeBucketResponse;
+import com.ecommerce.store.dto.TimeSeriesResponse;
+import com.ecommerce.store.dto.TopItemResponse;
+import com.ecommerce.store.dto.TopItemsResponse;
 import com.ecommerce.store.model.Coupon;
+import com.ecommerce.store.model.CouponValidationResult;
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Item;
+import com.ecommerce.store.model.Order;
+import com.ecommerce.store.model.PromotionCode;
+import com.ecommerce.store.replication.ReplicationManager;
+import com.ecommerce.store.repository.CouponHistory;
+import com.ecommerce.store.repository.CouponRedemptionStats;
+import com.ecommerce.store.repository.DistinctUsers;
+import com.ecommerce.store.repository.HyperLogLog;
 import com.ecommerce.store.repository.ICouponRepository;
+import com.ecommerce.store.repository.IItemRepository;
 import com.ecommerce.store.repository.IOrderRepository;
+import com.ecommerce.store.repository.LowStockIndex;
+import com.ecommerce.store.repository.OrderDistribution;
+import com.ecommerce.store.repository.OrderLookupIndex;
+import com.ecommerce.store.repository.OrderRangeIndex;
+import com.ecommerce.store.repository.OrderTimeSeries;
+import com.ecommerce.store.repository.QuantileHistogram;
+import com.ecommerce.store.repository.StoreSnapshot;
+import com.ecommerce.store.repository.TopItemsSketch;
+import com.ecommerce.store.repository.WriteBehindStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service implementation for Admin operations.
@@ -21,36 +74,347 @@ public class AdminServiceImpl implements AdminService {
     
     private final IOrderRepository orderRepository;
     private final ICouponRepository couponRepository;
+    private final IItemRepository itemRepository;
+    private final ChangeEventBus changeEventBus;
+    private final WriteBehindStore writeBehindStore;
+    private final ReplicationManager replicationManager;
     
     @Override
     public AdminStatsResponse getStatistics() {
-        int totalItemsPurchased = orderRepository.getTotalItemsPurchased();
-        BigDecimal totalPurchaseAmount = orderRepository.getTotalPurchaseAmount();
-        BigDecimal totalDiscountAmount = orderRepository.getTotalDiscountAmount();
-        int totalOrders = orderRepository.findAll().size();
-        long ordersWithCoupons = orderRepository.countOrdersWithCoupons();
-        int totalCouponsGenerated = couponRepository.getGeneratedCount();
+        // All figures come from one pinned version, so they are mutually consistent
+        StoreSnapshot snapshot = orderRepository.snapshot();
         
-        // Get active coupon code
-        String activeCouponCode = couponRepository.getActive()
-                .map(Coupon::getCode)
-                .orElse(null);
+        return new AdminStatsResponse(
+                snapshot.getTotalItemsPurchased(),
+                snapshot.getTotalPurchaseAmount(),
+                snapshot.getTotalDiscountAmount(),
+                snapshot.getOrderCount(),
+                snapshot.getOrdersWithCoupons(),
+                snapshot.getCouponsGenerated(),
+                snapshot.getActiveCouponCode(),
+                snapshot.getVersion(),
+                null,
+                null
+        );
+    }
+    
+    @Override
+    public AdminStatsResponse getStatistics(Instant from, Instant to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        StoreSnapshot snapshot = orderRepository.snapshot();
+        OrderRangeIndex.Totals totals = orderRepository.rangeTotals(from, to, snapshot);
         
         return new AdminStatsResponse(
-                totalItemsPurchased,
-                totalPurchaseAmount,
-                totalDiscountAmount,
-                totalOrders,
-                ordersWithCoupons,
-                totalCouponsGenerated,
-                activeCouponCode
+                Math.toIntExact(totals.getItemsPurchased()),
+                totals.getRevenue(),
+                totals.getDiscount(),
+                Math.toIntExact(totals.getOrders()),
+                totals.getCouponOrders(),
+                null,
+                snapshot.getActiveCouponCode(),
+                snapshot.getVersion(),
+                totals.getFrom(),
+                totals.getTo()
+        );
+    }
+    
+    @Override
+    public TopItemsResponse getTopItems(String by, int n, boolean exact) {
+        TopItemsSketch.Metric metric = TopItemsSketch.Metric.parse(by);
+        if (n < 1 || n > MAX_TOP_ITEMS) {
+            throw new IllegalArgumentException("n must be between 1 and " + MAX_TOP_ITEMS);
+        }
+        TopItemsSketch.Ranking ranking = exact
+                ? orderRepository.topItemsExact(metric, n)
+                : orderRepository.topItems(metric, n);
+        
+        // Current names, looked up in one pass
+        List<UUID> itemIds = ranking.getEntries().stream()
+                .map(TopItemsSketch.Estimate::getItemId)
+                .toList();
+        List<Item> items = itemRepository.findAllById(itemIds);
+        
+        List<TopItemResponse> entries = new ArrayList<>(itemIds.size());
+        for (int i = 0; i < itemIds.size(); i++) {
+            TopItemsSketch.Estimate estimate = ranking.getEntries().get(i);
+            Item item = items.get(i);
+            entries.add(new TopItemResponse(
+                    estimate.getItemId(),
+                    item != null ? item.getName() : null,
+                    metric.toAmount(estimate.getCount()),
+                    metric.toAmount(estimate.getError()),
+                    estimate.isGuaranteed()
+            ));
+        }
+        return new TopItemsResponse(
+                metric.name().toLowerCase(Locale.ROOT),
+                exact,
+                metric.toAmount(ranking.getTotal()),
+                metric.toAmount(ranking.getMaxError()),
+                entries
         );
     }
     
     @Override
-    public CouponListResponse getAllCoupons() {
-        List<String> coupons = couponRepository.getAllGenerated();
-        return new CouponListResponse(coupons, coupons.size());
+    public TimeSeriesResponse getTimeSeries(String resolution, int window) {
+        OrderTimeSeries.Resolution bucketSize = OrderTimeSeries.Resolution.parse(resolution);
+        if (window < 1 || window > bucketSize.getBuckets()) {
+            throw new IllegalArgumentException("window must be between 1 and " + bucketSize.getBuckets()
+                    + " for resolution " + bucketSize.name().toLowerCase(Locale.ROOT));
+        }
+        List<OrderTimeSeries.Bucket> buckets = orderRepository.timeSeries(bucketSize, window, Instant.now());
+        
+        long orders = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        BigDecimal discount = BigDecimal.ZERO;
+        long couponOrders = 0;
+        List<TimeBucketResponse> entries = new ArrayList<>(buckets.size());
+        for (OrderTimeSeries.Bucket bucket : buckets) {
+            orders += bucket.getOrders();
+            revenue = revenue.add(bucket.getRevenue());
+            discount = discount.add(bucket.getDiscount());
+            couponOrders += bucket.getCouponOrders();
+            entries.add(new TimeBucketResponse(
+                    bucket.getStart(),
+                    bucket.getOrders(),
+                    bucket.getRevenue(),
+                    bucket.getDiscount(),
+                    bucket.getCouponOrders()
+            ));
+        }
+        return new TimeSeriesResponse(
+                bucketSize.name().toLowerCase(Locale.ROOT),
+                buckets.get(0).getStart(),
+                buckets.get(buckets.size() - 1).getStart().plusSeconds(bucketSize.getSeconds()),
+                orders,
+                revenue,
+                discount,
+                couponOrders,
+                entries
+        );
+    }
+    
+    @Override
+    public OrderQuantilesResponse getOrderQuantiles(String resolution, int window, boolean histogram) {
+        if (resolution == null || resolution.equalsIgnoreCase("all")) {
+            return toQuantilesResponse("all", null, null, orderRepository.distribution(), histogram);
+        }
+        OrderDistribution.Window windowSize = OrderDistribution.Window.parse(resolution);
+        if (window < 1 || window > windowSize.getWindows()) {
+            throw new IllegalArgumentException("window must be between 1 and " + windowSize.getWindows()
+                    + " for resolution " + windowSize.name().toLowerCase(Locale.ROOT));
+        }
+        Instant now = Instant.now();
+        long last = Math.floorDiv(now.getEpochSecond(), windowSize.getSeconds());
+        return toQuantilesResponse(
+                windowSize.name().toLowerCase(Locale.ROOT),
+                Instant.ofEpochSecond((last - window + 1) * windowSize.getSeconds()),
+                Instant.ofEpochSecond((last + 1) * windowSize.getSeconds()),
+                orderRepository.distribution(windowSize, window, now),
+                histogram
+        );
+    }
+    
+    @Override
+    public OrderQuantilesResponse mergeOrderQuantiles(List<OrderQuantilesResponse> parts) {
+        if (parts == null || parts.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to merge");
+        }
+        OrderDistribution.Histograms merged = new OrderDistribution.Histograms();
+        Instant from = null;
+        Instant to = null;
+        boolean allTime = false;
+        for (OrderQuantilesResponse part : parts) {
+            if (part == null) {
+                throw new IllegalArgumentException("Nothing to merge");
+            }
+            merged.getOrderValue().merge(toHistogram(part.getOrderValue()));
+            merged.getItemsPerOrder().merge(toHistogram(part.getItemsPerOrder()));
+            if (part.getFrom() == null || part.getTo() == null) {
+                allTime = true;
+            } else {
+                from = from == null || part.getFrom().isBefore(from) ? part.getFrom() : from;
+                to = to == null || part.getTo().isAfter(to) ? part.getTo() : to;
+            }
+        }
+        return toQuantilesResponse("merged", allTime ? null : from, allTime ? null : to, merged, true);
+    }
+    
+    @Override
+    public DistinctUsersResponse getDistinctUsers(Integer days) {
+        if (days == null) {
+            return toDistinctUsersResponse(null, null, orderRepository.distinctUsers());
+        }
+        if (days < 1 || days > DistinctUsers.DAYS) {
+            throw new IllegalArgumentException("days must be between 1 and " + DistinctUsers.DAYS);
+        }
+        Instant now = Instant.now();
+        long last = Math.floorDiv(now.getEpochSecond(), DistinctUsers.DAY_SECONDS);
+        return toDistinctUsersResponse(
+                Instant.ofEpochSecond((last - days + 1) * DistinctUsers.DAY_SECONDS),
+                Instant.ofEpochSecond((last + 1) * DistinctUsers.DAY_SECONDS),
+                orderRepository.distinctUsers(days, now)
+        );
+    }
+    
+    @Override
+    public LowStockResponse getLowStockItems(Integer threshold, int limit) {
+        if (threshold != null && threshold < 0) {
+            throw new IllegalArgumentException("threshold must not be negative");
+        }
+        checkLowStockLimit(limit);
+        int stock = threshold != null ? threshold : itemRepository.getLowStockAlertThreshold();
+        List<ItemResponse> items = new ArrayList<>();
+        for (Item item : itemRepository.findLowStock(stock, limit)) {
+            items.add(new ItemResponse(item.getItemId(), item.getName(), item.getPrice(), item.getStock()));
+        }
+        return new LowStockResponse(stock, itemRepository.countLowStock(stock), items);
+    }
+    
+    @Override
+    public CompletableFuture<LowStockAlertsResponse> getLowStockAlerts(long after, int limit, int waitSeconds) {
+        if (after < 0) {
+            throw new IllegalArgumentException("after must not be negative");
+        }
+        checkLowStockLimit(limit);
+        if (waitSeconds < 0 || waitSeconds > MAX_ALERT_WAIT_SECONDS) {
+            throw new IllegalArgumentException("waitSeconds must be between 0 and " + MAX_ALERT_WAIT_SECONDS);
+        }
+        LowStockAlertsResponse now = toAlertsResponse(itemRepository.lowStockAlerts(after, limit));
+        if (waitSeconds == 0 || !now.getAlerts().isEmpty() || now.isMissed()) {
+            return CompletableFuture.completedFuture(now);
+        }
+        // Nothing new: the next alert completes the result. The listener runs on the checkout
+        // that raised the alert, so the alerts are read on another thread
+        CompletableFuture<LowStockAlertsResponse> next = new CompletableFuture<>();
+        Runnable cancel = itemRepository.whenLowStockAlertAfter(after,
+                () -> next.completeAsync(() -> toAlertsResponse(itemRepository.lowStockAlerts(after, limit))));
+        // The caller gets the stage after the cancellation, so no listener outlives the answer
+        return next.completeOnTimeout(now, waitSeconds, TimeUnit.SECONDS)
+                .whenComplete((alerts, error) -> cancel.run());
+    }
+    
+    private static LowStockAlertsResponse toAlertsResponse(LowStockIndex.Alerts alerts) {
+        List<LowStockAlertResponse> entries = new ArrayList<>(alerts.getAlerts().size());
+        for (LowStockIndex.Alert alert : alerts.getAlerts()) {
+            entries.add(new LowStockAlertResponse(alert.getSequence(), alert.getItemId(), alert.getName(),
+                    alert.getStock(), alert.getThreshold(), alert.getRaisedAt()));
+        }
+        return new LowStockAlertsResponse(alerts.getCursor(), alerts.isMissed(), entries);
+    }
+    
+    @Override
+    public OrderPageResponse getOrdersByItem(UUID itemId, int after, int limit) {
+        checkOrderPage(after, limit);
+        return toOrderPageResponse(orderRepository.findIdsByItem(itemId, after, limit));
+    }
+    
+    @Override
+    public OrderPageResponse getOrdersByCoupon(String couponCode, int after, int limit) {
+        if (couponCode == null || couponCode.isBlank()) {
+            throw new IllegalArgumentException("Coupon code is required");
+        }
+        checkOrderPage(after, limit);
+        return toOrderPageResponse(orderRepository.findIdsByCoupon(couponCode, after, limit));
+    }
+    
+    @Override
+    public CouponListResponse getAllCoupons(int after, Instant since, int limit) {
+        CouponHistory.Page page = getCouponPage(after, since, limit);
+        List<String> coupons = new ArrayList<>(page.getEntries().size());
+        for (CouponHistory.Entry entry : page.getEntries()) {
+            coupons.add(entry.getCode());
+        }
+        return new CouponListResponse(coupons, page.getTotal(), page.getNext());
+    }
+    
+    @Override
+    public CouponHistoryResponse getCouponHistory(int after, Instant since, int limit) {
+        CouponHistory.Page page = getCouponPage(after, since, limit);
+        List<CouponHistoryEntryResponse> coupons = new ArrayList<>(page.getEntries().size());
+        int position = page.getFirst();
+        for (CouponHistory.Entry entry : page.getEntries()) {
+            coupons.add(new CouponHistoryEntryResponse(
+                    ++position,
+                    entry.getCode(),
+                    entry.getGeneratedAtOrderNumber(),
+                    entry.getCreatedAt(),
+                    entry.getUsedAt(),
+                    entry.getRedeemingUserId(),
+                    entry.getRedeemingOrderId()
+            ));
+        }
+        return new CouponHistoryResponse(page.getTotal(), page.getNext(), coupons);
+    }
+    
+    @Override
+    public CouponStatsResponse getCouponStats() {
+        CouponRedemptionStats stats = couponRepository.redemptionStats();
+        QuantileHistogram timeToRedeem = stats.getTimeToRedeem();
+        return new CouponStatsResponse(
+                QuantileHistogram.RELATIVE_ACCURACY,
+                couponRepository.getGeneratedCount(),
+                timeToRedeem.getCount(),
+                stats.getAttempts(CouponValidationResult.VALID),
+                stats.getAttempts(CouponValidationResult.INVALID_CODE),
+                stats.getAttempts(CouponValidationResult.ALREADY_USED),
+                stats.getAttempts(CouponValidationResult.NO_ACTIVE_COUPON),
+                stats.getAttempts(CouponValidationResult.EXPIRED),
+                stats.getAttempts(CouponValidationResult.QUOTA_EXHAUSTED),
+                stats.getAttempts(CouponValidationResult.USER_LIMIT_REACHED),
+                toDistributionResponse(timeToRedeem, 0, false),
+                toDistributionResponse(stats.getLostBy(), 0, false)
+        );
+    }
+    
+    @Override
+    public CouponRedemptionResponse getCouponRedemption(String couponCode) {
+        if (couponCode == null || couponCode.isBlank()) {
+            throw new IllegalArgumentException("Coupon code is required");
+        }
+        return couponRepository.findHistory(couponCode)
+                .map(entry -> {
+                    QuantileHistogram race = couponRepository.redemptionStats().getRace(couponCode);
+                    return new CouponRedemptionResponse(
+                            entry.getCode(),
+                            entry.getGeneratedAtOrderNumber(),
+                            entry.getCreatedAt(),
+                            entry.getUsedAt(),
+                            entry.getTimeToRedeemMillis(),
+                            entry.getRedeemingUserId(),
+                            entry.getRedeemingOrderId(),
+                            entry.getRaceLosses(),
+                            entry.getWrongCodeAttempts(),
+                            race == null ? null : toDistributionResponse(race, 0, false)
+                    );
+                })
+                .orElse(null);
+    }
+    
+    @Override
+    public PromotionResponse createPromotion(CreatePromotionRequest request) {
+        PromotionCode created = couponRepository.createPromotion(new PromotionCode(
+                request.getCode(),
+                request.getCampaign(),
+                request.getQuota(),
+                request.getPerUserLimit(),
+                request.getExpiresAt(),
+                null,
+                0
+        ));
+        return toPromotionResponse(created);
+    }
+    
+    @Override
+    public PromotionResponse getPromotion(String code) {
+        if (code == null || code.isBlank()) {
+            throw new IllegalArgumentException("Promotion code is required");
+        }
+        return couponRepository.findPromotion(code)
+                .map(this::toPromotionResponse)
+                .orElse(null);
     }
     
     @Override
@@ -68,9 +432,189 @@ public class AdminServiceImpl implements AdminService {
         return toCouponResponse(coupon);
     }
     
+    @Override
+    public OrderExport prepareOrderExport(String format, Instant from, Instant to, boolean gzip, boolean partial) {
+        OrderExportWriter.Format exportFormat = OrderExportWriter.Format.parse(format);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        OrderExport export = new OrderExport(orderRepository.snapshot(), exportFormat, from, to, gzip);
+        if (!export.isComplete() && !partial) {
+            throw new IllegalArgumentException("Orders created before " + export.getCompactedBefore()
+                    + " were compacted and can no longer be exported: set 'from' to that instant or later,"
+                    + " or pass partial=true");
+        }
+        return export;
+    }
+    
+    @Override
+    public List<ChangeSubscriberResponse> getChangeSubscribers() {
+        return changeEventBus.getSubscriptions().stream()
+                .map(s -> new ChangeSubscriberResponse(
+                        s.getName(),
+                        s.getCursor(),
+                        s.getLag(),
+                        s.getDropped(),
+                        s.getDelivered(),
+                        s.getErrors()
+                ))
+                .toList();
+    }
+    
+    @Override
+    public PersistenceStatsResponse getPersistenceStats() {
+        return writeBehindStore.getStats();
+    }
+    
+    @Override
+    public ReplicationStatusResponse getReplicationStatus() {
+        return replicationManager.getStatus();
+    }
+    
+    private OrderQuantilesResponse toQuantilesResponse(String resolution, Instant from, Instant to,
+                                                       OrderDistribution.Histograms histograms, boolean histogram) {
+        return new OrderQuantilesResponse(
+                resolution,
+                from,
+                to,
+                QuantileHistogram.RELATIVE_ACCURACY,
+                toDistributionResponse(histograms.getOrderValue(), 2, histogram),   // cents
+                toDistributionResponse(histograms.getItemsPerOrder(), 0, histogram)
+        );
+    }
+    
+    private DistributionResponse toDistributionResponse(QuantileHistogram values, int scale, boolean histogram) {
+        return new DistributionResponse(
+                values.getCount(),
+                BigDecimal.valueOf(values.getMin(), scale),
+                BigDecimal.valueOf(values.getMax(), scale),
+                BigDecimal.valueOf(values.quantile(0.50), scale),
+                BigDecimal.valueOf(values.quantile(0.90), scale),
+                BigDecimal.valueOf(values.quantile(0.99), scale),
+                histogram ? new HistogramResponse(
+                        QuantileHistogram.RELATIVE_ACCURACY,
+                        values.getZeroCount(),
+                        values.getMin(),
+                        values.getMax(),
+                        values.getBuckets()
+                ) : null
+        );
+    }
+    
+    /**
+     * Rebuild a histogram sent by another node.
+     */
+    private QuantileHistogram toHistogram(DistributionResponse distribution) {
+        if (distribution == null || distribution.getHistogram() == null) {
+            throw new IllegalArgumentException("Every part needs its histograms (request them with histogram=true)");
+        }
+        HistogramResponse histogram = distribution.getHistogram();
+        if (histogram.getRelativeAccuracy() != QuantileHistogram.RELATIVE_ACCURACY) {
+            throw new IllegalArgumentException("Cannot merge histograms with relative accuracy "
+                    + histogram.getRelativeAccuracy() + " (expected " + QuantileHistogram.RELATIVE_ACCURACY + ")");
+        }
+        return QuantileHistogram.fromBuckets(histogram.getZeroCount(), histogram.getBuckets(),
+                histogram.getMin(), histogram.getMax());
+    }
+    
+    private DistinctUsersResponse toDistinctUsersResponse(Instant from, Instant to, DistinctUsers.Sketches sketches) {
+        return new DistinctUsersResponse(
+                from,
+                to,
+                HyperLogLog.STANDARD_ERROR,
+                toDistinctCountResponse(sketches.getBuyers()),
+                toDistinctCountResponse(sketches.getCouponRedeemers()),
+                toDistinctCountResponse(sketches.getCartCreators())
+        );
+    }
+    
+    private DistinctCountResponse toDistinctCountResponse(HyperLogLog sketch) {
+        long estimate = sketch.estimate();
+        long margin = Math.round(2 * HyperLogLog.STANDARD_ERROR * estimate);
+        return new DistinctCountResponse(estimate, Math.max(0, estimate - margin), estimate + margin);
+    }
+    
+    private void checkLowStockLimit(int limit) {
+        if (limit < 1 || limit > MAX_LOW_STOCK_ITEMS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LOW_STOCK_ITEMS);
+        }
+    }
+    
+    private void checkOrderPage(int after, int limit) {
+        if (after < 0) {
+            throw new IllegalArgumentException("after must not be negative");
+        }
+        if (limit < 1 || limit > MAX_ORDER_PAGE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_ORDER_PAGE);
+        }
+    }
+    
+    private CouponHistory.Page getCouponPage(int after, Instant since, int limit) {
+        if (after < 0) {
+            throw new IllegalArgumentException("after must not be negative");
+        }
+        if (limit < 1 || limit > MAX_COUPON_PAGE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_COUPON_PAGE);
+        }
+        return couponRepository.getHistory(after, since, limit);
+    }
+    
     /**
-     * Convert Coupon entity to CouponResponse DTO.
+     * Resolve a page of order IDs. Orders evicted by compaction have no body left and are skipped.
      */
+    private OrderPageResponse toOrderPageResponse(OrderLookupIndex.Page page) {
+        List<OrderResponse> orders = new ArrayList<>(page.getOrderIds().size());
+        for (UUID orderId : page.getOrderIds()) {
+            orderRepository.findById(orderId).ifPresent(order -> orders.add(toOrderResponse(order)));
+        }
+        return new OrderPageResponse(page.getTotal(), page.getNext(), orders);
+    }
+    
+    /**
+     * Convert Order entity to OrderResponse DTO (line stock is the current stock, as in order history).
+     */
+    private OrderResponse toOrderResponse(Order order) {
+        List<UUID> itemIds = new ArrayList<>(order.getItems().size());
+        for (CartItem line : order.getItems()) {
+            itemIds.add(line.getItemId());
+        }
+        List<Item> items = itemRepository.findAllById(itemIds);
+        List<CartItemResponse> lines = new ArrayList<>(itemIds.size());
+        for (int i = 0; i < itemIds.size(); i++) {
+            CartItem line = order.getItems().get(i);
+            Item item = items.get(i);
+            lines.add(new CartItemResponse(line.getItemId(), line.getItemName(), line.getPrice(),
+                    line.getQuantity(), line.getSubtotal(), item != null ? item.getStock() : 0));
+        }
+        return new OrderResponse(
+                order.getOrderId(),
+                order.getUserId(),
+                lines,
+                order.getTotalAmount(),
+                order.getDiscountAmount(),
+                order.getCouponCode(),
+                order.getPaymentStatus().name(),
+                order.getCreatedAt()
+        );
+    }
+    
+    /**
+     * Convert a promotion code's current state to a PromotionResponse DTO.
+     */
+    private PromotionResponse toPromotionResponse(PromotionCode promotion) {
+        return new PromotionResponse(
+                promotion.getCode(),
+                promotion.getCampaign(),
+                promotion.getQuota(),
+                promotion.getPerUserLimit(),
+                promotion.getExpiresAt(),
+                promotion.getCreatedAt(),
+                promotion.getRedeemed(),
+                promotion.getQuota() == 0 ? null : Math.max(0, promotion.getQuota() - promotion.getRedeemed()),
+                promotion.getExpiresAt() != null && !Instant.now().isBefore(promotion.getExpiresAt())
+        );
+    }
+    
     private CouponResponse toCouponResponse(Coupon coupon) {
         return new CouponResponse(
                 coupon.getCode(),
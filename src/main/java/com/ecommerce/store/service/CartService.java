@@ -1,7 +1,10 @@
 package com.ecommerce.store.service;
 
+import com.ecommerce.store.dto.BulkCartResponse;
+import com.ecommerce.store.dto.CartOperation;
 import com.ecommerce.store.dto.CartResponse;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -39,7 +42,19 @@ public interface CartService {
     CartResponse updateItemQuantity(String userId, UUID itemId, int quantity);
     
     /**
-     * Get user's cart.
+     * Apply several add / update / remove operations under one cart lock,
+     * recalculating and saving the cart once.
+     * 
+     * @param userId User identifier
+     * @param operations Operations, applied in order
+     * @param strict true = any failing operation rejects the whole batch;
+     *               false = failing operations are skipped and reported
+     * @return Updated cart, number of applied operations and per-operation errors
+     */
+    BulkCartResponse applyOperations(String userId, List<CartOperation> operations, boolean strict);
+    
+    /**
+     * Get user's cart. A user without a cart gets an empty one; none is created.
      * 
      * @param userId User identifier
      * @return Cart with items and total
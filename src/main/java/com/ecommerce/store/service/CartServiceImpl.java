@@ -1,6 +1,9 @@
 package com.ecommerce.store.service;
 
+import com.ecommerce.store.dto.BulkCartResponse;
 import com.ecommerce.store.dto.CartItemResponse;
+import com.ecommerce.store.dto.CartOperation;
+import com.ecommerce.store.dto.CartOperationError;
 import com.ecommerce.store.dto.CartResponse;
 import com.ecommerce.store.model.Cart;
 import com.ecommerce.store.model.CartItem;
@@ -11,11 +14,15 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 /**
  * Service implementation for Cart operations.
+ * 
+ * Concurrency: every change to a cart happens while holding the cart's monitor
+ * (the user's cart lock), so concurrent requests for one user cannot interleave.
  */
 @Service
 @RequiredArgsConstructor
@@ -26,48 +33,23 @@ public class CartServiceImpl implements CartService {
     
     @Override
     public CartResponse addItemToCart(String userId, UUID itemId, int quantity) {
-        if (quantity <= 0) {
-            throw new IllegalArgumentException("Quantity must be positive");
-        }
-        
-        // Verify item exists
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new IllegalArgumentException("Item not found: " + itemId));
-        
-        // Check stock availability
-        if (item.isOutOfStock()) {
-            throw new IllegalArgumentException("Item is out of stock: " + itemId);
-        }
+        // Verify item exists and is in stock
+        Item item = findAddableItem(itemId, quantity);
         
         // Get or create cart
         Cart cart = cartRepository.getOrCreate(userId);
         
-        // Check if item already in cart
-        CartItem existingItem = cart.getItems().stream()
-                .filter(ci -> ci.getItemId().equals(itemId))
-                .findFirst()
-                .orElse(null);
-        
-        if (existingItem != null) {
-            // Update quantity of existing item
-            existingItem.setQuantity(existingItem.getQuantity() + quantity);
-        } else {
-            // Add new item to cart (snapshot pattern)
-            CartItem newItem = new CartItem();
-            newItem.setItemId(item.getItemId());
-            newItem.setItemName(item.getName());
-            newItem.setPrice(item.getPrice());
-            newItem.setQuantity(quantity);
-            cart.getItems().add(newItem);
+        synchronized (cart) {
+            addLine(cart.getItems(), item, quantity);
+            
+            // Recalculate total
+            cart.setTotal(calculateTotal(cart.getItems()));
+            
+            // Save cart
+            cartRepository.save(cart);
+            
+            return toCartResponse(cart);
         }
-        
-        // Recalculate total
-        cart.setTotal(calculateTotal(cart));
-        
-        // Save cart
-        cartRepository.save(cart);
-        
-        return toCartResponse(cart);
     }
     
     @Override
@@ -75,20 +57,17 @@ public class CartServiceImpl implements CartService {
         Cart cart = cartRepository.findByUserId(userId)
                 .orElseThrow(() -> new IllegalArgumentException("Cart not found for user: " + userId));
         
-        // Remove item
-        boolean removed = cart.getItems().removeIf(ci -> ci.getItemId().equals(itemId));
-        
-        if (!removed) {
-            throw new IllegalArgumentException("Item not found in cart: " + itemId);
+        synchronized (cart) {
+            removeLine(cart.getItems(), itemId);
+            
+            // Recalculate total
+            cart.setTotal(calculateTotal(cart.getItems()));
+            
+            // Save cart
+            cartRepository.save(cart);
+            
+            return toCartResponse(cart);
         }
-        
-        // Recalculate total
-        cart.setTotal(calculateTotal(cart));
-        
-        // Save cart
-        cartRepository.save(cart);
-        
-        return toCartResponse(cart);
     }
     
     @Override
@@ -100,27 +79,57 @@ public class CartServiceImpl implements CartService {
         Cart cart = cartRepository.findByUserId(userId)
                 .orElseThrow(() -> new IllegalArgumentException("Cart not found for user: " + userId));
         
-        // Find and update item
-        CartItem cartItem = cart.getItems().stream()
-                .filter(ci -> ci.getItemId().equals(itemId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Item not found in cart: " + itemId));
-        
-        cartItem.setQuantity(quantity);
-        
-        // Recalculate total
-        cart.setTotal(calculateTotal(cart));
-        
-        // Save cart
-        cartRepository.save(cart);
+        synchronized (cart) {
+            updateLine(cart.getItems(), itemId, quantity);
+            
+            // Recalculate total
+            cart.setTotal(calculateTotal(cart.getItems()));
+            
+            // Save cart
+            cartRepository.save(cart);
+            
+            return toCartResponse(cart);
+        }
+    }
+    
+    @Override
+    public BulkCartResponse applyOperations(String userId, List<CartOperation> operations, boolean strict) {
+        // Look the cart up first: a new user's cart is only created once an operation applies
+        Cart cart = cartRepository.findByUserId(userId).orElse(null);
+        if (cart == null) {
+            List<CartItem> lines = new ArrayList<>();
+            List<CartOperationError> errors = applyAll(lines, operations, strict);
+            if (errors.size() == operations.size()) {
+                return new BulkCartResponse(toCartResponse(new Cart(userId)), 0, errors);
+            }
+            cart = cartRepository.getOrCreate(userId);
+            synchronized (cart) {
+                if (cart.getItems().isEmpty()) {
+                    // Still the empty cart the batch was applied to
+                    return saveBatch(cart, lines, operations.size(), errors);
+                }
+            }
+            // Another request filled the new cart first: apply the batch to its lines
+        }
         
-        return toCartResponse(cart);
+        synchronized (cart) {
+            // Apply to a working copy, so a rejected strict batch leaves the cart untouched
+            List<CartItem> lines = new ArrayList<>(cart.getItems());
+            List<CartOperationError> errors = applyAll(lines, operations, strict);
+            return saveBatch(cart, lines, operations.size(), errors);
+        }
     }
     
     @Override
     public CartResponse getCart(String userId) {
-        Cart cart = cartRepository.getOrCreate(userId);
-        return toCartResponse(cart);
+        // Reading never creates a cart (a follower must not, and an empty one needs no storage)
+        Cart cart = cartRepository.findByUserId(userId).orElse(null);
+        if (cart == null) {
+            return toCartResponse(new Cart(userId));
+        }
+        synchronized (cart) {
+            return toCartResponse(cart);
+        }
     }
     
     @Override
@@ -128,11 +137,127 @@ public class CartServiceImpl implements CartService {
         cartRepository.delete(userId);
     }
     
+    // ═══════════════════════════════════════════════════════════════════════
+    // Line operations (caller holds the cart lock)
+    // ═══════════════════════════════════════════════════════════════════════
+    
+    /**
+     * Apply a batch to working lines, collecting failed operations.
+     * In strict mode, any failure rejects the whole batch (IllegalArgumentException).
+     */
+    private List<CartOperationError> applyAll(List<CartItem> lines, List<CartOperation> operations, boolean strict) {
+        List<CartOperationError> errors = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            CartOperation operation = operations.get(i);
+            try {
+                apply(lines, operation);
+            } catch (IllegalArgumentException e) {
+                errors.add(new CartOperationError(i, operation.getType(), operation.getItemId(), e.getMessage()));
+            }
+        }
+        
+        if (strict && !errors.isEmpty()) {
+            CartOperationError first = errors.get(0);
+            throw new IllegalArgumentException("Bulk cart update rejected, no changes applied. Operation "
+                    + first.getIndex() + " failed: " + first.getMessage());
+        }
+        return errors;
+    }
+    
+    /**
+     * Store a batch's lines in the cart: recalculate the total and save once for the whole batch.
+     */
+    private BulkCartResponse saveBatch(Cart cart, List<CartItem> lines, int operations,
+                                       List<CartOperationError> errors) {
+        int applied = operations - errors.size();
+        if (applied > 0) {
+            cart.setItems(lines);
+            cart.setTotal(calculateTotal(lines));
+            cartRepository.save(cart);
+        }
+        return new BulkCartResponse(toCartResponse(cart), applied, errors);
+    }
+    
+    private void apply(List<CartItem> lines, CartOperation operation) {
+        int quantity = operation.getQuantity() != null ? operation.getQuantity() : 0;
+        switch (operation.getType()) {
+            case ADD -> addLine(lines, findAddableItem(operation.getItemId(), quantity), quantity);
+            case UPDATE -> {
+                if (quantity <= 0) {
+                    throw new IllegalArgumentException("Quantity must be positive");
+                }
+                updateLine(lines, operation.getItemId(), quantity);
+            }
+            case REMOVE -> removeLine(lines, operation.getItemId());
+        }
+    }
+    
+    /**
+     * Item that may be added to a cart: positive quantity, exists, in stock.
+     */
+    private Item findAddableItem(UUID itemId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        
+        // Verify item exists
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new IllegalArgumentException("Item not found: " + itemId));
+        
+        // Check stock availability
+        if (item.isOutOfStock()) {
+            throw new IllegalArgumentException("Item is out of stock: " + itemId);
+        }
+        return item;
+    }
+    
+    private void addLine(List<CartItem> lines, Item item, int quantity) {
+        // Check if item already in cart
+        int index = indexOf(lines, item.getItemId());
+        
+        if (index >= 0) {
+            // Update quantity of existing item (lines are immutable: replace it)
+            CartItem existingItem = lines.get(index);
+            lines.set(index, existingItem.withQuantity(existingItem.getQuantity() + quantity));
+        } else {
+            // Add new item to cart (snapshot pattern)
+            lines.add(CartItem.snapshot(item, quantity));
+        }
+    }
+    
+    private void updateLine(List<CartItem> lines, UUID itemId, int quantity) {
+        // Find and update item (lines are immutable: replace it)
+        int index = indexOf(lines, itemId);
+        if (index < 0) {
+            throw new IllegalArgumentException("Item not found in cart: " + itemId);
+        }
+        lines.set(index, lines.get(index).withQuantity(quantity));
+    }
+    
+    private void removeLine(List<CartItem> lines, UUID itemId) {
+        boolean removed = lines.removeIf(ci -> ci.getItemId().equals(itemId));
+        if (!removed) {
+            throw new IllegalArgumentException("Item not found in cart: " + itemId);
+        }
+    }
+    
+    /**
+     * Position of the item's line in the cart, or -1.
+     */
+    private int indexOf(List<CartItem> lines, UUID itemId) {
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).getItemId().equals(itemId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
     /**
      * Calculate total from cart items.
      */
-    private BigDecimal calculateTotal(Cart cart) {
-        return cart.getItems().stream()
+    private BigDecimal calculateTotal(List<CartItem> lines) {
+        return lines.stream()
                 .map(CartItem::getSubtotal)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
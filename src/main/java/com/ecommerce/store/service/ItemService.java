@@ -1,6 +1,12 @@
 package com.ecommerce.store.service;
 
+import com.ecommerce.store.dto.ItemBrowseRequest;
+import com.ecommerce.store.dto.ItemChangesResponse;
+import com.ecommerce.store.dto.ItemLookupResponse;
+import com.ecommerce.store.dto.ItemPageResponse;
 import com.ecommerce.store.dto.ItemResponse;
+import com.ecommerce.store.dto.ItemSearchResponse;
+import com.ecommerce.store.dto.SuggestionResponse;
 
 import java.util.List;
 import java.util.UUID;
@@ -10,6 +16,21 @@ import java.util.UUID;
  */
 public interface ItemService {
     
+    /**
+     * Maximum number of IDs per batch lookup.
+     */
+    int MAX_BATCH_SIZE = 1000;
+    
+    /**
+     * Maximum page size when browsing the catalog.
+     */
+    int MAX_PAGE_SIZE = 1000;
+    
+    /**
+     * Maximum number of changed items per delta-sync response.
+     */
+    int MAX_CHANGES = 10_000;
+    
     /**
      * Get all items in the catalog.
      * 
@@ -17,6 +38,29 @@ public interface ItemService {
      */
     List<ItemResponse> getAllItems();
     
+    /**
+     * Current catalog version. Read it before getAllItems() to know where delta sync starts.
+     */
+    long getCatalogVersion();
+    
+    /**
+     * Get the items created, changed or deleted since a catalog version.
+     * 
+     * @param since Catalog version the client is at
+     * @param limit Maximum changed items (1 to MAX_CHANGES)
+     * @return Changed items in their current state, deleted item IDs and the new version,
+     *         or a resync signal when the change log no longer reaches back to `since`
+     */
+    ItemChangesResponse getItemChanges(long since, int limit);
+    
+    /**
+     * Get one page of the catalog, filtered and sorted.
+     * 
+     * @param request Price range, in-stock filter, sort order, cursor and page size (all optional)
+     * @return Matching items in sort order, with the cursor of the next page if there is one
+     */
+    ItemPageResponse browseItems(ItemBrowseRequest request);
+    
     /**
      * Get item by ID.
      * 
@@ -24,4 +68,31 @@ public interface ItemService {
      * @return Item details
      */
     ItemResponse getItemById(UUID itemId);
+    
+    /**
+     * Get several items by ID in one call.
+     * 
+     * @param itemIds Item identifiers (at most MAX_BATCH_SIZE, duplicates allowed)
+     * @return One entry per requested ID, in request order, marked found or not found
+     */
+    List<ItemLookupResponse> getItemsByIds(List<UUID> itemIds);
+    
+    /**
+     * Search the catalog by item name.
+     * 
+     * @param query Search words (all must match)
+     * @param page Zero-based page number
+     * @param size Page size (1-100)
+     * @return Ranked page of matching items with the total match count
+     */
+    ItemSearchResponse searchItems(String query, int page, int size);
+    
+    /**
+     * Autocomplete suggestions for a partially typed query.
+     * 
+     * @param prefix Text typed so far
+     * @param limit Maximum suggestions (1-50)
+     * @return Suggestions, most common first
+     */
+    List<SuggestionResponse> suggest(String prefix, int limit);
 }
@@ -1,12 +1,24 @@
 package com.ecommerce.store.service;
 
+import com.ecommerce.store.dto.ItemBrowseRequest;
+import com.ecommerce.store.dto.ItemChangesResponse;
+import com.ecommerce.store.dto.ItemLookupResponse;
+import com.ecommerce.store.dto.ItemPageResponse;
 import com.ecommerce.store.dto.ItemResponse;
+import com.ecommerce.store.dto.ItemSearchResponse;
+import com.ecommerce.store.dto.SuggestionResponse;
 import com.ecommerce.store.model.Item;
+import com.ecommerce.store.repository.CatalogChangeLog;
 import com.ecommerce.store.repository.IItemRepository;
+import com.ecommerce.store.repository.ItemBrowseIndex;
+import com.ecommerce.store.repository.ItemSearchIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 /**
@@ -25,6 +37,62 @@ public class ItemServiceImpl implements ItemService {
                 .toList();
     }
     
+    @Override
+    public long getCatalogVersion() {
+        return itemRepository.getCatalogVersion();
+    }
+    
+    @Override
+    public ItemChangesResponse getItemChanges(long since, int limit) {
+        if (limit < 1 || limit > MAX_CHANGES) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_CHANGES);
+        }
+        
+        CatalogChangeLog.Delta delta = itemRepository.changesSince(since, limit);
+        List<UUID> itemIds = delta.getItemIds();
+        List<Item> items = itemIds.isEmpty() ? List.of() : itemRepository.findAllById(itemIds);
+        List<ItemResponse> changed = new ArrayList<>();
+        List<UUID> deleted = new ArrayList<>();
+        for (int i = 0; i < itemIds.size(); i++) {
+            if (items.get(i) != null) {
+                changed.add(toItemResponse(items.get(i)));
+            } else {
+                deleted.add(itemIds.get(i));
+            }
+        }
+        return new ItemChangesResponse(delta.getVersion(), delta.isResyncRequired(), delta.isMore(),
+                changed, deleted);
+    }
+    
+    @Override
+    public ItemPageResponse browseItems(ItemBrowseRequest request) {
+        BigDecimal minPrice = request.getMinPrice();
+        BigDecimal maxPrice = request.getMaxPrice();
+        if ((minPrice != null && minPrice.signum() < 0) || (maxPrice != null && maxPrice.signum() < 0)) {
+            throw new IllegalArgumentException("Price bounds must not be negative");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        Integer limit = request.getLimit();
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        ItemBrowseIndex.Page page = itemRepository.browse(
+                parseSort(request.getSort()),
+                parseDescending(request.getOrder()),
+                Boolean.TRUE.equals(request.getInStock()),
+                minPrice,
+                maxPrice,
+                request.getAfter(),
+                limit != null ? limit : Integer.MAX_VALUE);
+        List<ItemResponse> items = page.getItems().stream()
+                .map(this::toItemResponse)
+                .toList();
+        return new ItemPageResponse(items, page.getNextCursor());
+    }
+    
     @Override
     public ItemResponse getItemById(UUID itemId) {
         Item item = itemRepository.findById(itemId)
@@ -32,6 +100,82 @@ public class ItemServiceImpl implements ItemService {
         return toItemResponse(item);
     }
     
+    @Override
+    public List<ItemLookupResponse> getItemsByIds(List<UUID> itemIds) {
+        if (itemIds == null || itemIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one item ID is required");
+        }
+        if (itemIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " item IDs per request");
+        }
+        
+        List<Item> items = itemRepository.findAllById(itemIds);
+        List<ItemLookupResponse> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            results.add(new ItemLookupResponse(itemIds.get(i), item != null,
+                    item != null ? toItemResponse(item) : null));
+        }
+        return results;
+    }
+    
+    @Override
+    public ItemSearchResponse searchItems(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
+        }
+        if ((long) (page + 1) * size > ItemSearchIndex.MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("Only the first " + ItemSearchIndex.MAX_RESULT_WINDOW
+                    + " results can be paged through. Please refine the query.");
+        }
+        
+        ItemSearchIndex.SearchHits hits = itemRepository.search(query, page * size, size);
+        List<ItemResponse> items = hits.getItems().stream()
+                .map(this::toItemResponse)
+                .toList();
+        return new ItemSearchResponse(query, page, size, hits.getTotal(), items);
+    }
+    
+    @Override
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Prefix is required");
+        }
+        if (limit < 1 || limit > 50) {
+            throw new IllegalArgumentException("Limit must be between 1 and 50");
+        }
+        
+        return itemRepository.suggest(prefix, limit).stream()
+                .map(s -> new SuggestionResponse(s.getText(), s.getCount()))
+                .toList();
+    }
+    
+    private static ItemBrowseIndex.Sort parseSort(String sort) {
+        if (sort == null || sort.equalsIgnoreCase("name")) {
+            return ItemBrowseIndex.Sort.NAME;
+        }
+        if (sort.equalsIgnoreCase("price")) {
+            return ItemBrowseIndex.Sort.PRICE;
+        }
+        throw new IllegalArgumentException("Sort must be 'price' or 'name'");
+    }
+    
+    private static boolean parseDescending(String order) {
+        if (order == null || order.toLowerCase(Locale.ROOT).equals("asc")) {
+            return false;
+        }
+        if (order.toLowerCase(Locale.ROOT).equals("desc")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Order must be 'asc' or 'desc'");
+    }
+    
     /**
      * Convert Item entity to ItemResponse DTO.
      */
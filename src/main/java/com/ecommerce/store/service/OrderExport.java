@@ -0,0 +1,109 @@
+package com.ecommerce.store.service;
+
+import com.ecommerce.store.codec.OrderExportWriter;
+import com.ecommerce.store.model.Order;
+import com.ecommerce.store.repository.StoreSnapshot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A validated order export, pinned to one store version, ready to be streamed.
+ * 
+ * Obtained from AdminService.prepareOrderExport() before any output is written,
+ * so bad parameters still produce a normal error response. writeTo() then walks
+ * the pinned snapshot in commit order without copying orders.
+ * 
+ * Only retained orders can be exported: once compaction evicted order bodies,
+ * a range starting before getCompactedBefore() is incomplete (see isComplete()).
+ */
+public final class OrderExport {
+    
+    private final StoreSnapshot snapshot;
+    private final OrderExportWriter.Format format;
+    private final Instant from;
+    private final Instant to;
+    private final boolean gzip;
+    
+    public OrderExport(StoreSnapshot snapshot, OrderExportWriter.Format format, Instant from, Instant to, boolean gzip) {
+        this.snapshot = snapshot;
+        this.format = format;
+        this.from = from;
+        this.to = to;
+        this.gzip = gzip;
+    }
+    
+    public String getContentType() {
+        return gzip ? "application/gzip" : format.getContentType();
+    }
+    
+    public String getFilename() {
+        return "orders-" + snapshot.getVersion() + "." + format.getExtension() + (gzip ? ".gz" : "");
+    }
+    
+    /**
+     * Store version the export is pinned to.
+     */
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
+    
+    /**
+     * Orders created before this instant may have been evicted by compaction and are not exported;
+     * null if no order body was evicted at this store version.
+     */
+    public Instant getCompactedBefore() {
+        return snapshot.getFirstOrderIndex() > 0 ? snapshot.getRollup().getCompactedBefore() : null;
+    }
+    
+    /**
+     * True if every order created in [from, to) is retained, so the export is complete.
+     */
+    public boolean isComplete() {
+        Instant compactedBefore = getCompactedBefore();
+        return compactedBefore == null || (from != null && !from.isBefore(compactedBefore));
+    }
+    
+    /**
+     * Stream every retained order created in [from, to) to the output.
+     * Blocks whenever the output does (e.g. a slow client socket).
+     * 
+     * @return number of orders written
+     */
+    public long writeTo(OutputStream output) throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(output, OrderExportWriter.BUFFER_SIZE) : null;
+        OrderExportWriter writer = new OrderExportWriter(gzip ? compressed : output, format);
+        try {
+            snapshot.forEachOrder(order -> {
+                if (matches(order)) {
+                    try {
+                        writer.write(order);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        output.flush();
+        return writer.getWritten();
+    }
+    
+    private boolean matches(Order order) {
+        Instant createdAt = order.getCreatedAt();
+        if (from == null && to == null) {
+            return true;
+        }
+        return createdAt != null
+                && (from == null || !createdAt.isBefore(from))
+                && (to == null || createdAt.isBefore(to));
+    }
+}
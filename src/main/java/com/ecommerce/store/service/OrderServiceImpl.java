@@ -14,6 +14,7 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -40,12 +41,20 @@ public class OrderServiceImpl implements OrderService {
         Cart cart = cartRepository.findByUserId(userId)
                 .orElseThrow(() -> new IllegalArgumentException("Cart not found for user: " + userId));
         
-        if (cart.getItems().isEmpty()) {
+        // Snapshot the lines once, under the cart lock (see CartServiceImpl): the order's
+        // lines, its total and the stock decremented all come from this one snapshot,
+        // even if the cart is edited while checkout runs
+        List<CartItem> lines;
+        synchronized (cart) {
+            lines = List.copyOf(cart.getItems());
+        }
+        
+        if (lines.isEmpty()) {
             throw new IllegalArgumentException("Cannot checkout with empty cart");
         }
         
         // 2. Validate all items still exist and have sufficient stock
-        for (CartItem cartItem : cart.getItems()) {
+        for (CartItem cartItem : lines) {
             if (!itemRepository.exists(cartItem.getItemId())) {
                 throw new IllegalArgumentException("Item no longer available: " + cartItem.getItemId());
             }
@@ -58,18 +67,23 @@ public class OrderServiceImpl implements OrderService {
         }
         
         // 3. Calculate amounts
-        BigDecimal subtotal = cart.getTotal();
+        BigDecimal subtotal = lines.stream()
+                .map(CartItem::getSubtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
         BigDecimal discountAmount = BigDecimal.ZERO;
         String appliedCouponCode = null;
         
         // 4. Apply coupon if provided
         if (couponCode != null && !couponCode.trim().isEmpty()) {
-            CouponValidationResult validationResult = couponRepository.validateAndUse(couponCode);
+            CouponValidationResult validationResult = couponRepository.validateAndUse(couponCode, userId);
             if (validationResult != CouponValidationResult.VALID) {
                 String errorMessage = switch (validationResult) {
                     case NO_ACTIVE_COUPON -> "No active coupon available.";
                     case INVALID_CODE -> "Invalid coupon code: " + couponCode + ". Please check the active coupon code.";
                     case ALREADY_USED -> "Coupon code already used: " + couponCode;
+                    case EXPIRED -> "Coupon code expired: " + couponCode;
+                    case QUOTA_EXHAUSTED -> "Coupon code fully redeemed: " + couponCode;
+                    case USER_LIMIT_REACHED -> "Coupon code already used the maximum number of times: " + couponCode;
                     default -> "Invalid coupon code: " + couponCode;
                 };
                 throw new CouponValidationException(errorMessage);
@@ -87,7 +101,7 @@ public class OrderServiceImpl implements OrderService {
         // 5. Create order (snapshot of cart)
         Order order = new Order();
         order.setUserId(userId);
-        order.setItems(copyCartItems(cart.getItems()));
+        order.setItems(lines);
         order.setTotalAmount(totalAmount);
         order.setDiscountAmount(discountAmount);
         order.setCouponCode(appliedCouponCode);
@@ -97,7 +111,7 @@ public class OrderServiceImpl implements OrderService {
         int orderNumber = orderRepository.save(order);
         
         // 7. Decrease stock for all ordered items
-        for (CartItem cartItem : cart.getItems()) {
+        for (CartItem cartItem : lines) {
             itemRepository.decreaseStock(cartItem.getItemId(), cartItem.getQuantity());
         }
         
@@ -107,7 +121,7 @@ public class OrderServiceImpl implements OrderService {
         }
         
         // 8. Clear cart
-        cartRepository.delete(userId);
+        clearCheckedOutLines(userId, cart, lines);
         
         // 9. Return order response
         return toOrderResponse(order);
@@ -121,17 +135,25 @@ public class OrderServiceImpl implements OrderService {
     }
     
     /**
-     * Copy cart items to order items (deep copy for snapshot).
+     * Remove the checked-out lines from the cart (deleting it once empty).
+     * Lines are immutable (cart edits replace them), so the order shares the cart's
+     * line instances, and a line added or changed during checkout is a different
+     * instance: it stays in the cart instead of being lost.
      */
-    private List<CartItem> copyCartItems(List<CartItem> cartItems) {
-        return cartItems.stream()
-                .map(ci -> new CartItem(
-                        ci.getItemId(),
-                        ci.getItemName(),
-                        ci.getPrice(),
-                        ci.getQuantity()
-                ))
-                .toList();
+    private void clearCheckedOutLines(String userId, Cart cart, List<CartItem> checkedOut) {
+        synchronized (cart) {
+            List<CartItem> remaining = new ArrayList<>(cart.getItems());
+            remaining.removeIf(line -> checkedOut.stream().anyMatch(ordered -> ordered == line));
+            if (remaining.isEmpty()) {
+                cartRepository.delete(userId);
+            } else {
+                cart.setItems(remaining);
+                cart.setTotal(remaining.stream()
+                        .map(CartItem::getSubtotal)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add));
+                cartRepository.save(cart);
+            }
+        }
     }
     
     /**
@@ -0,0 +1,205 @@
+package com.ecommerce.store.cdc;
+
+import com.ecommerce.store.model.Cart;
+import com.ecommerce.store.model.Item;
+import com.ecommerce.store.model.Order;
+import com.ecommerce.store.repository.CartRepository;
+import com.ecommerce.store.repository.CouponRepository;
+import com.ecommerce.store.repository.DataStore;
+import com.ecommerce.store.repository.ItemRepository;
+import com.ecommerce.store.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ChangeEventBus Tests")
+class ChangeEventBusTest {
+
+    private DataStore dataStore;
+    private ChangeEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new DataStore();
+        bus = dataStore.changes;
+    }
+
+    @Test
+    @DisplayName("Should capture mutations from every repository in order")
+    void repositories_PublishChanges_InOrder() {
+        // Given
+        ChangeSubscription subscription = bus.subscribe("test", 100);
+        ItemRepository itemRepository = new ItemRepository(dataStore);
+        CartRepository cartRepository = new CartRepository(dataStore);
+        OrderRepository orderRepository = new OrderRepository(dataStore);
+        CouponRepository couponRepository = new CouponRepository(dataStore);
+
+        // When
+        Item item = itemRepository.save(new Item(null, "Laptop", new BigDecimal("999.99"), 10));
+        itemRepository.decreaseStock(item.getItemId(), 2);
+        cartRepository.getOrCreate("user123");
+        cartRepository.delete("user123");
+        Order order = new Order();
+        order.setTotalAmount(BigDecimal.TEN);
+        orderRepository.save(order);
+        couponRepository.generate(5);
+        couponRepository.validateAndUse("SAVE10-005");
+        itemRepository.delete(item.getItemId());
+
+        // Then
+        List<ChangeEvent> events = subscription.poll();
+        assertEquals(8, events.size());
+        assertEquals(ChangeEvent.Entity.ITEM, events.get(0).getEntity());
+        assertEquals(10, ((Item) events.get(0).getPayload()).getStock());
+        assertEquals(8, ((Item) events.get(1).getPayload()).getStock());
+        assertEquals(ChangeEvent.Entity.CART, events.get(2).getEntity());
+        assertEquals(ChangeEvent.Operation.DELETE, events.get(3).getOperation());
+        assertEquals(order.getOrderId(), events.get(4).getKey());
+        assertEquals("SAVE10-005", events.get(5).getKey());
+        assertEquals(ChangeEvent.Operation.DELETE, events.get(7).getOperation());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i, events.get(i).getSequence());
+        }
+        assertEquals(0, subscription.getLag());
+    }
+
+    @Test
+    @DisplayName("Should publish one item's concurrent stock changes in the order they were made")
+    void decreaseStock_ConcurrentCheckouts_EventsInWriteOrder() throws Exception {
+        // Given
+        ItemRepository itemRepository = new ItemRepository(dataStore);
+        Item item = itemRepository.save(new Item(null, "Laptop", new BigDecimal("999.99"), 4_000));
+        ChangeSubscription subscription = bus.subscribe("test", 10_000);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 500; i++) {
+                    itemRepository.decreaseStock(item.getItemId(), 1);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        List<ChangeEvent> events = subscription.poll();
+        assertEquals(4_000, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(4_000 - i - 1, ((Item) events.get(i).getPayload()).getStock());
+        }
+        assertEquals(0, item.getStock());
+    }
+
+    @Test
+    @DisplayName("Should publish copies so later in-place edits are not visible")
+    void publish_CartPayload_IsCopy() {
+        // Given
+        ChangeSubscription subscription = bus.subscribe("test", 10);
+        CartRepository cartRepository = new CartRepository(dataStore);
+        Cart cart = cartRepository.getOrCreate("user123");
+
+        // When
+        cart.setTotal(BigDecimal.ONE);
+        cartRepository.save(cart);
+        cart.setTotal(BigDecimal.TEN);
+
+        // Then
+        List<ChangeEvent> events = subscription.poll();
+        assertEquals(BigDecimal.ONE, ((Cart) events.get(1).getPayload()).getTotal());
+    }
+
+    @Test
+    @DisplayName("Should deliver in batches and track lag per subscriber")
+    void poll_Batches_TrackLag() {
+        // Given
+        ChangeSubscription fast = bus.subscribe("fast", 3);
+        ChangeSubscription slow = bus.subscribe("slow", 3);
+        for (int i = 0; i < 5; i++) {
+            bus.publish(ChangeEvent.Entity.ITEM, ChangeEvent.Operation.DELETE, i, null);
+        }
+
+        // When
+        List<ChangeEvent> first = fast.poll();
+        List<ChangeEvent> second = fast.poll();
+
+        // Then
+        assertEquals(3, first.size());
+        assertEquals(2, second.size());
+        assertEquals(0, fast.getLag());
+        assertEquals(5, slow.getLag());
+        assertEquals(5, fast.getDelivered());
+    }
+
+    @Test
+    @DisplayName("Should count drops when a subscriber falls a full ring behind")
+    void poll_Overrun_CountsDrops() {
+        // Given
+        ChangeEventBus smallBus = new ChangeEventBus(8);
+        ChangeSubscription subscription = smallBus.subscribe("slow", 100);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            smallBus.publish(ChangeEvent.Entity.ORDER, ChangeEvent.Operation.UPSERT, i, () -> "payload");
+        }
+        List<ChangeEvent> events = subscription.poll();
+
+        // Then
+        assertEquals(8, events.size());
+        assertEquals(12, subscription.getDropped());
+        assertEquals(12L, events.get(0).getSequence());
+        assertEquals(0, subscription.getLag());
+    }
+
+    @Test
+    @DisplayName("Should not build events when nobody is subscribed")
+    void publish_NoSubscribers_IsNoOp() {
+        // When
+        bus.publish(ChangeEvent.Entity.ITEM, ChangeEvent.Operation.UPSERT, UUID.randomUUID(),
+                () -> { throw new AssertionError("payload should not be built"); });
+
+        // Then
+        assertEquals(0, bus.getHeadSequence());
+    }
+
+    @Test
+    @DisplayName("Should push batches to a handler on a dispatcher thread")
+    void subscribe_WithHandler_PushesBatches() throws Exception {
+        // Given
+        List<ChangeEvent> received = new CopyOnWriteArrayList<>();
+        ChangeSubscription subscription = bus.subscribe("push", 16, received::addAll);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            bus.publish(ChangeEvent.Entity.COUPON, ChangeEvent.Operation.UPSERT, "C" + i, () -> null);
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (received.size() < 50 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        bus.unsubscribe(subscription);
+
+        // Then
+        assertEquals(50, received.size());
+        assertTrue(bus.getSubscriptions().isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.store.codec;
+
+import com.ecommerce.store.model.Cart;
+import com.ecommerce.store.model.CartItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CartTokenCodec Tests")
+class CartTokenCodecTest {
+
+    private static final byte[] SECRET = "test-secret-0123456789".getBytes(StandardCharsets.UTF_8);
+    private static final Instant NOW = Instant.parse("2025-12-28T10:00:00Z");
+
+    @Test
+    @DisplayName("Should round-trip user, item IDs and quantities in cart order")
+    void roundTrip_Cart_KeepsLines() {
+        // Given
+        UUID laptop = UUID.randomUUID();
+        UUID mouse = UUID.randomUUID();
+        Cart cart = new Cart("user123", new ArrayList<>(List.of(
+                new CartItem(laptop, "Laptop", new BigDecimal("999.99"), 1),
+                new CartItem(mouse, "Mouse", new BigDecimal("19.99"), 3))), BigDecimal.ZERO);
+        CartTokenCodec codec = codecAt(NOW);
+
+        // When
+        String token = codec.encode(cart);
+        CartTokenCodec.CartToken decoded = codec.decode(token);
+
+        // Then
+        assertEquals("user123", decoded.getUserId());
+        assertEquals(List.of(laptop, mouse), List.copyOf(decoded.getQuantities().keySet()));
+        assertEquals(3, decoded.getQuantities().get(mouse));
+        assertTrue(token.length() < 120, "token length " + token.length());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens signed with another secret or garbled")
+    void decode_WrongSecretOrGarbage_Throws() {
+        // Given
+        String token = codecAt(NOW).encode(new Cart("user123"));
+        CartTokenCodec other = new CartTokenCodec(
+                "other-secret-0123456789".getBytes(StandardCharsets.UTF_8), Duration.ofHours(1));
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> other.decode(token));
+        assertThrows(IllegalArgumentException.class, () -> codecAt(NOW).decode("not a token"));
+        assertThrows(IllegalArgumentException.class, () -> codecAt(NOW).decode("AAAA"));
+    }
+
+    @Test
+    @DisplayName("Should read expired tokens as no cart")
+    void decode_Expired_ReturnsNull() {
+        // Given
+        String token = codecAt(NOW).encode(new Cart("user123"));
+
+        // When / Then
+        assertNotNull(codecAt(NOW.plus(Duration.ofMinutes(59))).decode(token));
+        assertNull(codecAt(NOW.plus(Duration.ofMinutes(61))).decode(token));
+    }
+
+    private static CartTokenCodec codecAt(Instant now) {
+        return new CartTokenCodec(SECRET, Duration.ofHours(1), Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,123 @@
+package com.ecommerce.store.codec;
+
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Order;
+import com.ecommerce.store.model.PaymentStatus;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH throughput comparison of ModelCodec against Jackson JSON and Smile.
+ *
+ * Not a unit test (surefire skips it) - run main() from the IDE after mvn test-compile.
+ *
+ * Encoded sizes for the same batch are printed once at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelCodecBenchmark {
+
+    private static final String[] NAMES = {"Laptop", "Smartphone", "Wireless Headphones", "Smart Watch", "Blender"};
+
+    @Param({"1", "100"})
+    public int batchSize;
+
+    private List<Order> orders;
+    private ObjectMapper jsonMapper;
+    private ObjectMapper smileMapper;
+    private byte[] binaryBytes;
+    private byte[] jsonBytes;
+    private byte[] smileBytes;
+
+    @Setup
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+        orders = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+            orders.add(createOrder(random, i));
+        }
+        // Derived getters (subtotal, paymentComplete) have no setter, so ignore them on read
+        jsonMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        smileMapper = new ObjectMapper(new SmileFactory()).findAndRegisterModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        binaryBytes = ModelCodec.encodeAll(orders);
+        jsonBytes = jsonMapper.writeValueAsBytes(orders);
+        smileBytes = smileMapper.writeValueAsBytes(orders);
+        System.out.printf("%nbatch=%d sizes: binary=%d json=%d smile=%d bytes%n",
+                batchSize, binaryBytes.length, jsonBytes.length, smileBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return ModelCodec.encodeAll(orders);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws Exception {
+        return jsonMapper.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] encodeSmile() throws Exception {
+        return smileMapper.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public List<Object> decodeBinary() {
+        return ModelCodec.decodeAll(binaryBytes);
+    }
+
+    @Benchmark
+    public Order[] decodeJson() throws Exception {
+        return jsonMapper.readValue(jsonBytes, Order[].class);
+    }
+
+    @Benchmark
+    public Order[] decodeSmile() throws Exception {
+        return smileMapper.readValue(smileBytes, Order[].class);
+    }
+
+    private Order createOrder(Random random, int orderNumber) {
+        List<CartItem> items = new ArrayList<>();
+        int count = 1 + random.nextInt(5);
+        for (int i = 0; i < count; i++) {
+            items.add(new CartItem(UUID.randomUUID(), NAMES[random.nextInt(NAMES.length)],
+                    BigDecimal.valueOf(random.nextInt(100_000), 2), 1 + random.nextInt(5)));
+        }
+        Order order = new Order();
+        order.setOrderId(UUID.randomUUID());
+        order.setUserId("user" + random.nextInt(100));
+        order.setItems(items);
+        order.setTotalAmount(BigDecimal.valueOf(random.nextInt(1_000_000), 2));
+        order.setDiscountAmount(BigDecimal.ZERO);
+        order.setCouponCode(orderNumber % 5 == 0 ? String.format("SAVE10-%03d", orderNumber) : null);
+        order.setCreatedAt(Instant.now());
+        order.setPaymentStatus(PaymentStatus.PAID);
+        return order;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ModelCodecBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,159 @@
+package com.ecommerce.store.codec;
+
+import com.ecommerce.store.model.Cart;
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Item;
+import com.ecommerce.store.model.Order;
+import com.ecommerce.store.model.PaymentStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ModelCodec Tests")
+class ModelCodecTest {
+
+    private static final String[] NAMES = {"Laptop", "Smartphone", "Blender", "Air Fryer", "Café Crème ☕"};
+
+    @Test
+    @DisplayName("Should round-trip random orders")
+    void roundTrip_RandomOrders_AreEqual() {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            Order order = randomOrder(random);
+
+            Order decoded = ModelCodec.decode(ModelCodec.encode(order), Order.class);
+
+            assertEquals(order, decoded);
+        }
+    }
+
+    @Test
+    @DisplayName("Should round-trip random carts and items")
+    void roundTrip_RandomCartsAndItems_AreEqual() {
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            Cart cart = new Cart("user" + random.nextInt(1000));
+            cart.setItems(randomCartItems(random));
+            cart.recalculateTotal();
+            Item item = new Item(UUID.randomUUID(), NAMES[random.nextInt(NAMES.length)],
+                    randomAmount(random), random.nextInt(Integer.MAX_VALUE));
+
+            assertEquals(cart, ModelCodec.decode(ModelCodec.encode(cart), Cart.class));
+            assertEquals(item, ModelCodec.decode(ModelCodec.encode(item), Item.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Should round-trip a mixed batch in write order")
+    void roundTrip_MixedBatch_PreservesOrder() {
+        Random random = new Random(1);
+        List<Object> models = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            models.add(randomOrder(random));
+            models.add(new Item(UUID.randomUUID(), NAMES[i % NAMES.length], randomAmount(random), i));
+        }
+
+        assertEquals(models, ModelCodec.decodeAll(ModelCodec.encodeAll(models)));
+    }
+
+    @Test
+    @DisplayName("Should preserve nulls, extreme values and decimal scale")
+    void roundTrip_EdgeValues_ArePreserved() {
+        Order order = new Order();
+        order.setItems(new ArrayList<>());
+        order.setTotalAmount(new BigDecimal("123456789012345678901234567890.1234"));
+        order.setDiscountAmount(new BigDecimal("-0.50"));
+        order.setPaymentStatus(null);
+
+        Item item = new Item(new UUID(Long.MIN_VALUE, -1L), "", new BigDecimal("1E+3"), Integer.MIN_VALUE);
+
+        assertEquals(order, ModelCodec.decode(ModelCodec.encode(order), Order.class));
+        Item decodedItem = ModelCodec.decode(ModelCodec.encode(item), Item.class);
+        assertEquals(item, decodedItem);
+        assertEquals(-3, decodedItem.getPrice().scale());
+    }
+
+    @Test
+    @DisplayName("Should reject newer schema versions and corrupt buffers")
+    void decode_BadHeader_Throws() {
+        byte[] bytes = ModelCodec.encode(new Item(UUID.randomUUID(), "Laptop", BigDecimal.ONE, 1));
+        byte[] future = bytes.clone();
+        future[2] = (byte) (ModelCodec.SCHEMA_VERSION + 1);
+        byte[] truncated = java.util.Arrays.copyOf(bytes, bytes.length - 4);
+
+        assertThrows(IllegalArgumentException.class, () -> new BinaryReader(future));
+        assertThrows(IllegalArgumentException.class, () -> new BinaryReader(new byte[]{1, 2, 3}));
+        assertThrows(IllegalArgumentException.class, () -> ModelCodec.decode(truncated, Item.class));
+        assertThrows(IllegalArgumentException.class, () -> ModelCodec.decode(bytes, Order.class));
+    }
+
+    @Test
+    @DisplayName("Should reject corrupt line counts and payment statuses instead of failing hard")
+    void decode_CorruptCountOrStatus_ThrowsIllegalArgument() {
+        // Given: a cart claiming Integer.MAX_VALUE lines, one claiming -1, and an unknown status
+        byte[] hugeCount = {'E', 'S', 1, ModelCodec.TAG_CART, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        byte[] negativeCount = {'E', 'S', 1, ModelCodec.TAG_CART, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        Order order = randomOrder(new Random(7));
+        order.setPaymentStatus(PaymentStatus.PAID);
+        byte[] badStatus = ModelCodec.encode(order);
+        badStatus[badStatus.length - 1] = 0x7F;   // the status is the last field of an order
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> ModelCodec.decode(hugeCount, Cart.class));
+        assertThrows(IllegalArgumentException.class, () -> ModelCodec.decode(negativeCount, Cart.class));
+        assertThrows(IllegalArgumentException.class, () -> ModelCodec.decode(badStatus, Order.class));
+    }
+
+    @Test
+    @DisplayName("Should encode orders much smaller than Jackson JSON")
+    void encode_OrderBatch_SmallerThanJson() throws Exception {
+        Random random = new Random(3);
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            orders.add(randomOrder(random));
+        }
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+        int binarySize = ModelCodec.encodeAll(orders).length;
+        int jsonSize = objectMapper.writeValueAsBytes(orders).length;
+
+        assertTrue(binarySize * 2 < jsonSize,
+                "binary=" + binarySize + " bytes, json=" + jsonSize + " bytes");
+    }
+
+    private Order randomOrder(Random random) {
+        Order order = new Order();
+        order.setOrderId(UUID.randomUUID());
+        order.setUserId("user" + random.nextInt(1000));
+        order.setItems(randomCartItems(random));
+        order.setTotalAmount(randomAmount(random));
+        order.setDiscountAmount(random.nextBoolean() ? BigDecimal.ZERO : randomAmount(random));
+        order.setCouponCode(random.nextBoolean() ? null : String.format("SAVE10-%03d", random.nextInt(200)));
+        order.setCreatedAt(Instant.ofEpochSecond(1_700_000_000L + random.nextInt(100_000_000), random.nextInt(1_000_000_000)));
+        order.setPaymentStatus(PaymentStatus.values()[random.nextInt(PaymentStatus.values().length)]);
+        return order;
+    }
+
+    private List<CartItem> randomCartItems(Random random) {
+        List<CartItem> items = new ArrayList<>();
+        int count = random.nextInt(6);
+        for (int i = 0; i < count; i++) {
+            items.add(new CartItem(UUID.randomUUID(), NAMES[random.nextInt(NAMES.length)],
+                    randomAmount(random), 1 + random.nextInt(20)));
+        }
+        return items;
+    }
+
+    private BigDecimal randomAmount(Random random) {
+        return BigDecimal.valueOf(random.nextInt(10_000_000), 2);
+    }
+}
@@ -0,0 +1,100 @@
+package com.ecommerce.store.codec;
+
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Order;
+import com.ecommerce.store.model.PaymentStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OrderExportWriter Tests")
+class OrderExportWriterTest {
+
+    private static final UUID ORDER_ID = UUID.fromString("7c9e6679-7425-40de-944b-e07fc1f90ae7");
+    private static final UUID ITEM_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+
+    @Test
+    @DisplayName("Should write one JSON object per line with escaped strings")
+    void ndjson_Order_WritesEscapedLine() throws Exception {
+        // Given
+        Order order = order("user\"1", "Laptop \\ 15\"\n", null);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // When
+        OrderExportWriter writer = new OrderExportWriter(bytes, OrderExportWriter.Format.NDJSON);
+        writer.write(order);
+        writer.write(order);
+        writer.flush();
+
+        // Then
+        String[] lines = bytes.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"orderId\":\"" + ORDER_ID + "\",\"userId\":\"user\\\"1\","
+                + "\"createdAt\":\"2025-12-28T10:00:00Z\",\"paymentStatus\":\"PAID\",\"couponCode\":null,"
+                + "\"discountAmount\":0,\"totalAmount\":1999.98,\"items\":[{\"itemId\":\"" + ITEM_ID + "\","
+                + "\"itemName\":\"Laptop \\\\ 15\\\"\\n\",\"price\":999.99,\"quantity\":2}]}", lines[0]);
+        assertEquals(2, writer.getWritten());
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and quote text that needs it, defusing formulas")
+    void csv_Order_QuotesAndDefusesFormulas() throws Exception {
+        // Given
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // When
+        OrderExportWriter writer = new OrderExportWriter(bytes, OrderExportWriter.Format.CSV);
+        writer.write(order("smith, anna", "Laptop", "SAVE10-005"));
+        writer.write(order("=HYPERLINK(\"x\")", "Laptop", null));
+        writer.flush();
+
+        // Then
+        String[] lines = bytes.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(OrderExportWriter.CSV_HEADER, lines[0]);
+        assertEquals(ORDER_ID + ",\"smith, anna\",2025-12-28T10:00:00Z,PAID,SAVE10-005,1,2,0,1999.98", lines[1]);
+        assertEquals(ORDER_ID + ",\"'=HYPERLINK(\"\"x\"\")\",2025-12-28T10:00:00Z,PAID,,1,2,0,1999.98", lines[2]);
+    }
+
+    @Test
+    @DisplayName("Should keep a constant footprint however many orders are written")
+    void write_ManyOrders_FootprintStaysBounded() throws Exception {
+        // Given
+        Order order = order("user1", "Laptop", null);
+        OrderExportWriter writer = new OrderExportWriter(OutputStream.nullOutputStream(), OrderExportWriter.Format.NDJSON);
+        writer.write(order);
+        long before = GraphLayout.parseInstance(writer).totalSize();
+
+        // When
+        for (int i = 0; i < 200_000; i++) {
+            writer.write(order);
+        }
+
+        // Then
+        assertEquals(before, GraphLayout.parseInstance(writer).totalSize());
+        assertTrue(before < 256 * 1024, "writer footprint " + before);
+    }
+
+    @Test
+    @DisplayName("Should accept ndjson or csv in any case and reject other formats")
+    void parse_Format_IsCaseInsensitive() {
+        assertEquals(OrderExportWriter.Format.CSV, OrderExportWriter.Format.parse("CSV"));
+        assertEquals(OrderExportWriter.Format.NDJSON, OrderExportWriter.Format.parse("ndjson"));
+        assertThrows(IllegalArgumentException.class, () -> OrderExportWriter.Format.parse("xlsx"));
+    }
+
+    private static Order order(String userId, String itemName, String couponCode) {
+        return new Order(ORDER_ID, userId, List.of(new CartItem(ITEM_ID, itemName, new BigDecimal("999.99"), 2)),
+                new BigDecimal("1999.98"), BigDecimal.ZERO, couponCode,
+                Instant.parse("2025-12-28T10:00:00Z"), PaymentStatus.PAID);
+    }
+}
@@ -3,7 +3,19 @@ package com.ecommerce.store.controller;
 import com.ecommerce.store.dto.AdminStatsResponse;
 import com.ecommerce.store.dto.CouponListResponse;
 import com.ecommerce.store.dto.CouponResponse;
+import com.ecommerce.store.dto.DistributionResponse;
+import com.ecommerce.store.dto.LowStockAlertResponse;
+import com.ecommerce.store.dto.LowStockAlertsResponse;
+import com.ecommerce.store.dto.OrderQuantilesResponse;
+import com.ecommerce.store.dto.TimeBucketResponse;
+import com.ecommerce.store.dto.TimeSeriesResponse;
+import com.ecommerce.store.dto.TopItemResponse;
+import com.ecommerce.store.dto.TopItemsResponse;
+import com.ecommerce.store.codec.OrderExportWriter;
+import com.ecommerce.store.model.Order;
+import com.ecommerce.store.repository.SnapshotManager;
 import com.ecommerce.store.service.AdminService;
+import com.ecommerce.store.service.OrderExport;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,12 +23,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,6 +49,100 @@ class AdminControllerTest {
     @MockBean
     private AdminService adminService;
 
+    @Test
+    @DisplayName("Should stream the order export as a CSV attachment")
+    void exportOrders_Csv_StreamsAttachment() throws Exception {
+        // Given
+        SnapshotManager snapshots = new SnapshotManager();
+        snapshots.recordOrder(new Order(UUID.randomUUID(), "user123", List.of(), BigDecimal.TEN, BigDecimal.ZERO,
+                null, Instant.parse("2025-12-28T10:00:00Z"), null));
+        OrderExport export = new OrderExport(snapshots.pin(), OrderExportWriter.Format.CSV, null, null, false);
+        when(adminService.prepareOrderExport("csv", null, null, false, false)).thenReturn(export);
+
+        // When & Then
+        mockMvc.perform(get("/api/admin/orders/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders-1.csv\""))
+                .andExpect(header().string("X-Export-Complete", "true"))
+                .andExpect(header().doesNotExist("X-Compacted-Before"))
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string(containsString(",user123,2025-12-28T10:00:00Z,")));
+    }
+
+    @Test
+    @DisplayName("Should answer a waiting low-stock alert request asynchronously once an alert arrives")
+    void getLowStockAlerts_Waiting_CompletesAsynchronously() throws Exception {
+        // Given
+        CompletableFuture<LowStockAlertsResponse> pending = new CompletableFuture<>();
+        when(adminService.getLowStockAlerts(4, 100, 25)).thenReturn(pending);
+        MvcResult started = mockMvc.perform(get("/api/admin/items/low-stock/alerts")
+                        .param("after", "4")
+                        .param("waitSeconds", "25"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // When
+        pending.complete(new LowStockAlertsResponse(5, false, List.of(
+                new LowStockAlertResponse(5, UUID.randomUUID(), "Blender", 2, 3, Instant.now()))));
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cursor").value(5))
+                .andExpect(jsonPath("$.alerts[0].name").value("Blender"));
+    }
+
+    @Test
+    @DisplayName("Should return best-selling items")
+    void getTopItems_ReturnsRanking() throws Exception {
+        // Given
+        TopItemsResponse topItems = new TopItemsResponse("units", true, new BigDecimal("12"), BigDecimal.ZERO,
+                List.of(new TopItemResponse(UUID.randomUUID(), "Laptop", new BigDecimal("7"), BigDecimal.ZERO, true)));
+        when(adminService.getTopItems("units", 1, true)).thenReturn(topItems);
+
+        // When & Then
+        mockMvc.perform(get("/api/admin/stats/top-items").param("n", "1").param("exact", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.exact").value(true))
+                .andExpect(jsonPath("$.items[0].name").value("Laptop"))
+                .andExpect(jsonPath("$.items[0].value").value(7));
+    }
+
+    @Test
+    @DisplayName("Should return the order time series")
+    void getTimeSeries_ReturnsBuckets() throws Exception {
+        // Given
+        Instant start = Instant.parse("2025-12-28T10:00:00Z");
+        TimeSeriesResponse timeSeries = new TimeSeriesResponse("hour", start, start.plusSeconds(3600), 3,
+                new BigDecimal("120.00"), BigDecimal.ZERO, 0,
+                List.of(new TimeBucketResponse(start, 3, new BigDecimal("120.00"), BigDecimal.ZERO, 0)));
+        when(adminService.getTimeSeries("hour", 1)).thenReturn(timeSeries);
+
+        // When & Then
+        mockMvc.perform(get("/api/admin/stats/timeseries").param("resolution", "hour").param("window", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders").value(3))
+                .andExpect(jsonPath("$.buckets[0].revenue").value(120.00));
+    }
+
+    @Test
+    @DisplayName("Should merge quantile responses posted from several nodes")
+    void mergeOrderQuantiles_ReturnsMerged() throws Exception {
+        // Given
+        DistributionResponse values = new DistributionResponse(2, BigDecimal.ONE, BigDecimal.TEN, BigDecimal.ONE,
+                BigDecimal.TEN, BigDecimal.TEN, null);
+        OrderQuantilesResponse merged = new OrderQuantilesResponse("merged", null, null, 0.01, values, values);
+        when(adminService.mergeOrderQuantiles(any())).thenReturn(merged);
+
+        // When & Then
+        mockMvc.perform(post("/api/admin/stats/quantiles/merge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"resolution\":\"all\"},{\"resolution\":\"all\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resolution").value("merged"))
+                .andExpect(jsonPath("$.orderValue.count").value(2));
+    }
+
     @Test
     @DisplayName("Should return admin statistics")
     void getStatistics_ReturnsStatistics_Successfully() throws Exception {
@@ -47,6 +159,24 @@ class AdminControllerTest {
                 .andExpect(jsonPath("$.totalItemsPurchased").value(25));
     }
 
+    @Test
+    @DisplayName("Should return statistics for a time range")
+    void getStatistics_WithRange_ReturnsRangeStatistics() throws Exception {
+        // Given
+        Instant from = Instant.parse("2025-12-01T00:00:00Z");
+        Instant to = Instant.parse("2025-12-02T00:00:00Z");
+        AdminStatsResponse expectedStats = createTestStats();
+        expectedStats.setFrom(from);
+        expectedStats.setTo(to);
+        when(adminService.getStatistics(from, to)).thenReturn(expectedStats);
+
+        // When & Then
+        mockMvc.perform(get("/api/admin/stats").param("from", from.toString()).param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalOrders").value(10))
+                .andExpect(jsonPath("$.from").value("2025-12-01T00:00:00Z"));
+    }
+
     @Test
     @DisplayName("Should generate new coupon")
     void generateCoupon_ReturnsGeneratedCoupon_Successfully() throws Exception {
@@ -66,7 +196,7 @@ class AdminControllerTest {
     void getAllCoupons_ReturnsCouponList_Successfully() throws Exception {
         // Given
         CouponListResponse expectedResponse = createTestCouponList();
-        when(adminService.getAllCoupons()).thenReturn(expectedResponse);
+        when(adminService.getAllCoupons(0, null, 100)).thenReturn(expectedResponse);
 
         // When & Then
         mockMvc.perform(get("/api/admin/coupons"))
@@ -1,6 +1,10 @@
 package com.ecommerce.store.controller;
 
 import com.ecommerce.store.dto.AddToCartRequest;
+import com.ecommerce.store.dto.BulkCartRequest;
+import com.ecommerce.store.dto.BulkCartResponse;
+import com.ecommerce.store.dto.CartOperation;
+import com.ecommerce.store.dto.CartOperationError;
 import com.ecommerce.store.dto.CartResponse;
 import com.ecommerce.store.dto.CartItemResponse;
 import com.ecommerce.store.dto.UpdateQuantityRequest;
@@ -18,6 +22,7 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -134,6 +139,46 @@ class CartControllerTest {
                 .andExpect(jsonPath("$.totalItems").value(5));
     }
 
+    @Test
+    @DisplayName("Should apply bulk cart operations and report per-operation errors")
+    void applyOperations_ValidRequest_ReturnsCartAndErrors() throws Exception {
+        // Given
+        String userId = "user123";
+        UUID itemId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+
+        BulkCartRequest request = new BulkCartRequest(List.of(
+                new CartOperation(CartOperation.Type.ADD, itemId, 2),
+                new CartOperation(CartOperation.Type.REMOVE, missingId, null)), false);
+
+        BulkCartResponse expectedResponse = new BulkCartResponse(createTestCartResponse(userId, itemId), 1,
+                List.of(new CartOperationError(1, CartOperation.Type.REMOVE, missingId,
+                        "Item not found in cart: " + missingId)));
+        when(cartService.applyOperations(eq(userId), anyList(), eq(false))).thenReturn(expectedResponse);
+
+        // When & Then
+        mockMvc.perform(post("/api/cart/{userId}/bulk", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(1))
+                .andExpect(jsonPath("$.cart.totalItems").value(2))
+                .andExpect(jsonPath("$.errors[0].index").value(1));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an empty bulk request")
+    void applyOperations_NoOperations_ReturnsBadRequest() throws Exception {
+        // Given
+        BulkCartRequest request = new BulkCartRequest(List.of(), false);
+
+        // When & Then
+        mockMvc.perform(post("/api/cart/{userId}/bulk", "user123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     private CartResponse createTestCartResponse(String userId, UUID itemId) {
         CartResponse response = new CartResponse();
         response.setUserId(userId);
@@ -65,8 +65,8 @@ class CouponControllerTest {
     void getAllCoupons_ReturnsList() throws Exception {
         // Given
         List<String> coupons = Arrays.asList("SAVE10-005", "SAVE10-010", "SAVE10-015");
-        CouponListResponse response = new CouponListResponse(coupons, 3);
-        when(adminService.getAllCoupons()).thenReturn(response);
+        CouponListResponse response = new CouponListResponse(coupons, 3, null);
+        when(adminService.getAllCoupons(0, null, 100)).thenReturn(response);
 
         // When & Then
         mockMvc.perform(get("/api/coupons"))
@@ -84,8 +84,8 @@ class CouponControllerTest {
     void getAllCoupons_Empty_ReturnsEmptyList() throws Exception {
         // Given
         List<String> coupons = Arrays.asList();
-        CouponListResponse response = new CouponListResponse(coupons, 0);
-        when(adminService.getAllCoupons()).thenReturn(response);
+        CouponListResponse response = new CouponListResponse(coupons, 0, null);
+        when(adminService.getAllCoupons(0, null, 100)).thenReturn(response);
 
         // When & Then
         mockMvc.perform(get("/api/coupons"))
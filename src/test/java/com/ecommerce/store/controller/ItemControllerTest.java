@@ -1,12 +1,19 @@
 package com.ecommerce.store.controller;
 
+import com.ecommerce.store.dto.ItemBrowseRequest;
+import com.ecommerce.store.dto.ItemChangesResponse;
+import com.ecommerce.store.dto.ItemLookupResponse;
+import com.ecommerce.store.dto.ItemPageResponse;
 import com.ecommerce.store.dto.ItemResponse;
+import com.ecommerce.store.dto.ItemSearchResponse;
+import com.ecommerce.store.dto.SuggestionResponse;
 import com.ecommerce.store.service.ItemService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
@@ -16,6 +23,7 @@ import java.util.UUID;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ItemController.class)
@@ -94,4 +102,122 @@ class ItemControllerTest {
         mockMvc.perform(get("/api/items/{itemId}", "invalid-uuid"))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return several items by ID in request order")
+    void getItemsByIds_ReturnsLookupsInOrder() throws Exception {
+        // Given
+        UUID itemId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        List<ItemLookupResponse> results = List.of(
+                new ItemLookupResponse(itemId, true, new ItemResponse(itemId, "Laptop", BigDecimal.valueOf(999.99), 10)),
+                new ItemLookupResponse(missingId, false, null)
+        );
+        when(itemService.getItemsByIds(List.of(itemId, missingId))).thenReturn(results);
+
+        // When & Then
+        mockMvc.perform(get("/api/items").param("ids", itemId + "," + missingId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].found").value(true))
+                .andExpect(jsonPath("$[0].item.name").value("Laptop"))
+                .andExpect(jsonPath("$[1].itemId").value(missingId.toString()))
+                .andExpect(jsonPath("$[1].found").value(false));
+    }
+
+    @Test
+    @DisplayName("Should accept long ID lists through the POST variant")
+    void getItemsByIdsBatch_ReturnsLookups() throws Exception {
+        // Given
+        UUID itemId = UUID.randomUUID();
+        when(itemService.getItemsByIds(List.of(itemId))).thenReturn(List.of(
+                new ItemLookupResponse(itemId, true, new ItemResponse(itemId, "Laptop", BigDecimal.valueOf(999.99), 10))));
+
+        // When & Then
+        mockMvc.perform(post("/api/items/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemIds\":[\"" + itemId + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].item.itemId").value(itemId.toString()));
+    }
+
+    @Test
+    @DisplayName("Should return the catalog version with the full catalog")
+    void getAllItems_ReturnsCatalogVersionHeader() throws Exception {
+        // Given
+        when(itemService.getCatalogVersion()).thenReturn(1735380000000123L);
+        when(itemService.getAllItems()).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/api/items"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ItemController.CATALOG_VERSION_HEADER, "1735380000000123"));
+    }
+
+    @Test
+    @DisplayName("Should return items changed since a catalog version")
+    void getItemChanges_ReturnsDelta() throws Exception {
+        // Given
+        UUID itemId = UUID.randomUUID();
+        UUID deletedId = UUID.randomUUID();
+        when(itemService.getItemChanges(1735380000000123L, 1000)).thenReturn(new ItemChangesResponse(
+                1735380000000125L, false, false,
+                List.of(new ItemResponse(itemId, "Laptop", BigDecimal.valueOf(949.99), 7)), List.of(deletedId)));
+
+        // When & Then
+        mockMvc.perform(get("/api/items/changes").param("since", "1735380000000123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1735380000000125L))
+                .andExpect(jsonPath("$.items[0].price").value(949.99))
+                .andExpect(jsonPath("$.deletedItemIds[0]").value(deletedId.toString()));
+    }
+
+    @Test
+    @DisplayName("Should browse a sorted page and return the next cursor in a header")
+    void getAllItems_WithFilters_ReturnsPageAndCursorHeader() throws Exception {
+        // Given
+        UUID itemId = UUID.randomUUID();
+        ItemBrowseRequest request = new ItemBrowseRequest(new BigDecimal("50"), null, true, "price", null, null, 1);
+        when(itemService.browseItems(request)).thenReturn(new ItemPageResponse(
+                List.of(new ItemResponse(itemId, "Air Fryer", BigDecimal.valueOf(89.99), 10)), "next"));
+
+        // When & Then
+        mockMvc.perform(get("/api/items")
+                        .param("minPrice", "50")
+                        .param("inStock", "true")
+                        .param("sort", "price")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ItemController.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].name").value("Air Fryer"));
+    }
+
+    @Test
+    @DisplayName("Should search items with default paging")
+    void searchItems_ReturnsRankedPage() throws Exception {
+        // Given
+        UUID itemId = UUID.randomUUID();
+        ItemSearchResponse response = new ItemSearchResponse("laptop", 0, 20, 1,
+                List.of(new ItemResponse(itemId, "Laptop", BigDecimal.valueOf(999.99), 10)));
+        when(itemService.searchItems("laptop", 0, 20)).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(get("/api/items/search").param("q", "laptop"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("Laptop"));
+    }
+
+    @Test
+    @DisplayName("Should return autocomplete suggestions")
+    void suggest_ReturnsSuggestions() throws Exception {
+        // Given
+        when(itemService.suggest("sma", 10)).thenReturn(List.of(new SuggestionResponse("smartphone", 2)));
+
+        // When & Then
+        mockMvc.perform(get("/api/items/suggest").param("prefix", "sma"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].text").value("smartphone"))
+                .andExpect(jsonPath("$[0].count").value(2));
+    }
+}
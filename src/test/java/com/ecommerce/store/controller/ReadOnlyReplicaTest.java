@@ -0,0 +1,61 @@
+package com.ecommerce.store.controller;
+
+import com.ecommerce.store.replication.ReplicationManager;
+import com.ecommerce.store.service.ItemService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The web layer of a replication follower (see ReadOnlyReplicaConfig).
+ */
+@WebMvcTest(controllers = ItemController.class, properties = "app.replication.role=follower")
+@DisplayName("Read-Only Replica Tests")
+class ReadOnlyReplicaTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ItemService itemService;
+
+    @MockBean
+    private ReplicationManager replicationManager;
+
+    @Test
+    @DisplayName("Should reject reads while the follower loads a snapshot")
+    void get_WhileSyncing_Returns503() throws Exception {
+        // Given
+        when(replicationManager.isSyncing()).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(get("/api/items"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.errorCode").value("REPLICA_SYNCING"));
+        verify(itemService, never()).getAllItems();
+    }
+
+    @Test
+    @DisplayName("Should serve reads once the snapshot is loaded")
+    void get_NotSyncing_ServesRead() throws Exception {
+        // Given
+        when(replicationManager.isSyncing()).thenReturn(false);
+        when(itemService.getAllItems()).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/api/items"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+}
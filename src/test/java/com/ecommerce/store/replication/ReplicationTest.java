@@ -0,0 +1,249 @@
+package com.ecommerce.store.replication;
+
+import com.ecommerce.store.model.Cart;
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Item;
+import com.ecommerce.store.model.Order;
+import com.ecommerce.store.model.PromotionCode;
+import com.ecommerce.store.repository.CartRepository;
+import com.ecommerce.store.repository.CouponRepository;
+import com.ecommerce.store.repository.DataStore;
+import com.ecommerce.store.repository.ItemRepository;
+import com.ecommerce.store.repository.OrderCompactor;
+import com.ecommerce.store.repository.OrderRepository;
+import com.ecommerce.store.repository.StoreSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Primary and follower on localhost, each with its own DataStore.
+ */
+@DisplayName("Replication Tests")
+class ReplicationTest {
+
+    private DataStore primaryStore;
+    private DataStore followerStore;
+    private ReplicationPrimary primary;
+    private ReplicationFollower follower;
+    private ItemRepository itemRepository;
+    private CartRepository cartRepository;
+    private OrderRepository orderRepository;
+    private CouponRepository couponRepository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        primaryStore = new DataStore();
+        followerStore = new DataStore();
+        itemRepository = new ItemRepository(primaryStore);
+        cartRepository = new CartRepository(primaryStore);
+        orderRepository = new OrderRepository(primaryStore);
+        couponRepository = new CouponRepository(primaryStore);
+
+        primary = new ReplicationPrimary(primaryStore, 1024, 64, 100);
+        primary.start(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (follower != null) {
+            follower.stop();
+        }
+        primary.stop();
+    }
+
+    @Test
+    @DisplayName("Should bootstrap a follower from a snapshot, then stream later mutations")
+    void follower_SnapshotThenStream_Converges() throws Exception {
+        // Given - state that existed before the follower connected (incl. seeded items)
+        Item seeded = new Item(UUID.randomUUID(), "Seeded", new BigDecimal("5.00"), 3);
+        primaryStore.items.put(seeded.getItemId(), seeded);
+        Item laptop = itemRepository.save(new Item(null, "Laptop", new BigDecimal("999.99"), 10));
+        placeOrder("user1", laptop, 1);
+        couponRepository.createPromotion(new PromotionCode("SPRING25", "spring", 10, 1, null, null, 0));
+        couponRepository.validateAndUse("SPRING25", "user1");
+        startFollower();
+        awaitCaughtUp();
+
+        // When
+        couponRepository.validateAndUse("SPRING25", "user2");
+        Cart cart = cartRepository.getOrCreate("user2");
+        cart.getItems().add(CartItem.snapshot(laptop, 2));
+        cartRepository.save(cart);
+        itemRepository.decreaseStock(laptop.getItemId(), 4);
+        placeOrder("user2", laptop, 2);
+        couponRepository.generate(primaryStore.orderCounter.get());
+        itemRepository.delete(seeded.getItemId());
+        awaitCaughtUp();
+
+        // Then
+        assertEquals(1, follower.getFullSyncs());
+        assertEquals(primaryStore.items.keySet(), followerStore.items.keySet());
+        assertEquals(6, followerStore.items.get(laptop.getItemId()).getStock());
+        assertEquals(2, followerStore.carts.get("user2").getItems().get(0).getQuantity());
+        assertEquals(2, followerStore.orders.size());
+        assertEquals(2, followerStore.orderCounter.get());
+        assertEquals(primaryStore.activeCoupon.getCode(), followerStore.activeCoupon.getCode());
+        assertEquals(primaryStore.snapshots.pin().getTotalPurchaseAmount(),
+                followerStore.snapshots.pin().getTotalPurchaseAmount());
+        assertEquals(1, followerStore.snapshots.pin().getCouponsGenerated());
+        assertEquals(primaryStore.couponHistory.codes(), followerStore.couponHistory.codes());
+        assertEquals(2, followerStore.promotions.find("SPRING25").getRedeemed());
+        assertEquals(primaryStore.promotions.redeemedByUser("SPRING25").get("user1"),
+                followerStore.promotions.redeemedByUser("SPRING25").get("user1"));
+    }
+
+    @Test
+    @DisplayName("Should catch up from the last acknowledged position after a reconnect")
+    void follower_Reconnect_CatchesUpWithoutSnapshot() throws Exception {
+        // Given
+        Item laptop = itemRepository.save(new Item(null, "Laptop", new BigDecimal("999.99"), 100));
+        startFollower();
+        awaitCaughtUp();
+
+        // When
+        follower.disconnect();
+        for (int i = 0; i < 20; i++) {
+            placeOrder("user" + i, laptop, 1);
+        }
+        awaitCaughtUp();
+
+        // Then
+        assertTrue(follower.getReconnects() >= 1);
+        assertEquals(1, follower.getFullSyncs());
+        assertEquals(20, followerStore.orders.size());
+        assertEquals(20, followerStore.orderCounter.get());
+    }
+
+    @Test
+    @DisplayName("Should resync with a snapshot when the follower fell behind the retained log")
+    void follower_BehindRetainedLog_Resyncs() throws Exception {
+        // Given
+        Item laptop = itemRepository.save(new Item(null, "Laptop", new BigDecimal("999.99"), 100_000));
+        startFollower();
+        awaitCaughtUp();
+
+        // When - more mutations than the log retains while disconnected
+        follower.stop();
+        long headBefore = primary.getHeadSequence();
+        for (int i = 0; i < 1500; i++) {
+            itemRepository.decreaseStock(laptop.getItemId(), 1);
+        }
+        await(() -> primary.getHeadSequence() >= headBefore + 1500);
+        follower.start();
+        awaitCaughtUp();
+
+        // Then
+        assertEquals(2, follower.getFullSyncs());
+        assertEquals(100_000 - 1500, followerStore.items.get(laptop.getItemId()).getStock());
+    }
+
+    @Test
+    @DisplayName("Should keep compacted orders in the stats after resyncing from a compacted primary")
+    void follower_ResyncAfterEvictingCompaction_StatsMatchPrimary() throws Exception {
+        // Given - aged orders, then a follower that saw their full bodies
+        Item laptop = itemRepository.save(new Item(null, "Laptop", new BigDecimal("999.99"), 100_000));
+        Instant aged = Instant.now().minus(40, ChronoUnit.DAYS);
+        for (int i = 0; i < 5; i++) {
+            placeOrder("old" + i, laptop, i + 1, aged.plusSeconds(i));
+        }
+        startFollower();
+        awaitCaughtUp();
+
+        // When - the primary folds and evicts them, and the follower has to resync
+        follower.stop();
+        new OrderCompactor(primaryStore, false, 30, 60, true).compact(Instant.now().minus(30, ChronoUnit.DAYS));
+        placeOrder("new0", laptop, 2, null);
+        long headBefore = primary.getHeadSequence();
+        for (int i = 0; i < 1500; i++) {
+            itemRepository.decreaseStock(laptop.getItemId(), 1);
+        }
+        await(() -> primary.getHeadSequence() >= headBefore + 1500);
+        follower.start();
+        awaitCaughtUp();
+        placeOrder("new1", laptop, 1, null);
+        awaitCaughtUp();
+
+        // Then
+        OrderRepository followerOrders = new OrderRepository(followerStore);
+        StoreSnapshot primarySnapshot = primaryStore.snapshots.pin();
+        StoreSnapshot followerSnapshot = followerStore.snapshots.pin();
+        assertEquals(2, follower.getFullSyncs());
+        assertEquals(2, followerStore.orders.size());
+        assertEquals(7, followerStore.orderCounter.get());
+        assertEquals(primarySnapshot.getOrderCount(), followerSnapshot.getOrderCount());
+        assertEquals(primarySnapshot.getTotalItemsPurchased(), followerSnapshot.getTotalItemsPurchased());
+        assertEquals(0, primarySnapshot.getTotalPurchaseAmount().compareTo(followerSnapshot.getTotalPurchaseAmount()));
+        assertEquals(orderRepository.getTotalItemsPurchased(), followerOrders.getTotalItemsPurchased());
+        assertEquals(0, orderRepository.getTotalPurchaseAmount().compareTo(followerOrders.getTotalPurchaseAmount()));
+        assertEquals(primarySnapshot.getRollup().getCompactedBefore(),
+                followerSnapshot.getRollup().getCompactedBefore());
+        assertEquals(5, followerSnapshot.getRollup().getOrderCount());
+    }
+
+    @Test
+    @DisplayName("Should report acknowledged position and lag per follower")
+    void primary_TracksFollowerAcks() throws Exception {
+        // Given
+        itemRepository.save(new Item(null, "Laptop", new BigDecimal("999.99"), 10));
+        startFollower();
+
+        // When
+        awaitCaughtUp();
+        await(() -> !primary.getFollowers().isEmpty()
+                && primary.getFollowers().get(0).getAckedSequence() == primary.getHeadSequence());
+
+        // Then
+        assertEquals("standby", primary.getFollowers().get(0).getName());
+        assertEquals(0L, primary.getFollowers().get(0).getLag());
+        assertEquals(0L, follower.getLag());
+    }
+
+    private void startFollower() {
+        follower = new ReplicationFollower(followerStore, "localhost", primary.getPort(), "standby", 100);
+        follower.start();
+    }
+
+    private void placeOrder(String userId, Item item, int quantity) {
+        placeOrder(userId, item, quantity, null);
+    }
+
+    private void placeOrder(String userId, Item item, int quantity, Instant createdAt) {
+        Order order = new Order();
+        order.setUserId(userId);
+        order.setCreatedAt(createdAt);
+        order.setItems(new ArrayList<>(List.of(CartItem.snapshot(item, quantity))));
+        order.setTotalAmount(item.getPrice().multiply(BigDecimal.valueOf(quantity)));
+        orderRepository.save(order);
+    }
+
+    private void awaitCaughtUp() throws InterruptedException {
+        await(() -> follower.isConnected()
+                && follower.getNextSequence() == primary.getHeadSequence()
+                && primaryStore.changes.getSubscriptions().get(0).getLag() == 0);
+        // One more heartbeat round so the head seen by the follower is current
+        Thread.sleep(250);
+        await(() -> follower.getNextSequence() == primary.getHeadSequence());
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timed out waiting for replication");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
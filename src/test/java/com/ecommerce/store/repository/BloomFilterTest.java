@@ -0,0 +1,50 @@
+package com.ecommerce.store.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BloomFilter Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should contain every added value and few values never added")
+    void mightContain_AddedAndUnknown_NoFalseNegativesAndFewFalsePositives() {
+        // Given
+        BloomFilter filter = new BloomFilter(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("PROMO-" + i);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("GUESS-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Then - no false negatives, false positives near the configured rate
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("PROMO-" + i));
+        }
+        assertTrue(falsePositives < 2 * BloomFilter.FALSE_POSITIVE_RATE * 100_000,
+                "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Should forget every value on reset and reject a non-positive size")
+    void reset_Cleared_ContainsNothing() {
+        // Given
+        BloomFilter filter = new BloomFilter(100);
+        filter.add("SPRING25");
+
+        // When
+        filter.reset();
+
+        // Then
+        assertFalse(filter.mightContain("SPRING25"));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0));
+    }
+}
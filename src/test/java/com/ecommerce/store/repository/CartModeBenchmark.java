@@ -0,0 +1,115 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.codec.CartTokenCodec;
+import com.ecommerce.store.dto.CartResponse;
+import com.ecommerce.store.model.Item;
+import com.ecommerce.store.service.CartServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jol.info.GraphLayout;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of stateful carts (DataStore.carts) and stateless signed-token carts.
+ *
+ * Not a unit test (surefire skips it) - run main() from the IDE after mvn test-compile.
+ *
+ * Each operation adds one unit to a cart of `lines` lines and reads the cart back,
+ * the way a client does between page views. Server memory per stateful cart and the
+ * token size per stateless cart are printed once at setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartModeBenchmark {
+
+    private static final int CARTS = 10_000;
+
+    @Param({"1", "5", "20"})
+    public int lines;
+
+    private List<Item> items;
+    private CartServiceImpl statefulService;
+    private CartServiceImpl statelessService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        DataStore dataStore = new DataStore();
+        dataStore.items.clear();
+        ItemRepository itemRepository = new ItemRepository(dataStore);
+        items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            items.add(itemRepository.save(new Item(null, "Item " + i, new BigDecimal("19.99"), Integer.MAX_VALUE)));
+        }
+
+        statefulService = new CartServiceImpl(new CartRepository(dataStore), itemRepository);
+        for (int u = 0; u < CARTS; u++) {
+            for (Item item : items) {
+                statefulService.addItemToCart("user" + u, item.getItemId(), 1);
+            }
+        }
+        long bytesPerCart = GraphLayout.parseInstance(dataStore.carts).totalSize() / CARTS;
+
+        CartTokenCodec codec = new CartTokenCodec(
+                "benchmark-secret-0123456789".getBytes(StandardCharsets.UTF_8), Duration.ofHours(1));
+        statelessService = new CartServiceImpl(new StatelessCartRepository(itemRepository, dataStore, codec), itemRepository);
+        MockHttpServletResponse response = bind(null);
+        for (Item item : items) {
+            statelessService.addItemToCart("user0", item.getItemId(), 1);
+        }
+        token = response.getHeader(StatelessCartRepository.HEADER);
+        System.out.printf("%nlines=%d stateful=%d bytes of heap per cart, stateless=%d byte header per request%n",
+                lines, bytesPerCart, token.length());
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public CartResponse stateful() {
+        statefulService.addItemToCart("user0", items.get(0).getItemId(), 1);
+        return statefulService.getCart("user0");
+    }
+
+    @Benchmark
+    public CartResponse stateless() {
+        MockHttpServletResponse response = bind(token);
+        statelessService.addItemToCart("user0", items.get(0).getItemId(), 1);
+        bind(response.getHeader(StatelessCartRepository.HEADER));
+        return statelessService.getCart("user0");
+    }
+
+    private static MockHttpServletResponse bind(String cartToken) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (cartToken != null) {
+            request.addHeader(StatelessCartRepository.HEADER, cartToken);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(CartModeBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
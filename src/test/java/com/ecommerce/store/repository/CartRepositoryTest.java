@@ -93,11 +93,6 @@ class CartRepositoryTest {
     }
 
     private CartItem createTestCartItem() {
-        CartItem item = new CartItem();
-        item.setItemId(UUID.randomUUID());
-        item.setItemName("Test Item");
-        item.setPrice(BigDecimal.valueOf(10.00));
-        item.setQuantity(1);
-        return item;
+        return new CartItem(UUID.randomUUID(), "Test Item", BigDecimal.valueOf(10.00), 1);
     }
 }
\ No newline at end of file
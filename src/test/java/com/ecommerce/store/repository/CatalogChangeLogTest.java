@@ -0,0 +1,140 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CatalogChangeLog Tests")
+class CatalogChangeLogTest {
+
+    private DataStore dataStore;
+    private ItemRepository itemRepository;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new DataStore();
+        itemRepository = new ItemRepository(dataStore);
+    }
+
+    @Test
+    @DisplayName("Should return each item changed since a version once, deletes included")
+    void changesSince_SeveralMutations_ReturnsEachItemOnce() {
+        // Given
+        Item laptop = save("Laptop", 5);
+        Item mouse = save("Mouse", 5);
+        long version = itemRepository.getCatalogVersion();
+
+        // When
+        laptop.setPrice(new BigDecimal("899.99"));
+        itemRepository.save(laptop);
+        itemRepository.decreaseStock(laptop.getItemId(), 1);
+        itemRepository.delete(mouse.getItemId());
+        CatalogChangeLog.Delta delta = itemRepository.changesSince(version, 100);
+
+        // Then
+        assertFalse(delta.isResyncRequired());
+        assertEquals(List.of(laptop.getItemId(), mouse.getItemId()), delta.getItemIds());
+        assertEquals(version + 3, delta.getVersion());
+        assertTrue(itemRepository.changesSince(delta.getVersion(), 100).getItemIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should hand out changes in limited batches that continue where they stopped")
+    void changesSince_Limit_ContinuesFromReturnedVersion() {
+        // Given
+        long version = itemRepository.getCatalogVersion();
+        Item first = save("A", 1);
+        Item second = save("B", 1);
+        Item third = save("C", 1);
+
+        // When
+        CatalogChangeLog.Delta batch = itemRepository.changesSince(version, 2);
+        CatalogChangeLog.Delta rest = itemRepository.changesSince(batch.getVersion(), 2);
+
+        // Then
+        assertTrue(batch.isMore());
+        assertEquals(List.of(first.getItemId(), second.getItemId()), batch.getItemIds());
+        assertFalse(rest.isMore());
+        assertEquals(List.of(third.getItemId()), rest.getItemIds());
+    }
+
+    @Test
+    @DisplayName("Should require a resync once the log is truncated or the catalog replaced")
+    void changesSince_TruncatedOrReset_RequiresResync() {
+        // Given
+        CatalogChangeLog log = new CatalogChangeLog(2);
+        long start = log.getVersion();
+        log.record(UUID.randomUUID());
+        log.record(UUID.randomUUID());
+        log.record(UUID.randomUUID());
+
+        // When / Then
+        assertTrue(log.since(start, 10).isResyncRequired());
+        assertEquals(2, log.since(start + 1, 10).getItemIds().size());
+        assertTrue(log.since(log.getVersion() + 1, 10).isResyncRequired());
+
+        log.reset();
+        assertTrue(log.since(start + 3, 10).isResyncRequired());
+        assertFalse(log.since(log.getVersion(), 10).isResyncRequired());
+    }
+
+    @Test
+    @DisplayName("Should hand out every change exactly once to a client polling during concurrent updates")
+    void changesSince_ConcurrentRecords_NoChangeMissed() throws Exception {
+        // Given
+        CatalogChangeLog log = new CatalogChangeLog();
+        long start = log.getVersion();
+        int writers = 8;
+        int changesPerWriter = 5_000;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch go = new CountDownLatch(1);
+        Set<UUID> seen = new HashSet<>();
+
+        // When
+        for (int w = 0; w < writers; w++) {
+            pool.execute(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < changesPerWriter; i++) {
+                    log.record(UUID.randomUUID());
+                }
+            });
+        }
+        go.countDown();
+        pool.shutdown();
+        long since = start;
+        while (!pool.isTerminated() || since < log.getVersion()) {
+            CatalogChangeLog.Delta delta = log.since(since, 500);
+            assertFalse(delta.isResyncRequired());
+            for (UUID itemId : delta.getItemIds()) {
+                assertTrue(seen.add(itemId), "change handed out twice");
+            }
+            since = delta.getVersion();
+        }
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(start + writers * changesPerWriter, log.getVersion());
+        assertEquals(writers * changesPerWriter, seen.size());
+    }
+
+    private Item save(String name, int stock) {
+        return itemRepository.save(new Item(UUID.randomUUID(), name, new BigDecimal("10.00"), stock));
+    }
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Item;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CatalogLoader Tests")
+class CatalogLoaderTest {
+
+    private DataStore dataStore;
+    private CatalogLoader catalogLoader;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataStore = new DataStore();
+        catalogLoader = new CatalogLoader(dataStore);
+        file = Files.createTempFile("catalog", ".dat");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("Should load CSV items keeping their IDs")
+    void load_Csv_LoadsItemsWithFileIds() throws Exception {
+        // Given
+        UUID laptopId = UUID.randomUUID();
+        UUID bookId = UUID.randomUUID();
+        write("itemId,name,price,stock\n"
+                + laptopId + ",Laptop,999.99,10\r\n"
+                + bookId + ",\"Clean Code, 2nd \"\"Ed\"\"\",39.9,3\n"
+                + "\n");
+
+        // When
+        CatalogLoadResult result = catalogLoader.load(file, CatalogLoader.Format.CSV);
+
+        // Then
+        assertEquals(2, result.getItemsLoaded());
+        assertEquals(0, result.getLinesSkipped());
+        Item laptop = dataStore.items.get(laptopId);
+        assertEquals("Laptop", laptop.getName());
+        assertEquals(new BigDecimal("999.99"), laptop.getPrice());
+        assertEquals(10, laptop.getStock());
+        Item book = dataStore.items.get(bookId);
+        assertEquals("Clean Code, 2nd \"Ed\"", book.getName());
+        assertEquals(new BigDecimal("39.9"), book.getPrice());
+    }
+
+    @Test
+    @DisplayName("Should load NDJSON items with keys in any order")
+    void load_Ndjson_LoadsItems() throws Exception {
+        // Given
+        UUID itemId = UUID.randomUUID();
+        write("{\"itemId\":\"" + itemId + "\",\"name\":\"Caf\\u00e9 \\\"Pro\\\"\",\"price\":12.50,\"stock\":7}\n"
+                + "{\"stock\": 1, \"price\": \"5\", \"name\": \"No Id\"}\n");
+
+        // When
+        CatalogLoadResult result = catalogLoader.load(file, CatalogLoader.Format.NDJSON);
+
+        // Then
+        assertEquals(2, result.getItemsLoaded());
+        Item item = dataStore.items.get(itemId);
+        assertEquals("Café \"Pro\"", item.getName());
+        assertEquals(new BigDecimal("12.50"), item.getPrice());
+        assertEquals(7, item.getStock());
+        assertTrue(dataStore.items.values().stream().anyMatch(i -> i.getName().equals("No Id")));
+    }
+
+    @Test
+    @DisplayName("Should split into many chunks on record boundaries without losing records")
+    void load_SmallChunks_LoadsEveryRecord() throws Exception {
+        // Given
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            csv.append(UUID.randomUUID()).append(",Item ").append(i).append(',').append(i).append(".99,").append(i).append('\n');
+        }
+        write(csv.toString());
+
+        // When
+        CatalogLoadResult result = catalogLoader.load(file, CatalogLoader.Format.CSV, 500);
+
+        // Then
+        assertEquals(1000, result.getItemsLoaded());
+        assertEquals(1000, dataStore.items.size());
+        assertTrue(result.getChunks() > 10);
+        assertEquals(0, result.getLinesSkipped());
+    }
+
+    @Test
+    @DisplayName("Should skip and count malformed records")
+    void load_MalformedRecords_AreSkipped() throws Exception {
+        // Given
+        write(UUID.randomUUID() + ",Laptop,999.99,10\n"
+                + "not-a-uuid,Broken,1.00,1\n"
+                + UUID.randomUUID() + ",No Price,,1\n"
+                + "{\"name\":\"wrong format\"}\n");
+
+        // When
+        CatalogLoadResult result = catalogLoader.load(file, CatalogLoader.Format.CSV);
+
+        // Then
+        assertEquals(1, result.getItemsLoaded());
+        assertEquals(3, result.getLinesSkipped());
+    }
+
+    private void write(String content) throws Exception {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Coupon;
+import com.ecommerce.store.model.CouponValidationResult;
+import com.ecommerce.store.model.Order;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.ecommerce.store.repository.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CouponHistory Tests")
+class CouponHistoryTest {
+
+    private static final Instant START = Instant.parse("2025-01-15T00:00:00Z");
+
+    @Test
+    @DisplayName("Should page through coupons across chunks, and from a creation time")
+    void page_AcrossChunks_AndSince() {
+        // Given - one coupon a minute, spanning three chunks
+        CouponHistory history = new CouponHistory();
+        for (int i = 1; i <= 2500; i++) {
+            assertTrue(history.append(code(i), i, START.plusSeconds(60L * i)));
+        }
+
+        // When
+        List<String> codes = new ArrayList<>();
+        Integer cursor = 0;
+        while (cursor != null) {
+            CouponHistory.Page page = history.page(cursor, null, 700);
+            page.getEntries().forEach(entry -> codes.add(entry.getCode()));
+            cursor = page.getNext();
+        }
+        CouponHistory.Page since = history.page(0, START.plusSeconds(60L * 2000), 10);
+
+        // Then
+        assertEquals(2500, codes.size());
+        assertEquals(code(1), codes.get(0));
+        assertEquals(code(1025), codes.get(1024));
+        assertEquals(code(2500), codes.get(2499));
+        assertEquals(1999, since.getFirst());
+        assertEquals(code(2000), since.getEntries().get(0).getCode());
+        assertEquals(2009, since.getNext());
+        assertEquals(2500, since.getTotal());
+        assertTrue(history.page(0, START.plusSeconds(60L * 3000), 10).getEntries().isEmpty());
+        assertTrue(history.page(5000, null, 10).getEntries().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should record when a coupon was used and which order redeemed it")
+    void redemption_RecordsUseTimeAndOrder() {
+        // Given
+        DataStore dataStore = new DataStore();
+        CouponRepository couponRepository = new CouponRepository(dataStore);
+        OrderRepository orderRepository = new OrderRepository(dataStore);
+        couponRepository.generate(5);
+        Coupon coupon = couponRepository.generate(10);
+
+        // When
+        assertEquals(CouponValidationResult.VALID, couponRepository.validateAndUse(coupon.getCode()));
+        Order order = order().total("9.00").discount("1.00").coupon(coupon.getCode()).line(1).build();
+        orderRepository.save(order);
+
+        // Then
+        List<CouponHistory.Entry> entries = couponRepository.getHistory(0, null, 10).getEntries();
+        assertEquals(List.of("SAVE10-005", "SAVE10-010"), couponRepository.getAllGenerated());
+        assertNull(entries.get(0).getUsedAt());
+        assertNull(entries.get(0).getRedeemingOrderId());
+        assertEquals(10, entries.get(1).getGeneratedAtOrderNumber());
+        assertEquals(coupon.getCreatedAt(), entries.get(1).getCreatedAt());
+        assertNotNull(entries.get(1).getUsedAt());
+        assertEquals(order.getOrderId(), entries.get(1).getRedeemingOrderId());
+        assertFalse(dataStore.couponHistory.append("SAVE10-010", 10, Instant.now()));
+        dataStore.clearAll();
+        assertEquals(0, couponRepository.getGeneratedCount());
+        assertFalse(dataStore.couponHistory.contains("SAVE10-010"));
+    }
+
+    private static String code(int orderNumber) {
+        return String.format("SAVE10-%03d", orderNumber);
+    }
+}
@@ -0,0 +1,80 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.CouponValidationResult;
+import com.ecommerce.store.model.PromotionCode;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH redemption throughput with 10,000 live promotion codes, from concurrent checkouts.
+ *
+ * Not a unit test (surefire skips it) - run main() from the IDE after mvn test-compile.
+ *
+ * - redeemSpread:  each checkout redeems a random code (per-code counters, no shared lock)
+ * - redeemHot:     every checkout redeems the same code (all threads on one counter)
+ * - rejectUnknown: codes that were never created (stopped by the Bloom filter)
+ * - nthOrder:      the Nth-order coupon, which is validated under the repository monitor
+ *
+ * Quotas are large enough never to run out during a run, so every redemption takes the
+ * quota compare-and-set path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class CouponRedemptionBenchmark {
+
+    private static final int CODES = 10_000;
+
+    private CouponRepository couponRepository;
+    private String[] codes;
+    private String nthOrderCode;
+
+    @Setup
+    public void setUp() {
+        DataStore dataStore = new DataStore();
+        couponRepository = new CouponRepository(dataStore);
+        codes = new String[CODES];
+        for (int i = 0; i < CODES; i++) {
+            codes[i] = "PROMO-" + i;
+            couponRepository.createPromotion(
+                    new PromotionCode(codes[i], "benchmark", Integer.MAX_VALUE, 0, null, null, 0));
+        }
+        nthOrderCode = couponRepository.generate(5).getCode();
+    }
+
+    @Benchmark
+    public CouponValidationResult redeemSpread() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return couponRepository.validateAndUse(codes[random.nextInt(CODES)], "user" + random.nextInt(1000));
+    }
+
+    @Benchmark
+    public CouponValidationResult redeemHot() {
+        return couponRepository.validateAndUse(codes[0], "user" + ThreadLocalRandom.current().nextInt(1000));
+    }
+
+    @Benchmark
+    public CouponValidationResult rejectUnknown() {
+        return couponRepository.validateAndUse("GUESS-" + ThreadLocalRandom.current().nextInt(CODES), "user0");
+    }
+
+    @Benchmark
+    public CouponValidationResult nthOrder() {
+        return couponRepository.validateAndUse(nthOrderCode, "user0");
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(CouponRedemptionBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
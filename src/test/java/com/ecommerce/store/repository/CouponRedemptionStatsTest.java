@@ -0,0 +1,103 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Coupon;
+import com.ecommerce.store.model.CouponValidationResult;
+import com.ecommerce.store.model.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ecommerce.store.repository.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CouponRedemptionStats Tests")
+class CouponRedemptionStatsTest {
+
+    private DataStore dataStore;
+    private CouponRepository couponRepository;
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new DataStore();
+        couponRepository = new CouponRepository(dataStore);
+        orderRepository = new OrderRepository(dataStore);
+    }
+
+    @Test
+    @DisplayName("Should count one winner and the race losers when many checkouts race for a coupon")
+    void race_OneWinner_RestCountedAsLosers() throws Exception {
+        // Given
+        Coupon coupon = couponRepository.generate(5);
+        int shoppers = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < shoppers; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (couponRepository.validateAndUse(coupon.getCode()) == CouponValidationResult.VALID) {
+                    winners.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        couponRepository.validateAndUse("SAVE10-004");
+
+        // Then
+        CouponRedemptionStats stats = couponRepository.redemptionStats();
+        CouponHistory.Entry entry = couponRepository.findHistory(coupon.getCode()).orElseThrow();
+        assertEquals(1, winners.get());
+        assertEquals(1, stats.getAttempts(CouponValidationResult.VALID));
+        assertEquals(shoppers - 1, stats.getAttempts(CouponValidationResult.ALREADY_USED));
+        assertEquals(1, stats.getAttempts(CouponValidationResult.INVALID_CODE));
+        assertEquals(shoppers - 1, entry.getRaceLosses());
+        assertEquals(1, entry.getWrongCodeAttempts());
+        assertEquals(shoppers - 1, stats.getLostBy().getCount());
+        assertEquals(shoppers, stats.getRace(coupon.getCode()).getCount());
+    }
+
+    @Test
+    @DisplayName("Should record time-to-redeem and the redeeming user once the order is saved")
+    void redemption_RecordsTimeToRedeemAndUser() {
+        // Given
+        couponRepository.validateAndUse("SAVE10-005");   // nothing generated yet
+        Coupon coupon = couponRepository.generate(5);
+
+        // When
+        couponRepository.validateAndUse(coupon.getCode());
+        Order order = order().user("user7").total("9.00").discount("1.00").coupon(coupon.getCode()).line(1).build();
+        orderRepository.save(order);
+
+        // Then
+        CouponRedemptionStats stats = couponRepository.redemptionStats();
+        CouponHistory.Entry entry = couponRepository.findHistory(coupon.getCode()).orElseThrow();
+        assertEquals(1, stats.getAttempts(CouponValidationResult.NO_ACTIVE_COUPON));
+        assertEquals("user7", entry.getRedeemingUserId());
+        assertEquals(order.getOrderId(), entry.getRedeemingOrderId());
+        assertNotNull(entry.getTimeToRedeemMillis());
+        assertEquals(1, stats.getTimeToRedeem().getCount());
+        assertEquals(entry.getTimeToRedeemMillis().longValue(), stats.getTimeToRedeem().getMax());
+        for (int i = 2; i <= CouponRedemptionStats.RECENT_COUPONS + 1; i++) {
+            couponRepository.generate(5 * i);
+        }
+        assertNull(stats.getRace(coupon.getCode()));   // no longer among the latest coupons
+        dataStore.clearAll();
+        assertEquals(0, stats.getTimeToRedeem().getCount());
+        assertEquals(0, stats.getAttempts(CouponValidationResult.NO_ACTIVE_COUPON));
+    }
+}
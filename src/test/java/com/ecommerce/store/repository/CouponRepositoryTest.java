@@ -68,7 +68,7 @@ class CouponRepositoryTest {
 
         // Verify old coupon is replaced
         assertEquals(newCoupon, dataStore.activeCoupon);
-        assertTrue(dataStore.generatedCoupons.contains("SAVE10-010"));
+        assertTrue(dataStore.couponHistory.contains("SAVE10-010"));
     }
 
     @Test
@@ -183,9 +183,9 @@ class CouponRepositoryTest {
     @DisplayName("Should get all generated coupon codes")
     void getAllGenerated_ReturnsCouponCodes() {
         // Given
-        dataStore.generatedCoupons.add("CODE001");
-        dataStore.generatedCoupons.add("CODE002");
-        dataStore.generatedCoupons.add("CODE003");
+        dataStore.couponHistory.append("CODE001", 1, Instant.now());
+        dataStore.couponHistory.append("CODE002", 2, Instant.now());
+        dataStore.couponHistory.append("CODE003", 3, Instant.now());
 
         // When
         var result = couponRepository.getAllGenerated();
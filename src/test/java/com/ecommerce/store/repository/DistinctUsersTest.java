@@ -0,0 +1,93 @@
+package com.ecommerce.store.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static com.ecommerce.store.repository.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DistinctUsers Tests")
+class DistinctUsersTest {
+
+    private static final Instant NOON = Instant.parse("2025-12-28T12:00:00Z");
+    private static final long DAY = DistinctUsers.DAY_SECONDS;
+
+    private DataStore dataStore;
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new DataStore();
+        orderRepository = new OrderRepository(dataStore);
+    }
+
+    @Test
+    @DisplayName("Should count distinct buyers and coupon redeemers all time and per day")
+    void distinctUsers_Orders_CountsEachUserOnce() {
+        // Given - users 0..99 order yesterday, users 50..149 today, every fifth with a coupon
+        for (int i = 0; i < 100; i++) {
+            orderRepository.save(order().user("user-" + i).at(NOON.minusSeconds(DAY)).build());
+        }
+        for (int i = 50; i < 150; i++) {
+            boolean coupon = i % 5 == 0;
+            orderRepository.save(order().user("user-" + i).at(NOON)
+                    .discount(coupon ? "1.00" : "0").coupon(coupon ? "SAVE10" : null).build());
+        }
+
+        // When
+        DistinctUsers.Sketches allTime = orderRepository.distinctUsers();
+        DistinctUsers.Sketches today = orderRepository.distinctUsers(1, NOON);
+        DistinctUsers.Sketches twoDays = orderRepository.distinctUsers(2, NOON);
+
+        // Then - linear counting is near exact at these sizes
+        assertEquals(150, allTime.getBuyers().estimate(), 1);
+        assertEquals(100, today.getBuyers().estimate(), 1);
+        assertEquals(150, twoDays.getBuyers().estimate(), 1);
+        assertEquals(20, twoDays.getCouponRedeemers().estimate(), 1);
+        assertEquals(0, orderRepository.distinctUsers(1, NOON.minusSeconds(2 * DAY)).getBuyers().estimate());
+    }
+
+    @Test
+    @DisplayName("Should stay within the error bound for many buyers, counting repeat orders once")
+    void distinctUsers_ManyBuyers_WithinErrorBound() {
+        // Given - 20,000 buyers, each ordering twice
+        for (int i = 0; i < 20_000; i++) {
+            orderRepository.save(order().user("user-" + i).at(NOON).build());
+            orderRepository.save(order().user("user-" + i).at(NOON.plusSeconds(60)).build());
+        }
+
+        // When
+        long allTime = orderRepository.distinctUsers().getBuyers().estimate();
+        long today = orderRepository.distinctUsers(1, NOON).getBuyers().estimate();
+
+        // Then - within three standard errors
+        assertEquals(20_000, allTime, 20_000 * 3 * HyperLogLog.STANDARD_ERROR);
+        assertEquals(allTime, today);
+    }
+
+    @Test
+    @DisplayName("Should count cart creators once and clear with the store")
+    void distinctUsers_Carts_CountedOnCreation() {
+        // Given
+        CartRepository cartRepository = new CartRepository(dataStore);
+        for (int i = 0; i < 40; i++) {
+            cartRepository.getOrCreate("user-" + i);
+            cartRepository.getOrCreate("user-" + i);   // existing cart: not counted again
+        }
+
+        // When
+        long creators = orderRepository.distinctUsers().getCartCreators().estimate();
+        long today = orderRepository.distinctUsers(1, Instant.now()).getCartCreators().estimate();
+
+        // Then
+        assertEquals(40, creators, 1);
+        assertEquals(40, today, 1);
+        assertEquals(0, orderRepository.distinctUsers().getBuyers().estimate());
+        dataStore.clearAll();
+        assertEquals(0, orderRepository.distinctUsers().getCartCreators().estimate());
+        assertEquals(0, orderRepository.distinctUsers(DistinctUsers.DAYS, Instant.now()).getCartCreators().estimate());
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.store.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HyperLogLog Tests")
+class HyperLogLogTest {
+
+    @Test
+    @DisplayName("Should estimate large and small distinct counts within the error bound")
+    void estimate_DistinctValues_WithinStandardError() {
+        // Given
+        HyperLogLog large = new HyperLogLog();
+        HyperLogLog small = new HyperLogLog();
+        for (int i = 0; i < 200_000; i++) {
+            large.add("user-" + i);
+        }
+        for (int i = 0; i < 50; i++) {
+            small.add("user-" + i);
+        }
+
+        // When / Then - 3 standard errors for the large count, linear counting is near exact for small ones
+        assertEquals(200_000, large.estimate(), 3 * HyperLogLog.STANDARD_ERROR * 200_000);
+        assertEquals(50, small.estimate(), 1);
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    @DisplayName("Should count repeated values once")
+    void add_Duplicates_CountedOnce() {
+        // Given
+        HyperLogLog sketch = new HyperLogLog();
+
+        // When
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 1000; i++) {
+                sketch.add("user-" + i);
+            }
+        }
+
+        // Then
+        assertEquals(1000, sketch.estimate(), 3 * HyperLogLog.STANDARD_ERROR * 1000);
+    }
+
+    @Test
+    @DisplayName("Should merge overlapping sketches into the sketch of their union")
+    void merge_Overlapping_EqualsUnion() {
+        // Given - users 0..59999 and 40000..99999
+        HyperLogLog a = new HyperLogLog();
+        HyperLogLog b = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (int i = 0; i < 100_000; i++) {
+            String user = "user-" + i;
+            if (i < 60_000) {
+                a.add(user);
+            }
+            if (i >= 40_000) {
+                b.add(user);
+            }
+            union.add(user);
+        }
+
+        // When
+        a.merge(b);
+
+        // Then
+        assertEquals(union.estimate(), a.estimate());
+        assertEquals(100_000, a.estimate(), 3 * HyperLogLog.STANDARD_ERROR * 100_000);
+    }
+}
@@ -0,0 +1,133 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ItemBrowseIndex Tests")
+class ItemBrowseIndexTest {
+
+    private DataStore dataStore;
+    private ItemRepository itemRepository;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new DataStore();
+        itemRepository = new ItemRepository(dataStore);
+    }
+
+    @Test
+    @DisplayName("Should page through a price range in order without gaps or repeats")
+    void browse_PriceRange_KeysetPagesAreComplete() {
+        // Given - equal prices, so the itemId tie-breaker matters
+        for (int i = 0; i < 30; i++) {
+            save("Item " + i, new BigDecimal(10 + i % 10), 5);
+        }
+
+        // When
+        List<Item> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            ItemBrowseIndex.Page page = itemRepository.browse(ItemBrowseIndex.Sort.PRICE, false, false,
+                    new BigDecimal("12"), new BigDecimal("15.00"), cursor, 7);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertEquals(12, seen.size());
+        assertEquals(12, seen.stream().distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1).getPrice().compareTo(seen.get(i).getPrice()) <= 0);
+        }
+        assertEquals(0, new BigDecimal("12").compareTo(seen.get(0).getPrice()));
+        assertEquals(0, new BigDecimal("15").compareTo(seen.get(11).getPrice()));
+    }
+
+    @Test
+    @DisplayName("Should sort by name either way and filter by price while walking")
+    void browse_ByName_SortsCaseInsensitively() {
+        // Given
+        Item apple = save("apple", new BigDecimal("5.00"), 1);
+        Item banana = save("Banana", new BigDecimal("50.00"), 1);
+        Item cherry = save("cherry", new BigDecimal("8.00"), 1);
+
+        // When
+        ItemBrowseIndex.Page ascending = itemRepository.browse(ItemBrowseIndex.Sort.NAME, false, false,
+                null, null, null, 10);
+        ItemBrowseIndex.Page cheapDescending = itemRepository.browse(ItemBrowseIndex.Sort.NAME, true, false,
+                null, new BigDecimal("10"), null, 10);
+
+        // Then
+        assertEquals(List.of(apple, banana, cherry), ascending.getItems());
+        assertNull(ascending.getNextCursor());
+        assertEquals(List.of(cherry, apple), cheapDescending.getItems());
+    }
+
+    @Test
+    @DisplayName("Should follow price changes, sell-outs and deletes")
+    void browse_AfterUpdates_IsUpToDate() {
+        // Given
+        Item lamp = save("Lamp", new BigDecimal("20.00"), 1);
+        Item desk = save("Desk", new BigDecimal("200.00"), 3);
+        Item chair = save("Chair", new BigDecimal("80.00"), 2);
+
+        // When
+        lamp.setPrice(new BigDecimal("300.00"));
+        itemRepository.save(lamp);
+        itemRepository.decreaseStock(chair.getItemId(), 2);
+        itemRepository.delete(desk.getItemId());
+
+        // Then
+        assertEquals(List.of(chair, lamp), itemRepository.browse(ItemBrowseIndex.Sort.PRICE, false, false,
+                null, null, null, 10).getItems());
+        assertEquals(List.of(lamp), itemRepository.browse(ItemBrowseIndex.Sort.PRICE, false, true,
+                null, null, null, 10).getItems());
+        assertEquals(2, dataStore.browse.size());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors and cursors from another sort order")
+    void browse_BadCursor_Throws() {
+        // Given
+        save("A", BigDecimal.ONE, 1);
+        save("B", BigDecimal.TEN, 1);
+        String priceCursor = itemRepository.browse(ItemBrowseIndex.Sort.PRICE, false, false,
+                null, null, null, 1).getNextCursor();
+
+        // When / Then
+        assertNotNull(priceCursor);
+        assertThrows(IllegalArgumentException.class, () -> itemRepository.browse(ItemBrowseIndex.Sort.NAME,
+                false, false, null, null, priceCursor, 1));
+        assertThrows(IllegalArgumentException.class, () -> itemRepository.browse(ItemBrowseIndex.Sort.PRICE,
+                false, false, null, null, "not-a-cursor", 1));
+    }
+
+    @Test
+    @DisplayName("Should index seed data and clear with the store")
+    void browse_SeedData_IsIndexed() {
+        // Given
+        dataStore.seedData();
+
+        // When
+        ItemBrowseIndex.Page cheapest = itemRepository.browse(ItemBrowseIndex.Sort.PRICE, false, true,
+                null, null, null, 1);
+
+        // Then
+        assertEquals("Clean Code Book", cheapest.getItems().get(0).getName());
+        dataStore.clearAll();
+        assertEquals(0, dataStore.browse.size());
+    }
+
+    private Item save(String name, BigDecimal price, int stock) {
+        return itemRepository.save(new Item(UUID.randomUUID(), name, price, stock));
+    }
+}
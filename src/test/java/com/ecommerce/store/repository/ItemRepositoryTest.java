@@ -116,6 +116,7 @@ class ItemRepositoryTest {
 
     @Test
     @DisplayName("Should decrease item stock and show out of stock when quantity reaches zero")
+    @SuppressWarnings("deprecation")   // covers the single-unit overload on purpose
     void decreaseStock_ItemStockDecreasesAndOutOfStockWhenZero() {
         // Given
         Item item = createTestItem("Headphones", BigDecimal.valueOf(199.99));
@@ -131,6 +132,27 @@ class ItemRepositoryTest {
         assertTrue(dataStore.items.get(item.getItemId()).isOutOfStock());
     }
 
+    @Test
+    @DisplayName("Should find several items in request order with nulls for missing IDs")
+    void findAllById_MixedIds_KeepsRequestOrder() {
+        // Given
+        Item item1 = createTestItem("Laptop", BigDecimal.valueOf(999.99));
+        Item item2 = createTestItem("Mouse", BigDecimal.valueOf(29.99));
+        dataStore.items.put(item1.getItemId(), item1);
+        dataStore.items.put(item2.getItemId(), item2);
+        UUID missingId = UUID.randomUUID();
+
+        // When
+        List<Item> items = itemRepository.findAllById(List.of(item2.getItemId(), missingId, item1.getItemId(), item2.getItemId()));
+
+        // Then
+        assertEquals(4, items.size());
+        assertEquals(item2, items.get(0));
+        assertNull(items.get(1));
+        assertEquals(item1, items.get(2));
+        assertEquals(item2, items.get(3));
+    }
+
     private Item createTestItem(String name, BigDecimal price) {
         Item item = new Item();
         item.setItemId(UUID.randomUUID());
@@ -0,0 +1,99 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Item;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH latency of catalog search and autocomplete over a synthetic catalog.
+ *
+ * Not a unit test (surefire skips it) - run main() from the IDE after mvn test-compile.
+ *
+ * Names are built from brand / adjective / product / variant vocabularies, so term
+ * frequencies range from rare (model numbers) to very common (product nouns).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ItemSearchBenchmark {
+
+    private static final String[] BRANDS = new String[500];
+    private static final String[] ADJECTIVES = {"Wireless", "Smart", "Portable", "Compact", "Pro", "Ultra",
+            "Classic", "Deluxe", "Mini", "Max", "Eco", "Digital", "Premium", "Travel", "Gaming"};
+    private static final String[] PRODUCTS = {"Headphones", "Speaker", "Watch", "Laptop", "Phone", "Blender",
+            "Kettle", "Toaster", "Camera", "Monitor", "Keyboard", "Mouse", "Charger", "Lamp", "Backpack",
+            "Book", "Jacket", "Shoes", "Chair", "Desk"};
+
+    static {
+        for (int i = 0; i < BRANDS.length; i++) {
+            BRANDS[i] = "Brand" + i;
+        }
+    }
+
+    @Param({"1000000"})
+    public int skus;
+
+    private ItemSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Item> items = new ArrayList<>(skus);
+        for (int i = 0; i < skus; i++) {
+            String name = BRANDS[random.nextInt(BRANDS.length)] + " "
+                    + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + PRODUCTS[random.nextInt(PRODUCTS.length)] + " "
+                    + "X" + random.nextInt(100_000);
+            items.add(new Item(UUID.randomUUID(), name, new BigDecimal("19.99"), 10));
+        }
+        index = new ItemSearchIndex();
+        index.rebuild(items);
+    }
+
+    /**
+     * Brand + product: ~100 matches, driven by the brand's ~2,000 postings.
+     */
+    @Benchmark
+    public ItemSearchIndex.SearchHits searchSelective() {
+        return index.search("brand42 headphones", 0, 20);
+    }
+
+    /**
+     * Rare model number: a handful of postings.
+     */
+    @Benchmark
+    public ItemSearchIndex.SearchHits searchRare() {
+        return index.search("x4242", 0, 20);
+    }
+
+    /**
+     * Two common words: ~3,300 matches out of ~50,000 driver postings (worst case).
+     */
+    @Benchmark
+    public ItemSearchIndex.SearchHits searchBroad() {
+        return index.search("wireless headphones", 0, 20);
+    }
+
+    @Benchmark
+    public List<ItemSearchIndex.Suggestion> suggest() {
+        return index.suggest("wireless head", 10);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ItemSearchBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
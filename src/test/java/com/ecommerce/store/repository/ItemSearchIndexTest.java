@@ -0,0 +1,138 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ItemSearchIndex Tests")
+class ItemSearchIndexTest {
+
+    private DataStore dataStore;
+    private ItemRepository itemRepository;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new DataStore();
+        itemRepository = new ItemRepository(dataStore);
+    }
+
+    @Test
+    @DisplayName("Should match all query words, ignoring case and accents, best match first")
+    void search_AllTerms_RankedByRelevance() {
+        // Given
+        Item headphones = save("Wireless Headphones");
+        Item longer = save("Wireless Noise Cancelling Over-Ear Headphones");
+        save("Wireless Mouse");
+        Item cafe = save("Café Crème Machine");
+
+        // When
+        ItemSearchIndex.SearchHits hits = itemRepository.search("HEADPHONES wireless", 0, 10);
+
+        // Then
+        assertEquals(2, hits.getTotal());
+        assertEquals(List.of(headphones, longer), hits.getItems());
+        assertEquals(List.of(cafe), itemRepository.search("cafe creme", 0, 10).getItems());
+        assertEquals(0, itemRepository.search("wireless keyboard", 0, 10).getTotal());
+    }
+
+    @Test
+    @DisplayName("Should page through ranked results with a stable order")
+    void search_Pages_AreDisjointAndComplete() {
+        // Given
+        for (int i = 0; i < 25; i++) {
+            save("Book Volume " + i);
+        }
+
+        // When
+        ItemSearchIndex.SearchHits first = itemRepository.search("book", 0, 10);
+        ItemSearchIndex.SearchHits third = itemRepository.search("book", 20, 10);
+
+        // Then
+        assertEquals(25, first.getTotal());
+        assertEquals(10, first.getItems().size());
+        assertEquals(5, third.getItems().size());
+        assertTrue(first.getItems().stream().noneMatch(third.getItems()::contains));
+    }
+
+    @Test
+    @DisplayName("Should follow renames and deletes made through the repository")
+    void search_AfterRenameAndDelete_IsUpToDate() {
+        // Given
+        Item item = save("Coffee Maker");
+        Item blender = save("Blender");
+
+        // When
+        item.setName("Espresso Machine");
+        itemRepository.save(item);
+        itemRepository.delete(blender.getItemId());
+
+        // Then
+        assertEquals(0, itemRepository.search("coffee", 0, 10).getTotal());
+        assertEquals(List.of(item), itemRepository.search("espresso", 0, 10).getItems());
+        assertEquals(0, itemRepository.search("blender", 0, 10).getTotal());
+        assertTrue(itemRepository.suggest("co", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should stay correct after tombstones are compacted")
+    void search_ManyUpdates_CompactsAndStaysCorrect() {
+        // Given
+        Item item = save("Lamp 0");
+
+        // When
+        for (int i = 1; i <= 3000; i++) {
+            item.setName("Lamp " + i);
+            itemRepository.save(item);
+        }
+
+        // Then
+        assertEquals(1, dataStore.search.size());
+        assertEquals(List.of(item), itemRepository.search("lamp 3000", 0, 10).getItems());
+        assertEquals(0, itemRepository.search("lamp 2999", 0, 10).getTotal());
+    }
+
+    @Test
+    @DisplayName("Should suggest completions of the last word, most common first")
+    void suggest_Prefix_CompletesLastWord() {
+        // Given
+        save("Smart Watch");
+        save("Smartphone");
+        save("Smartphone Case");
+
+        // When
+        List<ItemSearchIndex.Suggestion> suggestions = itemRepository.suggest("Blue Sma", 5);
+
+        // Then
+        assertEquals(2, suggestions.size());
+        assertEquals("blue smartphone", suggestions.get(0).getText());
+        assertEquals(2, suggestions.get(0).getCount());
+        assertEquals("blue smart", suggestions.get(1).getText());
+        assertTrue(itemRepository.suggest("smart ", 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should index seed data and catalog rebuilds")
+    void search_SeedData_IsIndexed() {
+        // Given
+        dataStore.seedData();
+
+        // When
+        ItemSearchIndex.SearchHits hits = itemRepository.search("book", 0, 10);
+
+        // Then
+        assertEquals(2, hits.getTotal());
+        dataStore.clearAll();
+        assertEquals(0, itemRepository.search("book", 0, 10).getTotal());
+    }
+
+    private Item save(String name) {
+        return itemRepository.save(new Item(UUID.randomUUID(), name, new BigDecimal("10.00"), 5));
+    }
+}
@@ -0,0 +1,142 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LowStockIndex Tests")
+class LowStockIndexTest {
+
+    private DataStore dataStore;
+    private ItemRepository itemRepository;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new DataStore();
+        itemRepository = new ItemRepository(dataStore);
+    }
+
+    @Test
+    @DisplayName("Should list items at or below a threshold, lowest stock first, as stock changes")
+    void findLowStock_StockChanges_KeepsOrder() {
+        // Given
+        Item laptop = itemRepository.save(item("Laptop", 10));
+        Item blender = itemRepository.save(item("Blender", 5));
+        Item fryer = itemRepository.save(item("Air Fryer", 1));
+
+        // When
+        itemRepository.decreaseStock(laptop.getItemId(), 8);
+        itemRepository.decreaseStock(blender.getItemId(), 5);
+        List<Item> lowStock = itemRepository.findLowStock(2, 10);
+
+        // Then
+        assertEquals(List.of(blender, fryer, laptop), lowStock);
+        assertEquals(2, itemRepository.countLowStock(1));
+        assertEquals(List.of(blender), itemRepository.findLowStock(2, 1));
+        itemRepository.delete(blender.getItemId());
+        assertEquals(List.of(fryer), itemRepository.findLowStock(1, 10));
+        blender.setStock(50);
+        fryer.setStock(50);
+        itemRepository.save(fryer);
+        assertEquals(0, itemRepository.countLowStock(1));
+    }
+
+    @Test
+    @DisplayName("Should raise one alert when stock drops to the alert threshold and again after a restock")
+    void lowStockAlerts_CrossingThreshold_RaisesOnce() throws InterruptedException {
+        // Given - alert threshold 3
+        Item laptop = itemRepository.save(item("Laptop", 10));
+
+        // When
+        itemRepository.decreaseStock(laptop.getItemId(), 6);   // 4: above
+        itemRepository.decreaseStock(laptop.getItemId(), 1);   // 3: alert
+        itemRepository.decreaseStock(laptop.getItemId(), 2);   // 1: already alerted
+        laptop.setStock(20);
+        itemRepository.save(laptop);
+        itemRepository.decreaseStock(laptop.getItemId(), 20);  // 0: alert again
+        LowStockIndex.Alerts alerts = itemRepository.lowStockAlerts(0, 10);
+
+        // Then
+        assertEquals(2, alerts.getAlerts().size());
+        assertEquals(3, alerts.getAlerts().get(0).getStock());
+        assertEquals(0, alerts.getAlerts().get(1).getStock());
+        assertEquals("Laptop", alerts.getAlerts().get(1).getName());
+        assertEquals(alerts.getAlerts().get(1).getSequence(), alerts.getCursor());
+        assertFalse(alerts.isMissed());
+        assertTrue(itemRepository.lowStockAlerts(alerts.getCursor(), 10).getAlerts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should run a waiting reader's listener once, when the next alert is raised")
+    void whenLowStockAlertAfter_Waiting_RunsOnNewAlert() {
+        // Given
+        Item laptop = itemRepository.save(item("Laptop", 10));
+        Item mouse = itemRepository.save(item("Mouse", 10));
+        AtomicInteger runs = new AtomicInteger();
+        AtomicInteger cancelledRuns = new AtomicInteger();
+        itemRepository.whenLowStockAlertAfter(0, runs::incrementAndGet);
+        Runnable cancel = itemRepository.whenLowStockAlertAfter(0, cancelledRuns::incrementAndGet);
+
+        // When
+        cancel.run();
+        itemRepository.decreaseStock(laptop.getItemId(), 10);
+        itemRepository.decreaseStock(mouse.getItemId(), 10);
+
+        // Then
+        assertEquals(1, runs.get());
+        assertEquals(0, cancelledRuns.get());
+        assertEquals(laptop.getItemId(), itemRepository.lowStockAlerts(0, 10).getAlerts().get(0).getItemId());
+    }
+
+    @Test
+    @DisplayName("Should run the listener at once when there already is an alert after the cursor")
+    void whenLowStockAlertAfter_AlertAlreadyRaised_RunsAtOnce() {
+        // Given
+        Item laptop = itemRepository.save(item("Laptop", 10));
+        itemRepository.decreaseStock(laptop.getItemId(), 10);
+        AtomicInteger runs = new AtomicInteger();
+
+        // When
+        itemRepository.whenLowStockAlertAfter(0, runs::incrementAndGet);
+
+        // Then
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    @DisplayName("Should report missed alerts when the log overflowed or the cursor is stale")
+    void alertsAfter_Overflow_ReportsMissed() throws InterruptedException {
+        // Given - a log of 2 alerts
+        LowStockIndex index = new LowStockIndex(2);
+        for (int i = 0; i < 5; i++) {
+            index.index(new Item(UUID.randomUUID(), "Item " + i, BigDecimal.ONE, 0));
+        }
+
+        // When
+        LowStockIndex.Alerts behind = index.alertsAfter(1, 10);
+        LowStockIndex.Alerts stale = index.alertsAfter(99, 10);
+
+        // Then
+        assertTrue(behind.isMissed());
+        assertEquals(List.of(4L, 5L), behind.getAlerts().stream().map(LowStockIndex.Alert::getSequence).toList());
+        assertTrue(stale.isMissed());
+        assertEquals(5, stale.getCursor());
+        assertFalse(index.alertsAfter(0, 10).isMissed());
+    }
+
+    private static Item item(String name, int stock) {
+        Item item = new Item();
+        item.setName(name);
+        item.setPrice(BigDecimal.TEN);
+        item.setStock(stock);
+        return item;
+    }
+}
@@ -0,0 +1,137 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OrderCompactor Tests")
+class OrderCompactorTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-10T12:00:00Z");
+    private static final UUID LAPTOP = UUID.randomUUID();
+    private static final UUID BOOK = UUID.randomUUID();
+
+    private DataStore dataStore;
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new DataStore();
+        orderRepository = new OrderRepository(dataStore);
+    }
+
+    @Test
+    @DisplayName("Should fold aged orders into daily and per-item rollups and keep totals exact")
+    void compact_WithEviction_KeepsTotalsExact() {
+        // Given
+        Order aged1 = saveOrder(NOW.minus(40, ChronoUnit.DAYS), 2, null);
+        Order aged2 = saveOrder(NOW.minus(40, ChronoUnit.DAYS).plusSeconds(60), 1, "SAVE10-005");
+        saveOrder(NOW.minus(35, ChronoUnit.DAYS), 3, null);
+        Order live = saveOrder(NOW, 1, null);
+        int items = orderRepository.getTotalItemsPurchased();
+        BigDecimal amount = orderRepository.getTotalPurchaseAmount();
+        BigDecimal discount = orderRepository.getTotalDiscountAmount();
+        long coupons = orderRepository.countOrdersWithCoupons();
+        OrderCompactor compactor = new OrderCompactor(dataStore, false, 30, 60, true);
+
+        // When
+        int compacted = compactor.compact(NOW.minus(30, ChronoUnit.DAYS));
+
+        // Then
+        assertEquals(3, compacted);
+        assertEquals(List.of(live), orderRepository.findAll());
+        assertEquals(items, orderRepository.getTotalItemsPurchased());
+        assertEquals(amount, orderRepository.getTotalPurchaseAmount());
+        assertEquals(discount, orderRepository.getTotalDiscountAmount());
+        assertEquals(coupons, orderRepository.countOrdersWithCoupons());
+
+        OrderRollup rollup = orderRepository.snapshot().getRollup();
+        assertEquals(3, rollup.getOrderCount());
+        assertEquals(2, rollup.getDays().size());
+        OrderRollup.DailyBucket firstDay = rollup.getDays().get(LocalDate.ofInstant(aged1.getCreatedAt(), ZoneOffset.UTC));
+        assertEquals(2, firstDay.getOrders());
+        assertEquals(5, firstDay.getItemsPurchased());
+        assertEquals(aged1.getTotalAmount().add(aged2.getTotalAmount()), firstDay.getRevenue());
+        assertEquals(1, firstDay.getCouponOrders());
+        assertEquals(6, rollup.getItems().get(LAPTOP).getQuantity());
+        assertEquals(new BigDecimal("600.00"), rollup.getItems().get(LAPTOP).getRevenue());
+        assertEquals(3, rollup.getItems().get(BOOK).getQuantity());
+        assertEquals(new BigDecimal("30.00"), rollup.getItems().get(BOOK).getRevenue());
+    }
+
+    @Test
+    @DisplayName("Should not double count compacted orders that were kept in memory")
+    void compact_WithoutEviction_DoesNotDoubleCount() {
+        // Given
+        saveOrder(NOW.minus(40, ChronoUnit.DAYS), 2, null);
+        saveOrder(NOW, 1, null);
+        BigDecimal amount = orderRepository.getTotalPurchaseAmount();
+        OrderCompactor compactor = new OrderCompactor(dataStore, false, 30, 60, false);
+
+        // When
+        compactor.compact(NOW.minus(30, ChronoUnit.DAYS));
+        compactor.compact(NOW.minus(20, ChronoUnit.DAYS));
+
+        // Then
+        assertEquals(2, orderRepository.findAll().size());
+        assertEquals(amount, orderRepository.getTotalPurchaseAmount());
+        assertEquals(5, orderRepository.getTotalItemsPurchased());
+        assertEquals(1, orderRepository.snapshot().getRollup().getOrderCount());
+    }
+
+    @Test
+    @DisplayName("Should release fully compacted snapshot chunks without affecting pinned snapshots")
+    void compact_ReleasesSnapshotChunks() {
+        // Given
+        int aged = SnapshotManager.CHUNK_SIZE + 100;
+        for (int i = 0; i < aged; i++) {
+            saveOrder(NOW.minus(60, ChronoUnit.DAYS).plusSeconds(i), 1, null);
+        }
+        saveOrder(NOW, 1, null);
+        StoreSnapshot pinned = orderRepository.snapshot();
+        OrderCompactor compactor = new OrderCompactor(dataStore, false, 30, 60, true);
+
+        // When
+        compactor.compact(NOW.minus(30, ChronoUnit.DAYS));
+
+        // Then
+        StoreSnapshot latest = orderRepository.snapshot();
+        assertEquals(SnapshotManager.CHUNK_SIZE, latest.getFirstOrderIndex());
+        assertEquals(101L, latest.orders().count());
+        assertEquals(aged + 1, latest.getOrderCount());
+        assertEquals(pinned.getTotalPurchaseAmount(), latest.getTotalPurchaseAmount());
+        assertEquals((long) aged + 1, pinned.orders().count());
+        assertEquals(1, dataStore.orders.size());
+    }
+
+    private Order saveOrder(Instant createdAt, int laptops, String couponCode) {
+        List<CartItem> lines = new ArrayList<>();
+        lines.add(new CartItem(LAPTOP, "Laptop", new BigDecimal("100.00"), laptops));
+        lines.add(new CartItem(BOOK, "Book", new BigDecimal("10.00"), 1));
+        BigDecimal subtotal = lines.stream().map(CartItem::getSubtotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal discount = couponCode == null ? BigDecimal.ZERO : new BigDecimal("10.00");
+
+        Order order = new Order();
+        order.setUserId("user123");
+        order.setItems(lines);
+        order.setCouponCode(couponCode);
+        order.setDiscountAmount(discount);
+        order.setTotalAmount(subtotal.subtract(discount));
+        order.setCreatedAt(createdAt);
+        orderRepository.save(order);
+        return order;
+    }
+}
@@ -0,0 +1,113 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.ecommerce.store.repository.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OrderDistribution Tests")
+class OrderDistributionTest {
+
+    private static final Instant NOON = Instant.parse("2025-12-28T12:00:00Z");
+
+    private DataStore dataStore;
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new DataStore();
+        orderRepository = new OrderRepository(dataStore);
+    }
+
+    @Test
+    @DisplayName("Should keep all-time and per-window histograms and merge windows on read")
+    void distribution_Windows_MergeOnRead() {
+        // Given - 100 orders an hour ago, 10 big ones this hour
+        for (int i = 1; i <= 100; i++) {
+            orderRepository.save(order().at(NOON.minusSeconds(3600)).total(new BigDecimal(i)).line(1).build());
+        }
+        for (int i = 0; i < 10; i++) {
+            orderRepository.save(order().at(NOON.plusSeconds(i)).total("1000.00").line(5).build());
+        }
+
+        // When
+        OrderDistribution.Histograms allTime = orderRepository.distribution();
+        OrderDistribution.Histograms thisHour = orderRepository.distribution(OrderDistribution.Window.HOUR, 1, NOON);
+        OrderDistribution.Histograms twoHours = orderRepository.distribution(OrderDistribution.Window.HOUR, 2, NOON);
+        OrderDistribution.Histograms today = orderRepository.distribution(OrderDistribution.Window.DAY, 1, NOON);
+
+        // Then
+        assertEquals(110, allTime.getOrderValue().getCount());
+        assertEquals(10, thisHour.getOrderValue().getCount());
+        assertEquals(100_000, thisHour.getOrderValue().quantile(0.5));
+        assertEquals(5, thisHour.getItemsPerOrder().quantile(0.99));
+        assertEquals(110, twoHours.getItemsPerOrder().getCount());
+        assertEquals(100, twoHours.getOrderValue().getMin());
+        assertEquals(110, today.getOrderValue().getCount());
+        assertEquals(1, twoHours.getItemsPerOrder().quantile(0.5));
+    }
+
+    @Test
+    @DisplayName("Should reuse window slots as time moves on and clear with the store")
+    void distribution_AfterWrapAround_DropsOldWindow() {
+        // Given - the hour ring keeps 24 hours
+        orderRepository.save(order().at(NOON).line(1).build());
+        orderRepository.save(order().at(NOON.plusSeconds(24 * 3600)).total(BigDecimal.ONE).line(2).build());
+        orderRepository.save(order().at(NOON).line(1).build());
+
+        // When
+        OrderDistribution.Histograms old = orderRepository.distribution(OrderDistribution.Window.HOUR, 1, NOON);
+        OrderDistribution.Histograms latest = orderRepository.distribution(OrderDistribution.Window.HOUR, 1,
+                NOON.plusSeconds(24 * 3600));
+
+        // Then
+        assertEquals(0, old.getOrderValue().getCount());
+        assertEquals(1, latest.getOrderValue().getCount());
+        assertEquals(3, orderRepository.distribution().getOrderValue().getCount());
+        dataStore.clearAll();
+        assertEquals(0, orderRepository.distribution().getItemsPerOrder().getCount());
+        assertEquals(0, orderRepository.distribution(OrderDistribution.Window.DAY, 30, NOON).getOrderValue().getCount());
+    }
+
+    @Test
+    @DisplayName("Should report p50, p90 and p99 within the relative accuracy, and merge nodes into the whole")
+    void distribution_Percentiles_WithinAccuracyAndMergeAcrossNodes() {
+        // Given - the same orders on this store and split between two other nodes
+        OrderRepository nodeA = new OrderRepository(new DataStore());
+        OrderRepository nodeB = new OrderRepository(new DataStore());
+        Random random = new Random(44);
+        long[] cents = new long[5000];
+        for (int i = 0; i < cents.length; i++) {
+            cents[i] = 100 + random.nextInt(200_000);
+            Order order = order().at(NOON).total(BigDecimal.valueOf(cents[i], 2)).line(1 + random.nextInt(5)).build();
+            orderRepository.save(order);
+            (i % 2 == 0 ? nodeA : nodeB).save(order);
+        }
+        Arrays.sort(cents);
+
+        // When
+        OrderDistribution.Histograms whole = orderRepository.distribution();
+        OrderDistribution.Histograms merged = new OrderDistribution.Histograms();
+        merged.merge(nodeA.distribution());
+        merged.merge(nodeB.distribution());
+
+        // Then
+        for (double q : new double[] {0.5, 0.9, 0.99}) {
+            long exact = cents[(int) Math.floor(q * (cents.length - 1))];
+            long estimate = whole.getOrderValue().quantile(q);
+            assertTrue(Math.abs(estimate - exact) <= exact * QuantileHistogram.RELATIVE_ACCURACY,
+                    "q=" + q + " exact=" + exact + " estimate=" + estimate);
+            assertEquals(estimate, merged.getOrderValue().quantile(q));
+            assertEquals(whole.getItemsPerOrder().quantile(q), merged.getItemsPerOrder().quantile(q));
+        }
+        assertEquals(cents.length, merged.getOrderValue().getCount());
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ecommerce.store.repository.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OrderLookupIndex Tests")
+class OrderLookupIndexTest {
+
+    private static final UUID LAPTOP = UUID.randomUUID();
+    private static final UUID BLENDER = UUID.randomUUID();
+
+    private DataStore dataStore;
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new DataStore();
+        orderRepository = new OrderRepository(dataStore);
+    }
+
+    @Test
+    @DisplayName("Should page through the orders containing an item, oldest first")
+    void findIdsByItem_Paginates() {
+        // Given - every order has a blender, every third a laptop (twice on separate lines)
+        List<UUID> laptopOrders = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Order order = i % 3 == 0
+                    ? order().line(BLENDER, "49.99", 1).line(LAPTOP, "999.99", 1).line(LAPTOP, "999.99", 1).build()
+                    : order().line(BLENDER, "49.99", 1).build();
+            orderRepository.save(order);
+            if (i % 3 == 0) {
+                laptopOrders.add(order.getOrderId());
+            }
+        }
+
+        // When
+        OrderLookupIndex.Page first = orderRepository.findIdsByItem(LAPTOP, 0, 4);
+        OrderLookupIndex.Page second = orderRepository.findIdsByItem(LAPTOP, first.getNext(), 4);
+        OrderLookupIndex.Page last = orderRepository.findIdsByItem(LAPTOP, second.getNext(), 4);
+
+        // Then
+        assertEquals(10, first.getTotal());
+        assertEquals(laptopOrders.subList(0, 4), first.getOrderIds());
+        assertEquals(laptopOrders.subList(4, 8), second.getOrderIds());
+        assertEquals(laptopOrders.subList(8, 10), last.getOrderIds());
+        assertNull(last.getNext());
+        assertEquals(30, orderRepository.findIdsByItem(BLENDER, 0, 100).getOrderIds().size());
+        assertEquals(0, orderRepository.findIdsByItem(UUID.randomUUID(), 0, 10).getTotal());
+    }
+
+    @Test
+    @DisplayName("Should find the order that redeemed a coupon and clear with the store")
+    void findIdsByCoupon_FindsRedeemingOrder() {
+        // Given
+        orderRepository.save(order().line(LAPTOP, "999.99", 1).build());
+        Order redeemed = order().line(LAPTOP, "999.99", 1).discount("100.00").coupon("SAVE10-045").build();
+        orderRepository.save(redeemed);
+
+        // When
+        OrderLookupIndex.Page page = orderRepository.findIdsByCoupon("SAVE10-045", 0, 10);
+
+        // Then
+        assertEquals(List.of(redeemed.getOrderId()), page.getOrderIds());
+        assertNull(page.getNext());
+        assertEquals(0, orderRepository.findIdsByCoupon("SAVE10-050", 0, 10).getTotal());
+        dataStore.clearAll();
+        assertEquals(0, orderRepository.findIdsByCoupon("SAVE10-045", 0, 10).getTotal());
+        assertEquals(0, orderRepository.findIdsByItem(LAPTOP, 0, 10).getTotal());
+    }
+}
@@ -0,0 +1,149 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.ecommerce.store.repository.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OrderRangeIndex Tests")
+class OrderRangeIndexTest {
+
+    private static final Instant START = Instant.parse("2025-12-01T00:00:00Z");
+
+    private DataStore dataStore;
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new DataStore();
+        orderRepository = new OrderRepository(dataStore);
+    }
+
+    @Test
+    @DisplayName("Should match a full scan for random ranges, with orders arriving out of time order")
+    void rangeTotals_RandomRanges_MatchScan() {
+        // Given - about 60 days of minutes, far more than the initial tree, growing both ways
+        Random random = new Random(43);
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            Instant createdAt = START.plusSeconds(random.nextInt(60 * 24 * 3600));
+            boolean coupon = i % 7 == 0;
+            Order order = order().at(createdAt)
+                    .line(1 + random.nextInt(4))
+                    .total(new BigDecimal(random.nextInt(50_000)).movePointLeft(2))
+                    .discount(coupon ? "1.50" : "0")
+                    .coupon(coupon ? "SAVE10-" + i : null)
+                    .build();
+            orders.add(order);
+            orderRepository.save(order);
+        }
+
+        // When / Then - minute-aligned bounds are exact
+        for (int q = 0; q < 200; q++) {
+            Instant from = START.plusSeconds(60L * random.nextInt(60 * 24 * 70) - 5 * 24 * 3600);
+            Instant to = from.plusSeconds(60L * (1 + random.nextInt(60 * 24 * 20)));
+            OrderRangeIndex.Totals totals = orderRepository.rangeTotals(from, to, orderRepository.snapshot());
+
+            List<Order> expected = orders.stream()
+                    .filter(o -> !o.getCreatedAt().isBefore(from) && o.getCreatedAt().isBefore(to))
+                    .toList();
+            assertEquals(expected.size(), totals.getOrders());
+            assertEquals(expected.stream().mapToLong(o -> o.getItems().get(0).getQuantity()).sum(),
+                    totals.getItemsPurchased());
+            assertEquals(expected.stream().map(Order::getTotalAmount).reduce(new BigDecimal("0.00"), BigDecimal::add),
+                    totals.getRevenue());
+            assertEquals(expected.stream().map(Order::getDiscountAmount).reduce(new BigDecimal("0.00"), BigDecimal::add),
+                    totals.getDiscount());
+            assertEquals(expected.stream().filter(Order::hasCouponApplied).count(), totals.getCouponOrders());
+        }
+        assertEquals(3000, orderRepository.rangeTotals(null, null, orderRepository.snapshot()).getOrders());
+    }
+
+    @Test
+    @DisplayName("Should widen bounds to whole buckets and report the range covered")
+    void rangeTotals_UnalignedBounds_AreWidened() {
+        // Given
+        orderRepository.save(order().at(START.plusSeconds(10)).total("10.00").line(1).build());
+        orderRepository.save(order().at(START.plusSeconds(70)).total("20.00").line(2).build());
+        orderRepository.save(order().at(START.plusSeconds(130)).total("30.00").line(3).build());
+
+        // When
+        OrderRangeIndex.Totals middle = orderRepository.rangeTotals(START.plusSeconds(90), START.plusMillis(120_500),
+                orderRepository.snapshot());
+        OrderRangeIndex.Totals openStart = orderRepository.rangeTotals(null, START.plusSeconds(60), orderRepository.snapshot());
+
+        // Then
+        assertEquals(START.plusSeconds(60), middle.getFrom());
+        assertEquals(START.plusSeconds(180), middle.getTo());
+        assertEquals(2, middle.getOrders());
+        assertEquals(5, middle.getItemsPurchased());
+        assertNull(openStart.getFrom());
+        assertEquals(new BigDecimal("10.00"), openStart.getRevenue());
+    }
+
+    @Test
+    @DisplayName("Should return zeros before the first order and after clearing")
+    void rangeTotals_Empty_ReturnsZero() {
+        // Given
+        OrderRangeIndex.Totals none = orderRepository.rangeTotals(START, START.plusSeconds(3600), orderRepository.snapshot());
+        orderRepository.save(order().at(START).total(BigDecimal.TEN).line(1).build());
+
+        // When
+        dataStore.clearAll();
+
+        // Then
+        assertEquals(0, none.getOrders());
+        assertEquals(0, orderRepository.rangeTotals(null, null, orderRepository.snapshot()).getOrders());
+        assertEquals(new BigDecimal("0.00"), orderRepository.rangeTotals(START, null, orderRepository.snapshot()).getRevenue());
+    }
+
+    @Test
+    @DisplayName("Should answer for a pinned snapshot, leaving out orders placed after it")
+    void rangeTotals_PinnedSnapshot_ExcludesLaterOrders() {
+        // Given
+        orderRepository.save(order().at(START.plusSeconds(10)).total("10.00").line(1).build());
+        StoreSnapshot pinned = orderRepository.snapshot();
+        orderRepository.save(order().at(START.plusSeconds(20)).total("20.00").line(2)
+                .discount("1.50").coupon("SAVE10-5").build());
+        orderRepository.save(order().at(START.plusSeconds(7200)).total("40.00").line(4).build());
+
+        // When
+        OrderRangeIndex.Totals atPin = orderRepository.rangeTotals(START, START.plusSeconds(3600), pinned);
+        OrderRangeIndex.Totals latest = orderRepository.rangeTotals(START, START.plusSeconds(3600),
+                orderRepository.snapshot());
+
+        // Then
+        assertEquals(1, atPin.getOrders());
+        assertEquals(new BigDecimal("10.00"), atPin.getRevenue());
+        assertEquals(0, atPin.getCouponOrders());
+        assertEquals(2, latest.getOrders());
+        assertEquals(3, latest.getItemsPurchased());
+    }
+
+    @Test
+    @DisplayName("Should count the retained orders again when the bucket width changes")
+    void configure_ExistingOrders_Recounted() {
+        // Given
+        orderRepository.save(order().at(START.plusSeconds(10)).total("10.00").line(1).build());
+        orderRepository.save(order().at(START.plusSeconds(4000)).total("20.00").line(2).build());
+
+        // When
+        dataStore.rangeIndex.configure(3600);
+        OrderRangeIndex.Totals firstHour = orderRepository.rangeTotals(START, START.plusSeconds(60),
+                orderRepository.snapshot());
+
+        // Then
+        assertEquals(START.plusSeconds(3600), firstHour.getTo());
+        assertEquals(1, firstHour.getOrders());
+        assertEquals(2, orderRepository.rangeTotals(null, null, orderRepository.snapshot()).getOrders());
+    }
+}
@@ -10,6 +10,10 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -118,9 +122,9 @@ class OrderRepositoryTest {
         Order order3 = createTestOrder("user789", BigDecimal.valueOf(50.00));
         order3.setDiscountAmount(BigDecimal.ZERO);
 
-        dataStore.orders.put(order1.getOrderId(), order1);
-        dataStore.orders.put(order2.getOrderId(), order2);
-        dataStore.orders.put(order3.getOrderId(), order3);
+        orderRepository.save(order1);
+        orderRepository.save(order2);
+        orderRepository.save(order3);
 
         // When
         BigDecimal totalDiscount = orderRepository.getTotalDiscountAmount();
@@ -149,8 +153,8 @@ class OrderRepositoryTest {
         Order order2 = createTestOrder("user456", BigDecimal.valueOf(200.00));
         order2.setDiscountAmount(BigDecimal.ZERO);
 
-        dataStore.orders.put(order1.getOrderId(), order1);
-        dataStore.orders.put(order2.getOrderId(), order2);
+        orderRepository.save(order1);
+        orderRepository.save(order2);
 
         // When
         BigDecimal totalDiscount = orderRepository.getTotalDiscountAmount();
@@ -159,6 +163,62 @@ class OrderRepositoryTest {
         assertEquals(BigDecimal.ZERO, totalDiscount);
     }
 
+    @Test
+    @DisplayName("Should publish a new snapshot version on save without changing pinned ones")
+    void save_PublishesSnapshot_PinnedSnapshotUnchanged() {
+        // Given
+        orderRepository.save(createTestOrder("user123", BigDecimal.valueOf(50.00)));
+        StoreSnapshot pinned = orderRepository.snapshot();
+
+        // When
+        orderRepository.save(createTestOrder("user456", BigDecimal.valueOf(75.00)));
+        StoreSnapshot latest = orderRepository.snapshot();
+
+        // Then
+        assertEquals(1, pinned.getOrderCount());
+        assertEquals(BigDecimal.valueOf(50.00), pinned.getTotalPurchaseAmount());
+        assertEquals(2, latest.getOrderCount());
+        assertEquals(BigDecimal.valueOf(125.00), latest.getTotalPurchaseAmount());
+        assertTrue(latest.getVersion() > pinned.getVersion());
+        assertEquals(2L, latest.orders().count());
+    }
+
+    @Test
+    @DisplayName("Should count every order in the snapshot and aggregates when checkouts save concurrently")
+    void save_ConcurrentCheckouts_EveryOrderCounted() throws Exception {
+        // Given
+        int threads = 8;
+        int ordersPerThread = 2_500;   // 20,000 orders: many chunks and a grown chunk directory
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            String userId = "user" + t;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < ordersPerThread; i++) {
+                    orderRepository.save(createTestOrder(userId, BigDecimal.ONE));
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Then
+        int total = threads * ordersPerThread;
+        StoreSnapshot snapshot = orderRepository.snapshot();
+        assertEquals(total, snapshot.getOrderCount());
+        assertEquals(BigDecimal.valueOf(total), snapshot.getTotalPurchaseAmount());
+        assertEquals(total, snapshot.orders().map(Order::getOrderId).distinct().count());
+        assertEquals(total, dataStore.rangeIndex.sum(null, null).getOrders());
+    }
+
     private Order createTestOrder(String userId, BigDecimal totalAmount) {
         Order order = new Order();
         order.setOrderId(UUID.randomUUID());
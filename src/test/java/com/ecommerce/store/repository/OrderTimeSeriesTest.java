@@ -0,0 +1,113 @@
+package com.ecommerce.store.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.ecommerce.store.repository.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OrderTimeSeries Tests")
+class OrderTimeSeriesTest {
+
+    private static final Instant NOON = Instant.parse("2025-12-28T12:00:00Z");
+
+    private DataStore dataStore;
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new DataStore();
+        orderRepository = new OrderRepository(dataStore);
+    }
+
+    @Test
+    @DisplayName("Should bucket orders per second, minute and hour")
+    void window_OrdersInSeveralPeriods_AreBucketed() {
+        // Given
+        orderRepository.save(order().at(NOON).total("100.00").discount("10.00").coupon("SAVE10-005").build());
+        orderRepository.save(order().at(NOON.plusMillis(400)).total("50.00").build());
+        orderRepository.save(order().at(NOON.plusSeconds(2)).total("25.50").build());
+        orderRepository.save(order().at(NOON.plusSeconds(75)).total("4.50").build());
+        dataStore.orders.clear();   // reads come from the rings alone, never from the orders
+
+        // When
+        List<OrderTimeSeries.Bucket> seconds = orderRepository.timeSeries(OrderTimeSeries.Resolution.SECOND, 3,
+                NOON.plusSeconds(2));
+        List<OrderTimeSeries.Bucket> minutes = orderRepository.timeSeries(OrderTimeSeries.Resolution.MINUTE, 2,
+                NOON.plusSeconds(75));
+        List<OrderTimeSeries.Bucket> hours = orderRepository.timeSeries(OrderTimeSeries.Resolution.HOUR, 1, NOON);
+
+        // Then
+        assertEquals(List.of(2L, 0L, 1L), seconds.stream().map(OrderTimeSeries.Bucket::getOrders).toList());
+        assertEquals(NOON, seconds.get(0).getStart());
+        assertEquals(new BigDecimal("150.00"), seconds.get(0).getRevenue());
+        assertEquals(new BigDecimal("10.00"), seconds.get(0).getDiscount());
+        assertEquals(1, seconds.get(0).getCouponOrders());
+        assertEquals(new BigDecimal("175.50"), minutes.get(0).getRevenue());
+        assertEquals(1, minutes.get(1).getOrders());
+        assertEquals(4, hours.get(0).getOrders());
+    }
+
+    @Test
+    @DisplayName("Should roll buckets forward lazily and ignore orders older than the ring")
+    void window_AfterWrapAround_ShowsOnlyCurrentPeriods() {
+        // Given - the second ring spans one hour, so NOON and NOON + 1h share a slot
+        orderRepository.save(order().at(NOON).total("10.00").build());
+        orderRepository.save(order().at(NOON.plusSeconds(3600)).total("20.00").build());
+        orderRepository.save(order().at(NOON).total("30.00").build());
+
+        // When
+        List<OrderTimeSeries.Bucket> latest = orderRepository.timeSeries(OrderTimeSeries.Resolution.SECOND, 1,
+                NOON.plusSeconds(3600));
+        List<OrderTimeSeries.Bucket> stale = orderRepository.timeSeries(OrderTimeSeries.Resolution.SECOND, 1, NOON);
+        List<OrderTimeSeries.Bucket> hours = orderRepository.timeSeries(OrderTimeSeries.Resolution.HOUR, 2,
+                NOON.plusSeconds(3600));
+
+        // Then
+        assertEquals(new BigDecimal("20.00"), latest.get(0).getRevenue());
+        assertEquals(0, stale.get(0).getOrders());
+        assertEquals(new BigDecimal("40.00"), hours.get(0).getRevenue());
+        assertEquals(new BigDecimal("20.00"), hours.get(1).getRevenue());
+        dataStore.clearAll();
+        assertEquals(0, orderRepository.timeSeries(OrderTimeSeries.Resolution.HOUR, 1, NOON).get(0).getOrders());
+    }
+
+    @Test
+    @DisplayName("Should not lose concurrent checkouts, including the one that rolls a bucket")
+    void record_Concurrent_CountsEveryOrder() throws Exception {
+        // Given
+        OrderTimeSeries timeSeries = new OrderTimeSeries();
+        timeSeries.record(order().at(NOON.minusSeconds(3600)).total("1.00").build());   // stale slot to roll
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 2500; i++) {
+                    timeSeries.record(order().at(NOON).total("0.01").build());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        // Then
+        OrderTimeSeries.Bucket bucket = timeSeries.window(OrderTimeSeries.Resolution.SECOND, 1, NOON).get(0);
+        assertEquals(10_000, bucket.getOrders());
+        assertEquals(new BigDecimal("100.00"), bucket.getRevenue());
+    }
+}
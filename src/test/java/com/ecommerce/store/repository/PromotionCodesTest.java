@@ -0,0 +1,115 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.CouponValidationResult;
+import com.ecommerce.store.model.PromotionCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PromotionCodes Tests")
+class PromotionCodesTest {
+
+    private DataStore dataStore;
+    private CouponRepository couponRepository;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new DataStore();
+        couponRepository = new CouponRepository(dataStore);
+    }
+
+    @Test
+    @DisplayName("Should never redeem a code beyond its quota when many checkouts race for it")
+    void redeem_ConcurrentCheckouts_QuotaNeverExceeded() throws Exception {
+        // Given
+        couponRepository.createPromotion(promotion("FLASH50", 50, 0, null));
+        int shoppers = 400;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < shoppers; i++) {
+            String userId = "user" + i;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (couponRepository.validateAndUse("FLASH50", userId) == CouponValidationResult.VALID) {
+                    winners.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        CouponRedemptionStats stats = couponRepository.redemptionStats();
+        assertEquals(50, winners.get());
+        assertEquals(50, couponRepository.findPromotion("FLASH50").orElseThrow().getRedeemed());
+        assertEquals(50, stats.getAttempts(CouponValidationResult.VALID));
+        assertEquals(shoppers - 50, stats.getAttempts(CouponValidationResult.QUOTA_EXHAUSTED));
+        assertFalse(couponRepository.isValid("FLASH50"));
+    }
+
+    @Test
+    @DisplayName("Should enforce per-user limits and expiry, and reject unknown codes")
+    void redeem_PerUserLimitExpiryUnknown_Rejected() {
+        // Given
+        couponRepository.createPromotion(promotion("WELCOME", 0, 2, null));
+        dataStore.promotions.add(new PromotionCode("LASTWEEK", "old", 0, 0,
+                Instant.now().minusSeconds(60), Instant.now().minusSeconds(3600), 0));
+
+        // When / Then
+        assertEquals(CouponValidationResult.VALID, couponRepository.validateAndUse("WELCOME", "alice"));
+        assertEquals(CouponValidationResult.VALID, couponRepository.validateAndUse("WELCOME", "alice"));
+        assertEquals(CouponValidationResult.USER_LIMIT_REACHED, couponRepository.validateAndUse("WELCOME", "alice"));
+        assertEquals(CouponValidationResult.VALID, couponRepository.validateAndUse("WELCOME", "bob"));
+        assertEquals(CouponValidationResult.EXPIRED, couponRepository.validateAndUse("LASTWEEK", "alice"));
+        assertEquals(CouponValidationResult.INVALID_CODE, couponRepository.validateAndUse("WELCOME2", "alice"));
+        assertEquals(CouponValidationResult.USER_LIMIT_REACHED, couponRepository.validateAndUse("WELCOME"));
+        assertEquals(3, couponRepository.findPromotion("WELCOME").orElseThrow().getRedeemed());
+        assertEquals(2, dataStore.promotions.redeemedByUser("WELCOME").get("alice"));
+        assertFalse(couponRepository.isValid("LASTWEEK"));
+        assertTrue(couponRepository.isValid("WELCOME"));
+    }
+
+    @Test
+    @DisplayName("Should run promotion codes alongside the Nth-order coupon and validate new codes")
+    void createPromotion_AlongsideNthOrder_BothRedeemable() {
+        // Given
+        couponRepository.generate(5);
+        couponRepository.createPromotion(promotion("SPRING25", 10, 1, Instant.now().plusSeconds(3600)));
+
+        // When / Then
+        assertEquals(CouponValidationResult.VALID, couponRepository.validateAndUse("SPRING25", "alice"));
+        assertEquals(CouponValidationResult.VALID, couponRepository.validateAndUse("SAVE10-005", "bob"));
+        assertEquals(CouponValidationResult.ALREADY_USED, couponRepository.validateAndUse("SAVE10-005", "carol"));
+        assertThrows(IllegalArgumentException.class,
+                () -> couponRepository.createPromotion(promotion("SPRING25", 10, 1, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> couponRepository.createPromotion(promotion("SAVE10-999", 0, 0, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> couponRepository.createPromotion(promotion("HAS SPACE", 0, 0, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> couponRepository.createPromotion(promotion("PAST", 0, 0, Instant.now().minusSeconds(1))));
+        dataStore.clearAll();
+        assertEquals(CouponValidationResult.NO_ACTIVE_COUPON, couponRepository.validateAndUse("SPRING25", "alice"));
+    }
+
+    private static PromotionCode promotion(String code, int quota, int perUserLimit, Instant expiresAt) {
+        return new PromotionCode(code, "test", quota, perUserLimit, expiresAt, null, 0);
+    }
+}
@@ -0,0 +1,83 @@
+package com.ecommerce.store.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QuantileHistogram Tests")
+class QuantileHistogramTest {
+
+    @Test
+    @DisplayName("Should return quantiles within the relative accuracy on skewed data")
+    void quantile_Lognormal_WithinRelativeAccuracy() {
+        // Given - order values in cents, heavily skewed
+        Random random = new Random(44);
+        long[] values = new long[100_000];
+        QuantileHistogram histogram = new QuantileHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.round(Math.exp(8 + 1.5 * random.nextGaussian()));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        // When / Then
+        for (double q : new double[] {0.0, 0.5, 0.9, 0.99, 0.999, 1.0}) {
+            long exact = values[(int) Math.floor(q * (values.length - 1))];
+            long estimate = histogram.quantile(q);
+            assertTrue(Math.abs(estimate - exact) <= Math.max(1, exact * QuantileHistogram.RELATIVE_ACCURACY),
+                    "q=" + q + " exact=" + exact + " estimate=" + estimate);
+        }
+        assertEquals(values[0], histogram.getMin());
+        assertEquals(values[values.length - 1], histogram.getMax());
+    }
+
+    @Test
+    @DisplayName("Should merge into exactly the histogram of all values, also via the wire form")
+    void merge_TwoPartitions_EqualsWhole() {
+        // Given
+        QuantileHistogram whole = new QuantileHistogram();
+        QuantileHistogram left = new QuantileHistogram();
+        QuantileHistogram right = new QuantileHistogram();
+        for (long v = 0; v < 5000; v++) {
+            long value = v * v % 100_003;
+            whole.record(value);
+            (v % 2 == 0 ? left : right).record(value);
+        }
+
+        // When
+        QuantileHistogram merged = new QuantileHistogram();
+        merged.merge(left);
+        merged.merge(QuantileHistogram.fromBuckets(right.getZeroCount(), right.getBuckets(),
+                right.getMin(), right.getMax()));
+
+        // Then
+        assertEquals(whole.getBuckets(), merged.getBuckets());
+        assertEquals(whole.getCount(), merged.getCount());
+        assertEquals(whole.getZeroCount(), merged.getZeroCount());
+        assertEquals(whole.quantile(0.99), merged.quantile(0.99));
+        assertEquals(whole.getMax(), merged.getMax());
+    }
+
+    @Test
+    @DisplayName("Should keep small integers exact and reject invalid input")
+    void record_SmallIntegers_AreExact() {
+        // Given
+        QuantileHistogram histogram = new QuantileHistogram();
+        for (long items = 1; items <= 40; items++) {
+            histogram.record(items);
+        }
+
+        // When / Then
+        assertEquals(20, histogram.quantile(0.5));
+        assertEquals(36, histogram.quantile(0.9));
+        assertEquals(0, new QuantileHistogram().quantile(0.5));
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+        assertThrows(IllegalArgumentException.class, () -> QuantileHistogram.fromBuckets(0,
+                Map.of(QuantileHistogram.BUCKETS, 1L), 1, 1));
+    }
+}
@@ -0,0 +1,132 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.codec.CartTokenCodec;
+import com.ecommerce.store.dto.CartResponse;
+import com.ecommerce.store.dto.OrderResponse;
+import com.ecommerce.store.model.Item;
+import com.ecommerce.store.service.CartServiceImpl;
+import com.ecommerce.store.service.OrderServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StatelessCartRepository Tests")
+class StatelessCartRepositoryTest {
+
+    private DataStore dataStore;
+    private ItemRepository itemRepository;
+    private CartServiceImpl cartService;
+    private OrderServiceImpl orderService;
+    private Item laptop;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new DataStore();
+        itemRepository = new ItemRepository(dataStore);
+        CartTokenCodec codec = new CartTokenCodec(
+                "test-secret-0123456789".getBytes(StandardCharsets.UTF_8), Duration.ofHours(1));
+        StatelessCartRepository cartRepository = new StatelessCartRepository(itemRepository, dataStore, codec);
+        cartService = new CartServiceImpl(cartRepository, itemRepository);
+        orderService = new OrderServiceImpl(cartRepository, new OrderRepository(dataStore),
+                new CouponRepository(dataStore), itemRepository);
+        ReflectionTestUtils.setField(orderService, "nthOrder", 5);
+        ReflectionTestUtils.setField(orderService, "discountPercentage", 10);
+        laptop = itemRepository.save(new Item(null, "Laptop", new BigDecimal("1000.00"), 10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Should carry the cart in the token instead of server memory")
+    void addItem_IssuesToken_KeepsNoServerState() {
+        // When
+        MockHttpServletResponse first = request(null);
+        cartService.addItemToCart("user123", laptop.getItemId(), 1);
+        String token = first.getHeader(StatelessCartRepository.HEADER);
+
+        request(token);
+        CartResponse cart = cartService.addItemToCart("user123", laptop.getItemId(), 2);
+
+        // Then
+        assertNotNull(token);
+        assertEquals(3, cart.getTotalItems());
+        assertTrue(dataStore.carts.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should count the owner of a new token cart as a cart creator, once")
+    void addItem_NewTokenCart_CountsCartCreator() {
+        // When - a new cart, then the same cart again from its token
+        MockHttpServletResponse first = request(null);
+        cartService.addItemToCart("user123", laptop.getItemId(), 1);
+        request(first.getHeader(StatelessCartRepository.HEADER));
+        cartService.addItemToCart("user123", laptop.getItemId(), 1);
+        request(null);
+        cartService.addItemToCart("user456", laptop.getItemId(), 1);
+
+        // Then
+        assertEquals(2, dataStore.distinctUsers.allTime().getCartCreators().estimate());
+        assertTrue(dataStore.carts.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should charge current catalog prices at checkout and clear the token")
+    void checkout_RepricesFromCatalog_ClearsToken() {
+        // Given
+        MockHttpServletResponse added = request(null);
+        cartService.addItemToCart("user123", laptop.getItemId(), 2);
+        String token = added.getHeader(StatelessCartRepository.HEADER);
+        laptop.setPrice(new BigDecimal("900.00"));
+
+        // When
+        MockHttpServletResponse checkout = request(token);
+        OrderResponse order = orderService.checkout("user123", null);
+
+        // Then
+        assertEquals(0, new BigDecimal("1800.00").compareTo(order.getTotalAmount()));
+        assertEquals(8, itemRepository.findById(laptop.getItemId()).orElseThrow().getStock());
+        assertEquals("", checkout.getHeader(StatelessCartRepository.HEADER));
+    }
+
+    @Test
+    @DisplayName("Should reject tampered tokens and tokens of another user")
+    void findByUserId_ForeignOrTamperedToken_Rejected() {
+        // Given
+        MockHttpServletResponse added = request(null);
+        cartService.addItemToCart("user123", laptop.getItemId(), 1);
+        String token = added.getHeader(StatelessCartRepository.HEADER);
+        char flipped = token.charAt(40);
+        String tampered = token.substring(0, 40) + (flipped == 'A' ? 'B' : 'A') + token.substring(41);
+
+        // When / Then
+        request(token);
+        assertThrows(IllegalArgumentException.class, () -> cartService.getCart("user456"));
+        request(tampered);
+        assertThrows(IllegalArgumentException.class, () -> cartService.getCart("user123"));
+    }
+
+    private MockHttpServletResponse request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (token != null) {
+            request.addHeader(StatelessCartRepository.HEADER, token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+}
@@ -0,0 +1,82 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Order;
+import com.ecommerce.store.model.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Paid orders for the order aggregate tests (sketches, time series, indexes, coupon history).
+ *
+ * Defaults: user "user", created now, total 10.00, no discount, no coupon, no lines.
+ */
+final class TestOrders {
+
+    private TestOrders() {
+    }
+
+    static Builder order() {
+        return new Builder();
+    }
+
+    static final class Builder {
+
+        private String userId = "user";
+        private Instant createdAt = Instant.now();
+        private BigDecimal total = BigDecimal.TEN;
+        private BigDecimal discount = BigDecimal.ZERO;
+        private String couponCode;
+        private final List<CartItem> lines = new ArrayList<>();
+
+        Builder user(String userId) {
+            this.userId = userId;
+            return this;
+        }
+
+        Builder at(Instant createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+
+        Builder total(String total) {
+            return total(new BigDecimal(total));
+        }
+
+        Builder total(BigDecimal total) {
+            this.total = total;
+            return this;
+        }
+
+        Builder discount(String discount) {
+            this.discount = new BigDecimal(discount);
+            return this;
+        }
+
+        Builder coupon(String couponCode) {
+            this.couponCode = couponCode;
+            return this;
+        }
+
+        Builder line(UUID itemId, String price, int quantity) {
+            lines.add(new CartItem(itemId, "Item", new BigDecimal(price), quantity));
+            return this;
+        }
+
+        /**
+         * A line of a new item at 10.00.
+         */
+        Builder line(int quantity) {
+            return line(UUID.randomUUID(), "10.00", quantity);
+        }
+
+        Order build() {
+            return new Order(UUID.randomUUID(), userId, new ArrayList<>(lines), total, discount, couponCode,
+                    createdAt, PaymentStatus.PAID);
+        }
+    }
+}
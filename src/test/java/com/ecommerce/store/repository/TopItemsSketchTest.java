@@ -0,0 +1,114 @@
+package com.ecommerce.store.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static com.ecommerce.store.repository.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TopItemsSketch Tests")
+class TopItemsSketchTest {
+
+    private DataStore dataStore;
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new DataStore();
+        orderRepository = new OrderRepository(dataStore);
+    }
+
+    @Test
+    @DisplayName("Should rank exactly while every item has its own counter")
+    void topItems_FewItems_AreExact() {
+        // Given
+        UUID laptop = UUID.randomUUID();
+        UUID mouse = UUID.randomUUID();
+        orderRepository.save(order().line(laptop, "999.99", 1).line(mouse, "19.99", 3).build());
+        orderRepository.save(order().line(mouse, "19.99", 2).build());
+
+        // When
+        TopItemsSketch.Ranking byUnits = orderRepository.topItems(TopItemsSketch.Metric.UNITS, 1);
+        TopItemsSketch.Ranking byRevenue = orderRepository.topItems(TopItemsSketch.Metric.REVENUE, 2);
+
+        // Then
+        assertEquals(6, byUnits.getTotal());
+        assertEquals(mouse, byUnits.getEntries().get(0).getItemId());
+        assertEquals(5, byUnits.getEntries().get(0).getCount());
+        assertTrue(byUnits.getEntries().get(0).isGuaranteed());
+        assertEquals(List.of(laptop, mouse), byRevenue.getEntries().stream()
+                .map(TopItemsSketch.Estimate::getItemId).toList());
+        assertEquals(new BigDecimal("99.95"), TopItemsSketch.Metric.REVENUE.toAmount(
+                byRevenue.getEntries().get(1).getCount()));
+        assertEquals(0, byRevenue.getMaxError());
+    }
+
+    @Test
+    @DisplayName("Should keep estimates within the error bound and find the heavy hitters on a long tail")
+    void topItems_LongTail_StaysWithinErrorBound() {
+        // Given - 5 best sellers among 2,000 items, 50 counters per metric
+        dataStore.topItems.configure(50);
+        List<UUID> catalog = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            catalog.add(UUID.randomUUID());
+        }
+        Random random = new Random(41);
+        for (int i = 0; i < 6000; i++) {
+            UUID itemId = i % 3 == 0 ? catalog.get(i % 15 / 3) : catalog.get(5 + random.nextInt(1995));
+            orderRepository.save(order().line(itemId, "10.00", 1 + random.nextInt(3)).build());
+        }
+
+        // When
+        TopItemsSketch.Ranking estimated = orderRepository.topItems(TopItemsSketch.Metric.UNITS, 5);
+        TopItemsSketch.Ranking exact = orderRepository.topItemsExact(TopItemsSketch.Metric.UNITS, 2000);
+
+        // Then
+        Map<UUID, Long> truth = new HashMap<>();
+        exact.getEntries().forEach(entry -> truth.put(entry.getItemId(), entry.getCount()));
+        assertEquals(exact.getTotal(), estimated.getTotal());
+        assertEquals(50, orderRepository.topItems(TopItemsSketch.Metric.UNITS, 2000).getEntries().size());
+        assertTrue(estimated.getMaxError() <= estimated.getTotal() / 50);
+        assertEquals(catalog.subList(0, 5).stream().sorted().toList(), estimated.getEntries().stream()
+                .map(TopItemsSketch.Estimate::getItemId).sorted().toList());
+        for (TopItemsSketch.Estimate estimate : estimated.getEntries()) {
+            long actual = truth.get(estimate.getItemId());
+            assertTrue(estimate.getCount() >= actual);
+            assertTrue(estimate.getCount() - estimate.getError() <= actual);
+            assertTrue(estimate.isGuaranteed());
+        }
+    }
+
+    @Test
+    @DisplayName("Should agree with the exact scan across compaction, and clear with the store")
+    void topItemsExact_AfterCompaction_CountsRollup() {
+        // Given
+        UUID book = UUID.randomUUID();
+        UUID lamp = UUID.randomUUID();
+        orderRepository.save(order().at(Instant.parse("2025-01-01T00:00:00Z")).line(book, "40.00", 4).build());
+        orderRepository.save(order().line(lamp, "25.00", 3).line(book, "40.00", 1).build());
+        new OrderCompactor(dataStore, false, 30, 60, true).compact(Instant.parse("2025-06-01T00:00:00Z"));
+
+        // When
+        TopItemsSketch.Ranking exact = orderRepository.topItemsExact(TopItemsSketch.Metric.REVENUE, 10);
+        TopItemsSketch.Ranking estimated = orderRepository.topItems(TopItemsSketch.Metric.REVENUE, 10);
+
+        // Then
+        assertEquals(1, dataStore.orders.size());
+        assertEquals(List.of(book, lamp), exact.getEntries().stream()
+                .map(TopItemsSketch.Estimate::getItemId).toList());
+        assertEquals(20000, exact.getEntries().get(0).getCount());
+        assertEquals(exact.getTotal(), estimated.getTotal());
+        dataStore.clearAll();
+        assertTrue(orderRepository.topItems(TopItemsSketch.Metric.UNITS, 10).getEntries().isEmpty());
+    }
+}
@@ -0,0 +1,171 @@
+package com.ecommerce.store.repository;
+
+import com.ecommerce.store.dto.PersistenceStatsResponse;
+import com.ecommerce.store.model.Cart;
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Item;
+import com.ecommerce.store.model.Order;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WriteBehindStore Tests")
+class WriteBehindStoreTest {
+
+    private Path directory;
+    private String url;
+    private DataStore dataStore;
+    private WriteBehindStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        directory = Files.createTempDirectory("write-behind");
+        url = "jdbc:h2:file:" + directory.resolve("store").toAbsolutePath();
+        dataStore = new DataStore();
+        // Long interval: the tests flush explicitly
+        store = new WriteBehindStore(dataStore, true, url, 500, 60_000);
+        store.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.stop();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should hydrate a new store from rows flushed by the previous one")
+    void flush_ThenRestart_HydratesDataStore() {
+        // Given
+        ItemRepository items = new ItemRepository(dataStore);
+        WriteBehindItemRepository itemRepository = new WriteBehindItemRepository(items, store);
+        WriteBehindCartRepository cartRepository = new WriteBehindCartRepository(new CartRepository(dataStore), store);
+        WriteBehindOrderRepository orderRepository = new WriteBehindOrderRepository(new OrderRepository(dataStore), store);
+
+        Item laptop = itemRepository.save(new Item(null, "Laptop", new BigDecimal("999.99"), 10));
+        itemRepository.decreaseStock(laptop.getItemId(), 3);
+        Cart cart = cartRepository.getOrCreate("user123");
+        cart.getItems().add(new CartItem(laptop.getItemId(), "Laptop", new BigDecimal("999.99"), 1));
+        cart.setTotal(new BigDecimal("999.99"));
+        cartRepository.save(cart);
+        Order order = new Order();
+        order.setUserId("user456");
+        order.setItems(new ArrayList<>(List.of(new CartItem(laptop.getItemId(), "Laptop", new BigDecimal("999.99"), 2))));
+        order.setDiscountAmount(BigDecimal.ZERO);
+        order.setTotalAmount(new BigDecimal("1999.98"));
+        orderRepository.save(order);
+
+        // When
+        store.stop();
+        DataStore restarted = new DataStore();
+        store = new WriteBehindStore(restarted, true, url, 500, 60_000);
+        store.start();
+
+        // Then
+        assertEquals(7, restarted.items.get(laptop.getItemId()).getStock());
+        assertEquals(1, restarted.carts.get("user123").getItems().size());
+        assertEquals(new BigDecimal("999.99"), restarted.carts.get("user123").getTotal());
+        assertEquals("user456", restarted.orders.get(order.getOrderId()).getUserId());
+        assertEquals(1, restarted.orderCounter.get());
+        assertEquals(new BigDecimal("1999.98"), restarted.snapshots.pin().getTotalPurchaseAmount());
+    }
+
+    @Test
+    @DisplayName("Should coalesce repeated cart updates into one row write")
+    void cartUpdates_AreCoalesced() {
+        // Given
+        WriteBehindCartRepository cartRepository = new WriteBehindCartRepository(new CartRepository(dataStore), store);
+        Cart cart = cartRepository.getOrCreate("user123");
+
+        // When
+        for (int i = 1; i <= 10; i++) {
+            cart.setTotal(BigDecimal.valueOf(i));
+            cartRepository.save(cart);
+        }
+        store.flush();
+
+        // Then
+        PersistenceStatsResponse stats = store.getStats();
+        assertEquals(11, stats.getEnqueued());
+        assertEquals(10, stats.getCoalesced());
+        assertEquals(1, stats.getFlushedRows());
+        assertEquals(0, stats.getQueueDepth());
+        assertEquals(1, stats.getLastBatchSize());
+    }
+
+    @Test
+    @DisplayName("Should not restore a cart deleted before or after it was flushed")
+    void cartDelete_RemovesRow() {
+        // Given
+        WriteBehindCartRepository cartRepository = new WriteBehindCartRepository(new CartRepository(dataStore), store);
+        cartRepository.getOrCreate("flushed");
+        store.flush();
+        cartRepository.getOrCreate("pending");
+
+        // When
+        cartRepository.delete("flushed");
+        cartRepository.delete("pending");
+        store.stop();
+        DataStore restarted = new DataStore();
+        store = new WriteBehindStore(restarted, true, url, 500, 60_000);
+        store.start();
+
+        // Then
+        assertTrue(restarted.carts.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should persist the in-memory catalog on first start and split flushes into batches")
+    void firstStart_PersistsCatalog_InBatches() {
+        // Given
+        store.stop();
+        DataStore seeded = new DataStore();
+        for (int i = 0; i < 25; i++) {
+            Item item = new Item(UUID.randomUUID(), "Item " + i, BigDecimal.ONE, i);
+            seeded.items.put(item.getItemId(), item);
+        }
+        store = new WriteBehindStore(seeded, true, url, 10, 60_000);
+
+        // When
+        store.start();
+        store.flush();
+
+        // Then
+        PersistenceStatsResponse stats = store.getStats();
+        assertEquals(25, stats.getFlushedRows());
+        assertEquals(3, stats.getFlushes());
+        assertEquals(10, stats.getMaxBatchSize());
+    }
+
+    @Test
+    @DisplayName("Should ignore writes when disabled")
+    void disabled_IsNoOp() {
+        // Given
+        WriteBehindStore disabled = new WriteBehindStore(new DataStore(), false, url, 500, 200);
+        disabled.start();
+
+        // When
+        disabled.cartSaved(new Cart("user123", new ArrayList<>(), BigDecimal.ZERO));
+        disabled.flush();
+
+        // Then
+        assertFalse(disabled.getStats().getEnabled());
+        assertEquals(0, disabled.getQueueDepth());
+    }
+}
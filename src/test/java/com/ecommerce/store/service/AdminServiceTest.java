@@ -1,23 +1,65 @@
 package com.ecommerce.store.service;
 
+import com.ecommerce.store.cdc.ChangeEventBus;
 import com.ecommerce.store.dto.AdminStatsResponse;
+import com.ecommerce.store.dto.CouponHistoryResponse;
 import com.ecommerce.store.dto.CouponListResponse;
+import com.ecommerce.store.dto.CouponRedemptionResponse;
 import com.ecommerce.store.dto.CouponResponse;
+import com.ecommerce.store.dto.CreatePromotionRequest;
+import com.ecommerce.store.dto.DistinctCountResponse;
+import com.ecommerce.store.dto.DistinctUsersResponse;
+import com.ecommerce.store.dto.LowStockAlertsResponse;
+import com.ecommerce.store.dto.LowStockResponse;
+import com.ecommerce.store.dto.OrderPageResponse;
+import com.ecommerce.store.dto.OrderQuantilesResponse;
+import com.ecommerce.store.dto.PromotionResponse;
+import com.ecommerce.store.dto.TimeSeriesResponse;
+import com.ecommerce.store.dto.TopItemsResponse;
+import com.ecommerce.store.model.CartItem;
 import com.ecommerce.store.model.Coupon;
+import com.ecommerce.store.model.Item;
 import com.ecommerce.store.model.Order;
+import com.ecommerce.store.model.PromotionCode;
+import com.ecommerce.store.replication.ReplicationManager;
+import com.ecommerce.store.repository.CouponHistory;
+import com.ecommerce.store.repository.CouponRedemptionStats;
+import com.ecommerce.store.repository.DataStore;
+import com.ecommerce.store.repository.DistinctUsers;
+import com.ecommerce.store.repository.HyperLogLog;
 import com.ecommerce.store.repository.ICouponRepository;
+import com.ecommerce.store.repository.IItemRepository;
 import com.ecommerce.store.repository.IOrderRepository;
+import com.ecommerce.store.repository.LowStockIndex;
+import com.ecommerce.store.repository.OrderCompactor;
+import com.ecommerce.store.repository.OrderDistribution;
+import com.ecommerce.store.repository.OrderLookupIndex;
+import com.ecommerce.store.repository.OrderRangeIndex;
+import com.ecommerce.store.repository.OrderTimeSeries;
+import com.ecommerce.store.repository.SnapshotManager;
+import com.ecommerce.store.repository.StoreSnapshot;
+import com.ecommerce.store.repository.TopItemsSketch;
+import com.ecommerce.store.repository.WriteBehindStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,33 +73,32 @@ class AdminServiceTest {
     @Mock
     private ICouponRepository couponRepository;
 
+    @Mock
+    private IItemRepository itemRepository;
+
     private AdminService adminService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        adminService = new AdminServiceImpl(orderRepository, couponRepository);
+        adminService = new AdminServiceImpl(orderRepository, couponRepository, itemRepository, new ChangeEventBus(16),
+                new WriteBehindStore(new DataStore(), false, null, 500, 200),
+                new ReplicationManager(new DataStore()));
     }
 
     @Test
     @DisplayName("Should return complete store statistics")
     void getStatistics_ReturnsCompleteStats() {
         // Given
-        List<Order> orders = Arrays.asList(
-                createTestOrder(BigDecimal.valueOf(100.00), BigDecimal.valueOf(10.00)),
-                createTestOrder(BigDecimal.valueOf(200.00), BigDecimal.valueOf(20.00)),
-                createTestOrder(BigDecimal.valueOf(50.00), BigDecimal.ZERO)
-        );
-
-        Coupon activeCoupon = createTestCoupon("ACTIVE10", false, 5);
+        SnapshotManager snapshots = new SnapshotManager();
+        snapshots.recordOrder(createTestOrder(5, BigDecimal.valueOf(100.00), BigDecimal.valueOf(10.00), "SAVE10-005"));
+        snapshots.recordOrder(createTestOrder(7, BigDecimal.valueOf(200.00), BigDecimal.valueOf(20.00), "SAVE10-010"));
+        snapshots.recordOrder(createTestOrder(3, BigDecimal.valueOf(50.00), BigDecimal.ZERO, null));
+        snapshots.recordCouponGenerated("SAVE10-005");
+        snapshots.recordCouponGenerated("SAVE10-010");
+        snapshots.recordCouponGenerated("ACTIVE10");
 
-        when(orderRepository.getTotalItemsPurchased()).thenReturn(15);
-        when(orderRepository.getTotalPurchaseAmount()).thenReturn(BigDecimal.valueOf(350.00));
-        when(orderRepository.getTotalDiscountAmount()).thenReturn(BigDecimal.valueOf(30.00));
-        when(orderRepository.findAll()).thenReturn(orders);
-        when(orderRepository.countOrdersWithCoupons()).thenReturn(2L);
-        when(couponRepository.getGeneratedCount()).thenReturn(3);
-        when(couponRepository.getActive()).thenReturn(Optional.of(activeCoupon));
+        when(orderRepository.snapshot()).thenReturn(snapshots.pin());
 
         // When
         AdminStatsResponse stats = adminService.getStatistics();
@@ -70,19 +111,17 @@ class AdminServiceTest {
         assertEquals(2L, stats.getOrdersWithCoupons());
         assertEquals(3, stats.getTotalCouponsGenerated());
         assertEquals("ACTIVE10", stats.getActiveCoupon());
+        assertEquals(6L, stats.getSnapshotVersion());
     }
 
     @Test
     @DisplayName("Should return statistics with null active coupon when no coupon is active")
     void getStatistics_NoActiveCoupon_ReturnsNull() {
         // Given
-        when(orderRepository.getTotalItemsPurchased()).thenReturn(5);
-        when(orderRepository.getTotalPurchaseAmount()).thenReturn(BigDecimal.valueOf(100.00));
-        when(orderRepository.getTotalDiscountAmount()).thenReturn(BigDecimal.ZERO);
-        when(orderRepository.findAll()).thenReturn(List.of());
-        when(orderRepository.countOrdersWithCoupons()).thenReturn(0L);
-        when(couponRepository.getGeneratedCount()).thenReturn(0);
-        when(couponRepository.getActive()).thenReturn(Optional.empty());
+        SnapshotManager snapshots = new SnapshotManager();
+        snapshots.recordOrder(createTestOrder(5, BigDecimal.valueOf(100.00), BigDecimal.ZERO, null));
+
+        when(orderRepository.snapshot()).thenReturn(snapshots.pin());
 
         // When
         AdminStatsResponse stats = adminService.getStatistics();
@@ -91,44 +130,240 @@ class AdminServiceTest {
         assertEquals(5, stats.getTotalItemsPurchased());
         assertEquals(BigDecimal.valueOf(100.00), stats.getTotalPurchaseAmount());
         assertEquals(BigDecimal.ZERO, stats.getTotalDiscountAmount());
-        assertEquals(0, stats.getTotalOrders());
+        assertEquals(1, stats.getTotalOrders());
         assertEquals(0L, stats.getOrdersWithCoupons());
         assertEquals(0, stats.getTotalCouponsGenerated());
         assertNull(stats.getActiveCoupon());
     }
 
+    @Test
+    @DisplayName("Should not see orders committed after the snapshot was pinned")
+    void getStatistics_PinnedSnapshot_IgnoresLaterOrders() {
+        // Given
+        SnapshotManager snapshots = new SnapshotManager();
+        snapshots.recordOrder(createTestOrder(2, BigDecimal.valueOf(40.00), BigDecimal.ZERO, null));
+        StoreSnapshot pinned = snapshots.pin();
+        snapshots.recordOrder(createTestOrder(9, BigDecimal.valueOf(900.00), BigDecimal.ZERO, null));
+
+        when(orderRepository.snapshot()).thenReturn(pinned);
+
+        // When
+        AdminStatsResponse stats = adminService.getStatistics();
+
+        // Then
+        assertEquals(1, stats.getTotalOrders());
+        assertEquals(2, stats.getTotalItemsPurchased());
+        assertEquals(BigDecimal.valueOf(40.00), stats.getTotalPurchaseAmount());
+        assertEquals(1L, pinned.orders().count());
+    }
+
+    @Test
+    @DisplayName("Should export the pinned orders created in [from, to)")
+    void prepareOrderExport_TimeRange_StreamsMatchingOrders() throws Exception {
+        // Given
+        SnapshotManager snapshots = new SnapshotManager();
+        Instant january = Instant.parse("2025-01-15T10:00:00Z");
+        Instant february = Instant.parse("2025-02-01T00:00:00Z");
+        snapshots.recordOrder(createTestOrder(1, BigDecimal.TEN, BigDecimal.ZERO, null, january));
+        snapshots.recordOrder(createTestOrder(2, BigDecimal.ONE, BigDecimal.ZERO, null, february));
+        when(orderRepository.snapshot()).thenReturn(snapshots.pin());
+
+        // When
+        OrderExport export = adminService.prepareOrderExport("csv", Instant.parse("2025-01-01T00:00:00Z"),
+                february, false, false);
+        snapshots.recordOrder(createTestOrder(3, BigDecimal.ONE, BigDecimal.ZERO, null, january));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long written = export.writeTo(bytes);
+
+        // Then
+        assertEquals(1, written);
+        String[] lines = bytes.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].contains("2025-01-15T10:00:00Z"));
+        assertEquals("text/csv; charset=UTF-8", export.getContentType());
+    }
+
+    @Test
+    @DisplayName("Should gzip the export on request")
+    void prepareOrderExport_Gzip_CompressesOutput() throws Exception {
+        // Given
+        SnapshotManager snapshots = new SnapshotManager();
+        for (int i = 0; i < 100; i++) {
+            snapshots.recordOrder(createTestOrder(1, BigDecimal.TEN, BigDecimal.ZERO, null, Instant.now()));
+        }
+        when(orderRepository.snapshot()).thenReturn(snapshots.pin());
+
+        // When
+        OrderExport export = adminService.prepareOrderExport("ndjson", null, null, true, false);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        export.writeTo(bytes);
+
+        // Then
+        String ndjson = new String(new GZIPInputStream(new ByteArrayInputStream(bytes.toByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertEquals(100, ndjson.lines().count());
+        assertTrue(export.getFilename().endsWith(".ndjson.gz"));
+        assertEquals("application/gzip", export.getContentType());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown formats and empty time ranges before exporting")
+    void prepareOrderExport_InvalidParameters_ThrowsException() {
+        // Given
+        Instant now = Instant.now();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> adminService.prepareOrderExport("xml", null, null, false, false));
+        assertThrows(IllegalArgumentException.class, () -> adminService.prepareOrderExport("csv", now, now, false, false));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should refuse to silently leave out compacted orders from an export")
+    void prepareOrderExport_RangeBeforeCompaction_RejectedUnlessPartial() throws Exception {
+        // Given: two full chunks of old orders, compacted and evicted, and one recent order
+        DataStore dataStore = new DataStore();
+        Instant now = Instant.now();
+        Instant old = now.minus(60, ChronoUnit.DAYS);
+        for (int i = 0; i < 2048; i++) {
+            dataStore.recordOrder(createTestOrder(1, BigDecimal.ONE, BigDecimal.ZERO, null, old));
+        }
+        dataStore.recordOrder(createTestOrder(1, BigDecimal.TEN, BigDecimal.ZERO, null, now));
+        new OrderCompactor(dataStore, false, 30, 60, true).compact(now.minus(30, ChronoUnit.DAYS));
+        when(orderRepository.snapshot()).thenReturn(dataStore.snapshots.pin());
+        Instant boundary = now.minus(30, ChronoUnit.DAYS);
+
+        // When
+        OrderExport partial = adminService.prepareOrderExport("csv", null, null, false, true);
+        OrderExport recent = adminService.prepareOrderExport("csv", boundary, null, false, false);
+
+        // Then
+        assertThrows(IllegalArgumentException.class,
+                () -> adminService.prepareOrderExport("csv", null, null, false, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> adminService.prepareOrderExport("csv", old.minusSeconds(1), null, false, false));
+        assertFalse(partial.isComplete());
+        assertEquals(boundary, partial.getCompactedBefore());
+        assertEquals(1, partial.writeTo(new ByteArrayOutputStream()));
+        assertTrue(recent.isComplete());
+        assertEquals(1, recent.writeTo(new ByteArrayOutputStream()));
+    }
+
     @Test
     @DisplayName("Should return all generated coupons")
     void getAllCoupons_ReturnsAllCoupons() {
         // Given
         List<String> coupons = Arrays.asList("COUPON1", "COUPON2", "COUPON3");
+        CouponHistory.Page page = new CouponHistory.Page(List.of(
+                new CouponHistory.Entry("COUPON1", 5, Instant.now()),
+                new CouponHistory.Entry("COUPON2", 10, Instant.now()),
+                new CouponHistory.Entry("COUPON3", 15, Instant.now())), 0, 3, null);
 
-        when(couponRepository.getAllGenerated()).thenReturn(coupons);
+        when(couponRepository.getHistory(0, null, 100)).thenReturn(page);
 
         // When
-        CouponListResponse response = adminService.getAllCoupons();
+        CouponListResponse response = adminService.getAllCoupons(0, null, 100);
 
         // Then
         assertEquals(coupons, response.getCoupons());
         assertEquals(3, response.getTotalGenerated());
+        assertNull(response.getNextCursor());
 
-        verify(couponRepository).getAllGenerated();
+        verify(couponRepository).getHistory(0, null, 100);
     }
 
     @Test
     @DisplayName("Should return empty coupon list when no coupons generated")
     void getAllCoupons_NoCoupons_ReturnsEmptyList() {
         // Given
-        when(couponRepository.getAllGenerated()).thenReturn(List.of());
+        when(couponRepository.getHistory(0, null, 100)).thenReturn(new CouponHistory.Page(List.of(), 0, 0, null));
 
         // When
-        CouponListResponse response = adminService.getAllCoupons();
+        CouponListResponse response = adminService.getAllCoupons(0, null, 100);
 
         // Then
         assertTrue(response.getCoupons().isEmpty());
         assertEquals(0, response.getTotalGenerated());
 
-        verify(couponRepository).getAllGenerated();
+        verify(couponRepository).getHistory(0, null, 100);
+    }
+
+    @Test
+    @DisplayName("Should page the coupon history with positions, use time and redeeming order")
+    void getCouponHistory_ReturnsPageWithRedemptions() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        Instant usedAt = Instant.parse("2025-01-15T10:42:10Z");
+        CouponHistory.Page page = new CouponHistory.Page(List.of(
+                new CouponHistory.Entry("SAVE10-015", 15, Instant.parse("2025-01-15T10:30:00Z"), usedAt, "user1",
+                        orderId),
+                new CouponHistory.Entry("SAVE10-020", 20, Instant.parse("2025-01-15T11:05:00Z"))), 2, 7, 4);
+        when(couponRepository.getHistory(2, null, 2)).thenReturn(page);
+
+        // When
+        CouponHistoryResponse response = adminService.getCouponHistory(2, null, 2);
+
+        // Then
+        assertEquals(7, response.getTotalGenerated());
+        assertEquals(4, response.getNextCursor());
+        assertEquals(3, response.getCoupons().get(0).getPosition());
+        assertEquals(usedAt, response.getCoupons().get(0).getUsedAt());
+        assertEquals(orderId, response.getCoupons().get(0).getRedeemingOrderId());
+        assertEquals(4, response.getCoupons().get(1).getPosition());
+        assertNull(response.getCoupons().get(1).getUsedAt());
+        assertThrows(IllegalArgumentException.class, () -> adminService.getCouponHistory(0, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> adminService.getCouponHistory(-1, null, 10));
+    }
+
+    @Test
+    @DisplayName("Should report how a coupon was redeemed, and 404 (null) for unknown codes")
+    void getCouponRedemption_ReturnsRedemptionDetails() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        Instant createdAt = Instant.parse("2025-01-15T10:30:00Z");
+        CouponHistory.Entry entry = new CouponHistory.Entry("SAVE10-045", 45, createdAt,
+                createdAt.plusMillis(2350), "user123", orderId);
+        when(couponRepository.findHistory("SAVE10-045")).thenReturn(Optional.of(entry));
+        when(couponRepository.findHistory("SAVE10-050")).thenReturn(Optional.empty());
+        when(couponRepository.redemptionStats()).thenReturn(new CouponRedemptionStats());
+
+        // When
+        CouponRedemptionResponse response = adminService.getCouponRedemption("SAVE10-045");
+
+        // Then
+        assertEquals(2350L, response.getTimeToRedeemMillis());
+        assertEquals("user123", response.getRedeemingUserId());
+        assertEquals(orderId, response.getRedeemingOrderId());
+        assertEquals(0, response.getRaceLosses());
+        assertNull(response.getAttemptMillis());   // not among the recent races
+        assertNull(adminService.getCouponRedemption("SAVE10-050"));
+        assertThrows(IllegalArgumentException.class, () -> adminService.getCouponRedemption(" "));
+    }
+
+    @Test
+    @DisplayName("Should create a promotion code and report its remaining quota, and 404 (null) for unknown codes")
+    void createPromotion_ReturnsCreatedCode() {
+        // Given
+        Instant createdAt = Instant.parse("2025-03-01T09:00:00Z");
+        PromotionCode created = new PromotionCode("SPRING25", "spring-sale", 1000, 1, null, createdAt, 0);
+        PromotionCode redeemed = new PromotionCode("SPRING25", "spring-sale", 1000, 1, null, createdAt, 412);
+        when(couponRepository.createPromotion(any())).thenReturn(created);
+        when(couponRepository.findPromotion("SPRING25")).thenReturn(Optional.of(redeemed));
+        when(couponRepository.findPromotion("WINTER")).thenReturn(Optional.empty());
+
+        // When
+        PromotionResponse response = adminService.createPromotion(
+                new CreatePromotionRequest("SPRING25", "spring-sale", 1000, 1, null));
+        PromotionResponse current = adminService.getPromotion("SPRING25");
+
+        // Then
+        assertEquals("SPRING25", response.getCode());
+        assertEquals(1000, response.getRemaining().intValue());
+        assertFalse(response.isExpired());
+        assertEquals(412, current.getRedeemed());
+        assertEquals(588, current.getRemaining().intValue());
+        assertNull(adminService.getPromotion("WINTER"));
+        assertThrows(IllegalArgumentException.class, () -> adminService.getPromotion(" "));
     }
 
     @Test
@@ -188,10 +423,307 @@ class AdminServiceTest {
         verify(couponRepository).generate(10);
     }
 
-    private Order createTestOrder(BigDecimal totalAmount, BigDecimal discountAmount) {
+    @Test
+    @DisplayName("Should return statistics for a time range from the range index")
+    void getStatistics_TimeRange_UsesRangeIndex() {
+        // Given
+        SnapshotManager snapshots = new SnapshotManager();
+        OrderRangeIndex rangeIndex = new OrderRangeIndex(snapshots);
+        Instant december = Instant.parse("2025-12-01T00:00:00Z");
+        snapshots.recordOrder(createTestOrder(2, new BigDecimal("90.00"), new BigDecimal("10.00"), "SAVE10-005",
+                december.plusSeconds(30)));
+        snapshots.recordOrder(createTestOrder(4, new BigDecimal("40.00"), BigDecimal.ZERO, null,
+                december.plusSeconds(7200)));
+        snapshots.recordCouponGenerated("SAVE10-010");
+        StoreSnapshot snapshot = snapshots.pin();
+        when(orderRepository.snapshot()).thenReturn(snapshot);
+        when(orderRepository.rangeTotals(december, december.plusSeconds(3600), snapshot))
+                .thenReturn(rangeIndex.sum(december, december.plusSeconds(3600), snapshot));
+
+        // When
+        AdminStatsResponse stats = adminService.getStatistics(december, december.plusSeconds(3600));
+
+        // Then
+        assertEquals(1, stats.getTotalOrders());
+        assertEquals(2, stats.getTotalItemsPurchased());
+        assertEquals(new BigDecimal("90.00"), stats.getTotalPurchaseAmount());
+        assertEquals(new BigDecimal("10.00"), stats.getTotalDiscountAmount());
+        assertEquals(1L, stats.getOrdersWithCoupons());
+        assertEquals("SAVE10-010", stats.getActiveCoupon());
+        assertEquals(december, stats.getFrom());
+        assertEquals(snapshot.getVersion(), stats.getSnapshotVersion());
+    }
+
+    @Test
+    @DisplayName("Should reject a time range that does not start before it ends")
+    void getStatistics_FromNotBeforeTo_Throws() {
+        // Given
+        Instant now = Instant.now();
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> adminService.getStatistics(now, now));
+        verify(orderRepository, never()).rangeTotals(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return hourly percentiles of order value and items per order")
+    void getOrderQuantiles_Hours_ReturnsPercentiles() {
+        // Given
+        OrderDistribution distribution = new OrderDistribution();
+        Instant now = Instant.now();
+        for (int i = 1; i <= 100; i++) {
+            distribution.record(createTestOrder(i % 4 + 1, new BigDecimal(i), BigDecimal.ZERO, null, now));
+        }
+        when(orderRepository.distribution(eq(OrderDistribution.Window.HOUR), eq(3), any()))
+                .thenReturn(distribution.window(OrderDistribution.Window.HOUR, 3, now));
+
+        // When
+        OrderQuantilesResponse response = adminService.getOrderQuantiles("hour", 3, false);
+
+        // Then
+        assertEquals("hour", response.getResolution());
+        assertEquals(3 * 3600, response.getTo().getEpochSecond() - response.getFrom().getEpochSecond());
+        assertEquals(100, response.getOrderValue().getCount());
+        assertEquals(50.0, response.getOrderValue().getP50().doubleValue(), 0.5);   // within 1%
+        assertEquals(99.0, response.getOrderValue().getP99().doubleValue(), 0.99);
+        assertEquals(new BigDecimal("100.00"), response.getOrderValue().getMax());
+        assertEquals(new BigDecimal("4"), response.getItemsPerOrder().getP90());
+        assertNull(response.getOrderValue().getHistogram());
+        assertThrows(IllegalArgumentException.class, () -> adminService.getOrderQuantiles("hour", 25, false));
+    }
+
+    @Test
+    @DisplayName("Should merge quantile responses from several nodes")
+    void mergeOrderQuantiles_TwoNodes_MergesHistograms() {
+        // Given
+        OrderDistribution nodeA = new OrderDistribution();
+        OrderDistribution nodeB = new OrderDistribution();
+        for (int i = 1; i <= 100; i++) {
+            (i <= 90 ? nodeA : nodeB).record(createTestOrder(1, new BigDecimal(i), BigDecimal.ZERO, null));
+        }
+        when(orderRepository.distribution()).thenReturn(nodeA.allTime());
+        OrderQuantilesResponse partA = adminService.getOrderQuantiles("all", 1, true);
+        when(orderRepository.distribution()).thenReturn(nodeB.allTime());
+        OrderQuantilesResponse partB = adminService.getOrderQuantiles("all", 1, true);
+
+        // When
+        OrderQuantilesResponse merged = adminService.mergeOrderQuantiles(List.of(partA, partB));
+
+        // Then
+        assertEquals("merged", merged.getResolution());
+        assertNull(merged.getFrom());
+        assertEquals(100, merged.getOrderValue().getCount());
+        assertEquals(new BigDecimal("1.00"), merged.getOrderValue().getMin());
+        assertEquals(90.0, merged.getOrderValue().getP90().doubleValue(), 0.9);
+        assertNotNull(merged.getItemsPerOrder().getHistogram());
+        partB.getOrderValue().setHistogram(null);
+        assertThrows(IllegalArgumentException.class, () -> adminService.mergeOrderQuantiles(List.of(partA, partB)));
+    }
+
+    @Test
+    @DisplayName("Should return distinct-user estimates with error bounds")
+    void getDistinctUsers_Days_ReturnsEstimatesWithBounds() {
+        // Given
+        DistinctUsers distinctUsers = new DistinctUsers();
+        Instant now = Instant.now();
+        for (int i = 0; i < 10_000; i++) {
+            Order order = createTestOrder(1, BigDecimal.TEN, BigDecimal.ZERO, null, now);
+            order.setUserId("user-" + i % 2_000);
+            distinctUsers.recordOrder(order);
+        }
+        when(orderRepository.distinctUsers(eq(7), any())).thenReturn(distinctUsers.days(7, now));
+
+        // When
+        DistinctUsersResponse response = adminService.getDistinctUsers(7);
+
+        // Then - 2,000 users, five orders each
+        DistinctCountResponse buyers = response.getBuyers();
+        assertEquals(7 * DistinctUsers.DAY_SECONDS, response.getTo().getEpochSecond() - response.getFrom().getEpochSecond());
+        assertEquals(HyperLogLog.STANDARD_ERROR, response.getRelativeStandardError());
+        assertEquals(2_000, buyers.getEstimate(), 3 * HyperLogLog.STANDARD_ERROR * 2_000);
+        assertTrue(buyers.getLowerBound() < buyers.getEstimate() && buyers.getEstimate() < buyers.getUpperBound());
+        assertEquals(0, response.getCouponRedeemers().getEstimate());
+        assertThrows(IllegalArgumentException.class, () -> adminService.getDistinctUsers(0));
+        assertThrows(IllegalArgumentException.class, () -> adminService.getDistinctUsers(31));
+    }
+
+    @Test
+    @DisplayName("Should list low-stock items at the alert threshold by default")
+    void getLowStockItems_DefaultThreshold_UsesAlertThreshold() {
+        // Given
+        Item blender = new Item(UUID.randomUUID(), "Blender", new BigDecimal("129.99"), 2);
+        when(itemRepository.getLowStockAlertThreshold()).thenReturn(3);
+        when(itemRepository.findLowStock(3, 1)).thenReturn(List.of(blender));
+        when(itemRepository.countLowStock(3)).thenReturn(4);
+
+        // When
+        LowStockResponse response = adminService.getLowStockItems(null, 1);
+
+        // Then
+        assertEquals(3, response.getThreshold());
+        assertEquals(4, response.getCount());
+        assertEquals("Blender", response.getItems().get(0).getName());
+        assertEquals(2, response.getItems().get(0).getStock());
+        assertThrows(IllegalArgumentException.class, () -> adminService.getLowStockItems(-1, 10));
+        assertThrows(IllegalArgumentException.class, () -> adminService.getLowStockItems(3, 0));
+        assertThrows(IllegalArgumentException.class, () -> adminService.getLowStockAlerts(0, 10, 31));
+    }
+
+    @Test
+    @DisplayName("Should complete a waiting alert request when the next alert is raised, without holding a thread")
+    void getLowStockAlerts_NothingNew_CompletesOnNextAlert() throws Exception {
+        // Given
+        LowStockIndex.Alert alert = new LowStockIndex.Alert(5, UUID.randomUUID(), "Blender", 2, 3, Instant.now());
+        when(itemRepository.lowStockAlerts(4, 10))
+                .thenReturn(new LowStockIndex.Alerts(List.of(), 4, false))
+                .thenReturn(new LowStockIndex.Alerts(List.of(alert), 5, false));
+        ArgumentCaptor<Runnable> listener = ArgumentCaptor.forClass(Runnable.class);
+        when(itemRepository.whenLowStockAlertAfter(eq(4L), listener.capture())).thenReturn(() -> { });
+
+        // When
+        CompletableFuture<LowStockAlertsResponse> response = adminService.getLowStockAlerts(4, 10, 25);
+        boolean doneBeforeAlert = response.isDone();
+        listener.getValue().run();
+
+        // Then
+        assertFalse(doneBeforeAlert);
+        LowStockAlertsResponse alerts = response.get(5, TimeUnit.SECONDS);
+        assertEquals(5, alerts.getCursor());
+        assertEquals("Blender", alerts.getAlerts().get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Should answer with nothing new once the wait ends, and cancel the listener")
+    void getLowStockAlerts_NoAlertInTime_CompletesEmpty() throws Exception {
+        // Given
+        when(itemRepository.lowStockAlerts(4, 10)).thenReturn(new LowStockIndex.Alerts(List.of(), 4, false));
+        Runnable cancel = mock(Runnable.class);
+        when(itemRepository.whenLowStockAlertAfter(eq(4L), any())).thenReturn(cancel);
+
+        // When
+        LowStockAlertsResponse alerts = adminService.getLowStockAlerts(4, 10, 1).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(4, alerts.getCursor());
+        assertTrue(alerts.getAlerts().isEmpty());
+        verify(cancel).run();
+    }
+
+    @Test
+    @DisplayName("Should resolve a page of the coupon's orders and skip evicted ones")
+    void getOrdersByCoupon_ResolvesPage() {
+        // Given
+        Order order = createTestOrder(2, new BigDecimal("18.00"), new BigDecimal("2.00"), "SAVE10-045",
+                Instant.now());
+        order.setUserId("user123");
+        UUID evicted = UUID.randomUUID();
+        when(orderRepository.findIdsByCoupon("SAVE10-045", 0, 10))
+                .thenReturn(new OrderLookupIndex.Page(List.of(order.getOrderId(), evicted), 2, null));
+        when(orderRepository.findById(order.getOrderId())).thenReturn(Optional.of(order));
+        when(orderRepository.findById(evicted)).thenReturn(Optional.empty());
+        when(itemRepository.findAllById(any())).thenReturn(Arrays.asList((Item) null));
+
+        // When
+        OrderPageResponse page = adminService.getOrdersByCoupon("SAVE10-045", 0, 10);
+
+        // Then
+        assertEquals(2, page.getTotal());
+        assertNull(page.getNextCursor());
+        assertEquals(1, page.getOrders().size());
+        assertEquals("user123", page.getOrders().get(0).getUserId());
+        assertEquals(2, page.getOrders().get(0).getItems().get(0).getQuantity());
+        assertThrows(IllegalArgumentException.class, () -> adminService.getOrdersByCoupon(" ", 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> adminService.getOrdersByItem(UUID.randomUUID(), -1, 10));
+    }
+
+    @Test
+    @DisplayName("Should return best sellers by revenue with names and error bounds")
+    void getTopItems_ByRevenue_ConvertsCentsAndNames() {
+        // Given
+        UUID laptop = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        TopItemsSketch.Ranking ranking = new TopItemsSketch.Ranking(150_000, 2_500, List.of(
+                new TopItemsSketch.Estimate(laptop, 99_999, 0, true),
+                new TopItemsSketch.Estimate(deleted, 7_500, 2_500, false)));
+        when(orderRepository.topItems(TopItemsSketch.Metric.REVENUE, 2)).thenReturn(ranking);
+        when(itemRepository.findAllById(List.of(laptop, deleted)))
+                .thenReturn(Arrays.asList(new Item(laptop, "Laptop", new BigDecimal("999.99"), 3), null));
+
+        // When
+        TopItemsResponse response = adminService.getTopItems("Revenue", 2, false);
+
+        // Then
+        assertEquals("revenue", response.getBy());
+        assertFalse(response.isExact());
+        assertEquals(new BigDecimal("1500.00"), response.getTotal());
+        assertEquals(new BigDecimal("25.00"), response.getMaxError());
+        assertEquals("Laptop", response.getItems().get(0).getName());
+        assertEquals(new BigDecimal("999.99"), response.getItems().get(0).getValue());
+        assertNull(response.getItems().get(1).getName());
+        assertFalse(response.getItems().get(1).isGuaranteed());
+        verify(orderRepository, never()).topItemsExact(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown metric or an out-of-range n")
+    void getTopItems_InvalidParameters_Throws() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> adminService.getTopItems("profit", 10, false));
+        assertThrows(IllegalArgumentException.class, () -> adminService.getTopItems("units", 0, true));
+        assertThrows(IllegalArgumentException.class,
+                () -> adminService.getTopItems("units", AdminService.MAX_TOP_ITEMS + 1, false));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    @DisplayName("Should return recent buckets with window totals")
+    void getTimeSeries_Minutes_SumsWindow() {
+        // Given
+        OrderTimeSeries timeSeries = new OrderTimeSeries();
+        Instant now = Instant.now();
+        timeSeries.record(createTestOrder(1, new BigDecimal("90.00"), new BigDecimal("10.00"), "SAVE10-005", now));
+        timeSeries.record(createTestOrder(2, new BigDecimal("40.00"), BigDecimal.ZERO, null, now.minusSeconds(60)));
+        when(orderRepository.timeSeries(eq(OrderTimeSeries.Resolution.MINUTE), eq(5), any()))
+                .thenReturn(timeSeries.window(OrderTimeSeries.Resolution.MINUTE, 5, now));
+
+        // When
+        TimeSeriesResponse response = adminService.getTimeSeries("MINUTE", 5);
+
+        // Then
+        assertEquals("minute", response.getResolution());
+        assertEquals(5, response.getBuckets().size());
+        assertEquals(2, response.getOrders());
+        assertEquals(new BigDecimal("130.00"), response.getRevenue());
+        assertEquals(new BigDecimal("10.00"), response.getDiscount());
+        assertEquals(1, response.getCouponOrders());
+        assertEquals(response.getBuckets().get(0).getStart().plusSeconds(300), response.getTo());
+        assertEquals(1, response.getBuckets().get(4).getOrders());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown resolution or a window longer than the ring")
+    void getTimeSeries_InvalidParameters_Throws() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> adminService.getTimeSeries("day", 7));
+        assertThrows(IllegalArgumentException.class, () -> adminService.getTimeSeries("second", 0));
+        assertThrows(IllegalArgumentException.class, () -> adminService.getTimeSeries("second", 3601));
+        verify(orderRepository, never()).timeSeries(any(), anyInt(), any());
+    }
+
+    private Order createTestOrder(int quantity, BigDecimal totalAmount, BigDecimal discountAmount, String couponCode) {
         Order order = new Order();
+        order.setItems(List.of(new CartItem(UUID.randomUUID(), "Item", BigDecimal.ONE, quantity)));
         order.setTotalAmount(totalAmount);
         order.setDiscountAmount(discountAmount);
+        order.setCouponCode(couponCode);
+        return order;
+    }
+
+    private Order createTestOrder(int quantity, BigDecimal totalAmount, BigDecimal discountAmount, String couponCode,
+                                  Instant createdAt) {
+        Order order = createTestOrder(quantity, totalAmount, discountAmount, couponCode);
+        order.setOrderId(UUID.randomUUID());
+        order.setCreatedAt(createdAt);
         return order;
     }
 
@@ -1,6 +1,8 @@
 package com.ecommerce.store.service;
 
+import com.ecommerce.store.dto.BulkCartResponse;
 import com.ecommerce.store.dto.CartItemResponse;
+import com.ecommerce.store.dto.CartOperation;
 import com.ecommerce.store.dto.CartResponse;
 import com.ecommerce.store.model.Cart;
 import com.ecommerce.store.model.CartItem;
@@ -15,6 +17,7 @@ import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -274,7 +277,7 @@ class CartServiceTest {
         String userId = "user123";
         Cart cart = createCartWithItem(userId, UUID.randomUUID(), "Test Item", BigDecimal.valueOf(10.00), 1);
 
-        when(cartRepository.getOrCreate(userId)).thenReturn(cart);
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.of(cart));
 
         // When
         CartResponse response = cartService.getCart(userId);
@@ -285,7 +288,26 @@ class CartServiceTest {
         assertEquals(1, response.getTotalItems());
         assertEquals(BigDecimal.valueOf(10.00), response.getTotalAmount());
 
-        verify(cartRepository).getOrCreate(userId);
+        verify(cartRepository).findByUserId(userId);
+    }
+
+    @Test
+    @DisplayName("Should return an empty cart without creating one when the user has none")
+    void getCart_NoCart_ReturnsEmptyWithoutCreating() {
+        // Given
+        String userId = "user123";
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.empty());
+
+        // When
+        CartResponse response = cartService.getCart(userId);
+
+        // Then
+        assertEquals(userId, response.getUserId());
+        assertTrue(response.getItems().isEmpty());
+        assertEquals(0, response.getTotalItems());
+        assertEquals(0, BigDecimal.ZERO.compareTo(response.getTotalAmount()));
+        verify(cartRepository, never()).getOrCreate(anyString());
+        verify(cartRepository, never()).save(any(Cart.class));
     }
 
     @Test
@@ -330,6 +352,108 @@ class CartServiceTest {
         verifyNoInteractions(cartRepository);
     }
 
+    @Test
+    @DisplayName("Should apply bulk operations, skip failures and save once")
+    void applyOperations_MixedBatch_ReportsErrorsAndSavesOnce() {
+        // Given
+        String userId = "user123";
+        UUID keptId = UUID.randomUUID();
+        UUID addedId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        Cart cart = createCartWithItem(userId, keptId, "Kept", BigDecimal.valueOf(10.00), 1);
+
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.of(cart));
+        when(itemRepository.findById(keptId)).thenReturn(Optional.of(createTestItem(keptId, "Kept", BigDecimal.valueOf(10.00))));
+        when(itemRepository.findById(addedId)).thenReturn(Optional.of(createTestItem(addedId, "Added", BigDecimal.valueOf(5.00))));
+        when(itemRepository.findById(missingId)).thenReturn(Optional.empty());
+
+        List<CartOperation> operations = List.of(
+                new CartOperation(CartOperation.Type.ADD, addedId, 2),
+                new CartOperation(CartOperation.Type.ADD, missingId, 1),
+                new CartOperation(CartOperation.Type.UPDATE, keptId, 3),
+                new CartOperation(CartOperation.Type.REMOVE, missingId, null));
+
+        // When
+        BulkCartResponse response = cartService.applyOperations(userId, operations, false);
+
+        // Then
+        assertEquals(2, response.getApplied());
+        assertEquals(2, response.getErrors().size());
+        assertEquals(1, response.getErrors().get(0).getIndex());
+        assertEquals("Item not found: " + missingId, response.getErrors().get(0).getMessage());
+        assertEquals(3, response.getErrors().get(1).getIndex());
+        assertEquals(5, response.getCart().getTotalItems());
+        assertEquals(0, BigDecimal.valueOf(40.00).compareTo(response.getCart().getTotalAmount()));
+
+        verify(cartRepository, times(1)).save(cart);
+    }
+
+    @Test
+    @DisplayName("Should reject the whole batch in strict mode when any operation fails")
+    void applyOperations_StrictWithFailure_LeavesCartUnchanged() {
+        // Given
+        String userId = "user123";
+        UUID itemId = UUID.randomUUID();
+        Cart cart = createCartWithItem(userId, itemId, "Kept", BigDecimal.valueOf(10.00), 1);
+
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.of(cart));
+
+        List<CartOperation> operations = List.of(
+                new CartOperation(CartOperation.Type.UPDATE, itemId, 4),
+                new CartOperation(CartOperation.Type.UPDATE, itemId, 0));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> cartService.applyOperations(userId, operations, true));
+        assertTrue(exception.getMessage().contains("Operation 1"));
+        assertEquals(1, cart.getItems().get(0).getQuantity());
+
+        verify(cartRepository, never()).save(any(Cart.class));
+    }
+
+    @Test
+    @DisplayName("Should not create a cart for a new user when no bulk operation applies")
+    void applyOperations_NewUserNothingApplied_CreatesNoCart() {
+        // Given
+        String userId = "newUser";
+        UUID missingId = UUID.randomUUID();
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.empty());
+        when(itemRepository.findById(missingId)).thenReturn(Optional.empty());
+        List<CartOperation> operations = List.of(new CartOperation(CartOperation.Type.ADD, missingId, 1));
+
+        // When
+        BulkCartResponse response = cartService.applyOperations(userId, operations, false);
+
+        // Then
+        assertEquals(0, response.getApplied());
+        assertEquals(1, response.getErrors().size());
+        assertEquals(0, response.getCart().getTotalItems());
+        assertThrows(IllegalArgumentException.class, () -> cartService.applyOperations(userId, operations, true));
+        verify(cartRepository, never()).getOrCreate(anyString());
+        verify(cartRepository, never()).save(any(Cart.class));
+    }
+
+    @Test
+    @DisplayName("Should create a new user's cart once a bulk operation applies")
+    void applyOperations_NewUserApplied_CreatesCart() {
+        // Given
+        String userId = "newUser";
+        UUID itemId = UUID.randomUUID();
+        Cart created = createEmptyCart(userId);
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.empty());
+        when(cartRepository.getOrCreate(userId)).thenReturn(created);
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(createTestItem(itemId, "Added", BigDecimal.valueOf(5.00))));
+
+        // When
+        BulkCartResponse response = cartService.applyOperations(userId,
+                List.of(new CartOperation(CartOperation.Type.ADD, itemId, 2)), true);
+
+        // Then
+        assertEquals(1, response.getApplied());
+        assertEquals(2, created.getItems().get(0).getQuantity());
+        verify(cartRepository, times(1)).save(created);
+    }
+
     private Item createTestItem(UUID itemId, String name, BigDecimal price) {
         Item item = new Item();
         item.setItemId(itemId);
@@ -350,11 +474,7 @@ class CartServiceTest {
     private Cart createCartWithItem(String userId, UUID itemId, String itemName, BigDecimal price, int quantity) {
         Cart cart = createEmptyCart(userId);
 
-        CartItem cartItem = new CartItem();
-        cartItem.setItemId(itemId);
-        cartItem.setItemName(itemName);
-        cartItem.setPrice(price);
-        cartItem.setQuantity(quantity);
+        CartItem cartItem = new CartItem(itemId, itemName, price, quantity);
 
         cart.getItems().add(cartItem);
         cart.setTotal(price.multiply(BigDecimal.valueOf(quantity)));
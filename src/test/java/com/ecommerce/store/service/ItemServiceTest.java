@@ -1,8 +1,17 @@
 package com.ecommerce.store.service;
 
+import com.ecommerce.store.dto.ItemBrowseRequest;
+import com.ecommerce.store.dto.ItemChangesResponse;
+import com.ecommerce.store.dto.ItemLookupResponse;
+import com.ecommerce.store.dto.ItemPageResponse;
 import com.ecommerce.store.dto.ItemResponse;
+import com.ecommerce.store.dto.ItemSearchResponse;
+import com.ecommerce.store.dto.SuggestionResponse;
 import com.ecommerce.store.model.Item;
+import com.ecommerce.store.repository.CatalogChangeLog;
 import com.ecommerce.store.repository.IItemRepository;
+import com.ecommerce.store.repository.ItemBrowseIndex;
+import com.ecommerce.store.repository.ItemSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -10,6 +19,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -102,6 +112,158 @@ class ItemServiceTest {
         verify(itemRepository).findById(itemId);
     }
 
+    @Test
+    @DisplayName("Should return batch lookups in request order with not-found markers")
+    void getItemsByIds_MixedIds_MarksNotFound() {
+        // Given
+        UUID itemId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        Item item = createTestItem(itemId, "Laptop", BigDecimal.valueOf(999.99));
+        List<UUID> ids = List.of(missingId, itemId);
+
+        when(itemRepository.findAllById(ids)).thenReturn(Arrays.asList(null, item));
+
+        // When
+        List<ItemLookupResponse> results = itemService.getItemsByIds(ids);
+
+        // Then
+        assertEquals(2, results.size());
+        assertEquals(missingId, results.get(0).getItemId());
+        assertFalse(results.get(0).isFound());
+        assertNull(results.get(0).getItem());
+        assertTrue(results.get(1).isFound());
+        assertItemResponse(results.get(1).getItem(), item);
+
+        verify(itemRepository).findAllById(ids);
+        verifyNoMoreInteractions(itemRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject batch lookups that are empty or too large")
+    void getItemsByIds_EmptyOrTooLarge_ThrowsException() {
+        // Given
+        List<UUID> tooMany = new ArrayList<>();
+        for (int i = 0; i <= ItemService.MAX_BATCH_SIZE; i++) {
+            tooMany.add(UUID.randomUUID());
+        }
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> itemService.getItemsByIds(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> itemService.getItemsByIds(tooMany));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    @DisplayName("Should split changed items into current state and deletions")
+    void getItemChanges_ChangedAndDeleted_SplitsThem() {
+        // Given
+        Item item = createTestItem(UUID.randomUUID(), "Laptop", BigDecimal.valueOf(949.99));
+        UUID deletedId = UUID.randomUUID();
+        when(itemRepository.changesSince(100L, 50)).thenReturn(
+                new CatalogChangeLog.Delta(102L, false, List.of(item.getItemId(), deletedId), false));
+        when(itemRepository.findAllById(List.of(item.getItemId(), deletedId))).thenReturn(Arrays.asList(item, null));
+
+        // When
+        ItemChangesResponse changes = itemService.getItemChanges(100L, 50);
+
+        // Then
+        assertEquals(102L, changes.getVersion());
+        assertFalse(changes.isResyncRequired());
+        assertItemResponse(changes.getItems().get(0), item);
+        assertEquals(List.of(deletedId), changes.getDeletedItemIds());
+    }
+
+    @Test
+    @DisplayName("Should pass a resync signal through without loading items")
+    void getItemChanges_Truncated_SignalsResync() {
+        // Given
+        when(itemRepository.changesSince(1L, 1000)).thenReturn(new CatalogChangeLog.Delta(500L, true, List.of(), false));
+
+        // When
+        ItemChangesResponse changes = itemService.getItemChanges(1L, 1000);
+
+        // Then
+        assertTrue(changes.isResyncRequired());
+        assertEquals(500L, changes.getVersion());
+        assertTrue(changes.getItems().isEmpty());
+        verify(itemRepository, never()).findAllById(any());
+        assertThrows(IllegalArgumentException.class, () -> itemService.getItemChanges(1L, 0));
+    }
+
+    @Test
+    @DisplayName("Should browse by price descending and pass the cursor through")
+    void browseItems_PriceDescending_ReturnsPageAndCursor() {
+        // Given
+        Item item = createTestItem(UUID.randomUUID(), "Laptop", BigDecimal.valueOf(999.99));
+        when(itemRepository.browse(ItemBrowseIndex.Sort.PRICE, true, true,
+                BigDecimal.TEN, null, "cursor1", 20))
+                .thenReturn(new ItemBrowseIndex.Page(List.of(item), "cursor2"));
+
+        // When
+        ItemPageResponse page = itemService.browseItems(
+                new ItemBrowseRequest(BigDecimal.TEN, null, true, "PRICE", "desc", "cursor1", 20));
+
+        // Then
+        assertEquals(1, page.getItems().size());
+        assertItemResponse(page.getItems().get(0), item);
+        assertEquals("cursor2", page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject inverted price ranges, unknown sorts and bad limits")
+    void browseItems_InvalidParameters_ThrowsException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> itemService.browseItems(
+                new ItemBrowseRequest(BigDecimal.TEN, BigDecimal.ONE, null, null, null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> itemService.browseItems(
+                new ItemBrowseRequest(null, null, null, "rating", null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> itemService.browseItems(
+                new ItemBrowseRequest(null, null, null, null, "up", null, null)));
+        assertThrows(IllegalArgumentException.class, () -> itemService.browseItems(
+                new ItemBrowseRequest(null, null, null, null, null, null, 0)));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    @DisplayName("Should search with page offsets and return the total match count")
+    void searchItems_SecondPage_UsesOffset() {
+        // Given
+        Item item = createTestItem(UUID.randomUUID(), "Clean Code Book", BigDecimal.valueOf(39.99));
+        when(itemRepository.search("book", 20, 20)).thenReturn(new ItemSearchIndex.SearchHits(21, List.of(item)));
+
+        // When
+        ItemSearchResponse response = itemService.searchItems("book", 1, 20);
+
+        // Then
+        assertEquals(21, response.getTotal());
+        assertEquals(1, response.getPage());
+        assertEquals(1, response.getItems().size());
+        assertItemResponse(response.getItems().get(0), item);
+    }
+
+    @Test
+    @DisplayName("Should reject blank queries and out-of-range paging")
+    void searchItems_InvalidParameters_ThrowsException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> itemService.searchItems(" ", 0, 20));
+        assertThrows(IllegalArgumentException.class, () -> itemService.searchItems("book", 0, 101));
+        assertThrows(IllegalArgumentException.class, () -> itemService.searchItems("book", 500, 20));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    @DisplayName("Should map autocomplete suggestions")
+    void suggest_ValidPrefix_ReturnsSuggestions() {
+        // Given
+        when(itemRepository.suggest("sma", 10)).thenReturn(List.of(new ItemSearchIndex.Suggestion("smartphone", 2)));
+
+        // When
+        List<SuggestionResponse> suggestions = itemService.suggest("sma", 10);
+
+        // Then
+        assertEquals(List.of(new SuggestionResponse("smartphone", 2)), suggestions);
+    }
+
     private Item createTestItem(UUID itemId, String name, BigDecimal price) {
         Item item = new Item();
         item.setItemId(itemId);
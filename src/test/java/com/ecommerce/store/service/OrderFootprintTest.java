@@ -0,0 +1,129 @@
+package com.ecommerce.store.service;
+
+import com.ecommerce.store.codec.ModelCodec;
+import com.ecommerce.store.model.CartItem;
+import com.ecommerce.store.model.Item;
+import com.ecommerce.store.model.Order;
+import com.ecommerce.store.repository.CartRepository;
+import com.ecommerce.store.repository.CouponRepository;
+import com.ecommerce.store.repository.DataStore;
+import com.ecommerce.store.repository.ItemRepository;
+import com.ecommerce.store.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Heap footprint budget for stored orders (measured with JOL).
+ * 
+ * Orders hold two lines here; the budget covers the order, its ID, user ID, line
+ * list, lines, amounts and timestamp. Item IDs, names and prices are shared catalog
+ * values: they are subtracted from the measurement, so the result does not depend
+ * on which instances the (JVM-wide) canonical pool already held from earlier tests.
+ */
+@DisplayName("Order Footprint Tests")
+class OrderFootprintTest {
+
+    private static final int ORDERS = 2_000;
+    private static final int USERS = 100;
+    private static final long BUDGET_BYTES_PER_ORDER = 320;
+
+    private DataStore dataStore;
+    private CartService cartService;
+    private OrderService orderService;
+    private Item laptop;
+    private Item book;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new DataStore();
+        ItemRepository itemRepository = new ItemRepository(dataStore);
+        CartRepository cartRepository = new CartRepository(dataStore);
+        cartService = new CartServiceImpl(cartRepository, itemRepository);
+        orderService = new OrderServiceImpl(cartRepository, new OrderRepository(dataStore),
+                new CouponRepository(dataStore), itemRepository);
+        ReflectionTestUtils.setField(orderService, "nthOrder", 5);
+        ReflectionTestUtils.setField(orderService, "discountPercentage", 10);
+
+        laptop = itemRepository.save(new Item(null, "Laptop", new BigDecimal("999.99"), 1_000_000));
+        book = itemRepository.save(new Item(null, "Clean Code Book", new BigDecimal("39.99"), 1_000_000));
+    }
+
+    @Test
+    @DisplayName("Should keep checked-out orders under the bytes-per-order budget")
+    void checkout_OrdersStayUnderBudget() {
+        // Given
+        placeOrders();
+        Object[] orders = dataStore.orders.values().toArray();
+
+        // When
+        long bytesPerOrder = bytesPerOrder(orders);
+
+        // Then
+        assertTrue(bytesPerOrder <= BUDGET_BYTES_PER_ORDER,
+                "Expected <= " + BUDGET_BYTES_PER_ORDER + " bytes per order but was " + bytesPerOrder);
+    }
+
+    @Test
+    @DisplayName("Should share item IDs, names and prices across orders, including decoded ones")
+    void orders_ShareCanonicalValues() {
+        // Given
+        placeOrders();
+        List<Order> orders = new ArrayList<>(dataStore.orders.values());
+
+        // When (one record per order, as when hydrating from write-behind rows)
+        List<Order> decoded = orders.stream()
+                .map(order -> ModelCodec.decode(ModelCodec.encode(order), Order.class))
+                .toList();
+
+        // Then
+        for (int i = 0; i < orders.size(); i++) {
+            Order live = orders.get(i);
+            Order copy = decoded.get(i);
+            assertEquals(live.getUserId(), copy.getUserId());
+            assertSame(live.getItems().get(0).getItemId(), copy.getItems().get(0).getItemId());
+            assertSame(live.getItems().get(0).getItemName(), copy.getItems().get(0).getItemName());
+            assertSame(live.getItems().get(0).getPrice(), copy.getItems().get(0).getPrice());
+        }
+
+        long bytesPerOrder = bytesPerOrder(decoded.toArray());
+        assertTrue(bytesPerOrder <= BUDGET_BYTES_PER_ORDER,
+                "Expected <= " + BUDGET_BYTES_PER_ORDER + " bytes per decoded order but was " + bytesPerOrder);
+    }
+
+    /**
+     * Heap bytes per order, not counting the shared catalog values (item IDs, names, prices).
+     */
+    private static long bytesPerOrder(Object[] orders) {
+        Set<Object> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object order : orders) {
+            for (CartItem line : ((Order) order).getItems()) {
+                shared.add(line.getItemId());
+                shared.add(line.getItemName());
+                shared.add(line.getPrice());
+            }
+        }
+        long total = GraphLayout.parseInstance(orders).totalSize();
+        return (total - GraphLayout.parseInstance(shared.toArray()).totalSize()) / orders.length;
+    }
+
+    private void placeOrders() {
+        for (int i = 0; i < ORDERS; i++) {
+            String userId = "user" + (i % USERS);
+            cartService.addItemToCart(userId, laptop.getItemId(), 1);
+            cartService.addItemToCart(userId, book.getItemId(), 2);
+            orderService.checkout(userId, null);
+        }
+    }
+}
@@ -76,7 +76,7 @@ class OrderServiceTest {
 
         verify(cartRepository).delete(userId);
         verify(orderRepository).save(any(Order.class));
-        verify(couponRepository, never()).validateAndUse(anyString());
+        verify(couponRepository, never()).validateAndUse(anyString(), any());
     }
 
     @Test
@@ -90,7 +90,7 @@ class OrderServiceTest {
         when(cartRepository.findByUserId(userId)).thenReturn(Optional.of(cart));
         when(itemRepository.exists(any(UUID.class))).thenReturn(true);
         when(itemRepository.findById(any(UUID.class))).thenReturn(Optional.of(createTestItem()));
-        when(couponRepository.validateAndUse(couponCode)).thenReturn(CouponValidationResult.VALID);
+        when(couponRepository.validateAndUse(couponCode, userId)).thenReturn(CouponValidationResult.VALID);
         when(orderRepository.save(any(Order.class))).thenReturn(1);
 
         // When
@@ -102,7 +102,7 @@ class OrderServiceTest {
         assertEquals(0, BigDecimal.valueOf(10.00).compareTo(response.getDiscountAmount()));
         assertEquals(couponCode, response.getCouponCode());
 
-        verify(couponRepository).validateAndUse(couponCode);
+        verify(couponRepository).validateAndUse(couponCode, userId);
         verify(cartRepository).delete(userId);
     }
 
@@ -210,14 +210,14 @@ class OrderServiceTest {
         when(cartRepository.findByUserId(userId)).thenReturn(Optional.of(cart));
         when(itemRepository.exists(any(UUID.class))).thenReturn(true);
         when(itemRepository.findById(any(UUID.class))).thenReturn(Optional.of(createTestItem()));
-        when(couponRepository.validateAndUse(couponCode)).thenReturn(CouponValidationResult.INVALID_CODE);
+        when(couponRepository.validateAndUse(couponCode, userId)).thenReturn(CouponValidationResult.INVALID_CODE);
 
         // When & Then
         CouponValidationException exception = assertThrows(CouponValidationException.class,
                 () -> orderService.checkout(userId, couponCode));
         assertTrue(exception.getMessage().contains("Invalid coupon code"));
 
-        verify(couponRepository).validateAndUse(couponCode);
+        verify(couponRepository).validateAndUse(couponCode, userId);
         verifyNoMoreInteractions(orderRepository);
     }
 
@@ -232,17 +232,50 @@ class OrderServiceTest {
         when(cartRepository.findByUserId(userId)).thenReturn(Optional.of(cart));
         when(itemRepository.exists(any(UUID.class))).thenReturn(true);
         when(itemRepository.findById(any(UUID.class))).thenReturn(Optional.of(createTestItem()));
-        when(couponRepository.validateAndUse(couponCode)).thenReturn(CouponValidationResult.ALREADY_USED);
+        when(couponRepository.validateAndUse(couponCode, userId)).thenReturn(CouponValidationResult.ALREADY_USED);
 
         // When & Then
         CouponValidationException exception = assertThrows(CouponValidationException.class,
                 () -> orderService.checkout(userId, couponCode));
         assertTrue(exception.getMessage().contains("already used"));
 
-        verify(couponRepository).validateAndUse(couponCode);
+        verify(couponRepository).validateAndUse(couponCode, userId);
         verifyNoMoreInteractions(orderRepository);
     }
 
+    @Test
+    @DisplayName("Should order, charge and decrement stock for the cart as snapshotted, keeping lines added meanwhile")
+    void checkout_CartEditedDuringCheckout_UsesSnapshot() {
+        // Given
+        String userId = "user123";
+        Cart cart = createCartWithItems(userId, BigDecimal.valueOf(100.00));
+        CartItem ordered = cart.getItems().get(0);
+        CartItem addedMeanwhile = new CartItem(UUID.randomUUID(), "Late Item", BigDecimal.valueOf(7.00), 3);
+
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.of(cart));
+        when(itemRepository.exists(any(UUID.class))).thenReturn(true);
+        when(itemRepository.findById(any(UUID.class))).thenReturn(Optional.of(createTestItem()));
+        doAnswer(invocation -> {
+            // A concurrent cart edit, between the snapshot and the end of checkout
+            cart.getItems().add(addedMeanwhile);
+            cart.setTotal(BigDecimal.valueOf(121.00));
+            return 1;
+        }).when(orderRepository).save(any(Order.class));
+
+        // When
+        OrderResponse response = orderService.checkout(userId, null);
+
+        // Then
+        assertEquals(0, BigDecimal.valueOf(100.00).compareTo(response.getTotalAmount()));
+        assertEquals(1, response.getItems().size());
+        verify(itemRepository).decreaseStock(ordered.getItemId(), 1);
+        verify(itemRepository, never()).decreaseStock(addedMeanwhile.getItemId(), 3);
+        verify(cartRepository, never()).delete(userId);
+        verify(cartRepository).save(cart);
+        assertEquals(List.of(addedMeanwhile), cart.getItems());
+        assertEquals(0, BigDecimal.valueOf(21.00).compareTo(cart.getTotal()));
+    }
+
     @Test
     @DisplayName("Should return order history for user")
     void getOrderHistory_UserHasOrders_ReturnsHistory() {
@@ -293,11 +326,7 @@ class OrderServiceTest {
         cart.setTotal(total);
 
         // Add a dummy cart item
-        CartItem item = new CartItem();
-        item.setItemId(UUID.randomUUID());
-        item.setItemName("Test Item");
-        item.setPrice(total);
-        item.setQuantity(1);
+        CartItem item = new CartItem(UUID.randomUUID(), "Test Item", total, 1);
         cart.getItems().add(item);
 
         return cart;